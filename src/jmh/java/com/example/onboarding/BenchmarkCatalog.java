@@ -0,0 +1,166 @@
+package com.example.onboarding;
+
+import com.example.onboarding.dto.RestaurantSummary;
+import com.example.onboarding.repository.RestaurantKeywordRepository;
+import com.example.onboarding.repository.RestaurantRepository;
+import com.example.onboarding.service.RestaurantKeywordIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.postgresql.copy.CopyManager;
+import org.postgresql.core.BaseConnection;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ * 벤치마크용 맛집 카탈로그
+ * - id(1..count)만으로 같은 행을 만들므로 인메모리 색인과 DB에 같은 데이터를 넣을 수 있음
+ * - 지역 10개 x 카테고리 8개 + 태그/메뉴 키워드, 설명에는 선호사항 문구를 변형해 섞음 ("분위기 좋은" / "분위기가 좋은")
+ * - seed(): restaurants/restaurant_keywords 테이블 생성 후 COPY로 적재 (같은 수의 행이 이미 있으면 건너뜀)
+ */
+public final class BenchmarkCatalog {
+
+    public static final List<String> REGIONS = List.of("판교", "강남", "역삼", "선릉", "삼성", "여의도", "광화문", "성수", "홍대", "잠실");
+    public static final List<String> CATEGORIES = List.of("한식", "중식", "일식", "양식", "분식", "고기", "카페", "술집");
+    public static final List<String> TAGS = List.of("회식", "점심", "데이트", "가성비", "혼밥", "단체석", "주차", "야경");
+
+    private static final List<String> PHRASES = List.of(
+            "분위기 좋은", "분위기가 좋은", "가성비 좋은", "가성비가 훌륭한", "조용한", "조용하고 아늑한",
+            "양이 많은", "빨리 나오는", "친절한", "뷰가 좋은", "웨이팅 있는", "깔끔한");
+
+    private static final int MENUS = 500;
+    private static final int COPY_CHUNK = 50_000;
+
+    private static final String RESTAURANTS_DDL = """
+            CREATE TABLE IF NOT EXISTS restaurants (
+                id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+                external_id VARCHAR(100), content_hash VARCHAR(64), name VARCHAR(100) NOT NULL,
+                category VARCHAR(50), location_text VARCHAR(200), description TEXT, keywords TEXT,
+                rating DOUBLE PRECISION, image_url VARCHAR(500), latitude DOUBLE PRECISION,
+                longitude DOUBLE PRECISION, distance_text VARCHAR(50))""";
+    private static final String RESTAURANT_KEYWORDS_DDL = """
+            CREATE TABLE IF NOT EXISTS restaurant_keywords (
+                keyword VARCHAR(100) NOT NULL, restaurant_id BIGINT NOT NULL, rating DOUBLE PRECISION,
+                PRIMARY KEY (keyword, restaurant_id))""";
+    private static final String RESTAURANT_KEYWORDS_INDEX_DDL = """
+            CREATE INDEX IF NOT EXISTS idx_restaurant_keywords_keyword_rating
+                ON restaurant_keywords (keyword, rating DESC, restaurant_id)""";
+    private static final String COPY_SQL = "COPY restaurants (id, external_id, name, category, location_text, " +
+            "description, keywords, rating, latitude, longitude) FROM STDIN WITH (FORMAT csv)";
+
+    private BenchmarkCatalog() {
+    }
+
+    /**
+     * 벤치마크 맛집 한 행
+     */
+    public record Row(long id, String externalId, String name, String category, String locationText,
+                      String description, String keywords, double rating, double latitude, double longitude) {
+
+        public RestaurantSummary summary() {
+            return new RestaurantSummary(id, category, keywords, rating, latitude, longitude);
+        }
+    }
+
+    /**
+     * id로 결정되는 맛집 행
+     */
+    public static Row row(long id) {
+        SplittableRandom random = new SplittableRandom(id);
+        String region = REGIONS.get(random.nextInt(REGIONS.size()));
+        String category = CATEGORIES.get(random.nextInt(CATEGORIES.size()));
+        String tag = TAGS.get(random.nextInt(TAGS.size()));
+        String description = PHRASES.get(random.nextInt(PHRASES.size())) + " " + category + " 맛집, "
+                + PHRASES.get(random.nextInt(PHRASES.size())) + " 곳";
+        String keywords = region + "," + category + "," + tag + ",메뉴" + random.nextInt(MENUS);
+        double rating = Math.round(random.nextDouble(2.5, 5.0) * 10) / 10.0;
+        return new Row(id, "bench-" + id, "맛집 " + id, category, region + " " + (id % 100) + "번길",
+                description, keywords, rating, 37.35 + random.nextDouble(0.2), 127.0 + random.nextDouble(0.2));
+    }
+
+    /**
+     * 1..count 맛집 요약 (id 순)
+     */
+    public static List<RestaurantSummary> summaries(int count) {
+        List<RestaurantSummary> summaries = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            summaries.add(row(id).summary());
+        }
+        return summaries;
+    }
+
+    /**
+     * 카탈로그로 구성한 인메모리 키워드 색인 (DB 없이 id 순 페이지를 돌려주는 Repository로 rebuild)
+     */
+    public static RestaurantKeywordIndex keywordIndex(int count) {
+        List<RestaurantSummary> summaries = summaries(count);
+        RestaurantRepository repository = (RestaurantRepository) Proxy.newProxyInstance(
+                RestaurantRepository.class.getClassLoader(), new Class<?>[]{RestaurantRepository.class},
+                (proxy, method, args) -> {
+                    if (!method.getName().equals("findSummariesByIdGreaterThan")) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    // id가 1..count이므로 기준 ID가 곧 시작 위치
+                    int from = (int) Math.min((Long) args[0], summaries.size());
+                    int to = Math.min(from + ((Pageable) args[1]).getPageSize(), summaries.size());
+                    return new ArrayList<>(summaries.subList(from, to));
+                });
+        RestaurantKeywordIndex index = new RestaurantKeywordIndex(repository, null, event -> {
+        }, new SimpleMeterRegistry());
+        index.rebuild();
+        return index;
+    }
+
+    /**
+     * restaurants/restaurant_keywords에 1..count 맛집 적재 (이미 같은 데이터가 있으면 그대로 사용)
+     */
+    public static void seed(JdbcTemplate jdbcTemplate, int count) {
+        jdbcTemplate.execute(RESTAURANTS_DDL);
+        jdbcTemplate.execute(RESTAURANT_KEYWORDS_DDL);
+        jdbcTemplate.execute(RESTAURANT_KEYWORDS_INDEX_DDL);
+        Long existing = jdbcTemplate.queryForObject("SELECT count(*) FROM restaurants WHERE external_id LIKE 'bench-%'", Long.class);
+        Long total = jdbcTemplate.queryForObject("SELECT count(*) FROM restaurants", Long.class);
+        if (existing != null && existing == count && total != null && total == count) {
+            return;
+        }
+
+        jdbcTemplate.execute("TRUNCATE restaurants, restaurant_keywords");
+        for (long from = 1; from <= count; from += COPY_CHUNK) {
+            StringBuilder csv = new StringBuilder();
+            for (long id = from; id < from + COPY_CHUNK && id <= count; id++) {
+                Row row = row(id);
+                csv.append(row.id()).append(',').append(quote(row.externalId())).append(',')
+                        .append(quote(row.name())).append(',').append(quote(row.category())).append(',')
+                        .append(quote(row.locationText())).append(',').append(quote(row.description())).append(',')
+                        .append(quote(row.keywords())).append(',').append(row.rating()).append(',')
+                        .append(String.format(Locale.ROOT, "%.6f,%.6f", row.latitude(), row.longitude())).append('\n');
+            }
+            jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+                try {
+                    return new CopyManager(connection.unwrap(BaseConnection.class))
+                            .copyIn(COPY_SQL, new StringReader(csv.toString()));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+        // 임포트 벤치마크가 IDENTITY로 추가할 수 있도록 시퀀스를 맞춤
+        jdbcTemplate.execute("SELECT setval(pg_get_serial_sequence('restaurants', 'id'), " + (count + 1) + ", false)");
+        jdbcTemplate.update(RestaurantKeywordRepository.INSERT_KEYWORD_ROWS + "ON CONFLICT DO NOTHING");
+        jdbcTemplate.execute("ANALYZE restaurants");
+        // 방금 적재한 행도 index-only scan이 되도록 visibility map 갱신
+        jdbcTemplate.execute("VACUUM ANALYZE restaurant_keywords");
+    }
+
+    private static String quote(String value) {
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.onboarding;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+/**
+ * 벤치마크용 PostgreSQL 연결
+ * - -Dbenchmark.jdbc-url (benchmark.username, benchmark.password)을 주면 그 DB 사용 (로컬에 데이터를 미리 넣어둔 DB 등)
+ * - 없으면 Testcontainers로 postgres:16-alpine 컨테이너를 띄움 (Docker 필요)
+ * - 컨테이너는 애플리케이션과 같이 reWriteBatchedInserts=true로 연결 (직접 준 URL에는 필요하면 직접 추가)
+ * - 커넥션 하나를 계속 사용 (커넥션 획득 비용이 측정에 섞이지 않도록)
+ */
+public final class BenchmarkDatabase implements AutoCloseable {
+
+    private static final String IMAGE = "postgres:16-alpine";
+
+    private final PostgreSQLContainer<?> container;
+    private final SingleConnectionDataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    private BenchmarkDatabase(PostgreSQLContainer<?> container, String url, String username, String password) {
+        this.container = container;
+        this.dataSource = new SingleConnectionDataSource(url, username, password, true);
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    }
+
+    public static BenchmarkDatabase start() {
+        String url = System.getProperty("benchmark.jdbc-url");
+        if (url != null && !url.isBlank()) {
+            return new BenchmarkDatabase(null, url,
+                    System.getProperty("benchmark.username", "postgres"),
+                    System.getProperty("benchmark.password", "postgres"));
+        }
+
+        PostgreSQLContainer<?> container = new PostgreSQLContainer<>(IMAGE)
+                .withUrlParam("reWriteBatchedInserts", "true");
+        container.start();
+        return new BenchmarkDatabase(container, container.getJdbcUrl(), container.getUsername(), container.getPassword());
+    }
+
+    public JdbcTemplate jdbcTemplate() {
+        return jdbcTemplate;
+    }
+
+    public TransactionTemplate transactionTemplate() {
+        return transactionTemplate;
+    }
+
+    @Override
+    public void close() {
+        dataSource.destroy();
+        if (container != null) {
+            container.stop();
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.onboarding.service;
+
+import com.example.onboarding.BenchmarkCatalog;
+import com.example.onboarding.BenchmarkDatabase;
+import com.example.onboarding.dto.CatalogImportStatus;
+import com.example.onboarding.repository.RestaurantKeywordRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.lang.reflect.Parameter;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 카탈로그 임포트 처리량 (CatalogImportService.importNow, 맛집 10만 행 CSV, 결과는 초당 행 수)
+ * - fresh: 빈 테이블에 임포트 (모든 행 INSERT + 키워드 동기화)
+ * - unchanged: 같은 내용을 다시 임포트 (content_hash가 같아 갱신 없이 RETURNING으로 0행, 키워드 동기화 없음)
+ *   - 파일 해시로 건너뛰지 않도록 호출마다 catalog_imports를 비움
+ * - 배치 크기별로 측정 (배치당 다중 행 INSERT 한 문장, 5461행을 넘으면 여러 문장으로 나뉨)
+ * - 임포트 후 인메모리 색인 재구성은 빈 색인이라 측정에 거의 포함되지 않음
+ *
+ * 실행: ./gradlew jmh -PjmhIncludes=CatalogImportBenchmark
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CatalogImportBenchmark {
+
+    private static final int ROWS = 100_000;
+
+    @Param({"fresh", "unchanged"})
+    public String scenario;
+
+    @Param({"500", "5000"})
+    public int batchSize;
+
+    private BenchmarkDatabase database;
+    private JdbcTemplate jdbcTemplate;
+    private CatalogImportService service;
+    private ByteArrayResource catalog;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        database = BenchmarkDatabase.start();
+        jdbcTemplate = database.jdbcTemplate();
+        BenchmarkCatalog.seed(jdbcTemplate, 0);
+        catalog = new ByteArrayResource(csv(ROWS).getBytes(StandardCharsets.UTF_8));
+        service = new CatalogImportService(jdbcTemplate, BenchmarkCatalog.keywordIndex(0),
+                new RestaurantKeywordService(keywordRepository(jdbcTemplate), null), batchSize);
+        // 스키마 준비 (catalog_imports, external_id 유니크 인덱스) + unchanged용 데이터
+        importCatalog();
+    }
+
+    @Setup(Level.Invocation)
+    public void reset() {
+        if (scenario.equals("fresh")) {
+            jdbcTemplate.execute("TRUNCATE restaurants, restaurant_keywords, catalog_imports");
+        } else {
+            jdbcTemplate.execute("TRUNCATE catalog_imports");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        service.shutdown();
+        database.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public long importCatalog() {
+        CatalogImportStatus status = service.importNow(catalog, "catalog.csv");
+        if (!status.getState().equals("COMPLETED") || status.getRowsRejected() > 0) {
+            throw new IllegalStateException("import failed: " + status.getState() + " " + status.getErrors());
+        }
+        return status.getRowsWritten();
+    }
+
+    private static String csv(int count) {
+        StringBuilder csv = new StringBuilder("external_id,name,category,location_text,description,keywords,rating,latitude,longitude\n");
+        for (long id = 1; id <= count; id++) {
+            BenchmarkCatalog.Row row = BenchmarkCatalog.row(id);
+            csv.append(row.externalId()).append(',').append(row.name()).append(',').append(row.category()).append(',')
+                    .append(row.locationText()).append(",\"").append(row.description()).append("\",\"")
+                    .append(row.keywords()).append("\",").append(row.rating()).append(',')
+                    .append(String.format(Locale.ROOT, "%.6f,%.6f", row.latitude(), row.longitude())).append('\n');
+        }
+        return csv.toString();
+    }
+
+    /**
+     * 네이티브 @Query를 그대로 JDBC로 실행하는 키워드 Repository (Spring Data 없이 같은 SQL로 동기화)
+     */
+    private static RestaurantKeywordRepository keywordRepository(JdbcTemplate jdbcTemplate) {
+        NamedParameterJdbcTemplate named = new NamedParameterJdbcTemplate(jdbcTemplate);
+        return (RestaurantKeywordRepository) Proxy.newProxyInstance(
+                RestaurantKeywordRepository.class.getClassLoader(), new Class<?>[]{RestaurantKeywordRepository.class},
+                (proxy, method, args) -> {
+                    Query query = method.getAnnotation(Query.class);
+                    if (query == null || !query.nativeQuery()) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    MapSqlParameterSource params = new MapSqlParameterSource();
+                    Parameter[] parameters = method.getParameters();
+                    for (int i = 0; i < parameters.length; i++) {
+                        String name = parameters[i].getAnnotation(org.springframework.data.repository.query.Param.class).value();
+                        params.addValue(name, args[i]);
+                    }
+                    return named.update(query.value(), params);
+                });
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.onboarding.service;
+
+import com.example.onboarding.BenchmarkDatabase;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 채팅 메시지 저장 처리량 비교 (한 트랜잭션에 messages개 저장)
+ * - identity: 기존 IDENTITY 방식, 행마다 INSERT ... RETURNING id (ID를 받아야 하므로 배치 불가)
+ * - sequence: SequenceBlockIdGenerator(id-block-size) + JDBC 배치 (hibernate.jdbc.batch_size와 같은 50)
+ * - snowflake: SnowflakeIdGenerator + JDBC 배치 (ID 발급에 DB 왕복 없음)
+ *
+ * 실행: ./gradlew jmh -PjmhIncludes=ChatMessageInsertBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ChatMessageInsertBenchmark {
+
+    private static final int JDBC_BATCH_SIZE = 50;
+
+    private static final String INSERT_RETURNING_SQL =
+            "INSERT INTO chat_messages_identity (room_id, sender_id, sender_nickname, content, type, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?) RETURNING id";
+    private static final String INSERT_SQL =
+            "INSERT INTO chat_messages (id, room_id, sender_id, sender_nickname, content, type, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    @Param({"identity", "sequence", "snowflake"})
+    public String strategy;
+
+    @Param({"1000"})
+    public int messages;
+
+    @Param({"100"})
+    public int idBlockSize;
+
+    private BenchmarkDatabase database;
+    private JdbcTemplate jdbcTemplate;
+    private ChatMessageIdGenerator idGenerator;
+    private final List<Object[]> rows = new ArrayList<>();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        database = BenchmarkDatabase.start();
+        jdbcTemplate = database.jdbcTemplate();
+        jdbcTemplate.execute("""
+                CREATE TABLE IF NOT EXISTS chat_messages_identity (
+                    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+                    room_id BIGINT NOT NULL, sender_id UUID NOT NULL, sender_nickname VARCHAR(50),
+                    content TEXT NOT NULL, type VARCHAR(20) NOT NULL, created_at TIMESTAMP NOT NULL)""");
+        jdbcTemplate.execute("""
+                CREATE TABLE IF NOT EXISTS chat_messages (
+                    id BIGINT PRIMARY KEY,
+                    room_id BIGINT NOT NULL, sender_id UUID NOT NULL, sender_nickname VARCHAR(50),
+                    content TEXT NOT NULL, type VARCHAR(20) NOT NULL, created_at TIMESTAMP NOT NULL)""");
+
+        idGenerator = switch (strategy) {
+            case "identity" -> null;
+            case "sequence" -> {
+                SequenceBlockIdGenerator sequence = new SequenceBlockIdGenerator(jdbcTemplate, idBlockSize);
+                sequence.init();
+                yield sequence;
+            }
+            case "snowflake" -> new SnowflakeIdGenerator(0);
+            default -> throw new IllegalArgumentException(strategy);
+        };
+
+        List<UUID> senders = List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
+        for (int i = 0; i < messages; i++) {
+            rows.add(new Object[]{(long) (i % 10), senders.get(i % senders.size()), "user" + (i % senders.size()),
+                    "점심 뭐 먹을까요? 판교역 근처 " + i, "TALK"});
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void truncate() {
+        jdbcTemplate.execute("TRUNCATE chat_messages_identity, chat_messages");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        database.close();
+    }
+
+    @Benchmark
+    public long insert() {
+        Timestamp createdAt = Timestamp.valueOf(LocalDateTime.now());
+        return database.transactionTemplate().execute(status -> {
+            if (idGenerator == null) {
+                long lastId = 0;
+                for (Object[] row : rows) {
+                    lastId = jdbcTemplate.queryForObject(INSERT_RETURNING_SQL, Long.class,
+                            row[0], row[1], row[2], row[3], row[4], createdAt);
+                }
+                return lastId;
+            }
+
+            List<Object[]> batch = new ArrayList<>(rows.size());
+            for (Object[] row : rows) {
+                batch.add(new Object[]{idGenerator.nextId(), row[0], row[1], row[2], row[3], row[4], createdAt});
+            }
+            jdbcTemplate.batchUpdate(INSERT_SQL, batch, JDBC_BATCH_SIZE, (ps, values) -> {
+                for (int i = 0; i < values.length; i++) {
+                    ps.setObject(i + 1, values[i]);
+                }
+            });
+            return (long) batch.get(batch.size() - 1)[0];
+        });
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.onboarding.service;
+
+import com.example.onboarding.BenchmarkCatalog;
+import com.example.onboarding.dto.RestaurantDto;
+import com.example.onboarding.dto.RestaurantSummary;
+import com.example.onboarding.dto.SuggestionDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 추천 카드 페이로드 직렬화 비교 (맛집 cards개)
+ * - jackson: 기존 방식, ObjectMapper로 SuggestionDto 전체 직렬화 (메시지 컨버터와 같은 UTF-8 바이트 출력)
+ * - fragmentsHit: RestaurantCardCache, 모든 맛집 조각이 캐시된 상태
+ * - fragmentsMiss: RestaurantCardCache, 매번 전체 무효화 후 직렬화 (조각 생성 + 캐시 저장 포함)
+ * - dtoAndFragmentsHit: 추천 캐시 미스 경로 (convertToDto와 같은 DTO 생성 + 조각 히트) - DTO 생성 할당은 줄지 않음
+ * - gc 프로파일러로 실행하면 gc.alloc.rate.norm으로 전송당 할당 바이트 비교
+ *
+ * 실행: ./gradlew jmh -PjmhIncludes=RestaurantCardCacheBenchmark -PjmhProfilers=gc
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RestaurantCardCacheBenchmark {
+
+    private static final RestaurantCatalogLoadedEvent RELOADED = new RestaurantCatalogLoadedEvent(new RestaurantSummary[0]);
+
+    @Param({"5", "10"})
+    public int cards;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private RestaurantCardCache cache;
+    private List<BenchmarkCatalog.Row> rows;
+    private SuggestionDto suggestion;
+    private long generation;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        cache = new RestaurantCardCache(new SimpleMeterRegistry(), 10_000);
+        rows = new ArrayList<>(cards);
+        List<RestaurantDto> restaurants = new ArrayList<>(cards);
+        for (long id = 1; id <= cards; id++) {
+            BenchmarkCatalog.Row row = BenchmarkCatalog.row(id);
+            rows.add(row);
+            restaurants.add(dto(row));
+        }
+        suggestion = suggestion(restaurants);
+        generation = cache.generation();
+        cache.toJson(suggestion, generation);
+    }
+
+    @Benchmark
+    public byte[] jackson() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(suggestion);
+    }
+
+    @Benchmark
+    public byte[] fragmentsHit() {
+        return cache.toJson(suggestion, generation);
+    }
+
+    @Benchmark
+    public byte[] fragmentsMiss() {
+        cache.onCatalogLoaded(RELOADED);
+        return cache.toJson(suggestion, cache.generation());
+    }
+
+    @Benchmark
+    public byte[] dtoAndFragmentsHit() {
+        List<RestaurantDto> restaurants = new ArrayList<>(rows.size());
+        for (BenchmarkCatalog.Row row : rows) {
+            restaurants.add(dto(row));
+        }
+        return cache.toJson(suggestion(restaurants), generation);
+    }
+
+    /**
+     * SuggestionService.convertToDto와 같은 필드로 DTO 생성
+     */
+    private static RestaurantDto dto(BenchmarkCatalog.Row row) {
+        return RestaurantDto.builder()
+                .id(row.id())
+                .name(row.name())
+                .category(row.category())
+                .locationText(row.locationText())
+                .address(row.locationText())
+                .description(row.description())
+                .rating(row.rating())
+                .image("/images/placeholder-restaurant.jpg")
+                .distance("도보 5분")
+                .build();
+    }
+
+    private static SuggestionDto suggestion(List<RestaurantDto> restaurants) {
+        return SuggestionDto.builder()
+                .message("맛집을 추천해드릴게요!")
+                .cardData(SuggestionDto.CardData.builder()
+                        .title("판교 한식 맛집")
+                        .image("/images/restaurant-map.jpg")
+                        .restaurants(restaurants)
+                        .build())
+                .time("오후 12:30")
+                .build();
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.onboarding.service;
+
+import com.example.onboarding.BenchmarkCatalog;
+import com.example.onboarding.BenchmarkDatabase;
+import com.example.onboarding.dto.RestaurantSummary;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 키워드 후보 검색 비교 (지역 키워드 / 지역 AND 카테고리 중 하나, 평점 상위 limit개)
+ * - index: RestaurantKeywordIndex (posting list 교집합, DB 없음)
+ * - like: 색인 도입 전 방식, restaurants.keywords LIKE '%키워드%' (B-tree 인덱스를 쓸 수 없어 전체 스캔)
+ *   - 기존 코드는 LIKE 결과를 모두 읽어 자바에서 걸렀으나, 여기서는 조건과 LIMIT을 SQL에 넣어 유리하게 비교
+ * - 검색마다 지역/카테고리를 바꿔가며 조회 (같은 posting list만 반복해서 읽지 않도록)
+ *
+ * 실행: ./gradlew jmh -PjmhIncludes=RestaurantKeywordSearchBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RestaurantKeywordSearchBenchmark {
+
+    private static final String LIKE_SQL = "SELECT id, category, keywords, rating, latitude, longitude FROM restaurants " +
+            "WHERE keywords LIKE ? ORDER BY rating DESC NULLS LAST, id LIMIT ?";
+    private static final String LIKE_ANY_OF_SQL = "SELECT id, category, keywords, rating, latitude, longitude FROM restaurants " +
+            "WHERE keywords LIKE ? AND (keywords LIKE ? OR keywords LIKE ?) ORDER BY rating DESC NULLS LAST, id LIMIT ?";
+    private static final RowMapper<RestaurantSummary> SUMMARY = (rs, rowNum) -> new RestaurantSummary(rs.getLong("id"),
+            rs.getString("category"), rs.getString("keywords"), rs.getObject("rating", Double.class),
+            rs.getObject("latitude", Double.class), rs.getObject("longitude", Double.class));
+
+    @Param({"index", "like"})
+    public String backend;
+
+    @Param({"100000", "1000000"})
+    public int restaurants;
+
+    @Param({"50"})
+    public int limit;
+
+    private BenchmarkDatabase database;
+    private JdbcTemplate jdbcTemplate;
+    private RestaurantKeywordIndex index;
+    private int query;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        if (backend.equals("index")) {
+            index = BenchmarkCatalog.keywordIndex(restaurants);
+        } else {
+            database = BenchmarkDatabase.start();
+            jdbcTemplate = database.jdbcTemplate();
+            BenchmarkCatalog.seed(jdbcTemplate, restaurants);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (database != null) {
+            database.close();
+        }
+    }
+
+    @Benchmark
+    public List<RestaurantSummary> findByKeyword() {
+        String region = BenchmarkCatalog.REGIONS.get(next() % BenchmarkCatalog.REGIONS.size());
+        if (index != null) {
+            return index.findByKeyword(region, limit);
+        }
+        return jdbcTemplate.query(LIKE_SQL, SUMMARY, "%" + region + "%", limit);
+    }
+
+    @Benchmark
+    public List<RestaurantSummary> findByKeywordAndAnyOf() {
+        int n = next();
+        List<String> categories = BenchmarkCatalog.CATEGORIES;
+        String region = BenchmarkCatalog.REGIONS.get(n % BenchmarkCatalog.REGIONS.size());
+        String first = categories.get(n % categories.size());
+        String second = categories.get((n + 3) % categories.size());
+        if (index != null) {
+            return index.findByKeywordAndAnyOf(region, List.of(first, second), limit);
+        }
+        return jdbcTemplate.query(LIKE_ANY_OF_SQL, SUMMARY, "%" + region + "%", "%" + first + "%", "%" + second + "%", limit);
+    }
+
+    private int next() {
+        return query++ & Integer.MAX_VALUE;
+    }
+}
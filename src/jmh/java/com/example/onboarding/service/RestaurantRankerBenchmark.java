@@ -0,0 +1,82 @@
+package com.example.onboarding.service;
+
+import com.example.onboarding.BenchmarkCatalog;
+import com.example.onboarding.config.RecommendationRankingProperties;
+import com.example.onboarding.dto.ClaudeAnalysisResult;
+import com.example.onboarding.dto.RestaurantSummary;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 추천 순위 계산 비용 (RestaurantRanker.topK, 상위 k개)
+ * - 후보 수를 10배씩 늘려 시간이 선형으로 늘어나는지 확인 (크기 k 힙이므로 O(n log k))
+ * - gc 프로파일러로 실행하면 gc.alloc.rate.norm(호출당 할당 바이트)이 후보 수와 무관하게 일정해야 함
+ *   (후보당 할당이 없고 정규화한 검색어 리스트, 힙 배열, 결과 배열만 할당)
+ * - 후보의 절반은 거리, 1/4은 텍스트 검색 점수가 있음 (SuggestionService의 후보 수집 결과와 비슷하게)
+ *
+ * 실행: ./gradlew jmh -PjmhIncludes=RestaurantRankerBenchmark -PjmhProfilers=gc
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RestaurantRankerBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int candidates;
+
+    @Param({"5"})
+    public int k;
+
+    private final RestaurantRanker ranker = new RestaurantRanker(new RecommendationRankingProperties());
+    private List<RestaurantSummary> summaries;
+    private double[] distances;
+    private double[] textScores;
+    private ClaudeAnalysisResult analysis;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        summaries = BenchmarkCatalog.summaries(candidates);
+        SplittableRandom random = new SplittableRandom(7);
+        distances = new double[candidates];
+        textScores = new double[candidates];
+        Arrays.fill(distances, Double.NaN);
+        Arrays.fill(textScores, Double.NaN);
+        for (int i = 0; i < candidates; i++) {
+            if (i % 2 == 0) {
+                distances[i] = random.nextDouble(3000);
+            }
+            if (i % 4 == 0) {
+                textScores[i] = random.nextDouble();
+            }
+        }
+
+        analysis = new ClaudeAnalysisResult();
+        analysis.setLocation("판교");
+        analysis.setCategories(List.of("한식", "고기"));
+        analysis.setPreferences(List.of("가성비", "회식"));
+        analysis.setMealType("점심");
+    }
+
+    @Benchmark
+    public List<RestaurantSummary> topK() {
+        return ranker.topK(summaries, distances, textScores, 1500, analysis, k);
+    }
+}
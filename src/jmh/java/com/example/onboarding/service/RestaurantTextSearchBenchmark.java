@@ -0,0 +1,114 @@
+package com.example.onboarding.service;
+
+import com.example.onboarding.BenchmarkCatalog;
+import com.example.onboarding.BenchmarkDatabase;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 선호사항 텍스트 검색 비교 (PostgreSQL, keywords + description, 상위 limit개)
+ * - trgm: PostgresRestaurantSearch.findByText (pg_trgm word_similarity + GIN 인덱스)
+ * - like: 같은 검색 텍스트에 lower(...) LIKE '%선호사항%' (GIN 인덱스 없음, 전체 스캔)
+ *   - LIKE는 글자가 그대로 포함된 맛집만 찾음 ("분위기 좋은"으로 "분위기가 좋은"을 못 찾음) - 속도만 비교
+ * - 지역 조건 없이 / 지역(restaurant_keywords) 조건과 함께 각각 측정
+ *
+ * 실행: ./gradlew jmh -PjmhIncludes=RestaurantTextSearchBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RestaurantTextSearchBenchmark {
+
+    private static final String SEARCH_TEXT = "lower(coalesce(keywords, '') || ' ' || coalesce(description, ''))";
+    private static final String LIKE_SQL = "SELECT id FROM restaurants WHERE (" + SEARCH_TEXT + " LIKE ? OR "
+            + SEARCH_TEXT + " LIKE ?) ORDER BY rating DESC NULLS LAST, id LIMIT ?";
+    private static final String LIKE_IN_REGION_SQL = "SELECT id FROM restaurants WHERE (" + SEARCH_TEXT + " LIKE ? OR "
+            + SEARCH_TEXT + " LIKE ?) AND EXISTS (SELECT 1 FROM restaurant_keywords k WHERE k.keyword = ? "
+            + "AND k.restaurant_id = restaurants.id) ORDER BY rating DESC NULLS LAST, id LIMIT ?";
+
+    private static final List<List<String>> TERMS = List.of(
+            List.of("분위기 좋은", "조용한"),
+            List.of("가성비", "양이 많은"),
+            List.of("뷰가 좋은", "친절한"));
+
+    @Param({"trgm", "like"})
+    public String backend;
+
+    @Param({"100000", "1000000"})
+    public int restaurants;
+
+    @Param({"50"})
+    public int limit;
+
+    private BenchmarkDatabase database;
+    private JdbcTemplate jdbcTemplate;
+    private PostgresRestaurantSearch search;
+    private int query;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        database = BenchmarkDatabase.start();
+        jdbcTemplate = database.jdbcTemplate();
+        BenchmarkCatalog.seed(jdbcTemplate, restaurants);
+        if (backend.equals("trgm")) {
+            search = new PostgresRestaurantSearch(jdbcTemplate, null);
+            search.init();
+        } else {
+            // LIKE 기준선이 trigram 인덱스를 쓰지 않도록 (같은 DB를 재사용할 때)
+            jdbcTemplate.execute("DROP INDEX IF EXISTS idx_restaurants_search_trgm");
+        }
+        jdbcTemplate.execute("ANALYZE restaurants");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        database.close();
+    }
+
+    @Benchmark
+    public int findByText() {
+        List<String> terms = TERMS.get(next() % TERMS.size());
+        if (search != null) {
+            return search.findByText(null, terms, limit).size();
+        }
+        return jdbcTemplate.queryForList(LIKE_SQL, Long.class, like(terms.get(0)), like(terms.get(1)), limit).size();
+    }
+
+    @Benchmark
+    public int findByTextInRegion() {
+        int n = next();
+        List<String> terms = TERMS.get(n % TERMS.size());
+        String region = BenchmarkCatalog.REGIONS.get(n % BenchmarkCatalog.REGIONS.size());
+        if (search != null) {
+            return search.findByText(region, terms, limit).size();
+        }
+        return jdbcTemplate.queryForList(LIKE_IN_REGION_SQL, Long.class,
+                like(terms.get(0)), like(terms.get(1)), region, limit).size();
+    }
+
+    private static String like(String term) {
+        return "%" + term + "%";
+    }
+
+    private int next() {
+        return query++ & Integer.MAX_VALUE;
+    }
+}
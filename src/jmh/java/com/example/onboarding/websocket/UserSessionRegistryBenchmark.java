@@ -0,0 +1,71 @@
+package com.example.onboarding.websocket;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 사용자/세션 레지스트리 부하 (8개 스레드 동시 실행, 세션 connected개가 접속된 상태에서 측정)
+ * - connectDisconnect: 새 세션 등록 후 종료 (CONNECT + DISCONNECT), 사용자 users명에 세션이 몰릴수록 같은 키 경합
+ * - lookup: 접속 중인 세션의 사용자 조회 (SUBSCRIBE 로그, 흐름 제어 현황)
+ *
+ * 실행: ./gradlew jmh -PjmhIncludes=UserSessionRegistryBenchmark
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UserSessionRegistryBenchmark {
+
+    private static final int CONNECTED = 10_000;
+
+    @Param({"16", "10000"})
+    public int users;
+
+    private final AtomicLong nextSession = new AtomicLong();
+    private UserSessionRegistry registry;
+    private String[] userIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        registry = new UserSessionRegistry(new SimpleMeterRegistry());
+        userIds = new String[users];
+        for (int i = 0; i < users; i++) {
+            userIds[i] = UUID.nameUUIDFromBytes(("user-" + i).getBytes()).toString();
+        }
+        for (int i = 0; i < CONNECTED; i++) {
+            registry.register("connected-" + i, userIds[i % users]);
+        }
+    }
+
+    @Benchmark
+    public String connectDisconnect() {
+        long session = nextSession.getAndIncrement();
+        String sessionId = "s" + session;
+        registry.register(sessionId, userIds[(int) (session % users)]);
+        return registry.unregister(sessionId);
+    }
+
+    @Benchmark
+    public String lookup() {
+        return registry.getUserId("connected-" + (nextSession.getAndIncrement() % CONNECTED));
+    }
+}
@@ -1,13 +1,33 @@
 package com.example.onboarding.config;
 
+import com.example.onboarding.service.AnalysisExecutor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableAsync;
 
 /**
  * 비동기 처리 설정
  * - @Async 어노테이션을 사용하기 위한 설정
+ * - LLM 분석 전용 executor (동시 실행 수 제한 + bounded queue)
  */
 @Configuration
 @EnableAsync
 public class AsyncConfig {
+
+    /**
+     * LLM 분석 executor
+     * - concurrency: 동시에 실행할 최대 분석 수 (Claude 응답 대기 포함)
+     * - queue-capacity: 대기 가능한 분석 수 (초과 시 큐에서 가장 오래된 분석을 버림)
+     * - virtual-threads: 작업 스레드로 가상 스레드 사용 여부
+     */
+    @Bean(destroyMethod = "shutdown")
+    public AnalysisExecutor analysisExecutor(
+            MeterRegistry meterRegistry,
+            @Value("${chat.analysis.executor.concurrency:64}") int concurrency,
+            @Value("${chat.analysis.executor.queue-capacity:1000}") int queueCapacity,
+            @Value("${chat.analysis.executor.virtual-threads:false}") boolean virtualThreads) {
+        return new AnalysisExecutor(concurrency, queueCapacity, virtualThreads, meterRegistry);
+    }
 }
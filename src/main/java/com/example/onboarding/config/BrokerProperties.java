@@ -0,0 +1,83 @@
+package com.example.onboarding.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * STOMP 메시지 브로커 설정 (chat.websocket.broker.*)
+ * - simple: 애플리케이션 내장 브로커 (단일 인스턴스)
+ * - relay: 외부 STOMP 브로커로 중계 (여러 인스턴스가 구독/브로드캐스트 공유)
+ *   - /sub/... 목적지는 브로커로 나갈 때 relay-destination-prefix 아래로 변환됨 (RelayDestinationMapper)
+ *   - RabbitMQ(STOMP 플러그인)로 두 인스턴스 간 전달을 검증함 (BrokerRelayIntegrationTest)
+ *   - 다른 브로커는 /topic/ 목적지를 브로드캐스트(구독자 모두에게 전달)로 처리해야 함
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "chat.websocket.broker")
+public class BrokerProperties {
+
+    /**
+     * 브로커 모드 (simple | relay)
+     */
+    private String mode = "simple";
+
+    /**
+     * 외부 브로커 주소 목록 ("host:port")
+     * - 연결이 끊기면 다음 주소로 재연결 (장애 조치)
+     */
+    private List<String> relayHosts = new ArrayList<>(List.of("localhost:61613"));
+
+    /**
+     * 클라이언트 세션이 브로커에 연결할 때 사용하는 계정
+     */
+    private String clientLogin = "guest";
+    private String clientPasscode = "guest";
+
+    /**
+     * 애플리케이션 공용 연결(시스템 세션) 계정
+     */
+    private String systemLogin = "guest";
+    private String systemPasscode = "guest";
+
+    /**
+     * 브로커 가상 호스트 (RabbitMQ vhost 등, 없으면 브로커 기본값)
+     */
+    private String virtualHost;
+
+    /**
+     * 시스템 세션 하트비트 (브로커 장애 감지)
+     */
+    private Duration systemHeartbeatSendInterval = Duration.ofSeconds(10);
+    private Duration systemHeartbeatReceiveInterval = Duration.ofSeconds(10);
+
+    /**
+     * 브로커로 나가는 목적지 prefix (relay 모드, /sub/room/1 → /topic/room.1)
+     */
+    private String relayDestinationPrefix = "/topic/";
+
+    /**
+     * 브로커 목적지의 경로 구분자 (RabbitMQ는 /topic/ 뒤에 '/'를 허용하지 않아 '.' 사용)
+     */
+    private String relayPathSeparator = ".";
+
+    /**
+     * 인스턴스 간 사용자 세션 정보를 공유하는 목적지 (relay 모드, 변환하지 않는 브로커 형식 목적지)
+     */
+    private String userRegistryBroadcast = "/topic/registry.broadcast";
+
+    /**
+     * 이 인스턴스에서 찾을 수 없는 사용자 목적지 메시지를 다른 인스턴스로 전달하는 목적지 (relay 모드, 브로커 형식)
+     */
+    private String userDestinationBroadcast = "/topic/unresolved.user.dest";
+
+    public boolean isRelay() {
+        return "relay".equals(mode);
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.onboarding.config;
+
+import com.example.onboarding.dto.CatalogImportStatus;
+import com.example.onboarding.service.CatalogImportService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 시작 시 맛집 카탈로그 임포트
+ * - chat.catalog.import.startup-files 와 --catalog-import=경로[,경로] 옵션의 파일을 순서대로 임포트
+ * - 이미 임포트한 파일(같은 내용)은 건너뛰므로 매 시작마다 실행해도 됨
+ * - 접두사가 없는 경로는 파일 시스템 경로로 처리 (예: --catalog-import=/data/restaurants.ndjson)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CatalogImportRunner implements ApplicationRunner {
+
+    private static final String IMPORT_OPTION = "catalog-import";
+
+    private final CatalogImportService catalogImportService;
+    private final ResourceLoader resourceLoader;
+
+    @Value("${chat.catalog.import.startup-files:}")
+    private List<String> startupFiles;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        List<String> locations = new ArrayList<>(startupFiles);
+        List<String> options = args.getOptionValues(IMPORT_OPTION);
+        if (options != null) {
+            for (String option : options) {
+                locations.addAll(StringUtils.commaDelimitedListToSet(option));
+            }
+        }
+
+        for (String location : locations) {
+            if (!StringUtils.hasText(location)) {
+                continue;
+            }
+            String trimmed = location.trim();
+            Resource resource = resourceLoader.getResource(trimmed.contains(":") ? trimmed : "file:" + trimmed);
+            if (!resource.exists()) {
+                log.warn("Catalog file not found - {}", trimmed);
+                continue;
+            }
+            CatalogImportStatus status = catalogImportService.importNow(resource,
+                    resource.getFilename() != null ? resource.getFilename() : trimmed);
+            if ("FAILED".equals(status.getState())) {
+                log.error("Startup catalog import failed - {}: {}", trimmed, status.getErrors());
+            }
+        }
+    }
+}
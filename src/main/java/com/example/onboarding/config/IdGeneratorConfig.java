@@ -0,0 +1,57 @@
+package com.example.onboarding.config;
+
+import com.example.onboarding.service.ChatMessageIdGenerator;
+import com.example.onboarding.service.SequenceBlockIdGenerator;
+import com.example.onboarding.service.SnowflakeIdGenerator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * 채팅 메시지 ID 생성 전략 설정
+ * - sequence: DB 시퀀스에서 ID 블록을 미리 받아 발급 (단일 노드용, 기본값)
+ * - snowflake: 타임스탬프 + 노드 ID 기반으로 애플리케이션에서 발급 (다중 노드용)
+ *
+ * 두 전략 모두 ID는 한 노드 안에서만 단조 증가함 (노드 간에는 보장하지 않음)
+ * - sequence: 노드마다 서로 다른 블록을 미리 받아 쓰므로, 여러 노드가 같은 방에 쓰면
+ *   나중에 저장된 메시지가 다른 노드의 이전 메시지보다 작은 ID를 받을 수 있음 (최대 id-block-size 만큼 어긋남)
+ * - snowflake: 노드 간 시계 오차만큼 같은 방의 메시지 ID 순서가 전송 순서와 어긋날 수 있음
+ * - 여러 노드에서 방 안 ID 순서가 반드시 전송 순서와 같아야 하면 sequence + id-block-size: 1 사용
+ *   (메시지마다 nextval 한 번, INSERT 배치는 그대로 가능)
+ *
+ * 클라이언트에는 ID를 JSON 문자열로 전송 (ChatMessageDto.id, ChatHistoryDto.nextBefore)
+ * - snowflake ID는 약 1e17로 2^53을 넘으므로 JavaScript number로 받으면 반올림되어 메시지 식별과 before 커서가 깨짐
+ * - 레이아웃을 53비트로 줄이면 타임스탬프/노드/시퀀스 비트가 부족해지므로 직렬화 형식을 바꿈
+ * - 전략을 바꿔도 응답 타입이 달라지지 않도록 sequence에서도 문자열로 전송
+ *
+ * 주의: snowflake로 전환한 뒤 sequence로 되돌리면 새 ID가 기존 ID보다 작아져 ID 순서가 깨짐
+ * 저장 처리량 비교 (IDENTITY / sequence / snowflake): src/jmh의 ChatMessageInsertBenchmark
+ */
+@Slf4j
+@Configuration
+public class IdGeneratorConfig {
+
+    @Bean
+    public ChatMessageIdGenerator chatMessageIdGenerator(
+            JdbcTemplate jdbcTemplate,
+            @Value("${chat.persistence.id-generator:sequence}") String strategy,
+            @Value("${chat.persistence.id-block-size:100}") int blockSize,
+            @Value("${chat.persistence.node-id:0}") int nodeId) {
+
+        ChatMessageIdGenerator generator = switch (strategy) {
+            case "sequence" -> {
+                SequenceBlockIdGenerator sequence = new SequenceBlockIdGenerator(jdbcTemplate, blockSize);
+                sequence.init();
+                yield sequence;
+            }
+            case "snowflake" -> new SnowflakeIdGenerator(nodeId);
+            default -> throw new IllegalArgumentException("Unknown chat.persistence.id-generator: " + strategy);
+        };
+
+        log.info("Chat message id generator - strategy: {}, nodeId: {}", strategy, nodeId);
+
+        return generator;
+    }
+}
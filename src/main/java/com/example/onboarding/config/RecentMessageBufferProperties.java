@@ -0,0 +1,44 @@
+package com.example.onboarding.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 채팅방별 최근 메시지 버퍼 설정 (chat.context.*)
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "chat.context")
+public class RecentMessageBufferProperties {
+
+    /**
+     * 채팅방별 버퍼에 유지할 최근 메시지 수 (기본값)
+     */
+    private int defaultCapacity = 50;
+
+    /**
+     * 채팅방별 버퍼 크기 지정 (Key: roomId, Value: 메시지 수)
+     */
+    private Map<Long, Integer> roomCapacities = new HashMap<>();
+
+    /**
+     * 메모리에 유지할 최대 채팅방 수
+     */
+    private long maxRooms = 10000;
+
+    /**
+     * 마지막 사용 후 버퍼를 유지할 시간
+     */
+    private Duration idleExpiry = Duration.ofMinutes(30);
+
+    public int capacityOf(Long roomId) {
+        return roomCapacities.getOrDefault(roomId, defaultCapacity);
+    }
+}
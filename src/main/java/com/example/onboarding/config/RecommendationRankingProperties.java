@@ -0,0 +1,52 @@
+package com.example.onboarding.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 맛집 추천 순위 설정 (chat.recommendation.ranking.*)
+ * - 각 항목 점수(0 ~ 1)에 가중치를 곱해 더한 값으로 순위 결정
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "chat.recommendation.ranking")
+public class RecommendationRankingProperties {
+
+    /**
+     * 순위를 매길 최대 후보 수 (검색 경로별, 넘으면 평점 상위 후보만 남김)
+     */
+    private int candidateLimit = 100;
+
+    /**
+     * 지역 일치 (키워드에 지역이 있거나 검색 반경 안)
+     */
+    private double locationWeight = 3.0;
+
+    /**
+     * 카테고리 일치 비율
+     */
+    private double categoryWeight = 3.0;
+
+    /**
+     * 선호사항 일치 비율
+     */
+    private double preferenceWeight = 1.5;
+
+    /**
+     * 식사 종류 일치 (예: 브런치, 회식)
+     */
+    private double mealTypeWeight = 1.0;
+
+    /**
+     * 평점 (rating / 5)
+     */
+    private double ratingWeight = 1.0;
+
+    /**
+     * 거리 (가까울수록 1, 검색 반경에서 0)
+     */
+    private double distanceWeight = 2.0;
+}
@@ -0,0 +1,44 @@
+package com.example.onboarding.config;
+
+import com.example.onboarding.service.PostgresRestaurantSearch;
+import com.example.onboarding.service.RestaurantKeywordIndex;
+import com.example.onboarding.service.RestaurantKeywordService;
+import com.example.onboarding.service.RestaurantSearch;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * 맛집 검색 백엔드 설정
+ * - index: 인메모리 키워드 역색인 (기본값, 선호사항은 단어 단위 일치)
+ * - postgres: restaurant_keywords 테이블 + pg_trgm 유사도 검색 (선호사항 부분/유사 일치, 시작 시 확장과 GIN 인덱스 생성)
+ */
+@Slf4j
+@Configuration
+public class RestaurantSearchConfig {
+
+    @Bean
+    @Primary
+    public RestaurantSearch restaurantSearch(
+            RestaurantKeywordIndex restaurantKeywordIndex,
+            RestaurantKeywordService restaurantKeywordService,
+            JdbcTemplate jdbcTemplate,
+            @Value("${chat.search.mode:index}") String mode) {
+
+        RestaurantSearch search = switch (mode) {
+            case "index" -> restaurantKeywordIndex;
+            case "postgres" -> {
+                PostgresRestaurantSearch postgres = new PostgresRestaurantSearch(jdbcTemplate, restaurantKeywordService);
+                postgres.init();
+                yield postgres;
+            }
+            default -> throw new IllegalArgumentException("Unknown chat.search.mode: " + mode);
+        };
+
+        log.info("Restaurant search backend - mode: {}", mode);
+        return search;
+    }
+}
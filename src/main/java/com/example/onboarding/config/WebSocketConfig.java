@@ -1,19 +1,34 @@
 package com.example.onboarding.config;
 
+import com.example.onboarding.websocket.CompactWireFormat;
+import com.example.onboarding.websocket.FailoverTcpClient;
+import com.example.onboarding.websocket.OutboundFlowControl;
+import com.example.onboarding.websocket.RelayDestinationMapper;
+import com.example.onboarding.websocket.UserHandshakeHandler;
 import com.example.onboarding.websocket.UserHandshakeInterceptor;
 import com.example.onboarding.websocket.UserSessionChannelInterceptor;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.converter.MessageConverter;
 import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
+
+import java.net.InetSocketAddress;
+import java.util.List;
 
 /**
  * WebSocket 설정
  * - STOMP 프로토콜을 사용한 채팅 서버 설정
+ * - 브로커는 내장 브로커(simple) 또는 외부 STOMP 브로커 중계(relay) 중 선택 (chat.websocket.broker.*)
+ * - 느린 클라이언트 보호: 세션별 전송 시간/버퍼 제한과 전송 흐름 제어 (chat.websocket.transport.*)
+ * - 요청한 세션에는 CBOR 압축 전송 형식 사용 (chat.websocket.compact.*)
  */
+@Slf4j
 @Configuration
 @EnableWebSocketMessageBroker
 @RequiredArgsConstructor
@@ -21,45 +36,150 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
     private final UserSessionChannelInterceptor userSessionChannelInterceptor;
     private final UserHandshakeInterceptor userHandshakeInterceptor;
+    private final UserHandshakeHandler userHandshakeHandler;
+    private final BrokerProperties brokerProperties;
+    private final WebSocketTransportProperties transportProperties;
+    private final OutboundFlowControl outboundFlowControl;
+    private final CompactWireFormat compactWireFormat;
+    private final RelayDestinationMapper relayDestinationMapper;
 
     /**
      * 메시지 브로커 설정
      * - /sub: 클라이언트가 구독하는 prefix (브로드캐스트용)
      * - /user: 클라이언트가 구독하는 prefix (개인 메시지용)
      * - /pub: 클라이언트가 메시지를 발행하는 prefix
+     * - relay 모드에서는 /sub 목적지를 외부 브로커로 중계하고, 사용자 세션 정보를 브로커를 통해 인스턴스 간 공유
+     *   (/user 목적지는 /sub/...-user{sessionId}로 변환되어 전달됨)
+     *   - 브로커에는 /topic/... 형식으로 나가고 클라이언트에는 /sub/... 로 돌아옴 (RelayDestinationMapper)
      */
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
-        // Simple In-Memory Broker 활성화 (실시간 메시지 브로드캐스팅)
-        // /sub: 채팅방 메시지 등 브로드캐스트
-        // /user: 개인별 추천 알림, 맛집 추천, 에러 메시지
-        config.enableSimpleBroker("/sub", "/user");
+        if (brokerProperties.isRelay()) {
+            configureBrokerRelay(config);
+        } else {
+            // Simple In-Memory Broker 활성화 (실시간 메시지 브로드캐스팅)
+            // /sub: 채팅방 메시지 등 브로드캐스트
+            // /user: 개인별 추천 알림, 맛집 추천, 에러 메시지
+            config.enableSimpleBroker("/sub", "/user");
+        }
 
         // 클라이언트가 서버로 메시지 전송 시 사용하는 prefix
         config.setApplicationDestinationPrefixes("/pub");
 
         // User-specific 메시지를 위한 prefix 설정
         config.setUserDestinationPrefix("/user");
+
+        // CBOR 세션 사전은 전송 순서에 의존하므로 세션별 전송 순서 보장
+        if (compactWireFormat.isEnabled()) {
+            config.setPreservePublishOrder(true);
+        }
+    }
+
+    /**
+     * 외부 STOMP 브로커 중계 설정
+     * - 현재 브로커 주소로 연결하고, 연결에 실패하면 다음 주소로 넘어감 (끊긴 시스템 세션은 5초 간격으로 재연결, FailoverTcpClient)
+     * - 브로커 연결이 끊기면 클라이언트 세션도 종료되므로, 클라이언트는 재접속 후 다시 구독해야 함
+     */
+    private void configureBrokerRelay(MessageBrokerRegistry config) {
+        List<InetSocketAddress> addresses = brokerProperties.getRelayHosts().stream()
+                .map(WebSocketConfig::parseAddress)
+                .toList();
+        if (addresses.isEmpty()) {
+            throw new IllegalArgumentException("chat.websocket.broker.relay-hosts must not be empty in relay mode");
+        }
+        FailoverTcpClient tcpClient = new FailoverTcpClient(addresses);
+
+        // 서버 전송과 사용자 목적지 변환 결과도 브로커 형식 목적지로 변환
+        config.configureBrokerChannel().interceptors(relayDestinationMapper.toBrokerInterceptor());
+
+        config.enableStompBrokerRelay(relayDestinationMapper.brokerPrefix())
+                .setTcpClient(tcpClient)
+                .setClientLogin(brokerProperties.getClientLogin())
+                .setClientPasscode(brokerProperties.getClientPasscode())
+                .setSystemLogin(brokerProperties.getSystemLogin())
+                .setSystemPasscode(brokerProperties.getSystemPasscode())
+                .setVirtualHost(brokerProperties.getVirtualHost())
+                .setSystemHeartbeatSendInterval(brokerProperties.getSystemHeartbeatSendInterval().toMillis())
+                .setSystemHeartbeatReceiveInterval(brokerProperties.getSystemHeartbeatReceiveInterval().toMillis())
+                .setUserRegistryBroadcast(brokerProperties.getUserRegistryBroadcast())
+                .setUserDestinationBroadcast(brokerProperties.getUserDestinationBroadcast());
+
+        log.info("STOMP broker relay enabled - hosts: {}, destination prefix: {}",
+                brokerProperties.getRelayHosts(), relayDestinationMapper.brokerPrefix());
+    }
+
+    private static InetSocketAddress parseAddress(String hostAndPort) {
+        int colon = hostAndPort.lastIndexOf(':');
+        if (colon <= 0) {
+            throw new IllegalArgumentException("Invalid broker relay host (expected host:port): " + hostAndPort);
+        }
+        // 연결할 때마다 DNS를 다시 조회하도록 미해석 주소로 생성
+        return InetSocketAddress.createUnresolved(hostAndPort.substring(0, colon).trim(),
+                Integer.parseInt(hostAndPort.substring(colon + 1).trim()));
     }
 
     /**
      * STOMP 엔드포인트 등록
-     * - /ws-chat: WebSocket 연결 엔드포인트
+     * - /ws-chat: WebSocket 연결 엔드포인트 (/ws-chat?userId={UUID}, 연결의 사용자는 핸드셰이크에서 고정)
      */
     @Override
     public void registerStompEndpoints(StompEndpointRegistry registry) {
         registry.addEndpoint("/ws-chat")
-                .addInterceptors(userHandshakeInterceptor)  // Handshake 시 사용자 정보 추출
+                .setHandshakeHandler(userHandshakeHandler)  // 핸드셰이크 사용자를 Principal로 설정
+                .addInterceptors(userHandshakeInterceptor)  // Handshake 시 사용자 ID 확인 (없으면 거절)
                 .setAllowedOriginPatterns("*")  // CORS 설정
-                .withSockJS();  // SockJS fallback 지원
+                .withSockJS()  // SockJS fallback 지원
+                .setHttpMessageCacheSize(transportProperties.getSockJsMessageCacheSize());  // 폴링 전송 시 보관 메시지 수
     }
 
     /**
      * 클라이언트 인바운드 채널 설정
      * - 사용자 세션 정보를 저장하는 ChannelInterceptor 등록
+     * - relay 모드: 클라이언트가 구독/발행하는 /sub 목적지를 브로커 형식으로 변환
      */
     @Override
     public void configureClientInboundChannel(ChannelRegistration registration) {
         registration.interceptors(userSessionChannelInterceptor);
+        if (relayDestinationMapper.isEnabled()) {
+            registration.interceptors(relayDestinationMapper.toBrokerInterceptor());
+        }
+    }
+
+    /**
+     * 클라이언트 아웃바운드 채널 설정
+     * - 세션별 전송 대기 수에 따라 채팅 외 이벤트를 보류/병합하거나 연결을 끊는 흐름 제어 등록
+     * - 흐름 제어를 통과한 메시지만 CBOR 변환 (보류 후 재전송되는 메시지도 다시 변환)
+     * - relay 모드: 브로커 목적지를 먼저 /sub 목적지로 되돌림 (흐름 제어가 채팅 목적지를 판별할 수 있도록)
+     */
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        if (relayDestinationMapper.isEnabled()) {
+            registration.interceptors(relayDestinationMapper.toClientInterceptor());
+        }
+        registration.interceptors(outboundFlowControl, compactWireFormat);
+    }
+
+    /**
+     * 메시지 변환기 설정
+     * - 기본 변환기(JSON 등)에 content-type: application/cbor 메시지용 변환기 추가
+     */
+    @Override
+    public boolean configureMessageConverters(List<MessageConverter> messageConverters) {
+        messageConverters.add(compactWireFormat.inboundConverter());
+        return true;
+    }
+
+    /**
+     * WebSocket 전송 설정
+     * - 한 번의 전송이 send-time-limit을 넘거나 세션 전송 버퍼가 send-buffer-size-limit을 넘으면 세션 종료
+     *   (느린 클라이언트 하나가 아웃바운드 스레드를 붙잡거나 메모리를 무제한으로 쓰지 않도록 함)
+     * - 세션을 감싸 실제 전송 수를 흐름 제어에 기록
+     */
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        registration.setSendTimeLimit((int) transportProperties.getSendTimeLimit().toMillis())
+                .setSendBufferSizeLimit((int) transportProperties.getSendBufferSizeLimit().toBytes())
+                .setMessageSizeLimit((int) transportProperties.getMessageSizeLimit().toBytes())
+                .addDecoratorFactory(outboundFlowControl);
     }
 }
@@ -0,0 +1,66 @@
+package com.example.onboarding.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * WebSocket 전송/느린 클라이언트 보호 설정 (chat.websocket.transport.*)
+ * - 하드 제한: 한 번의 전송 시간, 세션별 전송 버퍼 크기 (초과 시 Spring이 세션 종료)
+ * - 소프트 제한: 세션별 전송 대기 메시지 수 (초과 시 overflow-policy에 따라 채팅 외 이벤트 보류/병합 또는 연결 종료)
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "chat.websocket.transport")
+public class WebSocketTransportProperties {
+
+    /**
+     * 한 번의 전송에 허용하는 최대 시간 (초과 시 세션 종료)
+     */
+    private Duration sendTimeLimit = Duration.ofSeconds(10);
+
+    /**
+     * 세션별 전송 버퍼 최대 크기 (전송이 밀릴 때 쌓이는 메시지, 초과 시 세션 종료)
+     */
+    private DataSize sendBufferSizeLimit = DataSize.ofKilobytes(512);
+
+    /**
+     * 클라이언트가 보내는 메시지 최대 크기
+     */
+    private DataSize messageSizeLimit = DataSize.ofKilobytes(64);
+
+    /**
+     * SockJS 폴링 전송에서 다음 요청까지 세션에 보관하는 최대 메시지 수
+     */
+    private int sockJsMessageCacheSize = 100;
+
+    /**
+     * 세션별 전송 대기 메시지 수 소프트 제한 (아직 소켓에 쓰지 못한 메시지)
+     */
+    private int maxPendingMessages = 100;
+
+    /**
+     * 소프트 제한 초과 시 정책 (drop-oldest | coalesce | disconnect)
+     * - drop-oldest: 채팅 외 이벤트를 보류하고, 보류 목록이 가득 차면 가장 오래된 이벤트를 버림
+     * - coalesce: 채팅 외 이벤트를 목적지별로 최신 하나만 보류
+     * - disconnect: 연결 종료 (클라이언트가 재접속 후 히스토리 API로 따라잡음)
+     */
+    private String overflowPolicy = "drop-oldest";
+
+    /**
+     * 세션별 최대 보류 이벤트 수
+     */
+    private int maxHeldMessages = 50;
+
+    /**
+     * 버리거나 병합하지 않는 채팅 메시지 목적지 prefix
+     */
+    private List<String> chatDestinationPrefixes = new ArrayList<>(List.of("/sub/room/"));
+}
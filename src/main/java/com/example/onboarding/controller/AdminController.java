@@ -0,0 +1,134 @@
+package com.example.onboarding.controller;
+
+import com.example.onboarding.dto.CatalogImportStatus;
+import com.example.onboarding.dto.RoomRecommendationTraffic;
+import com.example.onboarding.dto.SessionOutboundStatus;
+import com.example.onboarding.service.CatalogImportService;
+import com.example.onboarding.service.IntentPreFilter;
+import com.example.onboarding.service.RestaurantKeywordIndex;
+import com.example.onboarding.service.RestaurantKeywordService;
+import com.example.onboarding.service.RoomRecommendationStats;
+import com.example.onboarding.websocket.OutboundFlowControl;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 운영 API 컨트롤러
+ * - 런타임 설정 재로딩 등 운영용 기능 제공
+ */
+@Slf4j
+@Tag(name = "Admin", description = "운영 API")
+@RestController
+@RequestMapping("/api/admin")
+@RequiredArgsConstructor
+public class AdminController {
+
+    private final IntentPreFilter intentPreFilter;
+    private final RestaurantKeywordIndex restaurantKeywordIndex;
+    private final RestaurantKeywordService restaurantKeywordService;
+    private final CatalogImportService catalogImportService;
+    private final RoomRecommendationStats roomRecommendationStats;
+    private final OutboundFlowControl outboundFlowControl;
+
+    @Operation(summary = "의도 사전 재로딩",
+            description = "맛집 추천 의도 사전 파일과 맛집 키워드를 다시 읽어 사전 필터를 재구성합니다.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "재로딩 성공"),
+            @ApiResponse(responseCode = "500", description = "사전 파일 읽기 실패 (기존 사전 유지)")
+    })
+    @PostMapping("/intent-filter/reload")
+    public ResponseEntity<Map<String, Object>> reloadIntentFilter() {
+        try {
+            int patterns = intentPreFilter.reload();
+            return ResponseEntity.ok(Map.of("patterns", patterns));
+        } catch (IOException e) {
+            log.error("Failed to reload intent lexicon", e);
+            return ResponseEntity.internalServerError().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @Operation(summary = "맛집 키워드 색인 재구성",
+            description = "restaurants 테이블을 다시 읽어 키워드 테이블(restaurant_keywords)과 맛집 키워드 역색인을 재구성합니다.")
+    @ApiResponse(responseCode = "200", description = "재구성 성공")
+    @PostMapping("/restaurant-index/rebuild")
+    public ResponseEntity<Map<String, Object>> rebuildRestaurantIndex() {
+        int keywords = restaurantKeywordService.rebuild();
+        int restaurants = restaurantKeywordIndex.rebuild();
+        return ResponseEntity.ok(Map.of("restaurants", restaurants, "keywords", keywords));
+    }
+
+    @Operation(summary = "맛집 카탈로그 임포트",
+            description = "CSV(.csv) 또는 NDJSON(.ndjson, .jsonl) 파일의 맛집을 external_id 기준으로 추가/수정합니다. "
+                    + "임포트는 백그라운드에서 실행되며, 응답의 id로 진행 상황을 조회할 수 있습니다.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "임포트 예약"),
+            @ApiResponse(responseCode = "400", description = "지원하지 않는 파일 형식")
+    })
+    @PostMapping(value = "/catalog/imports", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<?> importCatalog(@RequestParam("file") MultipartFile file) {
+        try {
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(catalogImportService.submit(file));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (IOException e) {
+            log.error("Failed to store uploaded catalog file", e);
+            return ResponseEntity.internalServerError().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @Operation(summary = "맛집 카탈로그 임포트 진행 상황 조회",
+            description = "읽은 행/저장한 행/변경 없는 행/거절된 행 수와 처리 속도, 거절 사유(최대 100개)를 반환합니다.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "조회 성공"),
+            @ApiResponse(responseCode = "404", description = "임포트 작업을 찾을 수 없음")
+    })
+    @GetMapping("/catalog/imports/{importId}")
+    public ResponseEntity<CatalogImportStatus> getCatalogImport(@PathVariable String importId) {
+        return catalogImportService.getStatus(importId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @Operation(summary = "최근 맛집 카탈로그 임포트 목록", description = "최근 임포트 작업을 최신순으로 반환합니다.")
+    @ApiResponse(responseCode = "200", description = "조회 성공")
+    @GetMapping("/catalog/imports")
+    public ResponseEntity<List<CatalogImportStatus>> getCatalogImports() {
+        return ResponseEntity.ok(catalogImportService.getRecent());
+    }
+
+    @Operation(summary = "채팅방별 추천 트래픽 조회",
+            description = "추천 알림/카드/에러 전송 수가 많은 채팅방 순으로 반환합니다 (애플리케이션 시작 이후 누적).")
+    @ApiResponse(responseCode = "200", description = "조회 성공")
+    @GetMapping("/rooms/recommendation-traffic")
+    public ResponseEntity<List<RoomRecommendationTraffic>> getRoomRecommendationTraffic(
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(roomRecommendationStats.top(Math.max(1, limit)));
+    }
+
+    @Operation(summary = "WebSocket 세션별 전송 상태 조회",
+            description = "전송 대기 메시지가 많은 세션 순으로 대기/보류/버림/병합 수를 반환합니다.")
+    @ApiResponse(responseCode = "200", description = "조회 성공")
+    @GetMapping("/websocket/sessions")
+    public ResponseEntity<List<SessionOutboundStatus>> getWebSocketSessions(
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(outboundFlowControl.top(Math.max(1, limit)));
+    }
+}
@@ -1,7 +1,9 @@
 package com.example.onboarding.controller;
 
+import com.example.onboarding.dto.ChatHistoryDto;
 import com.example.onboarding.entity.ChatRoom;
 import com.example.onboarding.repository.ChatRoomRepository;
+import com.example.onboarding.service.ChatHistoryService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
@@ -23,6 +25,7 @@ import java.util.List;
 public class ChatRoomController {
 
     private final ChatRoomRepository chatRoomRepository;
+    private final ChatHistoryService chatHistoryService;
 
     @Operation(summary = "모든 채팅방 조회", description = "생성된 모든 채팅방의 목록을 조회합니다.")
     @ApiResponse(responseCode = "200", description = "채팅방 목록 조회 성공")
@@ -44,6 +47,24 @@ public class ChatRoomController {
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    @Operation(summary = "채팅 메시지 히스토리 조회",
+            description = "before 메시지 ID 이전의 메시지를 최신순으로 최대 limit개 조회합니다. " +
+                    "before를 생략하면 최신 메시지부터 조회하고, 응답의 nextBefore로 다음 페이지를 조회합니다.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "메시지 조회 성공"),
+            @ApiResponse(responseCode = "400", description = "limit 범위 오류 (1 ~ 100)")
+    })
+    @GetMapping("/{roomId}/messages")
+    public ResponseEntity<ChatHistoryDto> getMessages(
+            @PathVariable Long roomId,
+            @RequestParam(required = false) Long before,
+            @RequestParam(defaultValue = "" + ChatHistoryService.DEFAULT_LIMIT) int limit) {
+        if (limit < 1 || limit > ChatHistoryService.MAX_LIMIT) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(chatHistoryService.getMessages(roomId, before, limit));
+    }
+
     @Operation(summary = "새 채팅방 생성", description = "새로운 채팅방을 생성합니다.")
     @ApiResponse(responseCode = "200", description = "채팅방 생성 성공")
     @PostMapping
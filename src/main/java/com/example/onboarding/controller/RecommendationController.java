@@ -38,7 +38,7 @@ public class RecommendationController {
     @Operation(
             summary = "맛집 추천 요청",
             description = "서버가 보낸 analysisId를 사용하여 맛집 추천을 요청합니다. " +
-                    "실제 추천 결과는 WebSocket(/sub/room/1)으로 브로드캐스트됩니다."
+                    "실제 추천 결과는 WebSocket 개인 목적지(/user/sub/suggestion)로 전송됩니다."
     )
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "추천 요청이 정상적으로 처리됨"),
@@ -68,7 +68,8 @@ public class RecommendationController {
         // 추천 요청 처리 (비동기)
         suggestionService.provideRecommendation(
                 requestDto.getAnalysisId(),
-                requestDto.getUserId()
+                requestDto.getUserId(),
+                requestDto.getRoomId()
         );
 
         // 즉시 응답 반환 (실제 추천은 WebSocket으로 전송됨)
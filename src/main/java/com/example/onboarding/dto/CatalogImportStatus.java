@@ -0,0 +1,74 @@
+package com.example.onboarding.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 맛집 카탈로그 임포트 진행 상황 DTO
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CatalogImportStatus {
+
+    /**
+     * 임포트 작업 ID
+     */
+    private String id;
+
+    /**
+     * 입력 파일 이름
+     */
+    private String source;
+
+    /**
+     * 상태 (QUEUED, RUNNING, COMPLETED, SKIPPED, FAILED)
+     * - SKIPPED: 같은 내용의 파일이 이미 임포트됨
+     */
+    private String state;
+
+    /**
+     * 파일 내용의 SHA-256
+     */
+    private String fileHash;
+
+    /**
+     * 읽은 행 수
+     */
+    private long rowsRead;
+
+    /**
+     * 저장(추가/수정)된 행 수
+     */
+    private long rowsWritten;
+
+    /**
+     * 내용이 같아 건너뛴 행 수
+     */
+    private long rowsUnchanged;
+
+    /**
+     * 검증 실패로 제외된 행 수
+     */
+    private long rowsRejected;
+
+    /**
+     * 초당 처리 행 수
+     */
+    private double rowsPerSecond;
+
+    /**
+     * 검증 실패/오류 메시지 (최대 100개)
+     */
+    private List<String> errors;
+
+    private LocalDateTime startedAt;
+
+    private LocalDateTime finishedAt;
+}
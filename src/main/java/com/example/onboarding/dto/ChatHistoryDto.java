@@ -0,0 +1,36 @@
+package com.example.onboarding.dto;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * 채팅 히스토리 응답 DTO
+ * - 최신순 메시지 목록과 다음 페이지 조회용 커서
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ChatHistoryDto {
+
+    /**
+     * 메시지 목록 (최신순)
+     */
+    private List<ChatMessageDto> messages;
+
+    /**
+     * 다음 페이지 조회 시 before 파라미터로 사용할 메시지 ID (더 없으면 null)
+     * - 메시지 ID와 같이 JSON 문자열로 직렬화, 받은 문자열을 그대로 before로 보내면 됨
+     */
+    @JsonSerialize(using = ToStringSerializer.class)
+    private Long nextBefore;
+
+    /**
+     * 이전 메시지가 더 있는지 여부
+     */
+    private boolean hasMore;
+}
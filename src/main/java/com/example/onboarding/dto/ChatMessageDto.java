@@ -1,6 +1,8 @@
 package com.example.onboarding.dto;
 
 import com.example.onboarding.entity.MessageType;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
 import lombok.*;
 
 import java.time.LocalDateTime;
@@ -18,7 +20,9 @@ public class ChatMessageDto {
 
     /**
      * 메시지 ID (응답 시에만 포함)
+     * - JSON 문자열로 직렬화 (snowflake ID는 2^53을 넘어 JavaScript number로 받으면 반올림됨, IdGeneratorConfig 참고)
      */
+    @JsonSerialize(using = ToStringSerializer.class)
     private Long id;
 
     /**
@@ -0,0 +1,27 @@
+package com.example.onboarding.dto;
+
+import com.example.onboarding.entity.MessageType;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * 채팅 메시지 요약 프로젝션
+ * - 히스토리 조회/대화 컨텍스트 구성에 필요한 컬럼만 조회 (엔티티 로딩 없이)
+ */
+public interface ChatMessageSummary {
+
+    Long getId();
+
+    Long getRoomId();
+
+    UUID getSenderId();
+
+    String getSenderNickname();
+
+    String getContent();
+
+    MessageType getType();
+
+    LocalDateTime getCreatedAt();
+}
@@ -1,5 +1,6 @@
 package com.example.onboarding.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.*;
 
@@ -57,4 +58,10 @@ public class ClaudeAnalysisResult {
      */
     @JsonProperty("reasoning")
     private String reasoning;
+
+    /**
+     * Claude 응답을 JSON으로 파싱하지 못해 키워드로 대신 판단한 결과인지 여부 (캐시하지 않음)
+     */
+    @JsonIgnore
+    private boolean fallback;
 }
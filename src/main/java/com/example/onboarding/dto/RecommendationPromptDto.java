@@ -35,6 +35,12 @@ public class RecommendationPromptDto {
     @JsonProperty("analysisId")
     private String analysisId;
 
+    /**
+     * 분석한 메시지의 채팅방 ID (클라이언트가 추천 요청 시 함께 전송)
+     */
+    @JsonProperty("roomId")
+    private Long roomId;
+
     /**
      * 추출된 지역 (예: "판교", "강남")
      */
@@ -26,4 +26,11 @@ public class RecommendationRequestDto {
      */
     @JsonProperty("userId")
     private String userId;
+
+    /**
+     * 요청한 채팅방 ID (선택, RecommendationPromptDto의 roomId)
+     * - 분석 결과가 만료되어 서버가 채팅방을 알 수 없을 때 에러 메시지를 보낼 채팅방
+     */
+    @JsonProperty("roomId")
+    private Long roomId;
 }
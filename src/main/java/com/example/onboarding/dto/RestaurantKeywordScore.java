@@ -0,0 +1,15 @@
+package com.example.onboarding.dto;
+
+/**
+ * 키워드 검색 점수 프로젝션
+ * - restaurant_keywords에서 맛집별로 일치한 검색어 수를 집계 (엔티티 로딩 없이)
+ */
+public interface RestaurantKeywordScore {
+
+    Long getRestaurantId();
+
+    /**
+     * 일치한 검색어 수
+     */
+    Long getScore();
+}
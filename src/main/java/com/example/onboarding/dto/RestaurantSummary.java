@@ -0,0 +1,34 @@
+package com.example.onboarding.dto;
+
+import com.example.onboarding.entity.Restaurant;
+
+import java.util.Comparator;
+
+/**
+ * 맛집 요약 프로젝션
+ * - 인메모리 색인(키워드/좌표/대체 추천)과 순위 계산에 필요한 컬럼만 보관 (설명/이미지 등 카드 필드 제외)
+ * - 엔티티가 아닌 불변 값이므로 색인이 영속성 컨텍스트나 description TEXT를 붙잡지 않음
+ * - 추천 카드는 최종 상위 K개만 엔티티로 다시 읽어 구성 (SuggestionService)
+ *
+ * @param id 맛집 ID
+ * @param category 음식 카테고리
+ * @param keywords 검색 키워드 (쉼표 구분)
+ * @param rating 평점
+ * @param latitude 위도
+ * @param longitude 경도
+ */
+public record RestaurantSummary(Long id, String category, String keywords, Double rating,
+                                Double latitude, Double longitude) {
+
+    /**
+     * 평점 높은 순, 같으면 id 순 (검색 결과를 자를 때 남기는 순서)
+     */
+    public static final Comparator<RestaurantSummary> BY_RATING = Comparator
+            .comparingDouble((RestaurantSummary r) -> r.rating() != null ? r.rating() : 0.0).reversed()
+            .thenComparing(RestaurantSummary::id, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    public static RestaurantSummary of(Restaurant restaurant) {
+        return new RestaurantSummary(restaurant.getId(), restaurant.getCategory(), restaurant.getKeywords(),
+                restaurant.getRating(), restaurant.getLatitude(), restaurant.getLongitude());
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.onboarding.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 채팅방별 추천 트래픽 DTO
+ * - 채팅방에서 발생한 추천 알림/카드/에러 전송 수
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RoomRecommendationTraffic {
+
+    /**
+     * 채팅방 ID
+     */
+    private Long roomId;
+
+    /**
+     * 추천 가능 알림 전송 수
+     */
+    private long prompts;
+
+    /**
+     * 추천 카드 전송 수
+     */
+    private long suggestions;
+
+    /**
+     * 에러 메시지 전송 수
+     */
+    private long errors;
+
+    /**
+     * 추천 카드 전송 바이트
+     */
+    private long suggestionBytes;
+
+    /**
+     * 전체 전송 수
+     */
+    private long total;
+}
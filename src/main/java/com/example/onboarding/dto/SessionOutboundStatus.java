@@ -0,0 +1,52 @@
+package com.example.onboarding.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * WebSocket 세션별 전송 상태 DTO
+ * - 세션의 전송 대기 메시지 수와 보류/버림/병합 수
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SessionOutboundStatus {
+
+    /**
+     * WebSocket 세션 ID
+     */
+    private String sessionId;
+
+    /**
+     * 사용자 ID (STOMP CONNECT 전이면 null)
+     */
+    private String userId;
+
+    /**
+     * 소켓에 아직 쓰지 못한 메시지 수
+     */
+    private long pending;
+
+    /**
+     * 대기 메시지가 줄어들 때까지 보류 중인 이벤트 수
+     */
+    private int held;
+
+    /**
+     * 전송한 메시지 수
+     */
+    private long sent;
+
+    /**
+     * 보류 목록이 가득 차 버린 이벤트 수
+     */
+    private long dropped;
+
+    /**
+     * 같은 목적지의 최신 이벤트로 대체된 이벤트 수
+     */
+    private long coalesced;
+}
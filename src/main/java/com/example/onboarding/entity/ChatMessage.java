@@ -13,7 +13,8 @@ import java.util.UUID;
  */
 @Entity
 @Table(name = "chat_messages", indexes = {
-        @Index(name = "idx_room_created", columnList = "room_id, created_at")
+        @Index(name = "idx_room_created", columnList = "room_id, created_at"),
+        @Index(name = "idx_room_id", columnList = "room_id, id")
 })
 @Getter
 @Setter
@@ -24,9 +25,10 @@ public class ChatMessage {
 
     /**
      * 메시지 고유 ID
+     * - 애플리케이션에서 발급 (chat.persistence.id-generator), 방 안에서 시간 순으로 증가
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @ChatMessageId
     private Long id;
 
     /**
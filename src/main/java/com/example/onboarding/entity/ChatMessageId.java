@@ -0,0 +1,18 @@
+package com.example.onboarding.entity;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 채팅 메시지 ID 생성 어노테이션
+ * - 설정된 ChatMessageIdGenerator로 ID를 발급 (IDENTITY 대신 사용하여 INSERT 배치 가능)
+ */
+@IdGeneratorType(ChatMessageIdentifierGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface ChatMessageId {
+}
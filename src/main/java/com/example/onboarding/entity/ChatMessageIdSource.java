@@ -0,0 +1,20 @@
+package com.example.onboarding.entity;
+
+import com.example.onboarding.service.ChatMessageIdGenerator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hibernate ID 생성기에 전달하는 ID 발급 빈
+ * - Hibernate 빈 컨테이너는 구체 클래스를 생성하므로, 설정된 ChatMessageIdGenerator를 감싸 주입받음
+ */
+@Component
+@RequiredArgsConstructor
+public class ChatMessageIdSource {
+
+    private final ChatMessageIdGenerator chatMessageIdGenerator;
+
+    public long nextId() {
+        return chatMessageIdGenerator.nextId();
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.onboarding.entity;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.hibernate.id.factory.spi.CustomIdGeneratorCreationContext;
+import org.hibernate.resource.beans.spi.ManagedBeanRegistry;
+
+import java.lang.reflect.Member;
+
+/**
+ * Hibernate ID 생성기 어댑터
+ * - Hibernate가 @ChatMessageId 필드마다 생성하며, Hibernate 빈 컨테이너에서 ChatMessageIdSource를 받아 ID 발급
+ * - Spring Boot가 Hibernate에 Spring 빈 컨테이너를 등록하므로 설정된 ChatMessageIdGenerator가 주입됨
+ * - 빈은 첫 발급 시 조회 (EntityManagerFactory 생성 중에는 JdbcTemplate 등 JPA 이후에 초기화되는 빈을 만들 수 없음)
+ */
+public class ChatMessageIdentifierGenerator implements IdentifierGenerator {
+
+    private final ManagedBeanRegistry beanRegistry;
+    private volatile ChatMessageIdSource idSource;
+
+    public ChatMessageIdentifierGenerator(ChatMessageId config, Member member, CustomIdGeneratorCreationContext context) {
+        this.beanRegistry = context.getServiceRegistry().requireService(ManagedBeanRegistry.class);
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object object) {
+        ChatMessageIdSource source = idSource;
+        if (source == null) {
+            source = beanRegistry.getBean(ChatMessageIdSource.class).getBeanInstance();
+            idSource = source;
+        }
+        return source.nextId();
+    }
+}
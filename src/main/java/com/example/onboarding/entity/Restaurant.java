@@ -6,9 +6,13 @@ import lombok.*;
 /**
  * 맛집 정보 엔티티
  * - LLM이 추천할 맛집 더미 데이터를 저장
+ * - 변경 시 RestaurantChangedEvent 발행 (RestaurantEntityListener)
  */
 @Entity
-@Table(name = "restaurants")
+@Table(name = "restaurants", indexes = {
+        @Index(name = "uk_restaurants_external_id", columnList = "external_id", unique = true)
+})
+@EntityListeners(RestaurantEntityListener.class)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -23,6 +27,19 @@ public class Restaurant {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    /**
+     * 외부 식별자 (카탈로그 임포트 시 upsert 키)
+     * - 파일에 없으면 이름 + 위치 텍스트의 SHA-256
+     */
+    @Column(name = "external_id", length = 100)
+    private String externalId;
+
+    /**
+     * 임포트된 행 내용의 SHA-256 (내용이 같으면 다시 임포트해도 갱신하지 않음)
+     */
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
     /**
      * 맛집 이름
      */
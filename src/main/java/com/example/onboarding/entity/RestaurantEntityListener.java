@@ -0,0 +1,32 @@
+package com.example.onboarding.entity;
+
+import com.example.onboarding.service.RestaurantChangedEvent;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * 맛집 엔티티 변경 리스너
+ * - 저장/수정/삭제 시 RestaurantChangedEvent 발행
+ * - Spring Boot가 Hibernate에 Spring 빈 컨테이너를 등록하므로 빈으로 생성되어 의존성 주입을 받음
+ */
+@Component
+@RequiredArgsConstructor
+public class RestaurantEntityListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PostPersist
+    @PostUpdate
+    public void onSaved(Restaurant restaurant) {
+        eventPublisher.publishEvent(new RestaurantChangedEvent(restaurant, false));
+    }
+
+    @PostRemove
+    public void onRemoved(Restaurant restaurant) {
+        eventPublisher.publishEvent(new RestaurantChangedEvent(restaurant, true));
+    }
+}
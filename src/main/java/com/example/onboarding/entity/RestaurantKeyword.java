@@ -0,0 +1,61 @@
+package com.example.onboarding.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+
+/**
+ * 맛집 키워드 엔티티 (restaurants.keywords 정규화 테이블)
+ * - restaurants.keywords를 쉼표로 나눈 단어 하나당 한 행 (앞뒤 공백 제거, 소문자)
+ * - PK (keyword, restaurant_id): 중복 방지
+ * - idx_restaurant_keywords_keyword_rating (keyword, rating DESC, restaurant_id): 키워드 검색 + 평점 정렬이
+ *   restaurants 조인 없이 인덱스만으로 처리됨 (index-only scan)
+ * - idx_restaurant_keywords_restaurant: 맛집 단위 동기화(삭제 후 재삽입)용
+ * - RestaurantKeywordService가 맛집 저장/수정/삭제, 카탈로그 임포트와 함께 갱신
+ */
+@Entity
+@Table(name = "restaurant_keywords", indexes = {
+        @Index(name = "idx_restaurant_keywords_keyword_rating", columnList = "keyword, rating DESC, restaurant_id"),
+        @Index(name = "idx_restaurant_keywords_restaurant", columnList = "restaurant_id, keyword")
+})
+@IdClass(RestaurantKeyword.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class RestaurantKeyword {
+
+    /**
+     * 정규화된 키워드
+     */
+    @Id
+    @Column(length = 100)
+    private String keyword;
+
+    /**
+     * 맛집 ID
+     */
+    @Id
+    @Column(name = "restaurant_id")
+    private Long restaurantId;
+
+    /**
+     * 맛집 평점 (restaurants.rating 복사본, 키워드 검색의 평점 정렬용)
+     */
+    @Column(name = "rating")
+    private Double rating;
+
+    /**
+     * 복합 키
+     */
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        private String keyword;
+        private Long restaurantId;
+    }
+}
@@ -1,8 +1,11 @@
 package com.example.onboarding.repository;
 
+import com.example.onboarding.dto.ChatMessageSummary;
 import com.example.onboarding.entity.ChatMessage;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -14,18 +17,17 @@ import java.util.List;
 public interface ChatMessageRepository extends JpaRepository<ChatMessage, Long> {
 
     /**
-     * 특정 채팅방의 메시지 조회 (최신순)
+     * 특정 메시지 이전의 메시지 요약 조회 (최신순, keyset 페이지네이션)
+     * - (room_id, id) 인덱스를 따라 before 위치부터 읽으므로 스크롤 깊이와 무관하게 일정한 비용
      * @param roomId 채팅방 ID
-     * @param pageable 페이징 정보
-     * @return 메시지 리스트
+     * @param beforeId 기준 메시지 ID (이 ID보다 작은 메시지만 조회, 최신 페이지는 Long.MAX_VALUE)
+     * @param pageable 조회 개수 (offset 0)
+     * @return 메시지 요약 리스트
      */
-    List<ChatMessage> findByRoomIdOrderByCreatedAtDesc(Long roomId, Pageable pageable);
-
-    /**
-     * 특정 메시지 이전의 최근 메시지 조회 (대화 컨텍스트용)
-     * @param roomId 채팅방 ID
-     * @param messageId 기준 메시지 ID
-     * @return 메시지 리스트 (최대 10개)
-     */
-    List<ChatMessage> findTop10ByRoomIdAndIdLessThanOrderByIdDesc(Long roomId, Long messageId);
+    @Query("SELECT m.id AS id, m.roomId AS roomId, m.senderId AS senderId, m.senderNickname AS senderNickname, " +
+            "m.content AS content, m.type AS type, m.createdAt AS createdAt " +
+            "FROM ChatMessage m WHERE m.roomId = :roomId AND m.id < :beforeId ORDER BY m.id DESC")
+    List<ChatMessageSummary> findSummariesBefore(@Param("roomId") Long roomId,
+                                                 @Param("beforeId") Long beforeId,
+                                                 Pageable pageable);
 }
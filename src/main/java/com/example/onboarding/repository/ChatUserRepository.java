@@ -2,7 +2,11 @@ package com.example.onboarding.repository;
 
 import com.example.onboarding.entity.ChatUser;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.UUID;
 
@@ -11,4 +15,15 @@ import java.util.UUID;
  */
 @Repository
 public interface ChatUserRepository extends JpaRepository<ChatUser, UUID> {
+
+    /**
+     * 사용자 저장 또는 닉네임 갱신 (조회 없이 한 번의 쿼리로 처리)
+     * @param id 사용자 ID
+     * @param nickname 닉네임
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO chat_users (id, nickname, created_at) VALUES (:id, :nickname, now()) " +
+            "ON CONFLICT (id) DO UPDATE SET nickname = EXCLUDED.nickname", nativeQuery = true)
+    void upsert(@Param("id") UUID id, @Param("nickname") String nickname);
 }
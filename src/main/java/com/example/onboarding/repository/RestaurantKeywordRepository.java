@@ -0,0 +1,145 @@
+package com.example.onboarding.repository;
+
+import com.example.onboarding.dto.RestaurantKeywordScore;
+import com.example.onboarding.entity.RestaurantKeyword;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 맛집 키워드 Repository
+ * - 검색어는 정규화(앞뒤 공백 제거, 소문자)된 값으로 전달해야 함
+ * - 키워드 검색은 restaurants를 조인하지 않고 (keyword, rating DESC, restaurant_id) 인덱스만으로 처리됨 (index-only scan)
+ *   - 평점 정렬에 필요한 rating은 restaurant_keywords에 복사해 둠 (키워드 행 재구성 때 함께 갱신)
+ */
+@Repository
+public interface RestaurantKeywordRepository extends JpaRepository<RestaurantKeyword, RestaurantKeyword.Key> {
+
+    /**
+     * restaurants.keywords를 단어 단위로 나눠 restaurant_keywords 행 (keyword, restaurant_id, rating)으로 변환하는 SELECT
+     * (앞뒤 공백 제거, 소문자, 빈 단어 제외)
+     */
+    String KEYWORD_ROWS = "SELECT DISTINCT left(lower(btrim(t.token, ' ' || chr(9) || chr(10) || chr(13))), 100), r.id, r.rating " +
+            "FROM restaurants r CROSS JOIN LATERAL unnest(string_to_array(r.keywords, ',')) AS t(token) " +
+            "WHERE btrim(t.token, ' ' || chr(9) || chr(10) || chr(13)) <> '' ";
+
+    /**
+     * KEYWORD_ROWS로 키워드 행 추가
+     */
+    String INSERT_KEYWORD_ROWS = "INSERT INTO restaurant_keywords (keyword, restaurant_id, rating) " + KEYWORD_ROWS;
+
+    /**
+     * 맛집별 일치 검색어 수 집계 (findScores/findScoresRequiring 공통, 뒤에 HAVING/SCORES_ORDER를 붙임)
+     * - restaurant_keywords만 읽음 (idx_restaurant_keywords_keyword_rating으로 index-only scan)
+     * - 별칭은 따옴표로 감싸야 프로젝션 이름(restaurantId)과 대소문자가 일치
+     */
+    String SCORES_SQL = "SELECT k.restaurant_id AS \"restaurantId\", count(*) AS score FROM restaurant_keywords k " +
+            "WHERE k.keyword IN (:keywords) GROUP BY k.restaurant_id, k.rating ";
+
+    /**
+     * 일치 수 많은 순, 같으면 평점 순, 그다음 id 순
+     */
+    String SCORES_ORDER = "ORDER BY count(*) DESC, k.rating DESC NULLS LAST, k.restaurant_id";
+
+    /**
+     * 검색어 중 일치하는 단어가 많은 순으로 맛집 조회 (같으면 평점 순, 그다음 id 순)
+     * @param keywords 정규화된 검색어
+     * @param pageable 조회 개수
+     * @return 맛집 ID + 일치한 검색어 수
+     */
+    @Query(value = SCORES_SQL + SCORES_ORDER, nativeQuery = true)
+    List<RestaurantKeywordScore> findScores(@Param("keywords") Collection<String> keywords, Pageable pageable);
+
+    /**
+     * required가 일치하고, keywords 중 minScore개 이상 일치하는 맛집 조회 (일치 수 많은 순, 같으면 평점 순, 그다음 id 순)
+     * @param required 반드시 일치해야 하는 검색어 (keywords에도 포함)
+     * @param keywords 정규화된 검색어
+     * @param minScore 최소 일치 수
+     * @param pageable 조회 개수
+     * @return 맛집 ID + 일치한 검색어 수
+     */
+    @Query(value = SCORES_SQL + "HAVING count(*) FILTER (WHERE k.keyword = :required) > 0 AND count(*) >= :minScore " +
+            SCORES_ORDER, nativeQuery = true)
+    List<RestaurantKeywordScore> findScoresRequiring(@Param("required") String required,
+                                                     @Param("keywords") Collection<String> keywords,
+                                                     @Param("minScore") long minScore,
+                                                     Pageable pageable);
+
+    /**
+     * 모든 키워드 조회 (중복 없이, 의도 사전 구성용)
+     * @return 정규화된 키워드 리스트
+     */
+    @Query("SELECT DISTINCT k.keyword FROM RestaurantKeyword k")
+    List<String> findDistinctKeywords();
+
+    /**
+     * 맛집들의 키워드 삭제
+     * @param restaurantIds 맛집 ID
+     * @return 삭제된 행 수
+     */
+    @Modifying
+    @Query("DELETE FROM RestaurantKeyword k WHERE k.restaurantId IN :restaurantIds")
+    int deleteByRestaurantIds(@Param("restaurantIds") Collection<Long> restaurantIds);
+
+    /**
+     * 맛집들의 현재 keywords 값으로 키워드 행 추가
+     * @param restaurantIds 맛집 ID
+     * @return 추가된 행 수
+     */
+    @Modifying
+    @Query(value = INSERT_KEYWORD_ROWS +
+            "AND r.id IN (:restaurantIds) ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertFromRestaurants(@Param("restaurantIds") Collection<Long> restaurantIds);
+
+    /**
+     * 외부 ID로 지정한 맛집들의 키워드 삭제 (카탈로그 임포트용)
+     * @param externalIds 맛집 외부 ID
+     * @return 삭제된 행 수
+     */
+    @Modifying
+    @Query(value = "DELETE FROM restaurant_keywords WHERE restaurant_id IN " +
+            "(SELECT id FROM restaurants WHERE external_id IN (:externalIds))", nativeQuery = true)
+    int deleteByExternalIds(@Param("externalIds") Collection<String> externalIds);
+
+    /**
+     * 외부 ID로 지정한 맛집들의 현재 keywords 값으로 키워드 행 추가 (카탈로그 임포트용)
+     * @param externalIds 맛집 외부 ID
+     * @return 추가된 행 수
+     */
+    @Modifying
+    @Query(value = INSERT_KEYWORD_ROWS +
+            "AND r.external_id IN (:externalIds) ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertFromRestaurantsByExternalIds(@Param("externalIds") Collection<String> externalIds);
+
+    /**
+     * 키워드 행이 하나도 없는 맛집의 키워드 추가 (기존 데이터 이관용)
+     * @return 추가된 행 수
+     */
+    @Modifying
+    @Query(value = INSERT_KEYWORD_ROWS +
+            "AND NOT EXISTS (SELECT 1 FROM restaurant_keywords k WHERE k.restaurant_id = r.id) " +
+            "ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertMissing();
+
+    /**
+     * 평점이 비어 있는 키워드 행에 맛집 평점 복사 (rating 컬럼 추가 전에 만들어진 행 이관용)
+     * @return 갱신된 행 수
+     */
+    @Modifying
+    @Query(value = "UPDATE restaurant_keywords k SET rating = r.rating FROM restaurants r " +
+            "WHERE r.id = k.restaurant_id AND k.rating IS NULL AND r.rating IS NOT NULL", nativeQuery = true)
+    int backfillRatings();
+
+    /**
+     * 전체 키워드 삭제 (전체 재구성용)
+     */
+    @Modifying
+    @Query(value = "TRUNCATE TABLE restaurant_keywords", nativeQuery = true)
+    void truncate();
+}
@@ -1,6 +1,8 @@
 package com.example.onboarding.repository;
 
+import com.example.onboarding.dto.RestaurantSummary;
 import com.example.onboarding.entity.Restaurant;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -15,10 +17,13 @@ import java.util.List;
 public interface RestaurantRepository extends JpaRepository<Restaurant, Long> {
 
     /**
-     * 키워드로 맛집 검색 (keywords 필드에서 검색)
-     * @param keyword 검색 키워드
-     * @return 맛집 리스트
+     * id 순 맛집 요약 페이지 조회 (keyset 페이지네이션, 인메모리 색인 구성용)
+     * - 색인에 필요한 컬럼만 조회 (description 등은 읽지 않음)
+     * @param id 기준 ID (이 ID보다 큰 맛집만 조회)
+     * @param pageable 조회 개수 (offset 0)
+     * @return 맛집 요약 리스트
      */
-    @Query("SELECT r FROM Restaurant r WHERE r.keywords LIKE %:keyword%")
-    List<Restaurant> findByKeywordsContaining(@Param("keyword") String keyword);
+    @Query("SELECT new com.example.onboarding.dto.RestaurantSummary(r.id, r.category, r.keywords, r.rating, " +
+            "r.latitude, r.longitude) FROM Restaurant r WHERE r.id > :id ORDER BY r.id")
+    List<RestaurantSummary> findSummariesByIdGreaterThan(@Param("id") Long id, Pageable pageable);
 }
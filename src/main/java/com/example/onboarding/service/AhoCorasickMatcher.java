@@ -0,0 +1,158 @@
+package com.example.onboarding.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Aho-Corasick 다중 패턴 매처
+ * - 여러 단어를 하나의 오토마톤으로 컴파일하여 텍스트를 한 번만 훑으며 매칭
+ * - 각 단어에는 카테고리 비트마스크를 지정하고, 매칭 결과로 등장한 카테고리들의 OR 값을 반환
+ * - 공백 문자는 건너뛰고 매칭 ("뭐 먹지"와 "뭐먹지"가 같은 결과)
+ * - 컴파일 후에는 불변 객체이므로 여러 스레드에서 동시에 사용 가능
+ */
+public final class AhoCorasickMatcher {
+
+    /**
+     * 상태별 전이 (문자 오름차순, 이진 탐색)
+     */
+    private final char[][] edgeChars;
+    private final int[][] edgeTargets;
+    private final int[] fail;
+    private final int[] outputMask;
+
+    private AhoCorasickMatcher(char[][] edgeChars, int[][] edgeTargets, int[] fail, int[] outputMask) {
+        this.edgeChars = edgeChars;
+        this.edgeTargets = edgeTargets;
+        this.fail = fail;
+        this.outputMask = outputMask;
+    }
+
+    /**
+     * 매처 컴파일
+     *
+     * @param patterns Key: 단어, Value: 카테고리 비트마스크
+     * @return 컴파일된 매처
+     */
+    public static AhoCorasickMatcher compile(Map<String, Integer> patterns) {
+        List<TreeMap<Character, Integer>> trie = new ArrayList<>();
+        List<Integer> masks = new ArrayList<>();
+        trie.add(new TreeMap<>());
+        masks.add(0);
+
+        // 1. 트라이 구성
+        for (Map.Entry<String, Integer> pattern : patterns.entrySet()) {
+            String word = normalize(pattern.getKey());
+            if (word.isEmpty()) {
+                continue;
+            }
+            int state = 0;
+            for (int i = 0; i < word.length(); i++) {
+                char c = word.charAt(i);
+                Integer next = trie.get(state).get(c);
+                if (next == null) {
+                    next = trie.size();
+                    trie.add(new TreeMap<>());
+                    masks.add(0);
+                    trie.get(state).put(c, next);
+                }
+                state = next;
+            }
+            masks.set(state, masks.get(state) | pattern.getValue());
+        }
+
+        int size = trie.size();
+        char[][] edgeChars = new char[size][];
+        int[][] edgeTargets = new int[size][];
+        int[] fail = new int[size];
+        int[] outputMask = new int[size];
+
+        for (int state = 0; state < size; state++) {
+            TreeMap<Character, Integer> edges = trie.get(state);
+            edgeChars[state] = new char[edges.size()];
+            edgeTargets[state] = new int[edges.size()];
+            int i = 0;
+            for (Map.Entry<Character, Integer> edge : edges.entrySet()) {
+                edgeChars[state][i] = edge.getKey();
+                edgeTargets[state][i] = edge.getValue();
+                i++;
+            }
+            outputMask[state] = masks.get(state);
+        }
+
+        // 2. BFS로 실패 링크 계산 및 출력 마스크 병합
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        for (int child : edgeTargets[0]) {
+            fail[child] = 0;
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            for (int i = 0; i < edgeChars[state].length; i++) {
+                char c = edgeChars[state][i];
+                int child = edgeTargets[state][i];
+
+                int f = fail[state];
+                int target;
+                while ((target = transition(edgeChars, edgeTargets, f, c)) < 0 && f != 0) {
+                    f = fail[f];
+                }
+                fail[child] = target >= 0 ? target : 0;
+                outputMask[child] |= outputMask[fail[child]];
+                queue.add(child);
+            }
+        }
+
+        return new AhoCorasickMatcher(edgeChars, edgeTargets, fail, outputMask);
+    }
+
+    /**
+     * 텍스트에 등장한 카테고리 비트마스크 반환
+     */
+    public int match(CharSequence text) {
+        if (text == null) {
+            return 0;
+        }
+        int state = 0;
+        int mask = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = Character.toLowerCase(text.charAt(i));
+            if (Character.isWhitespace(c)) {
+                continue;
+            }
+            int next;
+            while ((next = transition(edgeChars, edgeTargets, state, c)) < 0 && state != 0) {
+                state = fail[state];
+            }
+            state = next >= 0 ? next : 0;
+            mask |= outputMask[state];
+        }
+        return mask;
+    }
+
+    /**
+     * 컴파일된 상태 수
+     */
+    public int stateCount() {
+        return fail.length;
+    }
+
+    private static int transition(char[][] edgeChars, int[][] edgeTargets, int state, char c) {
+        int index = Arrays.binarySearch(edgeChars[state], c);
+        return index >= 0 ? edgeTargets[state][index] : -1;
+    }
+
+    private static String normalize(String word) {
+        StringBuilder normalized = new StringBuilder(word.length());
+        for (int i = 0; i < word.length(); i++) {
+            char c = Character.toLowerCase(word.charAt(i));
+            if (!Character.isWhitespace(c)) {
+                normalized.append(c);
+            }
+        }
+        return normalized.toString();
+    }
+}
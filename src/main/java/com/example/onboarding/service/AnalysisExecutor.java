@@ -0,0 +1,203 @@
+package com.example.onboarding.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * LLM 분석 전용 executor
+ * - 동시에 실행되는 분석 수를 concurrency 개로 제한 (Claude 응답을 기다리는 동안에도 permit 유지)
+ * - 초과 요청은 bounded queue에서 대기하며, 큐가 가득 차면 채팅방과 관계없이 큐에서 가장 오래된 분석을 버림
+ *   (같은 채팅방의 연속 메시지는 RoomAnalysisScheduler가 채팅방당 하나의 분석으로 묶으므로 큐에는 채팅방별로 최대 하나만 대기)
+ * - 버려진 분석과 종료 시 대기 중이던 분석의 Future는 RejectedExecutionException으로 완료됨
+ * - 작업 스레드는 플랫폼 스레드 풀 또는 가상 스레드 중 선택
+ * - 메트릭: chat.analysis.executor.active / queued / rejected
+ */
+@Slf4j
+public class AnalysisExecutor {
+
+    private final ExecutorService workers;
+    private final int concurrency;
+    private final int queueCapacity;
+
+    /**
+     * 대기 중인 분석 (this로 동기화)
+     */
+    private final ArrayDeque<RoomTask<?>> queue = new ArrayDeque<>();
+
+    /**
+     * 실행 중인 분석 수 (this로 동기화되는 permit 카운트)
+     */
+    private int running;
+
+    /**
+     * 종료 여부 (this로 동기화)
+     */
+    private boolean shutdown;
+
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicLong rejected = new AtomicLong();
+
+    public AnalysisExecutor(int concurrency, int queueCapacity, boolean virtualThreads, MeterRegistry meterRegistry) {
+        this.concurrency = concurrency;
+        this.queueCapacity = queueCapacity;
+        this.workers = virtualThreads
+                ? Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("analysis-vt-", 0).factory())
+                : Executors.newFixedThreadPool(concurrency, Thread.ofPlatform().name("analysis-", 0).factory());
+
+        Gauge.builder("chat.analysis.executor.active", active, AtomicInteger::get)
+                .description("Analyses currently running (including waiting for Claude)")
+                .register(meterRegistry);
+        Gauge.builder("chat.analysis.executor.queued", this, AnalysisExecutor::queuedCount)
+                .description("Analyses waiting for a free slot")
+                .register(meterRegistry);
+        FunctionCounter.builder("chat.analysis.executor.rejected", rejected, AtomicLong::get)
+                .description("Analyses dropped because the queue was full")
+                .register(meterRegistry);
+
+        log.info("Analysis executor initialized - concurrency: {}, queueCapacity: {}, virtualThreads: {}",
+                concurrency, queueCapacity, virtualThreads);
+    }
+
+    /**
+     * 분석 작업 제출
+     * - work는 작업 스레드에서 호출되며, 반환한 CompletionStage가 완료될 때까지 permit을 유지
+     *
+     * @param roomId 채팅방 ID (로그용)
+     * @param work 분석 작업
+     * @return 분석 결과 Future
+     */
+    public <T> CompletableFuture<T> submit(Long roomId, Supplier<? extends CompletionStage<T>> work) {
+        RoomTask<T> task = new RoomTask<>(roomId, work);
+        RoomTask<?> dropped = null;
+        boolean startNow = false;
+
+        synchronized (this) {
+            if (shutdown) {
+                task.future.completeExceptionally(new RejectedExecutionException("Analysis executor is shut down"));
+                return task.future;
+            }
+            if (running < concurrency) {
+                running++;
+                startNow = true;
+            } else {
+                if (queue.size() >= queueCapacity) {
+                    dropped = queue.pollFirst();
+                }
+                queue.addLast(task);
+            }
+        }
+
+        if (dropped != null) {
+            rejected.incrementAndGet();
+            dropped.future.completeExceptionally(
+                    new RejectedExecutionException("Analysis queue full - dropped analysis for room " + dropped.roomId));
+            log.warn("Analysis queue full - dropped oldest analysis for room {} (new: room {})", dropped.roomId, roomId);
+        }
+        if (startNow) {
+            start(task);
+        }
+        return task.future;
+    }
+
+    private void start(RoomTask<?> task) {
+        try {
+            workers.execute(() -> run(task));
+        } catch (RejectedExecutionException e) {
+            // 종료 중
+            task.future.completeExceptionally(e);
+            release();
+        }
+    }
+
+    private <T> void run(RoomTask<T> task) {
+        active.incrementAndGet();
+        CompletionStage<T> stage;
+        try {
+            stage = task.work.get();
+        } catch (Throwable e) {
+            stage = CompletableFuture.failedFuture(e);
+        }
+        stage.whenComplete((result, error) -> {
+            active.decrementAndGet();
+            if (error != null) {
+                task.future.completeExceptionally(error);
+            } else {
+                task.future.complete(result);
+            }
+            release();
+        });
+    }
+
+    /**
+     * 분석 완료 - 대기 작업이 있으면 permit을 넘겨 바로 실행
+     */
+    private void release() {
+        RoomTask<?> next;
+        synchronized (this) {
+            next = queue.pollFirst();
+            if (next == null) {
+                running--;
+            }
+        }
+        if (next != null) {
+            start(next);
+        }
+    }
+
+    private synchronized int queuedCount() {
+        return queue.size();
+    }
+
+    /**
+     * 종료 - 새 작업을 받지 않고 대기 중인 작업은 실행하지 않고 실패 처리, 실행 중인 작업은 최대 10초 대기
+     */
+    public void shutdown() throws InterruptedException {
+        List<RoomTask<?>> pending;
+        synchronized (this) {
+            shutdown = true;
+            pending = new ArrayList<>(queue);
+            queue.clear();
+        }
+        for (RoomTask<?> task : pending) {
+            task.future.completeExceptionally(
+                    new RejectedExecutionException("Analysis executor shut down - dropped analysis for room " + task.roomId));
+        }
+        if (!pending.isEmpty()) {
+            log.info("Analysis executor shut down - dropped {} queued analyses", pending.size());
+        }
+
+        workers.shutdown();
+        if (!workers.awaitTermination(10, TimeUnit.SECONDS)) {
+            workers.shutdownNow();
+        }
+    }
+
+    /**
+     * 채팅방 단위 분석 작업
+     */
+    private static final class RoomTask<T> {
+        private final Long roomId;
+        private final Supplier<? extends CompletionStage<T>> work;
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+
+        private RoomTask(Long roomId, Supplier<? extends CompletionStage<T>> work) {
+            this.roomId = roomId;
+            this.work = work;
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.onboarding.service;
+
+import com.example.onboarding.dto.ClaudeAnalysisResult;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.Normalizer;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * Claude 분석 결과 캐시
+ * - 대화 컨텍스트 + 현재 메시지를 정규화한 해시를 키로 분석 결과를 저장
+ * - 재접속 후 같은 대화를 다시 분석하거나, 같은 문구가 반복될 때 Claude 호출 없이 결과 반환
+ * - 같은 키로 동시에 들어온 요청은 하나의 Claude 호출을 공유
+ * - 실패한 호출과 키워드 기반 대체 결과(JSON 파싱 실패)는 캐시하지 않음
+ *   (대체 결과는 같은 키로 대기 중이던 요청에만 전달하고 캐시에서 제거하여 다음 요청은 Claude를 다시 호출)
+ * - 메트릭: cache.gets{cache=claude.analysis} (히트율), claude.analysis.cache.saved (절약된 Claude 응답 시간)
+ */
+@Slf4j
+@Component
+public class AnalysisResultCache {
+
+    private static final Pattern IGNORED_CHARACTERS = Pattern.compile("[\\s\\p{P}\\p{S}]+");
+    private static final Pattern REPEATED_CHARACTERS = Pattern.compile("(.)\\1{2,}");
+
+    private final AsyncCache<String, CachedAnalysis> cache;
+    private final Counter savedLatency;
+
+    public AnalysisResultCache(MeterRegistry meterRegistry,
+                               @Value("${anthropic.cache.ttl:10m}") Duration ttl,
+                               @Value("${anthropic.cache.max-size:10000}") long maxSize) {
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxSize)
+                .recordStats()
+                .buildAsync();
+        this.savedLatency = Counter.builder("claude.analysis.cache.saved")
+                .description("Claude response time avoided by analysis cache hits")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "claude.analysis");
+    }
+
+    /**
+     * 캐시된 분석 결과를 반환하거나, 없으면 loader로 분석 후 저장
+     * - loader가 여러 결과를 방출하면 (스트리밍 중간 결과) 그대로 전달하고, 마지막 결과를 캐시
+     * - 캐시 히트 시에는 최종 결과 하나만 방출
+     *
+     * @param conversationContext 최근 대화 기록
+     * @param currentMessage 현재 메시지
+     * @param loader 실제 Claude 분석 호출
+     * @return 분석 결과
+     */
+    public Flux<ClaudeAnalysisResult> get(List<String> conversationContext,
+                                          String currentMessage,
+                                          Supplier<Flux<ClaudeAnalysisResult>> loader) {
+        return Flux.defer(() -> {
+            String key = keyOf(conversationContext, currentMessage);
+            CompletableFuture<CachedAnalysis> pending = new CompletableFuture<>();
+
+            CompletableFuture<CachedAnalysis> future = cache.get(key, (k, executor) -> pending);
+
+            if (future != pending) {
+                log.debug("Analysis cache hit - key: {}", key);
+                future.thenAccept(cached -> {
+                    if (cached != null) {
+                        savedLatency.increment(cached.latencyNanos() / (double) TimeUnit.SECONDS.toNanos(1));
+                    }
+                });
+                // 다른 구독자와 공유하는 Future이므로 구독 취소 시에도 Future는 취소하지 않음
+                return Mono.fromFuture(future, true).map(CachedAnalysis::result).flux();
+            }
+
+            // 마지막 결과를 캐시 (실패/취소 시 캐시에서 제거되어 대기 중인 요청도 실패 처리됨)
+            long start = System.nanoTime();
+            AtomicReference<ClaudeAnalysisResult> last = new AtomicReference<>();
+            return loader.get()
+                    .doOnNext(last::set)
+                    .doOnComplete(() -> {
+                        ClaudeAnalysisResult result = last.get();
+                        if (result != null) {
+                            pending.complete(new CachedAnalysis(result, System.nanoTime() - start));
+                            if (result.isFallback()) {
+                                cache.asMap().remove(key, pending);
+                                log.debug("Fallback analysis not cached - key: {}", key);
+                            }
+                        } else {
+                            pending.completeExceptionally(new IllegalStateException("Empty analysis result"));
+                        }
+                    })
+                    .doOnError(pending::completeExceptionally)
+                    .doOnCancel(() -> pending.completeExceptionally(
+                            new CancellationException("Analysis cancelled")));
+        });
+    }
+
+    /**
+     * 캐시 키 생성 (정규화된 대화 컨텍스트 + 현재 메시지의 SHA-256)
+     */
+    private String keyOf(List<String> conversationContext, String currentMessage) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            if (conversationContext != null) {
+                for (String line : conversationContext) {
+                    digest.update(normalize(line).getBytes(StandardCharsets.UTF_8));
+                    digest.update((byte) 0);
+                }
+            }
+            digest.update((byte) 1);
+            digest.update(normalize(currentMessage).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 문구 정규화
+     * - 유니코드 NFKC, 소문자, 공백/문장부호/기호 제거, 3번 이상 반복되는 문자는 2번으로 축약
+     *   (예: "점심 뭐 먹지???" / "점심뭐먹지" 는 같은 키)
+     */
+    private static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase();
+        normalized = IGNORED_CHARACTERS.matcher(normalized).replaceAll("");
+        return REPEATED_CHARACTERS.matcher(normalized).replaceAll("$1$1");
+    }
+
+    /**
+     * 캐시 값 (분석 결과 + 원래 Claude 응답 시간)
+     */
+    private record CachedAnalysis(ClaudeAnalysisResult result, long latencyNanos) {
+    }
+}
@@ -0,0 +1,217 @@
+package com.example.onboarding.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 맛집 카탈로그 파일을 한 행씩 읽는 리더 (CSV / NDJSON)
+ * - 파일 전체를 메모리에 올리지 않고 스트리밍으로 읽음
+ * - 형식은 파일 확장자로 결정 (.csv / .ndjson, .jsonl)
+ * - 컬럼 이름은 대소문자와 '_'를 무시하고 비교 (location_text = locationText)
+ * - CSV: 첫 행은 헤더, 큰따옴표로 감싼 필드(쉼표/줄바꿈/"" 이스케이프 포함) 지원
+ * - NDJSON: 한 줄에 JSON 객체 하나, 배열 값(keywords 등)은 쉼표로 연결
+ */
+final class CatalogRecordReader implements Closeable {
+
+    private final BufferedReader reader;
+    private final boolean csv;
+    private final ObjectMapper objectMapper;
+
+    private List<String> header;
+    private long lineNumber;
+    private long recordLineNumber;
+
+    private CatalogRecordReader(InputStream input, boolean csv, ObjectMapper objectMapper) {
+        this.reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        this.csv = csv;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * 파일 이름의 확장자로 형식을 정해 리더 생성
+     */
+    static CatalogRecordReader open(InputStream input, String sourceName, ObjectMapper objectMapper) {
+        String name = sourceName == null ? "" : sourceName.toLowerCase(Locale.ROOT);
+        if (name.endsWith(".csv")) {
+            return new CatalogRecordReader(input, true, objectMapper);
+        }
+        if (name.endsWith(".ndjson") || name.endsWith(".jsonl")) {
+            return new CatalogRecordReader(input, false, objectMapper);
+        }
+        throw new IllegalArgumentException("Unsupported catalog file (expected .csv, .ndjson or .jsonl): " + sourceName);
+    }
+
+    /**
+     * 컬럼 이름 정규화 (소문자, '_'/'-'/공백 제거)
+     */
+    static String columnKey(String column) {
+        StringBuilder key = new StringBuilder(column.length());
+        for (int i = 0; i < column.length(); i++) {
+            char c = column.charAt(i);
+            if (c != '_' && c != '-' && !Character.isWhitespace(c) && c != '\uFEFF') {
+                key.append(Character.toLowerCase(c));
+            }
+        }
+        return key.toString();
+    }
+
+    /**
+     * 다음 행 읽기
+     *
+     * @return Key: 정규화된 컬럼 이름, Value: 값 (빈 값은 null), 파일 끝이면 null
+     * @throws IllegalArgumentException 행 형식 오류 (다음 행은 계속 읽을 수 있음)
+     */
+    Map<String, String> next() throws IOException {
+        return csv ? nextCsv() : nextJson();
+    }
+
+    /**
+     * 마지막으로 읽은 행이 시작된 줄 번호 (1부터)
+     */
+    long lineNumber() {
+        return recordLineNumber;
+    }
+
+    private Map<String, String> nextCsv() throws IOException {
+        if (header == null) {
+            List<String> columns = readCsvRecord();
+            if (columns == null) {
+                return null;
+            }
+            header = columns.stream().map(CatalogRecordReader::columnKey).toList();
+        }
+
+        List<String> values;
+        do {
+            values = readCsvRecord();
+            if (values == null) {
+                return null;
+            }
+        } while (values.size() == 1 && values.get(0).isBlank());
+
+        if (values.size() != header.size()) {
+            throw new IllegalArgumentException("expected " + header.size() + " columns but found " + values.size());
+        }
+        Map<String, String> record = new HashMap<>(header.size() * 2);
+        for (int i = 0; i < header.size(); i++) {
+            String value = values.get(i).trim();
+            record.put(header.get(i), value.isEmpty() ? null : value);
+        }
+        return record;
+    }
+
+    /**
+     * CSV 레코드 하나 읽기 (따옴표 안의 줄바꿈은 다음 줄까지 이어 읽음)
+     */
+    private List<String> readCsvRecord() throws IOException {
+        String line = reader.readLine();
+        if (line == null) {
+            return null;
+        }
+        recordLineNumber = ++lineNumber;
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        int i = 0;
+        while (true) {
+            if (i == line.length()) {
+                if (!quoted) {
+                    break;
+                }
+                // 따옴표 안의 줄바꿈
+                line = reader.readLine();
+                if (line == null) {
+                    throw new IllegalArgumentException("unterminated quoted field");
+                }
+                lineNumber++;
+                field.append('\n');
+                i = 0;
+                continue;
+            }
+            char c = line.charAt(i++);
+            if (quoted) {
+                if (c == '"') {
+                    if (i < line.length() && line.charAt(i) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private Map<String, String> nextJson() throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+            if (line == null) {
+                return null;
+            }
+            recordLineNumber = ++lineNumber;
+        } while (line.isBlank());
+
+        JsonNode node;
+        try {
+            node = objectMapper.readTree(line);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("invalid JSON - " + e.getOriginalMessage());
+        }
+        if (node == null || !node.isObject()) {
+            throw new IllegalArgumentException("expected a JSON object");
+        }
+
+        Map<String, String> record = new HashMap<>();
+        Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            record.put(columnKey(field.getKey()), textOf(field.getValue()));
+        }
+        return record;
+    }
+
+    private static String textOf(JsonNode value) {
+        if (value == null || value.isNull()) {
+            return null;
+        }
+        if (value.isArray()) {
+            List<String> items = new ArrayList<>();
+            value.forEach(item -> items.add(item.asText()));
+            return String.join(",", items);
+        }
+        String text = value.asText().trim();
+        return text.isEmpty() ? null : text;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.onboarding.service;
+
+import com.example.onboarding.dto.ChatHistoryDto;
+import com.example.onboarding.dto.ChatMessageDto;
+import com.example.onboarding.dto.ChatMessageSummary;
+import com.example.onboarding.entity.ChatMessage;
+import com.example.onboarding.repository.ChatMessageRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.TreeMap;
+
+/**
+ * 채팅 히스토리 서비스
+ * - (room_id, id) 기준 keyset 페이지네이션으로 이전 메시지 조회
+ * - 최근 페이지는 RecentMessageBuffer(tail 캐시)에서, 그 이전은 DB에서 프로젝션으로 조회
+ *   (릴레이 모드에서는 tail 캐시를 사용하지 않고 모두 DB에서 조회)
+ * - DB 조회 시 write-behind 저장 대기 메시지를 합침 (RecentMessageBuffer.loadRoom과 같은 방식)
+ *   - 이 노드의 저장 큐만 보이므로, 릴레이 모드에서 다른 노드가 아직 저장하지 않은 메시지는
+ *     그 노드의 flush 주기(chat.persistence.write-behind.flush-interval-ms)만큼 늦게 히스토리에 나타남
+ */
+@Slf4j
+@Service
+public class ChatHistoryService {
+
+    public static final int DEFAULT_LIMIT = 30;
+    public static final int MAX_LIMIT = 100;
+
+    private final ChatMessageRepository chatMessageRepository;
+    private final RecentMessageBuffer recentMessageBuffer;
+    private final ChatMessageWriteBehindQueue writeBehindQueue;
+
+    private final Counter tailHits;
+    private final Counter dbReads;
+
+    public ChatHistoryService(ChatMessageRepository chatMessageRepository,
+                              RecentMessageBuffer recentMessageBuffer,
+                              ChatMessageWriteBehindQueue writeBehindQueue,
+                              MeterRegistry meterRegistry) {
+        this.chatMessageRepository = chatMessageRepository;
+        this.recentMessageBuffer = recentMessageBuffer;
+        this.writeBehindQueue = writeBehindQueue;
+        this.tailHits = meterRegistry.counter("chat.history.pages", "source", "tail");
+        this.dbReads = meterRegistry.counter("chat.history.pages", "source", "db");
+    }
+
+    /**
+     * 특정 메시지 이전의 메시지 조회 (최신순)
+     *
+     * @param roomId 채팅방 ID
+     * @param beforeId 기준 메시지 ID (null이면 최신 메시지부터)
+     * @param limit 조회 개수 (1 ~ MAX_LIMIT)
+     * @return 메시지 목록과 다음 페이지 커서
+     */
+    @Transactional(readOnly = true)
+    public ChatHistoryDto getMessages(Long roomId, Long beforeId, int limit) {
+        long before = beforeId != null ? beforeId : Long.MAX_VALUE;
+
+        // 다음 페이지 존재 여부 확인을 위해 1개 더 조회
+        List<ChatMessageDto> messages = recentMessageBuffer.findBefore(roomId, before, limit + 1)
+                .map(page -> {
+                    tailHits.increment();
+                    return page;
+                })
+                .orElseGet(() -> {
+                    dbReads.increment();
+                    return findStoredBefore(roomId, before, limit + 1);
+                });
+
+        boolean hasMore = messages.size() > limit;
+        if (hasMore) {
+            messages = messages.subList(0, limit);
+        }
+
+        return ChatHistoryDto.builder()
+                .messages(messages)
+                .nextBefore(hasMore ? messages.get(messages.size() - 1).getId() : null)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    /**
+     * DB 조회 + 저장 대기 메시지 병합 (최신순)
+     * - 저장 대기 메시지를 먼저 읽은 뒤 DB를 조회 (그 사이 저장된 메시지는 DB 결과에 포함되고, 같은 ID는 하나만 남김)
+     */
+    private List<ChatMessageDto> findStoredBefore(Long roomId, long before, int count) {
+        List<ChatMessage> pending = writeBehindQueue.getPending(roomId);
+        List<ChatMessageSummary> stored = chatMessageRepository.findSummariesBefore(
+                roomId, before, PageRequest.of(0, count));
+        if (pending.isEmpty()) {
+            return stored.stream().map(this::toDto).toList();
+        }
+
+        TreeMap<Long, ChatMessageDto> merged = new TreeMap<>(Comparator.reverseOrder());
+        for (ChatMessageSummary summary : stored) {
+            merged.put(summary.getId(), toDto(summary));
+        }
+        for (ChatMessage message : pending) {
+            if (message.getId() < before) {
+                merged.putIfAbsent(message.getId(), toPendingDto(message));
+            }
+        }
+        return merged.values().stream().limit(count).toList();
+    }
+
+    private ChatMessageDto toPendingDto(ChatMessage message) {
+        return ChatMessageDto.builder()
+                .id(message.getId())
+                .roomId(message.getRoomId())
+                .senderId(message.getSenderId().toString())
+                .senderNickname(message.getSenderNickname())
+                .content(message.getContent())
+                .type(message.getType())
+                .createdAt(message.getCreatedAt())
+                .build();
+    }
+
+    private ChatMessageDto toDto(ChatMessageSummary summary) {
+        return ChatMessageDto.builder()
+                .id(summary.getId())
+                .roomId(summary.getRoomId())
+                .senderId(summary.getSenderId().toString())
+                .senderNickname(summary.getSenderNickname())
+                .content(summary.getContent())
+                .type(summary.getType())
+                .createdAt(summary.getCreatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.onboarding.service;
+
+/**
+ * 채팅 메시지 ID 생성 전략
+ * - INSERT 전에 애플리케이션에서 ID를 발급하여 JDBC 배치 저장이 가능하도록 함
+ * - 발급되는 ID는 한 노드 안에서 단조 증가해야 함 (ID 기반 컨텍스트 조회/페이지네이션 유지)
+ */
+public interface ChatMessageIdGenerator {
+
+    /**
+     * 다음 메시지 ID 발급
+     */
+    long nextId();
+}
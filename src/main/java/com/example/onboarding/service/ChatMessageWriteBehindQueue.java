@@ -0,0 +1,407 @@
+package com.example.onboarding.service;
+
+import com.example.onboarding.entity.ChatMessage;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 채팅 메시지 write-behind 저장 큐
+ * - 메시지에 서버에서 ID/생성 시각을 부여한 뒤 즉시 반환 (브로드캐스트는 바로 진행)
+ * - 별도 flusher 스레드가 bounded queue에서 메시지를 모아 JDBC 배치로 chat_messages에 저장
+ * - 큐가 가득 차면 offer-timeout-ms 동안 대기하고, 그래도 자리가 없으면 호출 스레드에서 직접 저장
+ * - 저장 실패 시 배치를 붙잡은 채 지수 백오프로 재시도 (그동안 뒤 메시지는 큐에서 대기하므로 순서 유지)
+ * - max-flush-attempts번(종료 중에는 최대 3번) 실패하면 배치를 dead-letter 파일(JSON Lines)에 기록
+ *   (이미 브로드캐스트된 메시지이므로 버리지 않음, 메트릭: chat.persistence.write-behind.dead-lettered)
+ * - 제약 조건 위반은 재시도해도 같으므로 바로 한 건씩 저장하여 문제 메시지만 dead-letter로 보냄
+ * - 아직 저장되지 않은 메시지(큐 대기 + 저장 중인 배치)는 채팅방별로 조회 가능 (getPending, 최근 메시지 버퍼 초기화용)
+ * - 애플리케이션 종료 시 남은 메시지를 모두 저장한 뒤 종료
+ *   (flusher가 shutdown-timeout-ms 안에 멈추지 않으면 DB에 동시에 쓰지 않도록 남은 메시지를 dead-letter 파일에 기록)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ChatMessageWriteBehindQueue {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO chat_messages (id, room_id, sender_id, sender_nickname, content, type, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    /**
+     * 종료 중 배치 저장 최대 시도 횟수 (종료가 오래 지연되지 않도록 제한)
+     */
+    private static final int SHUTDOWN_FLUSH_ATTEMPTS = 3;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ChatMessageIdGenerator idGenerator;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${chat.persistence.write-behind.enabled:false}")
+    private boolean enabled;
+
+    @Value("${chat.persistence.write-behind.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${chat.persistence.write-behind.batch-size:200}")
+    private int batchSize;
+
+    @Value("${chat.persistence.write-behind.flush-interval-ms:200}")
+    private long flushIntervalMs;
+
+    @Value("${chat.persistence.write-behind.offer-timeout-ms:1000}")
+    private long offerTimeoutMs;
+
+    @Value("${chat.persistence.write-behind.max-flush-attempts:10}")
+    private int maxFlushAttempts;
+
+    @Value("${chat.persistence.write-behind.retry-initial-backoff-ms:200}")
+    private long retryInitialBackoffMs;
+
+    @Value("${chat.persistence.write-behind.retry-max-backoff-ms:30000}")
+    private long retryMaxBackoffMs;
+
+    @Value("${chat.persistence.write-behind.shutdown-timeout-ms:10000}")
+    private long shutdownTimeoutMs;
+
+    @Value("${chat.persistence.write-behind.dead-letter-file:./data/chat-messages-dead-letter.jsonl}")
+    private String deadLetterFile;
+
+    private BlockingQueue<ChatMessage> queue;
+
+    /**
+     * Key: roomId
+     * Value: 아직 DB에 저장되지 않은 메시지 (Key: 메시지 ID), 저장 또는 dead-letter 후 제거
+     */
+    private final Map<Long, ConcurrentSkipListMap<Long, ChatMessage>> unflushed = new ConcurrentHashMap<>();
+
+    private Counter deadLettered;
+    private Thread flusher;
+    private volatile boolean running;
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        deadLettered = Counter.builder("chat.persistence.write-behind.dead-lettered")
+                .description("Chat messages written to the dead-letter file after failed flushes")
+                .register(meterRegistry);
+        running = true;
+        flusher = new Thread(this::flushLoop, "chat-write-behind");
+        flusher.start();
+
+        log.info("Chat message write-behind enabled - capacity: {}, batchSize: {}, flushIntervalMs: {}",
+                queueCapacity, batchSize, flushIntervalMs);
+    }
+
+    /**
+     * write-behind 모드 사용 여부
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 메시지를 저장 큐에 추가
+     * - ID와 생성 시각을 부여한 메시지를 그대로 반환
+     *
+     * @param message 저장할 메시지 (ID 없음)
+     * @return ID와 생성 시각이 채워진 메시지
+     */
+    public ChatMessage enqueue(ChatMessage message) {
+        message.setId(idGenerator.nextId());
+        message.setCreatedAt(LocalDateTime.now());
+        track(message);
+
+        try {
+            if (!queue.offer(message, offerTimeoutMs, TimeUnit.MILLISECONDS)) {
+                log.warn("Write-behind queue full - writing message {} synchronously", message.getId());
+                insertNow(message);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            insertNow(message);
+        }
+
+        return message;
+    }
+
+    /**
+     * 현재 큐에 대기 중인 메시지 수
+     */
+    public int getPendingCount() {
+        return queue != null ? queue.size() : 0;
+    }
+
+    /**
+     * 채팅방의 아직 저장되지 않은 메시지 (ID 오름차순)
+     * - 큐에서 대기 중이거나 flusher가 저장 중인 메시지 포함
+     *
+     * @param roomId 채팅방 ID
+     * @return 저장 대기 메시지 (write-behind 비활성화 시 항상 빈 목록)
+     */
+    public List<ChatMessage> getPending(Long roomId) {
+        ConcurrentSkipListMap<Long, ChatMessage> pending = unflushed.get(roomId);
+        return pending != null ? List.copyOf(pending.values()) : List.of();
+    }
+
+    private void track(ChatMessage message) {
+        unflushed.compute(message.getRoomId(), (roomId, pending) -> {
+            ConcurrentSkipListMap<Long, ChatMessage> messages = pending != null ? pending : new ConcurrentSkipListMap<>();
+            messages.put(message.getId(), message);
+            return messages;
+        });
+    }
+
+    /**
+     * 저장(또는 dead-letter)이 끝난 메시지를 저장 대기 목록에서 제거
+     */
+    private void untrack(List<ChatMessage> messages) {
+        for (ChatMessage message : messages) {
+            unflushed.computeIfPresent(message.getRoomId(), (roomId, pending) -> {
+                pending.remove(message.getId());
+                return pending.isEmpty() ? null : pending;
+            });
+        }
+    }
+
+    private void insertNow(ChatMessage message) {
+        try {
+            insertBatch(List.of(message));
+        } finally {
+            untrack(List.of(message));
+        }
+    }
+
+    /**
+     * flusher 루프
+     * - 첫 메시지를 받은 뒤 batch-size 만큼 차거나 flush-interval-ms가 지나면 저장
+     */
+    private void flushLoop() {
+        List<ChatMessage> batch = new ArrayList<>(batchSize);
+
+        while (running || !queue.isEmpty()) {
+            try {
+                ChatMessage first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0) {
+                        break;
+                    }
+                    ChatMessage next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+
+                flush(batch);
+            } catch (InterruptedException e) {
+                // 종료 요청 - 모아둔 배치만 저장하고, 큐에 남은 메시지는 shutdown()에서 저장
+                Thread.currentThread().interrupt();
+                if (!batch.isEmpty()) {
+                    flush(batch);
+                }
+                break;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * 배치 저장
+     * - 실패하면 지수 백오프로 재시도 (max-flush-attempts번, 종료 중에는 최대 3번 실패하면 dead-letter)
+     * - 제약 조건 위반이면 한 건씩 저장하여 실패한 메시지만 dead-letter
+     * - 끝나면 (저장 또는 dead-letter) 저장 대기 목록에서 제거
+     */
+    private void flush(List<ChatMessage> batch) {
+        try {
+            flushWithRetry(batch);
+        } finally {
+            untrack(batch);
+        }
+    }
+
+    private void flushWithRetry(List<ChatMessage> batch) {
+        long backoffMs = retryInitialBackoffMs;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                insertBatch(batch);
+                log.debug("Flushed {} chat messages", batch.size());
+                return;
+            } catch (DataIntegrityViolationException e) {
+                log.warn("Constraint violation while flushing {} chat messages - retrying one by one", batch.size(), e);
+                insertIndividually(batch);
+                return;
+            } catch (Exception e) {
+                int maxAttempts = running ? maxFlushAttempts : Math.min(maxFlushAttempts, SHUTDOWN_FLUSH_ATTEMPTS);
+                if (attempt >= maxAttempts) {
+                    log.error("Failed to flush {} chat messages after {} attempts", batch.size(), attempt, e);
+                    break;
+                }
+                log.warn("Failed to flush {} chat messages (attempt {}/{}) - retrying in {} ms",
+                        batch.size(), attempt, maxAttempts, backoffMs, e);
+                try {
+                    Thread.sleep(backoffMs);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+                backoffMs = Math.min(backoffMs * 2, retryMaxBackoffMs);
+            }
+        }
+        deadLetter(batch);
+    }
+
+    private void insertIndividually(List<ChatMessage> batch) {
+        List<ChatMessage> failed = new ArrayList<>();
+        for (ChatMessage message : batch) {
+            try {
+                insertBatch(List.of(message));
+            } catch (Exception e) {
+                log.warn("Failed to save chat message {}", message.getId(), e);
+                failed.add(message);
+            }
+        }
+        if (!failed.isEmpty()) {
+            deadLetter(failed);
+        }
+    }
+
+    /**
+     * 저장하지 못한 메시지를 dead-letter 파일에 추가 (한 줄에 메시지 하나, 수동 재적재용)
+     * - 파일에도 쓰지 못하면 메시지 내용을 에러 로그로 남김
+     */
+    private synchronized void deadLetter(List<ChatMessage> messages) {
+        Path path = Path.of(deadLetterFile);
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                for (ChatMessage message : messages) {
+                    writer.write(objectMapper.writeValueAsString(toRecord(message)));
+                    writer.newLine();
+                }
+            }
+            log.error("Wrote {} unsaved chat messages to dead-letter file {} - ids: {}..{}", messages.size(),
+                    path.toAbsolutePath(), messages.get(0).getId(), messages.get(messages.size() - 1).getId());
+        } catch (IOException e) {
+            log.error("Failed to write dead-letter file {} - unsaved chat messages: {}",
+                    path.toAbsolutePath(), messages.stream().map(this::toRecord).toList(), e);
+        }
+        deadLettered.increment(messages.size());
+    }
+
+    private Map<String, Object> toRecord(ChatMessage message) {
+        Map<String, Object> record = new LinkedHashMap<>();
+        record.put("id", message.getId());
+        record.put("roomId", message.getRoomId());
+        record.put("senderId", message.getSenderId());
+        record.put("senderNickname", message.getSenderNickname());
+        record.put("content", message.getContent());
+        record.put("type", message.getType());
+        record.put("createdAt", message.getCreatedAt() != null ? message.getCreatedAt().toString() : null);
+        return record;
+    }
+
+    private void insertBatch(List<ChatMessage> batch) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (ps, message) -> {
+            ps.setLong(1, message.getId());
+            ps.setLong(2, message.getRoomId());
+            ps.setObject(3, message.getSenderId());
+            ps.setString(4, message.getSenderNickname());
+            ps.setString(5, message.getContent());
+            ps.setString(6, message.getType().name());
+            ps.setTimestamp(7, Timestamp.valueOf(message.getCreatedAt()));
+        });
+    }
+
+    /**
+     * 애플리케이션 종료 시 남은 메시지 저장
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (!enabled) {
+            return;
+        }
+
+        running = false;
+        boolean stopped = awaitFlusher(flushIntervalMs + shutdownTimeoutMs);
+        if (!stopped) {
+            // 재시도 대기 중이면 바로 깨어나 현재 배치만 정리하고 종료
+            flusher.interrupt();
+            stopped = awaitFlusher(shutdownTimeoutMs);
+        }
+
+        List<ChatMessage> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        if (!stopped) {
+            // flusher가 아직 배치를 저장 중 - 같은 테이블에 두 스레드가 동시에 쓰지 않도록 남은 메시지는 파일로만 보냄
+            log.error("Write-behind flusher did not stop within {} ms - writing {} queued messages to the dead-letter file",
+                    flushIntervalMs + 2 * shutdownTimeoutMs, remaining.size());
+            if (!remaining.isEmpty()) {
+                deadLetter(remaining);
+                untrack(remaining);
+            }
+            return;
+        }
+        for (int from = 0; from < remaining.size(); from += batchSize) {
+            flush(remaining.subList(from, Math.min(from + batchSize, remaining.size())));
+        }
+
+        log.info("Chat message write-behind stopped - flushed {} remaining messages on shutdown", remaining.size());
+    }
+
+    /**
+     * flusher 스레드 종료 대기
+     *
+     * @return 종료되었으면 true
+     */
+    private boolean awaitFlusher(long timeoutMs) {
+        try {
+            flusher.join(timeoutMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return !flusher.isAlive();
+    }
+}
@@ -2,15 +2,15 @@ package com.example.onboarding.service;
 
 import com.example.onboarding.dto.ChatMessageDto;
 import com.example.onboarding.entity.ChatMessage;
-import com.example.onboarding.entity.ChatUser;
 import com.example.onboarding.entity.MessageType;
 import com.example.onboarding.repository.ChatMessageRepository;
-import com.example.onboarding.repository.ChatUserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.UUID;
 
@@ -24,14 +24,17 @@ import java.util.UUID;
 public class ChatService {
 
     private final ChatMessageRepository chatMessageRepository;
-    private final ChatUserRepository chatUserRepository;
+    private final ChatUserRegistry chatUserRegistry;
     private final SimpMessagingTemplate messagingTemplate;
-    private final SuggestionService suggestionService;
+    private final RoomAnalysisScheduler analysisScheduler;
+    private final ChatMessageWriteBehindQueue writeBehindQueue;
+    private final RecentMessageBuffer recentMessageBuffer;
 
     /**
      * 채팅 메시지 처리
      * - DB에 저장 후 해당 채팅방 구독자들에게 브로드캐스트
-     * - TALK 타입 메시지인 경우 LLM 분석 트리거 (비동기)
+     * - write-behind 모드에서는 ID만 부여하고 즉시 브로드캐스트 (저장은 배치로 비동기 처리)
+     * - TALK 타입 메시지인 경우 LLM 분석 예약 (debounce 후 비동기)
      *
      * @param messageDto 클라이언트로부터 받은 메시지 DTO
      * @param senderId WebSocket 세션에서 추출한 발신자 ID
@@ -42,15 +45,8 @@ public class ChatService {
         try {
             UUID senderUuid = UUID.fromString(senderId);
 
-            // 사용자 정보 저장 또는 업데이트 (없으면 생성)
-            chatUserRepository.findById(senderUuid)
-                    .orElseGet(() -> {
-                        ChatUser newUser = ChatUser.builder()
-                                .id(senderUuid)
-                                .nickname(senderNickname)
-                                .build();
-                        return chatUserRepository.save(newUser);
-                    });
+            // 사용자 확인 (CONNECT 시 등록된 캐시 사용, 새 사용자/닉네임 변경 시에만 비동기 저장)
+            chatUserRegistry.touch(senderUuid, senderNickname);
 
             // 메시지 엔티티 생성
             ChatMessage message = ChatMessage.builder()
@@ -61,8 +57,13 @@ public class ChatService {
                     .type(messageDto.getType() != null ? messageDto.getType() : MessageType.TALK)
                     .build();
 
-            // DB에 저장
-            ChatMessage savedMessage = chatMessageRepository.save(message);
+            // DB에 저장 (write-behind 모드면 저장 큐에 추가)
+            ChatMessage savedMessage = writeBehindQueue.isEnabled()
+                    ? writeBehindQueue.enqueue(message)
+                    : chatMessageRepository.save(message);
+
+            // 채팅방 최근 메시지 버퍼에 추가 (LLM 분석 컨텍스트용, 롤백된 메시지가 남지 않도록 커밋 후)
+            appendAfterCommit(savedMessage);
 
             // 응답 DTO 생성
             ChatMessageDto responseDto = ChatMessageDto.builder()
@@ -82,9 +83,9 @@ public class ChatService {
             log.info("Message broadcasted - roomId: {}, senderId: {}, type: {}",
                     savedMessage.getRoomId(), senderId, savedMessage.getType());
 
-            // TALK 타입 메시지인 경우 LLM 분석 트리거 (비동기)
+            // TALK 타입 메시지인 경우 LLM 분석 예약 (채팅방별로 모아서 비동기 실행)
             if (savedMessage.getType() == MessageType.TALK) {
-                suggestionService.analyzeMessage(savedMessage);
+                analysisScheduler.submit(savedMessage);
             }
 
         } catch (Exception e) {
@@ -92,4 +93,20 @@ public class ChatService {
             throw new RuntimeException("메시지 처리 중 오류가 발생했습니다.", e);
         }
     }
+
+    /**
+     * 트랜잭션 커밋 후 최근 메시지 버퍼에 추가 (트랜잭션 밖이면 바로 추가)
+     */
+    private void appendAfterCommit(ChatMessage message) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            recentMessageBuffer.append(message);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                recentMessageBuffer.append(message);
+            }
+        });
+    }
 }
@@ -0,0 +1,121 @@
+package com.example.onboarding.service;
+
+import com.example.onboarding.repository.ChatUserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 채팅 사용자 레지스트리 (인메모리 캐시)
+ * - STOMP CONNECT 시 사용자 정보를 등록하고, 채팅 처리 중에는 사용자 테이블을 조회하지 않음
+ * - 처음 본 사용자이거나 닉네임이 바뀐 경우에만 chat_users에 비동기로 저장 (upsert)
+ * - 최대 크기를 넘으면 오래 사용하지 않은 사용자부터 제거 (다시 접속하면 재등록)
+ * - 히트/미스 통계는 cache.gets, cache.size 등 메트릭으로 노출 (cache=chat.users)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ChatUserRegistry {
+
+    private static final int PERSIST_QUEUE_CAPACITY = 10000;
+
+    private final ChatUserRepository chatUserRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${chat.users.cache-max-size:100000}")
+    private long maxSize;
+
+    /**
+     * Key: 사용자 ID
+     * Value: 마지막으로 저장 요청한 닉네임
+     */
+    private Cache<UUID, String> users;
+
+    /**
+     * 저장 순서 보장을 위한 단일 스레드 executor (닉네임 변경이 역순으로 저장되지 않도록)
+     */
+    private ThreadPoolExecutor persistExecutor;
+
+    @PostConstruct
+    public void init() {
+        users = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, users, "chat.users");
+
+        persistExecutor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(PERSIST_QUEUE_CAPACITY),
+                runnable -> new Thread(runnable, "chat-user-persist"),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * 사용자 등록 (STOMP CONNECT 시)
+     * - 새 사용자이거나 닉네임이 바뀐 경우 비동기 저장
+     *
+     * @param userId 사용자 ID
+     * @param nickname 닉네임
+     */
+    public void register(UUID userId, String nickname) {
+        String previous = users.asMap().put(userId, nickname);
+        if (!nickname.equals(previous)) {
+            persistAsync(userId, nickname);
+        }
+    }
+
+    /**
+     * 채팅 메시지 처리 시 사용자 확인
+     * - 캐시에 같은 닉네임으로 있으면 아무것도 하지 않음 (DB 조회 없음)
+     * - 캐시에서 제거되었거나 닉네임이 다르면 재등록
+     *
+     * @param userId 사용자 ID
+     * @param nickname 닉네임
+     */
+    public void touch(UUID userId, String nickname) {
+        String cached = users.getIfPresent(userId);
+        if (!nickname.equals(cached)) {
+            register(userId, nickname);
+        }
+    }
+
+    /**
+     * 현재 캐시에 있는 사용자 수
+     */
+    public long size() {
+        return users.estimatedSize();
+    }
+
+    private void persistAsync(UUID userId, String nickname) {
+        persistExecutor.execute(() -> {
+            try {
+                chatUserRepository.upsert(userId, nickname);
+                log.debug("Chat user persisted - userId: {}, nickname: {}", userId, nickname);
+            } catch (Exception e) {
+                log.error("Failed to persist chat user - userId: {}", userId, e);
+                // 다음 메시지에서 다시 저장을 시도하도록 캐시에서 제거
+                users.asMap().remove(userId, nickname);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        persistExecutor.shutdown();
+        if (!persistExecutor.awaitTermination(10, TimeUnit.SECONDS)) {
+            log.warn("Chat user persist executor did not terminate - pending: {}", persistExecutor.getQueue().size());
+        }
+    }
+}
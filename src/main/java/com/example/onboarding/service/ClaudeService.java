@@ -3,20 +3,47 @@ package com.example.onboarding.service;
 import com.example.onboarding.dto.ClaudeAnalysisResult;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.netty.channel.ChannelOption;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
 
+import java.time.Duration;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Claude API 통합 서비스
  * - Anthropic Claude API를 사용하여 대화 내용 분석
+ * - 공유 WebClient(커넥션 풀 + keep-alive)로 논블로킹 호출 (HttpClient/커넥션 풀은 init에서 한 번만 생성)
+ * - 타임아웃 (anthropic.http.*)
+ *   - connect-timeout: TCP 연결
+ *   - response-timeout: 요청 전송 후 첫 응답까지, 이후 응답 데이터 수신 간격마다 적용 (멈춘 연결은 이 제한에 먼저 걸림)
+ *     Reactor Netty가 응답을 읽는 동안에만 걸어 두므로 풀의 유휴 커넥션에는 적용되지 않음
+ *   - request-timeout: 호출 전체 마감 (조금씩 계속 도착하는 느린 스트림도 여기서 끊음)
+ *   - max-idle-time: 풀에서 쉬는 커넥션 유지 시간 (요청 중 타임아웃과 무관)
+ *   - 연결 단위 ReadTimeoutHandler는 쓰지 않음 (풀에 반납된 유휴 커넥션까지 닫아 max-idle-time을 무의미하게 만듦)
+ * - 연결 실패/타임아웃/4xx/5xx 응답은 shouldRecommend=false 결과로 대체
+ * - 스트리밍 모드(anthropic.streaming=true)에서는 SSE로 응답을 받으며 JSON을 점진적으로 파싱하여,
+ *   추천 여부/신뢰도가 확정되는 즉시 중간 결과를 먼저 전달 (reasoning 생성을 기다리지 않음)
+ * - 메트릭: claude.analysis.decision.latency{mode=buffered|streaming} (요청부터 추천 여부 확정까지)
  */
 @Slf4j
 @Service
@@ -35,56 +62,127 @@ public class ClaudeService {
     @Value("${anthropic.temperature}")
     private double temperature;
 
+    @Value("${anthropic.base-url:https://api.anthropic.com}")
+    private String baseUrl;
+
+    @Value("${anthropic.http.connect-timeout:3s}")
+    private Duration connectTimeout;
+
+    @Value("${anthropic.http.response-timeout:30s}")
+    private Duration responseTimeout;
+
+    @Value("${anthropic.http.request-timeout:60s}")
+    private Duration requestTimeout;
+
+    @Value("${anthropic.http.max-connections:500}")
+    private int maxConnections;
+
+    @Value("${anthropic.http.max-idle-time:60s}")
+    private Duration maxIdleTime;
+
+    @Value("${anthropic.streaming:false}")
+    private boolean streaming;
+
+    private final AnalysisResultCache analysisResultCache;
+    private final MeterRegistry meterRegistry;
+
     private final ObjectMapper objectMapper = new ObjectMapper();
 
-    private static final String CLAUDE_API_URL = "https://api.anthropic.com/v1/messages";
+    /**
+     * Claude API 호출용 공유 WebClient (커넥션 풀, keep-alive 재사용)
+     */
+    private WebClient webClient;
+
+    private Timer decisionLatency;
+
     private static final String ANTHROPIC_VERSION = "2023-06-01";
 
+    private static final ParameterizedTypeReference<ServerSentEvent<String>> SSE_TYPE =
+            new ParameterizedTypeReference<>() {
+            };
+
+    @PostConstruct
+    public void init() {
+        ConnectionProvider connectionProvider = ConnectionProvider.builder("claude-api")
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(maxConnections * 4)
+                .maxIdleTime(maxIdleTime)
+                .build();
+
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .keepAlive(true)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+                .option(ChannelOption.SO_KEEPALIVE, true)
+                .responseTimeout(responseTimeout);
+
+        webClient = WebClient.builder()
+                .baseUrl(baseUrl)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .defaultHeader("x-api-key", apiKey)
+                .defaultHeader("anthropic-version", ANTHROPIC_VERSION)
+                .defaultHeader("content-type", "application/json")
+                .build();
+
+        decisionLatency = Timer.builder("claude.analysis.decision.latency")
+                .description("Time from Claude request to a known recommendation decision")
+                .tag("mode", streaming ? "streaming" : "buffered")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+
+        log.info("Claude WebClient initialized - maxConnections: {}, connectTimeout: {}, responseTimeout: {}, requestTimeout: {}, streaming: {}",
+                maxConnections, connectTimeout, responseTimeout, requestTimeout, streaming);
+    }
+
     /**
-     * 대화 내용을 분석하여 맛집 추천 필요 여부 판단
+     * 대화 내용을 분석하여 맛집 추천 필요 여부 판단 (논블로킹)
+     * - 호출 스레드를 점유하지 않고, 응답은 이벤트 루프에서 처리됨
+     * - 같은 대화(정규화 기준)에 대한 분석 결과는 캐시에서 반환
+     * - 오류/타임아웃 시 shouldRecommend=false 결과를 반환 (캐시하지 않음)
+     *   - 이미 결과를 방출한 뒤(스트리밍 중간 결과 이후) 실패하면 대체 결과 없이 종료
+     *     (마지막 결과가 실제 분석 결과로 남아야 알림을 받은 사용자의 추천 요청이 빈 분석으로 처리되지 않음)
+     * - 스트리밍 모드에서는 추천 여부/신뢰도가 확정된 중간 결과(reasoning 없음)를 먼저 방출한 뒤 최종 결과를 방출
+     *   (첫 번째 결과로 추천 여부를 판단하면 됨)
      *
      * @param conversationContext 최근 대화 기록
      * @param currentMessage 현재 메시지
-     * @return Claude 분석 결과
+     * @return Claude 분석 결과 (중간 결과 포함, 마지막이 최종 결과)
      */
-    public ClaudeAnalysisResult analyzeConversation(
+    public Flux<ClaudeAnalysisResult> analyzeConversation(
             List<String> conversationContext,
             String currentMessage) {
-        try {
-            String systemPrompt = buildSystemPrompt();
-            String userPrompt = buildUserPrompt(conversationContext, currentMessage);
+        return Flux.defer(() -> {
+            AtomicBoolean emitted = new AtomicBoolean();
+            return analysisResultCache.get(conversationContext, currentMessage,
+                            () -> streaming
+                                    ? streamAnalysis(conversationContext, currentMessage)
+                                    : requestAnalysis(conversationContext, currentMessage).flux())
+                    .doOnNext(result -> emitted.set(true))
+                    .onErrorResume(e -> {
+                        if (emitted.get()) {
+                            log.error("Claude analysis stream failed after a partial result - keeping the partial result", e);
+                            return Mono.empty();
+                        }
+                        log.error("Failed to analyze conversation with Claude", e);
+                        return Mono.just(ClaudeAnalysisResult.builder()
+                                .shouldRecommend(false)
+                                .confidence(0.0)
+                                .reasoning("Error occurred during analysis: " + e.getMessage())
+                                .build());
+                    });
+        });
+    }
 
-            log.info("Sending request to Claude API with model: {}", model);
-            log.info("API Key present: {}", apiKey != null && !apiKey.isEmpty());
-            if (apiKey != null && apiKey.length() > 10) {
-                log.info("API Key starts with: {}...", apiKey.substring(0, 10));
-            }
+    /**
+     * Claude API 호출
+     */
+    private Mono<ClaudeAnalysisResult> requestAnalysis(List<String> conversationContext, String currentMessage) {
+        Map<String, Object> requestBody = buildRequestBody(conversationContext, currentMessage, false);
 
-            // Claude API 요청 본문 생성
-            Map<String, Object> requestBody = Map.of(
-                    "model", model,
-                    "max_tokens", maxTokens,
-                    "temperature", temperature,
-                    "system", systemPrompt,
-                    "messages", List.of(
-                            Map.of(
-                                    "role", "user",
-                                    "content", userPrompt
-                            )
-                    )
-            );
-
-            log.info("Request body: {}", objectMapper.writeValueAsString(requestBody).substring(0, 200) + "...");
-
-            // WebClient로 Claude API 호출
-            WebClient webClient = WebClient.builder()
-                    .baseUrl("https://api.anthropic.com")
-                    .defaultHeader("x-api-key", apiKey)
-                    .defaultHeader("anthropic-version", ANTHROPIC_VERSION)
-                    .defaultHeader("content-type", "application/json")
-                    .build();
+        log.debug("Sending request to Claude API with model: {}", model);
 
-            String responseBody = webClient.post()
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return webClient.post()
                     .uri("/v1/messages")
                     .bodyValue(requestBody)
                     .retrieve()
@@ -95,25 +193,112 @@ public class ClaudeService {
                                         return new RuntimeException("Claude API error: " + errorBody);
                                     }))
                     .bodyToMono(String.class)
-                    .block();
+                    .timeout(requestTimeout)
+                    .map(responseBody -> {
+                        String claudeResponse = extractText(responseBody);
+                        log.info("Claude analysis response: {}", claudeResponse);
+                        ClaudeAnalysisResult result = parseClaudeResponse(claudeResponse);
+                        decisionLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                        return result;
+                    });
+        });
+    }
 
-            log.info("Claude API response received");
+    /**
+     * Claude API 스트리밍 호출 (SSE)
+     * - text_delta를 받는 대로 디코더에 넣어 추천 여부/신뢰도가 확정되면 중간 결과 방출
+     * - 스트림이 끝나면 최종 결과 방출 (JSON 파싱에 실패하면 전체 텍스트로 기존 파싱 로직 적용)
+     */
+    private Flux<ClaudeAnalysisResult> streamAnalysis(List<String> conversationContext, String currentMessage) {
+        Map<String, Object> requestBody = buildRequestBody(conversationContext, currentMessage, true);
 
-            // JSON 파싱
-            JsonNode responseJson = objectMapper.readTree(responseBody);
-            String claudeResponse = responseJson.get("content").get(0).get("text").asText();
+        log.debug("Sending streaming request to Claude API with model: {}", model);
 
-            log.info("Claude analysis response: {}", claudeResponse);
+        return Flux.defer(() -> {
+            long start = System.nanoTime();
+            AtomicBoolean decided = new AtomicBoolean();
+            StreamingAnalysisDecoder decoder = new StreamingAnalysisDecoder(objectMapper);
+            // 이벤트마다 같은 마감 시각을 기다리도록 공유 (이벤트 간격이 아닌 호출 전체 마감)
+            Mono<Long> deadline = Mono.delay(requestTimeout).cache();
 
-            return parseClaudeResponse(claudeResponse);
+            return webClient.post()
+                    .uri("/v1/messages")
+                    .accept(MediaType.TEXT_EVENT_STREAM)
+                    .bodyValue(requestBody)
+                    .retrieve()
+                    .onStatus(status -> status.is4xxClientError() || status.is5xxServerError(),
+                            clientResponse -> clientResponse.bodyToMono(String.class)
+                                    .map(errorBody -> {
+                                        log.error("Claude API error response: {}", errorBody);
+                                        return new RuntimeException("Claude API error: " + errorBody);
+                                    }))
+                    .bodyToFlux(SSE_TYPE)
+                    .timeout(deadline, event -> deadline)
+                    .concatMap(event -> Mono.justOrEmpty(decoder.feed(extractDelta(event))))
+                    .concatWith(Mono.fromCallable(() -> {
+                        log.info("Claude analysis response: {}", decoder.text());
+                        return decoder.result().orElseGet(() -> parseClaudeResponse(decoder.text()));
+                    }))
+                    .doOnNext(result -> {
+                        if (decided.compareAndSet(false, true)) {
+                            decisionLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                        }
+                    });
+        });
+    }
+
+    /**
+     * Claude API 요청 본문 생성
+     */
+    private Map<String, Object> buildRequestBody(List<String> conversationContext, String currentMessage, boolean stream) {
+        Map<String, Object> requestBody = new HashMap<>(Map.of(
+                "model", model,
+                "max_tokens", maxTokens,
+                "temperature", temperature,
+                "system", buildSystemPrompt(),
+                "messages", List.of(
+                        Map.of(
+                                "role", "user",
+                                "content", buildUserPrompt(conversationContext, currentMessage)
+                        )
+                )
+        ));
+        if (stream) {
+            requestBody.put("stream", true);
+        }
+        return requestBody;
+    }
 
+    /**
+     * Claude 응답 본문에서 텍스트 추출
+     */
+    private String extractText(String responseBody) {
+        try {
+            JsonNode responseJson = objectMapper.readTree(responseBody);
+            return responseJson.get("content").get(0).get("text").asText();
         } catch (Exception e) {
-            log.error("Failed to analyze conversation with Claude", e);
-            return ClaudeAnalysisResult.builder()
-                    .shouldRecommend(false)
-                    .confidence(0.0)
-                    .reasoning("Error occurred during analysis: " + e.getMessage())
-                    .build();
+            throw new IllegalStateException("Unexpected Claude API response: " + responseBody, e);
+        }
+    }
+
+    /**
+     * SSE 이벤트에서 텍스트 조각 추출 (text_delta 외의 이벤트는 null)
+     */
+    private String extractDelta(ServerSentEvent<String> event) {
+        if (event.data() == null) {
+            return null;
+        }
+        if ("error".equals(event.event())) {
+            throw new IllegalStateException("Claude API stream error: " + event.data());
+        }
+        if (!"content_block_delta".equals(event.event())) {
+            return null;
+        }
+        try {
+            JsonNode delta = objectMapper.readTree(event.data()).path("delta");
+            return "text_delta".equals(delta.path("type").asText()) ? delta.path("text").asText() : null;
+        } catch (Exception e) {
+            throw new IllegalStateException("Unexpected Claude API stream event: " + event.data(), e);
         }
     }
 
@@ -209,6 +394,7 @@ public class ClaudeService {
                     .shouldRecommend(shouldRecommend)
                     .confidence(0.5)
                     .reasoning("Fallback keyword detection (JSON parsing failed)")
+                    .fallback(true)
                     .categories(Collections.emptyList())
                     .preferences(Collections.emptyList())
                     .build();
@@ -0,0 +1,240 @@
+package com.example.onboarding.service;
+
+import com.example.onboarding.dto.RestaurantSummary;
+import com.example.onboarding.repository.RestaurantRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 대체 추천 목록 (미리 계산된 평점 상위 맛집)
+ * - 지역/카테고리 검색 결과가 없을 때 사용하는 목록을 메모리에 유지 (조회는 해시 조회 몇 번으로 끝남)
+ * - 목록: 전체 / 지역별 / 카테고리별 / 지역+카테고리별 평점 상위 LIST_SIZE개
+ *   (지역: 키워드 중 Gazetteer에 있는 지역명, 카테고리: 나머지 키워드 + category 필드의 대분류)
+ * - 카탈로그 로딩(RestaurantCatalogLoadedEvent) 시 전체 구성, 맛집 변경(RestaurantChangedEvent) 시 관련 목록만 갱신
+ * - 변경으로 목록에서 빠진 자리는 다음 전체 로딩 때 다시 채워짐
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class FallbackRecommendations {
+
+    /**
+     * 목록별 유지 개수 (추천 개수보다 여유 있게 유지하여 변경으로 빠져도 바로 비지 않음)
+     */
+    private static final int LIST_SIZE = 10;
+
+    private static final String GLOBAL_KEY = "*";
+
+    private final RestaurantRepository restaurantRepository;
+    private final Gazetteer gazetteer;
+
+    /**
+     * Key: 목록 키 (전체 / r:지역 / c:카테고리 / rc:지역|카테고리)
+     * Value: 평점 순 불변 리스트
+     */
+    private volatile ConcurrentHashMap<String, List<RestaurantSummary>> lists = new ConcurrentHashMap<>();
+
+    /**
+     * Key: 목록에 들어 있는 맛집 ID
+     * Value: 해당 맛집이 들어 있는 목록 키 (변경 시 기존 목록에서 제거하기 위함)
+     */
+    private volatile ConcurrentHashMap<Long, Set<String>> memberships = new ConcurrentHashMap<>();
+
+    /**
+     * 카탈로그 전체로 목록 구성
+     */
+    @EventListener
+    public synchronized void onCatalogLoaded(RestaurantCatalogLoadedEvent event) {
+        Map<String, List<RestaurantSummary>> building = new HashMap<>();
+        for (RestaurantSummary restaurant : event.restaurants()) {
+            for (String key : keysOf(restaurant)) {
+                List<RestaurantSummary> list = building.computeIfAbsent(key, k -> new ArrayList<>(LIST_SIZE + 1));
+                insert(list, restaurant);
+            }
+        }
+
+        ConcurrentHashMap<String, List<RestaurantSummary>> built = new ConcurrentHashMap<>(building.size() * 2);
+        ConcurrentHashMap<Long, Set<String>> members = new ConcurrentHashMap<>();
+        building.forEach((key, list) -> {
+            built.put(key, List.copyOf(list));
+            for (RestaurantSummary restaurant : list) {
+                members.computeIfAbsent(restaurant.id(), id -> new HashSet<>()).add(key);
+            }
+        });
+        this.lists = built;
+        this.memberships = members;
+
+        log.info("Fallback recommendations built - lists: {}", built.size());
+    }
+
+    /**
+     * 변경된 맛집이 관련된 목록만 갱신 (트랜잭션 커밋 후)
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onRestaurantChanged(RestaurantChangedEvent event) {
+        RestaurantSummary changed = RestaurantSummary.of(event.restaurant());
+        if (changed.id() == null) {
+            return;
+        }
+
+        // 1. 기존 목록에서 제거 (키워드가 바뀌었을 수 있으므로 이전 소속 기준)
+        Set<String> previous = memberships.remove(changed.id());
+        if (previous != null) {
+            for (String key : previous) {
+                lists.computeIfPresent(key, (k, list) -> {
+                    List<RestaurantSummary> updated = new ArrayList<>(list);
+                    updated.removeIf(r -> changed.id().equals(r.id()));
+                    return updated.isEmpty() ? null : List.copyOf(updated);
+                });
+            }
+        }
+        if (event.removed()) {
+            return;
+        }
+
+        // 2. 현재 키워드 기준 목록에 다시 삽입 (밀려난 맛집은 소속에서 제거)
+        for (String key : keysOf(changed)) {
+            List<RestaurantSummary> updated = new ArrayList<>(lists.getOrDefault(key, List.of()));
+            RestaurantSummary evicted = insert(updated, changed);
+            if (evicted == changed) {
+                continue;
+            }
+            lists.put(key, List.copyOf(updated));
+            memberships.computeIfAbsent(changed.id(), id -> new HashSet<>()).add(key);
+            if (evicted != null) {
+                memberships.computeIfPresent(evicted.id(), (id, keys) -> {
+                    keys.remove(key);
+                    return keys.isEmpty() ? null : keys;
+                });
+            }
+        }
+    }
+
+    /**
+     * 대체 추천 조회 (지역+카테고리 → 지역 → 카테고리 → 전체 순으로 처음 있는 목록)
+     * - 목록이 아직 구성되지 않았으면 평점 상위 limit개만 DB에서 조회
+     *
+     * @param location 지역
+     * @param categories 카테고리
+     * @param limit 최대 개수
+     * @return 평점 순 맛집 요약
+     */
+    public List<RestaurantSummary> find(String location, List<String> categories, int limit) {
+        Map<String, List<RestaurantSummary>> current = lists;
+        if (current.isEmpty()) {
+            return restaurantRepository.findAll(
+                    PageRequest.of(0, limit, Sort.by(Sort.Direction.DESC, "rating"))).getContent().stream()
+                    .map(RestaurantSummary::of)
+                    .toList();
+        }
+
+        String region = location != null && !location.isBlank() ? RestaurantKeywordIndex.normalize(location) : null;
+        List<String> normalized = categories == null ? List.of() : categories.stream()
+                .filter(c -> c != null && !c.isBlank())
+                .map(RestaurantKeywordIndex::normalize)
+                .toList();
+
+        List<RestaurantSummary> found = null;
+        if (region != null) {
+            for (String category : normalized) {
+                found = firstNonEmpty(found, current.get(regionCategoryKey(region, category)));
+            }
+            found = firstNonEmpty(found, current.get(regionKey(region)));
+        }
+        for (String category : normalized) {
+            found = firstNonEmpty(found, current.get(categoryKey(category)));
+        }
+        found = firstNonEmpty(found, current.get(GLOBAL_KEY));
+
+        return found == null ? List.of() : found.subList(0, Math.min(limit, found.size()));
+    }
+
+    /**
+     * 맛집이 속하는 목록 키
+     */
+    private Set<String> keysOf(RestaurantSummary restaurant) {
+        Set<String> regions = new LinkedHashSet<>();
+        Set<String> categories = new LinkedHashSet<>();
+
+        if (restaurant.keywords() != null) {
+            for (String keyword : restaurant.keywords().split(",")) {
+                String token = RestaurantKeywordIndex.normalize(keyword);
+                if (token.isEmpty()) {
+                    continue;
+                }
+                if (gazetteer.resolve(token).isPresent()) {
+                    regions.add(token);
+                } else {
+                    categories.add(token);
+                }
+            }
+        }
+        // category 필드의 대분류 (예: "한식 • 고기" → 한식)
+        if (restaurant.category() != null) {
+            String primary = RestaurantKeywordIndex.normalize(restaurant.category().split("•")[0]);
+            if (!primary.isEmpty()) {
+                categories.add(primary);
+            }
+        }
+
+        Set<String> keys = new LinkedHashSet<>();
+        keys.add(GLOBAL_KEY);
+        for (String region : regions) {
+            keys.add(regionKey(region));
+            for (String category : categories) {
+                keys.add(regionCategoryKey(region, category));
+            }
+        }
+        for (String category : categories) {
+            keys.add(categoryKey(category));
+        }
+        return keys;
+    }
+
+    /**
+     * 평점 순 위치에 삽입하고 LIST_SIZE를 넘으면 마지막 맛집 제거
+     *
+     * @return 제거된 맛집 (넣은 맛집이 바로 밀려났으면 그 맛집), 없으면 null
+     */
+    private static RestaurantSummary insert(List<RestaurantSummary> list, RestaurantSummary restaurant) {
+        int index = 0;
+        while (index < list.size() && RestaurantSummary.BY_RATING.compare(list.get(index), restaurant) <= 0) {
+            index++;
+        }
+        list.add(index, restaurant);
+        return list.size() > LIST_SIZE ? list.remove(list.size() - 1) : null;
+    }
+
+    private static List<RestaurantSummary> firstNonEmpty(List<RestaurantSummary> found, List<RestaurantSummary> candidate) {
+        if (found != null && !found.isEmpty()) {
+            return found;
+        }
+        return candidate;
+    }
+
+    private static String regionKey(String region) {
+        return "r:" + region;
+    }
+
+    private static String categoryKey(String category) {
+        return "c:" + category;
+    }
+
+    private static String regionCategoryKey(String region, String category) {
+        return "rc:" + region + "|" + category;
+    }
+}
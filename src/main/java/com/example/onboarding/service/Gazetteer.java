@@ -0,0 +1,115 @@
+package com.example.onboarding.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 지역명 → 좌표 사전
+ * - ClaudeAnalysisResult.location (예: "판교", "잠실역")을 대표 좌표로 변환
+ * - 사전 파일(chat.geo.gazetteer-location)은 "지역명,위도,경도" 형식
+ */
+@Slf4j
+@Component
+public class Gazetteer {
+
+    private final ResourceLoader resourceLoader;
+    private final String gazetteerLocation;
+
+    /**
+     * Key: 정규화된 지역명
+     * Value: 대표 좌표
+     */
+    private volatile Map<String, GeoPoint> places = Map.of();
+
+    public Gazetteer(ResourceLoader resourceLoader,
+                     @Value("${chat.geo.gazetteer-location:classpath:lexicon/gazetteer.txt}") String gazetteerLocation) {
+        this.resourceLoader = resourceLoader;
+        this.gazetteerLocation = gazetteerLocation;
+    }
+
+    @PostConstruct
+    public void init() {
+        try {
+            reload();
+        } catch (Exception e) {
+            log.error("Failed to load gazetteer - location search disabled", e);
+        }
+    }
+
+    /**
+     * 사전 재로딩
+     *
+     * @return 지역 수
+     */
+    public synchronized int reload() throws IOException {
+        Map<String, GeoPoint> loaded = new HashMap<>();
+        Resource resource = resourceLoader.getResource(gazetteerLocation);
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] columns = line.split(",");
+                if (columns.length != 3) {
+                    log.warn("Invalid gazetteer line: {}", line);
+                    continue;
+                }
+                try {
+                    loaded.put(normalize(columns[0]),
+                            new GeoPoint(Double.parseDouble(columns[1].trim()), Double.parseDouble(columns[2].trim())));
+                } catch (NumberFormatException e) {
+                    log.warn("Invalid gazetteer coordinates: {}", line);
+                }
+            }
+        }
+        this.places = Map.copyOf(loaded);
+
+        log.info("Gazetteer loaded - places: {}", loaded.size());
+        return loaded.size();
+    }
+
+    /**
+     * 지역명을 좌표로 변환
+     *
+     * @param location 지역명
+     * @return 좌표, 사전에 없으면 empty
+     */
+    public Optional<GeoPoint> resolve(String location) {
+        if (location == null || location.isBlank()) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(places.get(normalize(location)));
+    }
+
+    /**
+     * 지역명 정규화 (공백 제거, 끝의 "역" 제거)
+     */
+    private static String normalize(String location) {
+        String normalized = location.replaceAll("\\s+", "");
+        if (normalized.length() > 1 && normalized.endsWith("역")) {
+            normalized = normalized.substring(0, normalized.length() - 1);
+        }
+        return normalized;
+    }
+
+    /**
+     * 위도/경도 좌표
+     */
+    public record GeoPoint(double latitude, double longitude) {
+    }
+}
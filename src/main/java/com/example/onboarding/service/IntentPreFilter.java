@@ -0,0 +1,203 @@
+package com.example.onboarding.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 맛집 추천 의도 사전 필터
+ * - Claude 호출 전에 메시지가 식사/맛집 대화인지 로컬에서 판별하여, 관련 없는 메시지는 Claude로 보내지 않음
+ * - 사전(식사/의도/음식/지역 단어) + 맛집 키워드(restaurant_keywords)를 Aho-Corasick 오토마톤으로 컴파일하여 메시지를 한 번만 훑음
+ * - 분석 예약 전(RoomAnalysisScheduler)에 메시지마다 호출되어, 거절된 메시지는 분석 대기/컨텍스트 조회 비용도 없음
+ * - 메시지 내용만 검사 (닉네임에 음식/지역 단어가 있어도 통과시키지 않음)
+ * - 통과 조건: 메시지에 식사/의도/음식 단어가 있거나,
+ *   지역 단어만 있고 같은 채팅방의 최근 follow-up-messages개 메시지 안에 식사/의도/음식 단어가 있었던 경우
+ *   ("판교는?" 같은 후속 메시지, 채팅방별로 마지막 식사 관련 메시지 이후의 메시지 수만 기록)
+ * - 사전은 reload()로 재로딩 가능 (POST /api/admin/intent-filter/reload)
+ * - 사전이 아직 로딩되지 않았거나 로딩에 실패하면 모든 메시지를 통과시킴
+ * - 메트릭: chat.intent.filter{result=passed|rejected}
+ */
+@Slf4j
+@Component
+public class IntentPreFilter {
+
+    public static final int MEAL = 1;
+    public static final int INTENT = 1 << 1;
+    public static final int FOOD = 1 << 2;
+    public static final int LOCATION = 1 << 3;
+
+    private static final int FOOD_RELATED = MEAL | INTENT | FOOD;
+
+    private final RestaurantKeywordService restaurantKeywordService;
+    private final ResourceLoader resourceLoader;
+    private final boolean enabled;
+    private final String lexiconLocation;
+    private final int followUpMessages;
+
+    private final Counter passed;
+    private final Counter rejected;
+
+    /**
+     * 컴파일된 매처 (reload 시 통째로 교체)
+     */
+    private volatile AhoCorasickMatcher matcher;
+
+    /**
+     * Key: roomId
+     * Value: 마지막 식사 관련 메시지 이후 들어온 메시지 수
+     */
+    private final Cache<Long, Integer> sinceFoodTalk = Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .expireAfterAccess(Duration.ofMinutes(30))
+            .build();
+
+    public IntentPreFilter(RestaurantKeywordService restaurantKeywordService,
+                           ResourceLoader resourceLoader,
+                           MeterRegistry meterRegistry,
+                           @Value("${chat.intent-filter.enabled:true}") boolean enabled,
+                           @Value("${chat.intent-filter.lexicon-location:classpath:lexicon/intent-lexicon.txt}") String lexiconLocation,
+                           @Value("${chat.intent-filter.follow-up-messages:10}") int followUpMessages) {
+        this.restaurantKeywordService = restaurantKeywordService;
+        this.resourceLoader = resourceLoader;
+        this.enabled = enabled;
+        this.lexiconLocation = lexiconLocation;
+        this.followUpMessages = followUpMessages;
+        this.passed = meterRegistry.counter("chat.intent.filter", "result", "passed");
+        this.rejected = meterRegistry.counter("chat.intent.filter", "result", "rejected");
+    }
+
+    /**
+     * 애플리케이션 시작 후 사전 로딩 (data.sql 적용 이후)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void init() {
+        if (!enabled) {
+            log.info("Intent pre-filter disabled");
+            return;
+        }
+        try {
+            reload();
+        } catch (Exception e) {
+            log.error("Failed to load intent lexicon - all messages will be analyzed", e);
+        }
+    }
+
+    /**
+     * 사전 재로딩
+     *
+     * @return 컴파일된 단어 수
+     */
+    public synchronized int reload() throws IOException {
+        Map<String, Integer> patterns = new HashMap<>();
+        Set<String> locations = new HashSet<>();
+
+        // 1. 사전 파일
+        Resource resource = resourceLoader.getResource(lexiconLocation);
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
+            int category = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                if (line.startsWith("[") && line.endsWith("]")) {
+                    category = categoryOf(line.substring(1, line.length() - 1));
+                    continue;
+                }
+                if (category == 0) {
+                    continue;
+                }
+                patterns.merge(line, category, (a, b) -> a | b);
+                if (category == LOCATION) {
+                    locations.add(line);
+                }
+            }
+        }
+
+        // 2. 맛집 키워드 (지역 사전에 있는 단어는 지역, 나머지는 음식으로 분류)
+        int keywordCount = 0;
+        for (String keyword : restaurantKeywordService.findDistinctKeywords()) {
+            // 한 글자 키워드("회" 등)는 일반 대화에서 오탐이 많아 제외
+            if (keyword.length() < 2) {
+                continue;
+            }
+            patterns.merge(keyword, locations.contains(keyword) ? LOCATION : FOOD, (a, b) -> a | b);
+            keywordCount++;
+        }
+
+        AhoCorasickMatcher compiled = AhoCorasickMatcher.compile(patterns);
+        this.matcher = compiled;
+
+        log.info("Intent lexicon loaded - patterns: {}, restaurant keywords: {}, states: {}",
+                patterns.size(), keywordCount, compiled.stateCount());
+        return patterns.size();
+    }
+
+    /**
+     * Claude 분석이 필요한 메시지인지 판별 (채팅방의 TALK 메시지마다 순서대로 호출)
+     *
+     * @param roomId 채팅방 ID
+     * @param content 메시지 내용
+     * @return false면 분석을 예약하지 않음
+     */
+    public boolean shouldAnalyze(Long roomId, String content) {
+        AhoCorasickMatcher current = matcher;
+        if (!enabled || current == null) {
+            return true;
+        }
+
+        boolean result = accepts(current, roomId, content);
+        (result ? passed : rejected).increment();
+        return result;
+    }
+
+    private boolean accepts(AhoCorasickMatcher current, Long roomId, String content) {
+        int mask = current.match(content);
+        if ((mask & FOOD_RELATED) != 0) {
+            sinceFoodTalk.put(roomId, 0);
+            return true;
+        }
+
+        // 이전 메시지 수를 하나 늘리고, 늘리기 전 값이 범위 안이면 최근 식사 대화가 있었던 것
+        int[] previous = {Integer.MAX_VALUE};
+        sinceFoodTalk.asMap().computeIfPresent(roomId, (id, count) -> {
+            previous[0] = count;
+            return count < followUpMessages ? count + 1 : count;
+        });
+        return (mask & LOCATION) != 0 && previous[0] < followUpMessages;
+    }
+
+    private static int categoryOf(String section) {
+        return switch (section.trim().toLowerCase(Locale.ROOT)) {
+            case "meal" -> MEAL;
+            case "intent" -> INTENT;
+            case "food" -> FOOD;
+            case "location" -> LOCATION;
+            default -> {
+                log.warn("Unknown intent lexicon section: {}", section);
+                yield 0;
+            }
+        };
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.onboarding.service;
+
+import com.example.onboarding.dto.RestaurantSummary;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * PostgreSQL 맛집 검색 백엔드 (chat.search.mode=postgres)
+ * - 키워드 검색: restaurant_keywords 테이블 (단어 단위 일치, 키워드+평점 인덱스만으로 처리)
+ * - 선호사항 검색: keywords + description에 pg_trgm GIN 인덱스를 만들어 단어 유사도(word_similarity)로 검색
+ *   - trigram은 글자 단위로 나누므로 형태소 분석 없이 한국어 부분 일치("분위기 좋은" ↔ "분위기가 좋은")를 처리
+ *   - 일치 기준은 pg_trgm.word_similarity_threshold (기본 0.6)
+ * - 여러 애플리케이션 인스턴스가 같은 DB를 보므로 인메모리 색인 재구성 없이 항상 최신 데이터를 검색
+ * - 확장/인덱스 생성에 실패하면 선호사항 검색은 빈 결과를 반환 (키워드 검색은 계속 동작)
+ */
+@Slf4j
+public class PostgresRestaurantSearch implements RestaurantSearch {
+
+    /**
+     * 검색 대상 텍스트 (인덱스 표현식과 쿼리가 같은 식을 써야 인덱스가 사용됨)
+     */
+    private static final String SEARCH_TEXT = "(lower(coalesce(keywords, '') || ' ' || coalesce(description, '')))";
+
+    private static final String CREATE_EXTENSION_SQL = "CREATE EXTENSION IF NOT EXISTS pg_trgm";
+    private static final String CREATE_INDEX_SQL = "CREATE INDEX IF NOT EXISTS idx_restaurants_search_trgm " +
+            "ON restaurants USING gin (" + SEARCH_TEXT + " gin_trgm_ops)";
+
+    /**
+     * 한 번에 검색할 최대 선호사항 수 (쿼리 크기 제한)
+     */
+    private static final int MAX_TERMS = 8;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final RestaurantKeywordService restaurantKeywordService;
+
+    private volatile boolean textSearchAvailable;
+
+    public PostgresRestaurantSearch(JdbcTemplate jdbcTemplate,
+                                    RestaurantKeywordService restaurantKeywordService) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.restaurantKeywordService = restaurantKeywordService;
+    }
+
+    /**
+     * pg_trgm 확장과 GIN 인덱스 생성 (이미 있으면 그대로 사용)
+     */
+    public void init() {
+        try {
+            jdbcTemplate.execute(CREATE_EXTENSION_SQL);
+            jdbcTemplate.execute(CREATE_INDEX_SQL);
+            textSearchAvailable = true;
+            log.info("PostgreSQL restaurant search initialized (pg_trgm)");
+        } catch (DataAccessException e) {
+            log.error("Failed to initialize pg_trgm search - preference text search disabled", e);
+        }
+    }
+
+    @Override
+    public List<RestaurantSummary> findByKeyword(String keyword, int limit) {
+        return restaurantKeywordService.findByKeyword(keyword, limit).stream().map(RestaurantSummary::of).toList();
+    }
+
+    @Override
+    public List<RestaurantSummary> findByKeywordAndAnyOf(String keyword, Collection<String> anyOf, int limit) {
+        return restaurantKeywordService.findByKeywordAndAnyOf(keyword, anyOf, limit).stream()
+                .map(RestaurantSummary::of)
+                .toList();
+    }
+
+    /**
+     * 선호사항 유사도 검색 (점수 = 선호사항별 word_similarity 평균)
+     */
+    @Override
+    public List<ScoredRestaurant> findByText(String keyword, Collection<String> terms, int limit) {
+        Set<String> normalized = new LinkedHashSet<>();
+        for (String term : terms) {
+            String value = RestaurantKeywordIndex.normalize(term);
+            if (!value.isEmpty() && normalized.size() < MAX_TERMS) {
+                normalized.add(value);
+            }
+        }
+        if (!textSearchAvailable || normalized.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        List<Object> args = new ArrayList<>();
+        StringBuilder score = new StringBuilder("(");
+        StringBuilder match = new StringBuilder("(");
+        for (String term : normalized) {
+            if (args.size() > 0) {
+                score.append(" + ");
+                match.append(" OR ");
+            }
+            score.append("word_similarity(?, ").append(SEARCH_TEXT).append(")");
+            match.append(SEARCH_TEXT).append(" %> ?");
+            args.add(term);
+        }
+        score.append(") / ").append(normalized.size());
+        match.append(")");
+
+        StringBuilder sql = new StringBuilder("SELECT id, category, keywords, rating, latitude, longitude, ").append(score).append(" AS score FROM restaurants WHERE ").append(match);
+        List<Object> params = new ArrayList<>(args);
+        params.addAll(args);
+        if (keyword != null) {
+            sql.append(" AND EXISTS (SELECT 1 FROM restaurant_keywords k WHERE k.keyword = ? AND k.restaurant_id = restaurants.id)");
+            params.add(RestaurantKeywordIndex.normalize(keyword));
+        }
+        sql.append(" ORDER BY score DESC, rating DESC NULLS LAST, id LIMIT ?");
+        params.add(limit);
+
+        List<ScoredRestaurant> result = new ArrayList<>();
+        try {
+            jdbcTemplate.query(sql.toString(), rs -> {
+                RestaurantSummary restaurant = new RestaurantSummary(rs.getLong("id"), rs.getString("category"),
+                        rs.getString("keywords"), rs.getObject("rating", Double.class),
+                        rs.getObject("latitude", Double.class), rs.getObject("longitude", Double.class));
+                result.add(new ScoredRestaurant(restaurant, Math.min(1.0, rs.getDouble("score"))));
+            }, params.toArray());
+        } catch (DataAccessException e) {
+            log.warn("Restaurant text search failed - terms: {}", normalized, e);
+            return List.of();
+        }
+        return result;
+    }
+}
@@ -0,0 +1,295 @@
+package com.example.onboarding.service;
+
+import com.example.onboarding.config.BrokerProperties;
+import com.example.onboarding.config.RecentMessageBufferProperties;
+import com.example.onboarding.dto.ChatMessageDto;
+import com.example.onboarding.dto.ChatMessageSummary;
+import com.example.onboarding.entity.ChatMessage;
+import com.example.onboarding.entity.MessageType;
+import com.example.onboarding.repository.ChatMessageRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * 채팅방별 최근 메시지 링 버퍼
+ * - ChatService가 메시지를 저장할 때마다 채워지며, LLM 분석용 대화 컨텍스트를 메모리에서 구성
+ * - 히스토리 API의 최근 페이지(tail)도 이 버퍼에서 응답
+ * - 버퍼가 없는 채팅방(첫 메시지, 만료/제거 후)은 DB에서 요약 프로젝션으로 한 번만 초기화
+ *   (write-behind 모드에서는 아직 저장되지 않은 메시지를 저장 큐에서 함께 읽어 빈 구간이 생기지 않도록 함)
+ * - 채팅방별 크기는 chat.context.room-capacities로 지정 (기본 chat.context.default-capacity)
+ * - 메모리 사용량은 chat.context.buffer.bytes 등 메트릭으로 노출
+ * - 외부 브로커 릴레이 모드(chat.websocket.broker.mode=relay)에서는 사용하지 않음
+ *   (다른 노드에 저장된 메시지가 버퍼에 들어오지 않아 누락이 생기므로 컨텍스트를 DB에서 조회하고 히스토리는 항상 DB에서 응답)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RecentMessageBuffer {
+
+    private final ChatMessageRepository chatMessageRepository;
+    private final RecentMessageBufferProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final BrokerProperties brokerProperties;
+    private final ChatMessageWriteBehindQueue writeBehindQueue;
+
+    /**
+     * 버퍼 사용 여부 (노드 하나가 모든 메시지를 처리하는 단일 노드 배포에서만 사용)
+     */
+    private boolean enabled;
+
+    /**
+     * Key: roomId
+     * Value: 채팅방 링 버퍼
+     */
+    private Cache<Long, RoomRing> rooms;
+
+    @PostConstruct
+    public void init() {
+        enabled = !brokerProperties.isRelay();
+        if (!enabled) {
+            log.info("Recent message buffer disabled in relay mode - reading context and history from DB");
+        }
+
+        rooms = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxRooms())
+                .expireAfterAccess(properties.getIdleExpiry())
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, rooms, "chat.context.rooms");
+        Gauge.builder("chat.context.buffer.bytes", this, RecentMessageBuffer::estimatedBytes)
+                .description("Estimated heap used by recent message buffers")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("chat.context.buffer.messages", this, RecentMessageBuffer::messageCount)
+                .description("Messages held in recent message buffers")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 저장된 메시지를 채팅방 버퍼에 추가
+     * - 트랜잭션이 커밋된 뒤(write-behind 모드에서는 저장 큐에 들어간 뒤) 호출해야 함
+     *
+     * @param message ID가 부여된 메시지
+     */
+    public void append(ChatMessage message) {
+        if (!enabled) {
+            return;
+        }
+        roomRing(message.getRoomId()).append(RecentMessage.of(message));
+    }
+
+    /**
+     * 대화 컨텍스트 조회 ("닉네임: 내용" 형식, 최신순)
+     *
+     * @param roomId 채팅방 ID
+     * @param beforeMessageId 기준 메시지 ID (이 ID보다 이전 메시지만 포함)
+     * @param limit 최대 메시지 수
+     * @return 대화 컨텍스트
+     */
+    public List<String> getContext(Long roomId, Long beforeMessageId, int limit) {
+        if (!enabled) {
+            return chatMessageRepository.findSummariesBefore(roomId, beforeMessageId, PageRequest.of(0, limit))
+                    .stream()
+                    .map(summary -> summary.getSenderNickname() + ": " + summary.getContent())
+                    .toList();
+        }
+        return roomRing(roomId).context(beforeMessageId, limit);
+    }
+
+    /**
+     * 히스토리 페이지 조회 (최신순)
+     * - 메모리에 있는 채팅방 버퍼만 사용 (버퍼가 없는 채팅방을 새로 읽어오지 않음)
+     * - 버퍼가 요청 범위를 모두 담고 있을 때만 결과를 반환 (릴레이 모드에서는 항상 empty)
+     *
+     * @param roomId 채팅방 ID
+     * @param beforeMessageId 기준 메시지 ID (이 ID보다 이전 메시지만 포함)
+     * @param count 최대 메시지 수
+     * @return 메시지 목록, 버퍼로 응답할 수 없으면 empty
+     */
+    public Optional<List<ChatMessageDto>> findBefore(Long roomId, long beforeMessageId, int count) {
+        RoomRing ring = enabled ? rooms.getIfPresent(roomId) : null;
+        if (ring == null) {
+            return Optional.empty();
+        }
+        return ring.before(beforeMessageId, count)
+                .map(messages -> messages.stream().map(RecentMessage::toDto).toList());
+    }
+
+    /**
+     * 전체 버퍼의 추정 메모리 사용량 (bytes)
+     */
+    public long estimatedBytes() {
+        return rooms.asMap().values().stream().mapToLong(RoomRing::bytes).sum();
+    }
+
+    /**
+     * 전체 버퍼에 있는 메시지 수
+     */
+    public long messageCount() {
+        return rooms.asMap().values().stream().mapToLong(RoomRing::size).sum();
+    }
+
+    private RoomRing roomRing(Long roomId) {
+        return rooms.get(roomId, this::loadRoom);
+    }
+
+    /**
+     * 버퍼가 없는 채팅방을 DB에서 초기화
+     * - write-behind 저장 대기 메시지를 먼저 읽은 뒤 DB를 조회 (그 사이 저장된 메시지는 DB 결과에 포함됨)
+     * - 이후에 저장 큐에 들어온 메시지는 각 요청이 append로 추가
+     */
+    private RoomRing loadRoom(Long roomId) {
+        int capacity = Math.max(1, properties.capacityOf(roomId));
+        RoomRing ring = new RoomRing(capacity);
+
+        List<ChatMessage> pending = writeBehindQueue.getPending(roomId);
+        List<ChatMessageSummary> recent = chatMessageRepository.findSummariesBefore(
+                roomId, Long.MAX_VALUE, PageRequest.of(0, capacity));
+
+        // ID 순으로 합친 뒤 최근 capacity개만 오래된 메시지부터 추가
+        TreeMap<Long, RecentMessage> merged = new TreeMap<>();
+        for (ChatMessageSummary summary : recent) {
+            merged.put(summary.getId(), new RecentMessage(summary.getId(), summary.getRoomId(), summary.getSenderId(),
+                    summary.getSenderNickname(), summary.getContent(), summary.getType(), summary.getCreatedAt()));
+        }
+        for (ChatMessage message : pending) {
+            merged.put(message.getId(), RecentMessage.of(message));
+        }
+        int total = merged.size();
+        while (merged.size() > capacity) {
+            merged.pollFirstEntry();
+        }
+        merged.values().forEach(ring::append);
+
+        // DB에서 버퍼 크기보다 적게 읽혔고 저장 대기 메시지와 합쳐도 버퍼에 들어가면 채팅방 전체 히스토리가 버퍼에 있음
+        ring.complete = recent.size() < capacity && total <= capacity;
+
+        log.debug("Recent message buffer loaded - roomId: {}, capacity: {}, messages: {}, pending: {}",
+                roomId, capacity, recent.size(), pending.size());
+        return ring;
+    }
+
+    /**
+     * 버퍼에 저장되는 메시지
+     */
+    private record RecentMessage(long id, Long roomId, UUID senderId, String senderNickname,
+                                 String content, MessageType type, LocalDateTime createdAt) {
+
+        static RecentMessage of(ChatMessage message) {
+            return new RecentMessage(message.getId(), message.getRoomId(), message.getSenderId(),
+                    message.getSenderNickname(), message.getContent(), message.getType(), message.getCreatedAt());
+        }
+
+        /**
+         * 객체 헤더 + UUID/LocalDateTime + 문자열(UTF-16 기준) 크기 추정
+         */
+        long estimatedBytes() {
+            return 48 + 32 + 48 + stringBytes(senderNickname) + stringBytes(content);
+        }
+
+        ChatMessageDto toDto() {
+            return ChatMessageDto.builder()
+                    .id(id)
+                    .roomId(roomId)
+                    .senderId(senderId != null ? senderId.toString() : null)
+                    .senderNickname(senderNickname)
+                    .content(content)
+                    .type(type)
+                    .createdAt(createdAt)
+                    .build();
+        }
+
+        private static long stringBytes(String value) {
+            return value == null ? 0 : 40 + 2L * value.length();
+        }
+    }
+
+    /**
+     * 채팅방 하나의 고정 크기 링 버퍼
+     */
+    private static final class RoomRing {
+
+        private final RecentMessage[] slots;
+        private int head;   // 다음에 쓸 위치
+        private int size;
+        private long bytes;
+        private boolean complete;   // 채팅방의 모든 메시지가 버퍼에 있는지 여부
+
+        RoomRing(int capacity) {
+            this.slots = new RecentMessage[capacity];
+        }
+
+        synchronized void append(RecentMessage message) {
+            // 초기화 시 이미 읽어온 메시지는 중복 추가하지 않음
+            for (int i = 0; i < size; i++) {
+                if (slots[i].id() == message.id()) {
+                    return;
+                }
+            }
+
+            if (size == slots.length) {
+                bytes -= slots[head].estimatedBytes();
+                complete = false;
+            } else {
+                size++;
+            }
+            slots[head] = message;
+            bytes += message.estimatedBytes();
+            head = (head + 1) % slots.length;
+        }
+
+        synchronized List<String> context(long beforeMessageId, int limit) {
+            List<String> context = new ArrayList<>(Math.min(limit, size));
+            for (int i = 1; i <= size && context.size() < limit; i++) {
+                RecentMessage message = slots[(head - i + slots.length) % slots.length];
+                if (message.id() < beforeMessageId) {
+                    context.add(message.senderNickname() + ": " + message.content());
+                }
+            }
+            return context;
+        }
+
+        /**
+         * beforeMessageId 이전 메시지를 최신순으로 count개 반환
+         * - 버퍼에 count개가 없고 버퍼가 전체 히스토리도 아니면 empty (DB 조회 필요)
+         */
+        synchronized Optional<List<RecentMessage>> before(long beforeMessageId, int count) {
+            List<RecentMessage> matched = new ArrayList<>();
+            for (int i = 0; i < size; i++) {
+                if (slots[i].id() < beforeMessageId) {
+                    matched.add(slots[i]);
+                }
+            }
+            if (matched.size() < count && !complete) {
+                return Optional.empty();
+            }
+            matched.sort(Comparator.comparingLong(RecentMessage::id).reversed());
+            return Optional.of(matched.size() > count ? matched.subList(0, count) : matched);
+        }
+
+        synchronized long bytes() {
+            return bytes;
+        }
+
+        synchronized int size() {
+            return size;
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package com.example.onboarding.service;
+
+import com.example.onboarding.dto.ClaudeAnalysisResult;
+import com.example.onboarding.dto.RestaurantDto;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 맛집 추천 결과 캐시
+ * - 분석 결과의 (지역, 카테고리, 선호사항, 식사 종류)를 정규화한 시그니처를 키로 변환된 RestaurantDto 목록을 저장
+ *   (예: "판교 한식 점심"을 여러 사용자가 요청하면 검색/변환은 한 번만 수행)
+ * - 캐시된 결과에 포함된 맛집이 변경되면 해당 결과를 무효화하고, 카탈로그를 다시 읽으면 전체 무효화
+ * - 메트릭: chat.recommendation.search{class, result=hit|miss} (키 종류별 히트율 및 지연), cache.*{cache=chat.recommendation}
+ *   (class: location-category / location / category / none)
+ */
+@Slf4j
+@Component
+public class RecommendationCache {
+
+    private static final List<String> KEY_CLASSES = List.of("location-category", "location", "category", "none");
+
+    private final Cache<String, List<RestaurantDto>> cache;
+
+    /**
+     * Key: 맛집 ID
+     * Value: 해당 맛집이 포함된 캐시 키
+     */
+    private final ConcurrentHashMap<Long, Set<String>> keysByRestaurant = new ConcurrentHashMap<>();
+
+    /**
+     * 맛집 변경 횟수 (검색 도중 변경이 있었으면 결과를 캐시에 남기지 않기 위함)
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * Key: "키 종류:hit|miss"
+     */
+    private final Map<String, Timer> timers = new HashMap<>();
+
+    public RecommendationCache(MeterRegistry meterRegistry,
+                               @Value("${chat.recommendation.cache.ttl:5m}") Duration ttl,
+                               @Value("${chat.recommendation.cache.max-size:10000}") long maxSize) {
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxSize)
+                .recordStats()
+                // 제거 리스너를 호출 스레드에서 실행 (비동기로 실행되면 같은 키를 다시 읽어 등록한 뒤에 이전 값의 등록 해제가 실행될 수 있음)
+                .executor(Runnable::run)
+                .<String, List<RestaurantDto>>removalListener((key, restaurants, cause) -> unregister(key, restaurants))
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "chat.recommendation");
+        for (String keyClass : KEY_CLASSES) {
+            for (String result : List.of("hit", "miss")) {
+                timers.put(keyClass + ":" + result, Timer.builder("chat.recommendation.search")
+                        .description("Recommendation lookup latency by signature class and cache result")
+                        .tag("class", keyClass)
+                        .tag("result", result)
+                        .publishPercentiles(0.5, 0.99)
+                        .register(meterRegistry));
+            }
+        }
+    }
+
+    /**
+     * 캐시된 추천 결과를 반환하거나, 없으면 loader로 검색 후 저장 (빈 결과는 저장하지 않음)
+     *
+     * @param analysis Claude 분석 결과
+     * @param loader 실제 맛집 검색 + DTO 변환
+     * @return 추천 맛집 목록
+     */
+    public List<RestaurantDto> get(ClaudeAnalysisResult analysis, Supplier<List<RestaurantDto>> loader) {
+        long start = System.nanoTime();
+        String key = signatureOf(analysis);
+        long generationBefore = generation.get();
+        boolean[] loaded = {false};
+
+        List<RestaurantDto> restaurants = cache.get(key, k -> {
+            loaded[0] = true;
+            List<RestaurantDto> result = loader.get();
+            return result == null || result.isEmpty() ? null : List.copyOf(result);
+        });
+
+        if (loaded[0] && restaurants != null) {
+            register(key, restaurants);
+            // 검색 도중 맛집이 변경되었으면 이전 데이터일 수 있으므로 캐시에 남기지 않음
+            if (generation.get() != generationBefore) {
+                cache.invalidate(key);
+            }
+        }
+
+        timers.get(keyClassOf(analysis) + ":" + (loaded[0] ? "miss" : "hit"))
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return restaurants != null ? restaurants : List.of();
+    }
+
+    /**
+     * 맛집 변경 시 해당 맛집이 포함된 결과 무효화 (트랜잭션 커밋 후)
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRestaurantChanged(RestaurantChangedEvent event) {
+        generation.incrementAndGet();
+        Long id = event.restaurant().getId();
+        Set<String> keys = id != null ? keysByRestaurant.remove(id) : null;
+        if (keys != null && !keys.isEmpty()) {
+            cache.invalidateAll(keys);
+            log.debug("Recommendation cache invalidated - restaurantId: {}, keys: {}", id, keys.size());
+        }
+    }
+
+    /**
+     * 카탈로그를 다시 읽으면 전체 무효화
+     */
+    @EventListener
+    public void onCatalogLoaded(RestaurantCatalogLoadedEvent event) {
+        generation.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    private void register(String key, List<RestaurantDto> restaurants) {
+        for (RestaurantDto restaurant : restaurants) {
+            if (restaurant.getId() != null) {
+                keysByRestaurant.computeIfAbsent(restaurant.getId(), id -> ConcurrentHashMap.newKeySet()).add(key);
+            }
+        }
+    }
+
+    private void unregister(String key, List<RestaurantDto> restaurants) {
+        if (key == null || restaurants == null) {
+            return;
+        }
+        for (RestaurantDto restaurant : restaurants) {
+            if (restaurant.getId() != null) {
+                keysByRestaurant.computeIfPresent(restaurant.getId(), (id, keys) -> {
+                    keys.remove(key);
+                    return keys.isEmpty() ? null : keys;
+                });
+            }
+        }
+    }
+
+    /**
+     * 분석 결과 시그니처 (순서/대소문자/공백 무관)
+     * - 예: location=판교, categories=[한식], preferences=[], mealType=점심 → "판교|한식||점심"
+     */
+    private static String signatureOf(ClaudeAnalysisResult analysis) {
+        return normalize(analysis.getLocation())
+                + "|" + String.join(",", canonical(analysis.getCategories()))
+                + "|" + String.join(",", canonical(analysis.getPreferences()))
+                + "|" + normalize(analysis.getMealType());
+    }
+
+    private static String keyClassOf(ClaudeAnalysisResult analysis) {
+        boolean location = !normalize(analysis.getLocation()).isEmpty();
+        boolean category = !canonical(analysis.getCategories()).isEmpty();
+        if (location) {
+            return category ? "location-category" : "location";
+        }
+        return category ? "category" : "none";
+    }
+
+    private static Set<String> canonical(List<String> values) {
+        Set<String> canonical = new TreeSet<>();
+        if (values != null) {
+            for (String value : values) {
+                String normalized = normalize(value);
+                if (!normalized.isEmpty()) {
+                    canonical.add(normalized);
+                }
+            }
+        }
+        return canonical;
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.replaceAll("\\s+", "").toLowerCase();
+    }
+}
@@ -0,0 +1,326 @@
+package com.example.onboarding.service;
+
+import com.example.onboarding.dto.RestaurantDto;
+import com.example.onboarding.dto.SuggestionDto;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 추천 카드 JSON 직렬화 캐시
+ * - 맛집별 카드 JSON 조각(거리 제외)을 UTF-8 바이트로 미리 만들어 두고, SuggestionDto 페이로드는 조각을 이어 붙여 구성
+ *   (추천을 보낼 때마다 맛집 객체를 Jackson으로 다시 직렬화하지 않음)
+ * - 조각: {"id":..,"name":..,"category":..,"locationText":..,"description":..,"rating":..,"address":..,"image":..
+ *   (닫는 괄호 없음, 요청마다 달라지는 "distance"를 붙여 완성)
+ * - 필드 이름/순서/null 처리/문자열 이스케이프는 Jackson 기본 직렬화 결과와 같음
+ * - 스레드별 버퍼에 이어 쓰고 완성된 페이로드만 복사하므로 전송당 할당은 페이로드 배열 하나 (조각 캐시 미스 시 조각 배열 추가)
+ * - 맛집이 변경되면 해당 조각을, 카탈로그를 다시 읽으면 전체를 무효화
+ *   - DTO를 만든 뒤에 변경이 있었으면 (RecommendationCache와 같은 변경 횟수 비교) 그 DTO로 만든 조각은 캐시에 남기지 않음
+ */
+@Slf4j
+@Component
+public class RestaurantCardCache {
+
+    private static final byte[] TYPE_FIELD = utf8("{\"type\":");
+    private static final byte[] MESSAGE_FIELD = utf8(",\"message\":");
+    private static final byte[] CARD_DATA_FIELD = utf8(",\"cardData\":");
+    private static final byte[] TITLE_FIELD = utf8("{\"title\":");
+    private static final byte[] IMAGE_FIELD = utf8(",\"image\":");
+    private static final byte[] RESTAURANTS_FIELD = utf8(",\"restaurants\":");
+    private static final byte[] TIME_FIELD = utf8(",\"time\":");
+    private static final byte[] ID_FIELD = utf8("{\"id\":");
+    private static final byte[] NAME_FIELD = utf8(",\"name\":");
+    private static final byte[] CATEGORY_FIELD = utf8(",\"category\":");
+    private static final byte[] LOCATION_TEXT_FIELD = utf8(",\"locationText\":");
+    private static final byte[] DESCRIPTION_FIELD = utf8(",\"description\":");
+    private static final byte[] RATING_FIELD = utf8(",\"rating\":");
+    private static final byte[] ADDRESS_FIELD = utf8(",\"address\":");
+    private static final byte[] DISTANCE_FIELD = utf8(",\"distance\":");
+    private static final byte[] NULL = utf8("null");
+
+    /**
+     * 이보다 커진 스레드별 버퍼는 전송 후 버림 (큰 페이로드 한 번으로 메모리를 계속 잡고 있지 않도록)
+     */
+    private static final int MAX_RETAINED_BUFFER = 64 * 1024;
+
+    private final ThreadLocal<JsonBuffer> buffers = ThreadLocal.withInitial(JsonBuffer::new);
+    private final Cache<Long, byte[]> fragments;
+
+    /**
+     * 맛집 변경 횟수 (DTO를 만든 뒤에 변경이 있었으면 조각을 캐시에 남기지 않기 위함)
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    public RestaurantCardCache(MeterRegistry meterRegistry,
+                               @Value("${chat.recommendation.card-cache.max-size:10000}") long maxSize) {
+        this.fragments = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, fragments, "chat.recommendation.cards");
+    }
+
+    /**
+     * 현재 변경 횟수 (맛집을 검색해 DTO를 만들기 전에 읽어 toJson에 전달)
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    /**
+     * 추천 카드 메시지를 JSON 바이트로 직렬화 (Jackson으로 SuggestionDto를 직렬화한 결과와 같음)
+     *
+     * @param suggestion 추천 카드 메시지
+     * @param generationBefore 카드의 맛집 DTO를 만들기 전에 읽은 generation()
+     * @return UTF-8 JSON
+     */
+    public byte[] toJson(SuggestionDto suggestion, long generationBefore) {
+        SuggestionDto.CardData cardData = suggestion.getCardData();
+        List<RestaurantDto> restaurants = cardData != null ? cardData.getRestaurants() : null;
+
+        JsonBuffer out = buffers.get();
+        try {
+            out.write(TYPE_FIELD);
+            out.writeString(suggestion.getType());
+            out.write(MESSAGE_FIELD);
+            out.writeString(suggestion.getMessage());
+            out.write(CARD_DATA_FIELD);
+            if (cardData == null) {
+                out.write(NULL);
+            } else {
+                out.write(TITLE_FIELD);
+                out.writeString(cardData.getTitle());
+                out.write(IMAGE_FIELD);
+                out.writeString(cardData.getImage());
+                out.write(RESTAURANTS_FIELD);
+                if (restaurants == null) {
+                    out.write(NULL);
+                } else {
+                    out.write('[');
+                    for (int i = 0; i < restaurants.size(); i++) {
+                        if (i > 0) {
+                            out.write(',');
+                        }
+                        writeCard(out, restaurants.get(i), generationBefore);
+                    }
+                    out.write(']');
+                }
+                out.write('}');
+            }
+            out.write(TIME_FIELD);
+            out.writeString(suggestion.getTime());
+            out.write('}');
+            return out.toByteArray();
+        } finally {
+            out.reset();
+            if (out.capacity() > MAX_RETAINED_BUFFER) {
+                buffers.remove();
+            }
+        }
+    }
+
+    /**
+     * 맛집 변경 시 해당 조각 무효화 (트랜잭션 커밋 후)
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRestaurantChanged(RestaurantChangedEvent event) {
+        generation.incrementAndGet();
+        Long id = event.restaurant().getId();
+        if (id != null) {
+            fragments.invalidate(id);
+        }
+    }
+
+    /**
+     * 카탈로그를 다시 읽으면 전체 무효화
+     */
+    @EventListener
+    public void onCatalogLoaded(RestaurantCatalogLoadedEvent event) {
+        generation.incrementAndGet();
+        fragments.invalidateAll();
+    }
+
+    private void writeCard(JsonBuffer out, RestaurantDto restaurant, long generationBefore) {
+        Long id = restaurant.getId();
+        byte[] fragment = id != null ? fragments.getIfPresent(id) : null;
+        if (fragment != null) {
+            out.write(fragment);
+        } else {
+            // 버퍼에 바로 쓰고, 쓴 구간을 복사해 캐시 (ID가 없는 맛집은 캐시하지 않음)
+            int start = out.size();
+            writeFragment(out, restaurant);
+            if (id != null) {
+                fragments.put(id, out.copyFrom(start));
+                // DTO를 만든 뒤에 맛집이 변경되었으면 이전 데이터일 수 있으므로 캐시에 남기지 않음
+                if (generation.get() != generationBefore) {
+                    fragments.invalidate(id);
+                }
+            }
+        }
+        out.write(DISTANCE_FIELD);
+        out.writeString(restaurant.getDistance());
+        out.write('}');
+    }
+
+    /**
+     * 거리를 제외한 카드 JSON 조각 (RestaurantDto 필드 순서)
+     */
+    private static void writeFragment(JsonBuffer out, RestaurantDto restaurant) {
+        out.write(ID_FIELD);
+        out.writeNumber(restaurant.getId());
+        out.write(NAME_FIELD);
+        out.writeString(restaurant.getName());
+        out.write(CATEGORY_FIELD);
+        out.writeString(restaurant.getCategory());
+        out.write(LOCATION_TEXT_FIELD);
+        out.writeString(restaurant.getLocationText());
+        out.write(DESCRIPTION_FIELD);
+        out.writeString(restaurant.getDescription());
+        out.write(RATING_FIELD);
+        out.writeNumber(restaurant.getRating());
+        out.write(ADDRESS_FIELD);
+        out.writeString(restaurant.getAddress());
+        out.write(IMAGE_FIELD);
+        out.writeString(restaurant.getImage());
+    }
+
+    private static byte[] utf8(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 재사용하는 JSON 바이트 버퍼
+     * - 문자열은 Jackson(UTF8JsonGenerator) 기본 설정과 같게 이스케이프
+     *   (", 역슬래시, 제어 문자는 \n 등의 단축 표기 또는 유니코드 이스케이프, 서로게이트도 유니코드 이스케이프, 나머지는 UTF-8 그대로)
+     */
+    private static final class JsonBuffer {
+
+        private static final byte[] HEX = "0123456789ABCDEF".getBytes(StandardCharsets.US_ASCII);
+
+        private byte[] bytes = new byte[4096];
+        private int size;
+
+        int size() {
+            return size;
+        }
+
+        int capacity() {
+            return bytes.length;
+        }
+
+        void reset() {
+            size = 0;
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(bytes, size);
+        }
+
+        byte[] copyFrom(int start) {
+            return Arrays.copyOfRange(bytes, start, size);
+        }
+
+        void write(int b) {
+            ensure(1);
+            bytes[size++] = (byte) b;
+        }
+
+        void write(byte[] b) {
+            ensure(b.length);
+            System.arraycopy(b, 0, bytes, size, b.length);
+            size += b.length;
+        }
+
+        void writeNumber(Number value) {
+            if (value == null) {
+                write(NULL);
+                return;
+            }
+            // Jackson과 같은 표기 (Long.toString / Double.toString, NaN/Infinity는 문자열)
+            String text = value.toString();
+            if (value instanceof Double number && (number.isNaN() || number.isInfinite())) {
+                writeString(text);
+                return;
+            }
+            ensure(text.length());
+            for (int i = 0; i < text.length(); i++) {
+                bytes[size++] = (byte) text.charAt(i);
+            }
+        }
+
+        void writeString(String value) {
+            if (value == null) {
+                write(NULL);
+                return;
+            }
+            // 한 글자는 최대 6바이트 (유니코드 이스케이프)
+            ensure(value.length() * 6 + 2);
+            bytes[size++] = '"';
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c < 0x80) {
+                    if (c >= 0x20 && c != '"' && c != '\\') {
+                        bytes[size++] = (byte) c;
+                    } else {
+                        writeEscaped(c);
+                    }
+                } else if (c < 0x800) {
+                    bytes[size++] = (byte) (0xC0 | (c >> 6));
+                    bytes[size++] = (byte) (0x80 | (c & 0x3F));
+                } else if (Character.isSurrogate(c)) {
+                    writeUnicodeEscape(c);
+                } else {
+                    bytes[size++] = (byte) (0xE0 | (c >> 12));
+                    bytes[size++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                    bytes[size++] = (byte) (0x80 | (c & 0x3F));
+                }
+            }
+            bytes[size++] = '"';
+        }
+
+        private void writeEscaped(char c) {
+            char shortcut = switch (c) {
+                case '"' -> '"';
+                case '\\' -> '\\';
+                case '\n' -> 'n';
+                case '\r' -> 'r';
+                case '\t' -> 't';
+                case '\b' -> 'b';
+                case '\f' -> 'f';
+                default -> 0;
+            };
+            if (shortcut == 0) {
+                writeUnicodeEscape(c);
+                return;
+            }
+            bytes[size++] = '\\';
+            bytes[size++] = (byte) shortcut;
+        }
+
+        private void writeUnicodeEscape(char c) {
+            bytes[size++] = '\\';
+            bytes[size++] = 'u';
+            bytes[size++] = HEX[c >> 12];
+            bytes[size++] = HEX[(c >> 8) & 0xF];
+            bytes[size++] = HEX[(c >> 4) & 0xF];
+            bytes[size++] = HEX[c & 0xF];
+        }
+
+        private void ensure(int extra) {
+            if (size + extra > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + extra));
+            }
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.onboarding.service;
+
+import com.example.onboarding.dto.RestaurantSummary;
+
+/**
+ * 맛집 카탈로그 로딩 완료 이벤트
+ * - RestaurantKeywordIndex가 restaurants 테이블을 다시 읽을 때마다 발행
+ * - 같은 데이터로 다른 인메모리 색인(좌표 색인 등)을 구성할 때 사용 (테이블을 한 번만 읽음)
+ *
+ * @param restaurants 평점 순 맛집 요약 배열 (수정하지 말 것)
+ */
+public record RestaurantCatalogLoadedEvent(RestaurantSummary[] restaurants) {
+}
@@ -0,0 +1,15 @@
+package com.example.onboarding.service;
+
+import com.example.onboarding.entity.Restaurant;
+
+/**
+ * 맛집 변경 이벤트
+ * - JPA로 맛집이 저장/수정/삭제될 때 RestaurantEntityListener가 발행
+ * - 인메모리 파생 데이터(대체 추천 목록, 추천 캐시 등)를 갱신할 때 사용
+ *   (트랜잭션 커밋 후 처리하려면 @TransactionalEventListener(fallbackExecution = true)로 수신)
+ *
+ * @param restaurant 변경된 맛집
+ * @param removed 삭제 여부
+ */
+public record RestaurantChangedEvent(Restaurant restaurant, boolean removed) {
+}
@@ -0,0 +1,316 @@
+package com.example.onboarding.service;
+
+import com.example.onboarding.dto.RestaurantSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 맛집 좌표 색인 (KD-tree)
+ * - 위도/경도가 있는 맛집을 평면 좌표(미터)로 투영해 2차원 KD-tree로 구성
+ * - "지점에서 반경 R미터 안의 가까운 맛집 K개 (카테고리 필터)"를 트리 가지치기로 탐색
+ * - 반환 거리는 하버사인 공식으로 계산한 실제 거리
+ * - 맛집 카탈로그 로딩(RestaurantCatalogLoadedEvent) 시마다 다시 구성하며, 스냅샷 교체로 검색은 잠금 없이 수행
+ * - JPA로 변경/삭제된 맛집(RestaurantChangedEvent)은 커밋 후 현재 트리의 맛집 요약으로 다시 구성 (DB를 읽지 않음)
+ */
+@Slf4j
+@Component
+public class RestaurantGeoIndex {
+
+    private static final double EARTH_RADIUS_METERS = 6_371_008.8;
+
+    private volatile KdTree tree;
+
+    public RestaurantGeoIndex(MeterRegistry meterRegistry) {
+        Gauge.builder("restaurant.index.geo", this, index -> index.tree != null ? index.tree.size() : 0)
+                .description("Restaurants with coordinates in the geo index")
+                .register(meterRegistry);
+    }
+
+    @EventListener
+    public synchronized void onCatalogLoaded(RestaurantCatalogLoadedEvent event) {
+        List<RestaurantSummary> located = new ArrayList<>();
+        for (RestaurantSummary restaurant : event.restaurants()) {
+            if (restaurant.latitude() != null && restaurant.longitude() != null) {
+                located.add(restaurant);
+            }
+        }
+        KdTree built = KdTree.build(located.toArray(new RestaurantSummary[0]));
+        this.tree = built;
+
+        log.info("Restaurant geo index built - restaurants: {}", built.size());
+    }
+
+    /**
+     * 변경/삭제된 맛집을 트리에 반영 (트랜잭션 커밋 후, 좌표가 바뀌었을 수 있으므로 트리를 다시 구성)
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onRestaurantChanged(RestaurantChangedEvent event) {
+        KdTree current = tree;
+        Long id = event.restaurant().getId();
+        if (current == null || id == null) {
+            return;
+        }
+        List<RestaurantSummary> located = new ArrayList<>(current.size() + 1);
+        for (RestaurantSummary restaurant : current.restaurants) {
+            if (!id.equals(restaurant.id())) {
+                located.add(restaurant);
+            }
+        }
+        if (!event.removed() && event.restaurant().getLatitude() != null && event.restaurant().getLongitude() != null) {
+            located.add(RestaurantSummary.of(event.restaurant()));
+        }
+        this.tree = KdTree.build(located.toArray(new RestaurantSummary[0]));
+        log.debug("Restaurant geo index updated - restaurantId: {}, removed: {}", id, event.removed());
+    }
+
+    /**
+     * 반경 안의 가까운 맛집 조회 (가까운 순)
+     *
+     * @param latitude 기준 위도
+     * @param longitude 기준 경도
+     * @param radiusMeters 검색 반경 (미터)
+     * @param categories 하나 이상 일치해야 하는 키워드 (비어 있으면 필터 없음)
+     * @param limit 최대 개수
+     * @return 가까운 맛집과 거리
+     */
+    public List<NearbyRestaurant> findNearest(double latitude, double longitude, double radiusMeters,
+                                              Collection<String> categories, int limit) {
+        KdTree current = tree;
+        if (current == null || current.size() == 0 || limit <= 0) {
+            return List.of();
+        }
+        List<String> normalized = categories == null ? List.of()
+                : categories.stream().filter(c -> c != null && !c.isBlank()).map(RestaurantKeywordIndex::normalize).toList();
+        return current.nearest(latitude, longitude, radiusMeters, normalized, limit);
+    }
+
+    /**
+     * 두 좌표 사이의 거리 (하버사인, 미터)
+     */
+    public static double distanceMeters(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_METERS * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    /**
+     * 검색 결과 (맛집 요약 + 실제 거리)
+     */
+    public record NearbyRestaurant(RestaurantSummary restaurant, double distanceMeters) {
+    }
+
+    /**
+     * 불변 KD-tree (배열 기반, 구간 [lo, hi)의 중앙 원소가 노드)
+     * - 투영: x = 경도 × cos(기준 위도) × R, y = 위도 × R (도시 규모에서 오차 무시 가능)
+     */
+    private static final class KdTree {
+
+        private final RestaurantSummary[] restaurants;
+        private final double[] xs;
+        private final double[] ys;
+        private final double cosLat;
+
+        private KdTree(RestaurantSummary[] restaurants, double[] xs, double[] ys, double cosLat) {
+            this.restaurants = restaurants;
+            this.xs = xs;
+            this.ys = ys;
+            this.cosLat = cosLat;
+        }
+
+        static KdTree build(RestaurantSummary[] restaurants) {
+            double meanLat = Arrays.stream(restaurants).mapToDouble(RestaurantSummary::latitude).average().orElse(37.5);
+            double cosLat = Math.cos(Math.toRadians(meanLat));
+
+            Integer[] order = new Integer[restaurants.length];
+            double[] x = new double[restaurants.length];
+            double[] y = new double[restaurants.length];
+            for (int i = 0; i < restaurants.length; i++) {
+                order[i] = i;
+                x[i] = projectX(restaurants[i].longitude(), cosLat);
+                y[i] = projectY(restaurants[i].latitude());
+            }
+            arrange(order, x, y, 0, order.length, 0);
+
+            RestaurantSummary[] sorted = new RestaurantSummary[restaurants.length];
+            double[] xs = new double[restaurants.length];
+            double[] ys = new double[restaurants.length];
+            for (int i = 0; i < order.length; i++) {
+                sorted[i] = restaurants[order[i]];
+                xs[i] = x[order[i]];
+                ys[i] = y[order[i]];
+            }
+            return new KdTree(sorted, xs, ys, cosLat);
+        }
+
+        /**
+         * 구간을 현재 축 기준으로 정렬하고 중앙을 노드로, 양쪽을 다음 축으로 재귀 배치
+         */
+        private static void arrange(Integer[] order, double[] x, double[] y, int lo, int hi, int depth) {
+            if (hi - lo <= 1) {
+                return;
+            }
+            double[] axis = depth % 2 == 0 ? x : y;
+            Arrays.sort(order, lo, hi, (a, b) -> Double.compare(axis[a], axis[b]));
+            int mid = (lo + hi) >>> 1;
+            arrange(order, x, y, lo, mid, depth + 1);
+            arrange(order, x, y, mid + 1, hi, depth + 1);
+        }
+
+        int size() {
+            return restaurants.length;
+        }
+
+        List<NearbyRestaurant> nearest(double latitude, double longitude, double radiusMeters,
+                                       List<String> categories, int limit) {
+            Search search = new Search(projectX(longitude, cosLat), projectY(latitude),
+                    radiusMeters * radiusMeters, categories, limit);
+            visit(search, 0, restaurants.length, 0);
+
+            // 최대 힙을 가까운 순으로 정렬
+            int size = search.size;
+            Integer[] order = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> Double.compare(search.distances[a], search.distances[b]));
+
+            List<NearbyRestaurant> result = new ArrayList<>(size);
+            for (Integer i : order) {
+                RestaurantSummary restaurant = restaurants[search.ordinals[i]];
+                result.add(new NearbyRestaurant(restaurant,
+                        distanceMeters(latitude, longitude, restaurant.latitude(), restaurant.longitude())));
+            }
+            return result;
+        }
+
+        private void visit(Search search, int lo, int hi, int depth) {
+            if (lo >= hi) {
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            double dx = xs[mid] - search.x;
+            double dy = ys[mid] - search.y;
+            search.offer(mid, dx * dx + dy * dy, restaurants[mid]);
+
+            double diff = depth % 2 == 0 ? dx : dy;
+            // 기준점이 있는 쪽을 먼저 탐색하고, 반대쪽은 분할선까지 거리가 현재 한계 안일 때만 탐색
+            if (diff > 0) {
+                visit(search, lo, mid, depth + 1);
+                if (diff * diff <= search.bound()) {
+                    visit(search, mid + 1, hi, depth + 1);
+                }
+            } else {
+                visit(search, mid + 1, hi, depth + 1);
+                if (diff * diff <= search.bound()) {
+                    visit(search, lo, mid, depth + 1);
+                }
+            }
+        }
+
+        private static double projectX(double longitude, double cosLat) {
+            return Math.toRadians(longitude) * cosLat * EARTH_RADIUS_METERS;
+        }
+
+        private static double projectY(double latitude) {
+            return Math.toRadians(latitude) * EARTH_RADIUS_METERS;
+        }
+    }
+
+    /**
+     * 탐색 상태 (거리 제곱 기준 크기 limit의 최대 힙)
+     */
+    private static final class Search {
+
+        private final double x;
+        private final double y;
+        private final double radiusSquared;
+        private final List<String> categories;
+        private final int[] ordinals;
+        private final double[] distances;
+        private int size;
+
+        Search(double x, double y, double radiusSquared, List<String> categories, int limit) {
+            this.x = x;
+            this.y = y;
+            this.radiusSquared = radiusSquared;
+            this.categories = categories;
+            this.ordinals = new int[limit];
+            this.distances = new double[limit];
+        }
+
+        /**
+         * 가지치기 한계 (힙이 차면 가장 먼 후보까지의 거리, 아니면 반경)
+         */
+        double bound() {
+            return size == ordinals.length ? Math.min(radiusSquared, distances[0]) : radiusSquared;
+        }
+
+        void offer(int ordinal, double distanceSquared, RestaurantSummary restaurant) {
+            if (distanceSquared > bound()) {
+                return;
+            }
+            if (!categories.isEmpty() && !RestaurantKeywordIndex.hasAnyKeyword(restaurant.keywords(), categories)) {
+                return;
+            }
+            if (size < ordinals.length) {
+                ordinals[size] = ordinal;
+                distances[size] = distanceSquared;
+                siftUp(size++);
+            } else {
+                ordinals[0] = ordinal;
+                distances[0] = distanceSquared;
+                siftDown(0);
+            }
+        }
+
+        private void siftUp(int i) {
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (distances[parent] >= distances[i]) {
+                    return;
+                }
+                swap(i, parent);
+                i = parent;
+            }
+        }
+
+        private void siftDown(int i) {
+            while (true) {
+                int largest = i;
+                int left = 2 * i + 1;
+                int right = left + 1;
+                if (left < size && distances[left] > distances[largest]) {
+                    largest = left;
+                }
+                if (right < size && distances[right] > distances[largest]) {
+                    largest = right;
+                }
+                if (largest == i) {
+                    return;
+                }
+                swap(i, largest);
+                i = largest;
+            }
+        }
+
+        private void swap(int a, int b) {
+            int ordinal = ordinals[a];
+            ordinals[a] = ordinals[b];
+            ordinals[b] = ordinal;
+            double distance = distances[a];
+            distances[a] = distances[b];
+            distances[b] = distance;
+        }
+    }
+}
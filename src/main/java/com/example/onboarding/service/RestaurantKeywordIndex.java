@@ -0,0 +1,400 @@
+package com.example.onboarding.service;
+
+import com.example.onboarding.dto.RestaurantSummary;
+import com.example.onboarding.repository.RestaurantRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 맛집 키워드 역색인
+ * - restaurants.keywords(쉼표 구분)의 각 키워드 → 맛집 번호(ordinal) 정렬 배열(posting list)
+ * - ordinal은 평점 높은 순(같으면 id 순)으로 매기므로, posting list와 교집합도 평점 순
+ *   (limit으로 자를 때 id가 아닌 평점 상위 맛집이 남아 순위 엔진에 전달됨)
+ * - "지역 AND (카테고리 중 하나)" 검색을 posting list 교집합으로 처리 (LIKE 전체 스캔 대체)
+ * - 애플리케이션 시작 시 restaurants 테이블에서 구성하며, rebuild()로 다시 구성 가능
+ * - 맛집 요약(RestaurantSummary)만 보관 (엔티티/설명 텍스트를 색인에 두지 않음)
+ * - JPA로 변경/삭제된 맛집은 커밋 후 RestaurantChangedEvent로 반영 (스냅샷을 복사해 다시 구성)
+ * - 색인은 불변 스냅샷으로 통째로 교체되므로 검색은 잠금 없이 수행
+ * - 색인 구성 전에는 restaurant_keywords 테이블로 검색 (RestaurantKeywordService)
+ * - 키워드는 쉼표로 나눈 단어 단위로 일치해야 함 (대소문자/앞뒤 공백 무시, 부분 문자열 매칭 없음)
+ * - 구성 후 RestaurantCatalogLoadedEvent를 발행하여 다른 색인도 같은 데이터로 구성
+ */
+@Slf4j
+@Component
+public class RestaurantKeywordIndex implements RestaurantSearch {
+
+    private static final int LOAD_PAGE_SIZE = 5000;
+    private static final int[] EMPTY = new int[0];
+
+    private final RestaurantRepository restaurantRepository;
+    private final RestaurantKeywordService restaurantKeywordService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private volatile Snapshot snapshot;
+
+    public RestaurantKeywordIndex(RestaurantRepository restaurantRepository,
+                                  RestaurantKeywordService restaurantKeywordService,
+                                  ApplicationEventPublisher eventPublisher,
+                                  MeterRegistry meterRegistry) {
+        this.restaurantRepository = restaurantRepository;
+        this.restaurantKeywordService = restaurantKeywordService;
+        this.eventPublisher = eventPublisher;
+
+        Gauge.builder("restaurant.index.restaurants", this, index -> index.snapshot != null ? index.snapshot.restaurants.length : 0)
+                .description("Restaurants in the keyword index")
+                .register(meterRegistry);
+        Gauge.builder("restaurant.index.keywords", this, index -> index.snapshot != null ? index.snapshot.postings.size() : 0)
+                .description("Distinct keywords in the keyword index")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 애플리케이션 시작 후 색인 구성 (data.sql 적용 이후)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void init() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            log.error("Failed to build restaurant keyword index - falling back to restaurant_keywords queries", e);
+        }
+    }
+
+    /**
+     * restaurants 테이블 전체를 읽어 색인 재구성 (id 순 keyset 페이지 단위로 로딩)
+     *
+     * @return 색인된 맛집 수
+     */
+    public synchronized int rebuild() {
+        long start = System.nanoTime();
+
+        List<RestaurantSummary> restaurants = new ArrayList<>();
+        long lastId = 0;
+        List<RestaurantSummary> page;
+        do {
+            page = restaurantRepository.findSummariesByIdGreaterThan(lastId, PageRequest.of(0, LOAD_PAGE_SIZE));
+            restaurants.addAll(page);
+            if (!page.isEmpty()) {
+                lastId = page.get(page.size() - 1).id();
+            }
+        } while (page.size() == LOAD_PAGE_SIZE);
+
+        RestaurantSummary[] ranked = restaurants.toArray(new RestaurantSummary[0]);
+        Arrays.sort(ranked, RestaurantSummary.BY_RATING);
+        Snapshot built = Snapshot.build(ranked);
+        this.snapshot = built;
+
+        log.info("Restaurant keyword index built - restaurants: {}, keywords: {}, took: {}ms",
+                built.restaurants.length, built.postings.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+
+        eventPublisher.publishEvent(new RestaurantCatalogLoadedEvent(built.restaurants));
+        return built.restaurants.length;
+    }
+
+    /**
+     * 변경/삭제된 맛집을 색인에 반영 (트랜잭션 커밋 후)
+     * - 색인 구성 전에는 무시 (DB 검색 경로는 항상 최신)
+     * - 단건 변경은 드물고 (카탈로그 임포트는 rebuild()로 반영) 메모리 안에서만 다시 구성하므로 DB를 읽지 않음
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onRestaurantChanged(RestaurantChangedEvent event) {
+        Snapshot current = snapshot;
+        Long id = event.restaurant().getId();
+        if (current == null || id == null) {
+            return;
+        }
+        this.snapshot = current.with(id, event.removed() ? null : RestaurantSummary.of(event.restaurant()));
+        log.debug("Restaurant keyword index updated - restaurantId: {}, removed: {}", id, event.removed());
+    }
+
+    /**
+     * 키워드가 일치하는 맛집 조회 (평점 순)
+     *
+     * @param keyword 키워드
+     * @param limit 최대 개수
+     * @return 맛집 요약 리스트
+     */
+    @Override
+    public List<RestaurantSummary> findByKeyword(String keyword, int limit) {
+        Snapshot current = snapshot;
+        if (current == null) {
+            return restaurantKeywordService.findByKeyword(keyword, limit).stream().map(RestaurantSummary::of).toList();
+        }
+        return current.restaurants(current.posting(keyword), limit);
+    }
+
+    /**
+     * keyword가 일치하고 anyOf 중 하나 이상이 일치하는 맛집 조회 (평점 순)
+     *
+     * @param keyword 반드시 일치해야 하는 키워드 (예: 지역)
+     * @param anyOf 하나 이상 일치해야 하는 키워드 (예: 카테고리)
+     * @param limit 최대 개수
+     * @return 맛집 요약 리스트
+     */
+    @Override
+    public List<RestaurantSummary> findByKeywordAndAnyOf(String keyword, Collection<String> anyOf, int limit) {
+        Snapshot current = snapshot;
+        if (current == null) {
+            return restaurantKeywordService.findByKeywordAndAnyOf(keyword, anyOf, limit).stream()
+                    .map(RestaurantSummary::of)
+                    .toList();
+        }
+        List<int[]> others = new ArrayList<>(anyOf.size());
+        for (String other : anyOf) {
+            others.add(current.posting(other));
+        }
+        return current.restaurants(intersectAny(current.posting(keyword), others, limit), limit);
+    }
+
+    /**
+     * 선호사항 중 일치하는 단어가 많은 순으로 맛집 조회 (같으면 평점 순, 단어 단위 일치, 점수 = 일치 수 / 선호사항 수)
+     * - 색인 구성 전에는 빈 결과 (후보 수집의 보조 경로이므로 DB를 조회하지 않음)
+     */
+    @Override
+    public List<ScoredRestaurant> findByText(String keyword, Collection<String> terms, int limit) {
+        Snapshot current = snapshot;
+        if (current == null || terms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        int[] base = keyword != null ? current.posting(keyword) : null;
+
+        Map<Integer, Integer> counts = new HashMap<>();
+        for (String term : new HashSet<>(terms)) {
+            for (int ordinal : current.posting(term)) {
+                if (base == null || Arrays.binarySearch(base, ordinal) >= 0) {
+                    counts.merge(ordinal, 1, Integer::sum);
+                }
+            }
+        }
+
+        List<Map.Entry<Integer, Integer>> ranked = new ArrayList<>(counts.entrySet());
+        ranked.sort(Map.Entry.<Integer, Integer>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()));
+        List<ScoredRestaurant> result = new ArrayList<>(Math.min(ranked.size(), limit));
+        for (int i = 0; i < ranked.size() && i < limit; i++) {
+            Map.Entry<Integer, Integer> entry = ranked.get(i);
+            result.add(new ScoredRestaurant(current.restaurants[entry.getKey()],
+                    entry.getValue() / (double) terms.size()));
+        }
+        return result;
+    }
+
+    /**
+     * 키워드 정규화 (앞뒤 공백 제거, 소문자)
+     */
+    static String normalize(String keyword) {
+        return keyword.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * 쉼표로 구분된 키워드 문자열에 normalizedKeywords 중 하나와 일치하는 키워드가 있는지 확인
+     * - 문자열을 나누지 않고 제자리에서 비교 (색인 밖 후보 필터링용)
+     *
+     * @param keywords restaurants.keywords 값
+     * @param normalizedKeywords normalize()된 키워드
+     */
+    static boolean hasAnyKeyword(String keywords, List<String> normalizedKeywords) {
+        for (String keyword : normalizedKeywords) {
+            if (containsKeyword(keywords, keyword)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * normalizedKeywords 중 키워드 문자열에 포함된 단어 수
+     */
+    static int countKeywords(String keywords, List<String> normalizedKeywords) {
+        int count = 0;
+        for (String keyword : normalizedKeywords) {
+            if (containsKeyword(keywords, keyword)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 쉼표로 구분된 키워드 문자열에 단어가 있는지 확인 (앞뒤 공백/대소문자 무시, 단어 단위 일치)
+     */
+    static boolean containsKeyword(String keywords, String normalizedKeyword) {
+        if (keywords == null) {
+            return false;
+        }
+        int start = 0;
+        while (start <= keywords.length()) {
+            int end = keywords.indexOf(',', start);
+            if (end < 0) {
+                end = keywords.length();
+            }
+            int from = start;
+            int to = end;
+            while (from < to && Character.isWhitespace(keywords.charAt(from))) {
+                from++;
+            }
+            while (to > from && Character.isWhitespace(keywords.charAt(to - 1))) {
+                to--;
+            }
+            if (normalizedKeyword.length() == to - from
+                    && keywords.regionMatches(true, from, normalizedKeyword, 0, normalizedKeyword.length())) {
+                return true;
+            }
+            start = end + 1;
+        }
+        return false;
+    }
+
+    /**
+     * base에 있으면서 anyOf 중 하나 이상에 있는 ordinal을 최대 limit개 반환
+     * - base를 순서대로 훑으며 anyOf 각 리스트를 커서 + 지수 탐색(galloping)으로 확인
+     * - limit개를 찾으면 바로 종료하므로 결과 수에 비례한 비용 (posting list 전체를 합치지 않음)
+     */
+    static int[] intersectAny(int[] base, List<int[]> anyOf, int limit) {
+        int[] result = new int[Math.min(base.length, limit)];
+        int[] cursors = new int[anyOf.size()];
+        int size = 0;
+        for (int i = 0; i < base.length && size < result.length; i++) {
+            int value = base[i];
+            for (int k = 0; k < cursors.length; k++) {
+                int[] other = anyOf.get(k);
+                int from = cursors[k];
+                if (from >= other.length) {
+                    continue;
+                }
+                int bound = 1;
+                while (from + bound < other.length && other[from + bound] < value) {
+                    bound <<= 1;
+                }
+                int index = Arrays.binarySearch(other, from, Math.min(from + bound + 1, other.length), value);
+                cursors[k] = index >= 0 ? index : -index - 1;
+                if (index >= 0) {
+                    result[size++] = value;
+                    break;
+                }
+            }
+        }
+        return size == result.length ? result : Arrays.copyOf(result, size);
+    }
+
+    /**
+     * 불변 색인 스냅샷
+     */
+    private static final class Snapshot {
+
+        /**
+         * ordinal → 맛집 요약 (평점 순, 같으면 id 순)
+         */
+        private final RestaurantSummary[] restaurants;
+
+        /**
+         * Key: 정규화된 키워드
+         * Value: 맛집 ordinal 정렬 배열
+         */
+        private final Map<String, int[]> postings;
+
+        private Snapshot(RestaurantSummary[] restaurants, Map<String, int[]> postings) {
+            this.restaurants = restaurants;
+            this.postings = postings;
+        }
+
+        static Snapshot build(RestaurantSummary[] restaurants) {
+            Map<String, IntList> building = new HashMap<>();
+            for (int ordinal = 0; ordinal < restaurants.length; ordinal++) {
+                String keywords = restaurants[ordinal].keywords();
+                if (keywords == null) {
+                    continue;
+                }
+                for (String keyword : keywords.split(",")) {
+                    String token = normalize(keyword);
+                    if (!token.isEmpty()) {
+                        building.computeIfAbsent(token, k -> new IntList()).addIfLast(ordinal);
+                    }
+                }
+            }
+
+            Map<String, int[]> postings = new HashMap<>(building.size() * 2);
+            building.forEach((token, list) -> postings.put(token, list.toArray()));
+            return new Snapshot(restaurants, postings);
+        }
+
+        /**
+         * 맛집 하나를 교체/추가/삭제한 새 스냅샷 (평점 순서 유지)
+         *
+         * @param id 맛집 ID
+         * @param restaurant 새 맛집 요약, 삭제면 null
+         */
+        Snapshot with(long id, RestaurantSummary restaurant) {
+            List<RestaurantSummary> updated = new ArrayList<>(restaurants.length + 1);
+            for (RestaurantSummary existing : restaurants) {
+                if (existing.id() != id) {
+                    updated.add(existing);
+                }
+            }
+            if (restaurant == null && updated.size() == restaurants.length) {
+                return this;
+            }
+            if (restaurant != null) {
+                int index = Collections.binarySearch(updated, restaurant, RestaurantSummary.BY_RATING);
+                updated.add(index >= 0 ? index : -index - 1, restaurant);
+            }
+            return build(updated.toArray(new RestaurantSummary[0]));
+        }
+
+        int[] posting(String keyword) {
+            if (keyword == null) {
+                return EMPTY;
+            }
+            return postings.getOrDefault(normalize(keyword), EMPTY);
+        }
+
+        List<RestaurantSummary> restaurants(int[] ordinals, int limit) {
+            int size = Math.min(ordinals.length, limit);
+            List<RestaurantSummary> result = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                result.add(restaurants[ordinals[i]]);
+            }
+            return result;
+        }
+    }
+
+    /**
+     * 색인 구성용 int 가변 배열 (ordinal 오름차순으로만 추가되므로 마지막 값과 같으면 중복)
+     */
+    private static final class IntList {
+        private int[] values = new int[4];
+        private int size;
+
+        void addIfLast(int value) {
+            if (size > 0 && values[size - 1] == value) {
+                return;
+            }
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.example.onboarding.service;
+
+import com.example.onboarding.dto.RestaurantKeywordScore;
+import com.example.onboarding.entity.Restaurant;
+import com.example.onboarding.repository.RestaurantKeywordRepository;
+import com.example.onboarding.repository.RestaurantRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 맛집 키워드 테이블(restaurant_keywords) 관리
+ * - 동기화
+ *   - JPA 저장/수정/삭제: RestaurantChangedEvent 수신 후 (커밋 후 별도 트랜잭션) 해당 맛집 키워드 재구성
+ *   - 카탈로그 임포트(JDBC): 저장한 배치마다 syncByExternalIds() 호출
+ *   - 애플리케이션 시작 시 키워드 행이 없는 맛집을 채움 (기존 데이터 이관, 임포트/사전 로딩 전)
+ * - 검색: 단어 단위 일치만 허용 ("회"는 "회식"과 일치하지 않음), 여러 검색어는 일치 수(score)로 정렬
+ *   - 키워드 행에 평점을 복사해 두므로 (재구성 때 함께 갱신) 맛집 평점이 바뀌어도 위 동기화로 반영됨
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RestaurantKeywordService {
+
+    private final RestaurantKeywordRepository restaurantKeywordRepository;
+    private final RestaurantRepository restaurantRepository;
+
+    /**
+     * 키워드 행이 없는 맛집, 평점이 비어 있는 키워드 행 이관 (ApplicationReadyEvent 리스너/시작 시 임포트보다 먼저 실행)
+     */
+    @EventListener(ApplicationStartedEvent.class)
+    @Transactional
+    public void init() {
+        try {
+            int inserted = restaurantKeywordRepository.insertMissing();
+            if (inserted > 0) {
+                log.info("Restaurant keywords backfilled - rows: {}", inserted);
+            }
+            int rated = restaurantKeywordRepository.backfillRatings();
+            if (rated > 0) {
+                log.info("Restaurant keyword ratings backfilled - rows: {}", rated);
+            }
+        } catch (Exception e) {
+            log.error("Failed to backfill restaurant keywords", e);
+        }
+    }
+
+    /**
+     * JPA로 변경된 맛집의 키워드 재구성 (트랜잭션 커밋 후)
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onRestaurantChanged(RestaurantChangedEvent event) {
+        Long restaurantId = event.restaurant().getId();
+        if (restaurantId == null) {
+            return;
+        }
+        restaurantKeywordRepository.deleteByRestaurantIds(List.of(restaurantId));
+        if (!event.removed()) {
+            restaurantKeywordRepository.insertFromRestaurants(List.of(restaurantId));
+        }
+    }
+
+    /**
+     * 외부 ID로 지정한 맛집들의 키워드 재구성 (카탈로그 임포트 배치 저장 후)
+     *
+     * @param externalIds 저장된 맛집의 외부 ID
+     */
+    @Transactional
+    public void syncByExternalIds(Collection<String> externalIds) {
+        if (externalIds.isEmpty()) {
+            return;
+        }
+        restaurantKeywordRepository.deleteByExternalIds(externalIds);
+        restaurantKeywordRepository.insertFromRestaurantsByExternalIds(externalIds);
+    }
+
+    /**
+     * 키워드 테이블 전체 재구성
+     *
+     * @return 저장된 키워드 행 수
+     */
+    @Transactional
+    public int rebuild() {
+        restaurantKeywordRepository.truncate();
+        int inserted = restaurantKeywordRepository.insertMissing();
+        log.info("Restaurant keywords rebuilt - rows: {}", inserted);
+        return inserted;
+    }
+
+    /**
+     * 키워드가 일치하는 맛집 조회 (평점 순)
+     *
+     * @param keyword 키워드
+     * @param limit 최대 개수
+     * @return 맛집 리스트
+     */
+    @Transactional(readOnly = true)
+    public List<Restaurant> findByKeyword(String keyword, int limit) {
+        List<String> keywords = List.of(RestaurantKeywordIndex.normalize(keyword));
+        return load(restaurantKeywordRepository.findScores(keywords, PageRequest.of(0, limit)));
+    }
+
+    /**
+     * keyword가 일치하고 anyOf 중 하나 이상이 일치하는 맛집 조회 (일치 수 많은 순, 같으면 평점 순)
+     *
+     * @param keyword 반드시 일치해야 하는 키워드 (예: 지역)
+     * @param anyOf 하나 이상 일치해야 하는 키워드 (예: 카테고리)
+     * @param limit 최대 개수
+     * @return 맛집 리스트
+     */
+    @Transactional(readOnly = true)
+    public List<Restaurant> findByKeywordAndAnyOf(String keyword, Collection<String> anyOf, int limit) {
+        String required = RestaurantKeywordIndex.normalize(keyword);
+        Set<String> keywords = new LinkedHashSet<>();
+        keywords.add(required);
+        for (String other : anyOf) {
+            keywords.add(RestaurantKeywordIndex.normalize(other));
+        }
+        if (keywords.size() == 1) {
+            // anyOf가 비었으면 일치할 수 없고, keyword 자체가 anyOf에 있으면 keyword만 일치하면 됨
+            return anyOf.isEmpty() ? List.of() : findByKeyword(keyword, limit);
+        }
+        return load(restaurantKeywordRepository.findScoresRequiring(required, keywords, 2, PageRequest.of(0, limit)));
+    }
+
+    /**
+     * 모든 키워드 (중복 없이)
+     */
+    @Transactional(readOnly = true)
+    public List<String> findDistinctKeywords() {
+        return restaurantKeywordRepository.findDistinctKeywords();
+    }
+
+    /**
+     * 점수 목록의 맛집을 id 순으로 로딩
+     */
+    private List<Restaurant> load(List<RestaurantKeywordScore> scores) {
+        if (scores.isEmpty()) {
+            return List.of();
+        }
+        List<Long> ids = new ArrayList<>(scores.size());
+        for (RestaurantKeywordScore score : scores) {
+            ids.add(score.getRestaurantId());
+        }
+        Map<Long, Restaurant> loaded = new HashMap<>();
+        for (Restaurant restaurant : restaurantRepository.findAllById(ids)) {
+            loaded.put(restaurant.getId(), restaurant);
+        }
+        // 조회 순서(일치 수 → 평점) 유지
+        List<Restaurant> result = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Restaurant restaurant = loaded.get(id);
+            if (restaurant != null) {
+                result.add(restaurant);
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,186 @@
+package com.example.onboarding.service;
+
+import com.example.onboarding.config.RecommendationRankingProperties;
+import com.example.onboarding.dto.ClaudeAnalysisResult;
+import com.example.onboarding.dto.RestaurantSummary;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 맛집 추천 순위 엔진
+ * - 후보마다 지역/카테고리/선호사항/식사 종류 일치, 평점, 거리 점수를 가중합 (가중치: chat.recommendation.ranking.*)
+ * - 선호사항은 키워드 단어 일치 비율과 검색 백엔드의 텍스트 검색 점수 중 높은 값을 사용
+ * - 크기 K의 최소 힙으로 상위 K개만 유지 (후보 전체를 정렬하지 않음)
+ * - 후보별 점수 계산은 키워드 문자열을 제자리에서 비교하므로 후보당 객체를 생성하지 않음
+ */
+@Component
+@RequiredArgsConstructor
+public class RestaurantRanker {
+
+    private final RecommendationRankingProperties properties;
+
+    /**
+     * 분석 결과에 가장 잘 맞는 맛집 K개 선택
+     *
+     * @param candidates 후보 맛집 요약
+     * @param distanceMeters 후보별 거리(미터), 모르면 NaN (candidates와 같은 순서)
+     * @param textScores 후보별 선호사항 텍스트 검색 점수(0.0 ~ 1.0), 없으면 NaN (candidates와 같은 순서, null 가능)
+     * @param radiusMeters 거리 점수 기준 반경
+     * @param analysis Claude 분석 결과
+     * @param k 선택할 개수
+     * @return 점수 높은 순 맛집 요약
+     */
+    public List<RestaurantSummary> topK(List<RestaurantSummary> candidates, double[] distanceMeters, double[] textScores,
+                                 double radiusMeters, ClaudeAnalysisResult analysis, int k) {
+        if (candidates.isEmpty() || k <= 0) {
+            return Collections.emptyList();
+        }
+
+        List<String> location = normalize(analysis.getLocation() != null
+                ? List.of(analysis.getLocation()) : Collections.emptyList());
+        List<String> categories = normalize(analysis.getCategories());
+        List<String> preferences = normalize(analysis.getPreferences());
+        List<String> mealType = normalize(analysis.getMealType() != null
+                ? List.of(analysis.getMealType()) : Collections.emptyList());
+
+        // 점수 기준 최소 힙 (루트가 현재 상위 K개 중 가장 낮은 점수)
+        int capacity = Math.min(k, candidates.size());
+        int[] heap = new int[capacity];
+        double[] scores = new double[capacity];
+        int size = 0;
+
+        for (int i = 0; i < candidates.size(); i++) {
+            RestaurantSummary restaurant = candidates.get(i);
+            double distance = distanceMeters != null && i < distanceMeters.length ? distanceMeters[i] : Double.NaN;
+            double textScore = textScores != null && i < textScores.length ? textScores[i] : Double.NaN;
+            double score = score(restaurant, distance, textScore, radiusMeters, location, categories, preferences, mealType);
+
+            if (size < capacity) {
+                heap[size] = i;
+                scores[size] = score;
+                siftUp(heap, scores, size++, candidates);
+            } else if (higher(score, i, scores[0], heap[0], candidates)) {
+                heap[0] = i;
+                scores[0] = score;
+                siftDown(heap, scores, size, candidates);
+            }
+        }
+
+        // 힙에서 낮은 점수부터 꺼내 뒤에서부터 채움
+        RestaurantSummary[] ranked = new RestaurantSummary[size];
+        for (int n = size; n > 0; n--) {
+            ranked[n - 1] = candidates.get(heap[0]);
+            heap[0] = heap[n - 1];
+            scores[0] = scores[n - 1];
+            siftDown(heap, scores, n - 1, candidates);
+        }
+        return Arrays.asList(ranked);
+    }
+
+    private double score(RestaurantSummary restaurant, double distance, double textScore, double radiusMeters,
+                         List<String> location, List<String> categories,
+                         List<String> preferences, List<String> mealType) {
+        String keywords = restaurant.keywords();
+        double score = 0;
+
+        boolean nearby = !Double.isNaN(distance) && distance <= radiusMeters;
+        if (!location.isEmpty() && (nearby || RestaurantKeywordIndex.countKeywords(keywords, location) > 0)) {
+            score += properties.getLocationWeight();
+        }
+        if (!categories.isEmpty()) {
+            score += properties.getCategoryWeight()
+                    * RestaurantKeywordIndex.countKeywords(keywords, categories) / categories.size();
+        }
+        if (!preferences.isEmpty()) {
+            // 키워드 단어 일치 비율과 텍스트 검색 점수 중 높은 값
+            double matched = RestaurantKeywordIndex.countKeywords(keywords, preferences) / (double) preferences.size();
+            if (!Double.isNaN(textScore)) {
+                matched = Math.max(matched, textScore);
+            }
+            score += properties.getPreferenceWeight() * matched;
+        }
+        if (!mealType.isEmpty() && RestaurantKeywordIndex.countKeywords(keywords, mealType) > 0) {
+            score += properties.getMealTypeWeight();
+        }
+        Double rating = restaurant.rating();
+        if (rating != null) {
+            score += properties.getRatingWeight() * Math.max(0, Math.min(rating, 5.0)) / 5.0;
+        }
+        if (nearby && radiusMeters > 0) {
+            score += properties.getDistanceWeight() * (1 - distance / radiusMeters);
+        }
+        return score;
+    }
+
+    /**
+     * a가 b보다 순위가 높은지 (점수 → 평점 → id 순)
+     */
+    private static boolean higher(double scoreA, int a, double scoreB, int b, List<RestaurantSummary> candidates) {
+        if (scoreA != scoreB) {
+            return scoreA > scoreB;
+        }
+        RestaurantSummary ra = candidates.get(a);
+        RestaurantSummary rb = candidates.get(b);
+        double ratingA = ra.rating() != null ? ra.rating() : 0;
+        double ratingB = rb.rating() != null ? rb.rating() : 0;
+        if (ratingA != ratingB) {
+            return ratingA > ratingB;
+        }
+        return ra.id() != null && rb.id() != null && ra.id() < rb.id();
+    }
+
+    private static void siftUp(int[] heap, double[] scores, int i, List<RestaurantSummary> candidates) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!higher(scores[parent], heap[parent], scores[i], heap[i], candidates)) {
+                return;
+            }
+            swap(heap, scores, i, parent);
+            i = parent;
+        }
+    }
+
+    private static void siftDown(int[] heap, double[] scores, int size, List<RestaurantSummary> candidates) {
+        int i = 0;
+        while (true) {
+            int lowest = i;
+            int left = 2 * i + 1;
+            int right = left + 1;
+            if (left < size && higher(scores[lowest], heap[lowest], scores[left], heap[left], candidates)) {
+                lowest = left;
+            }
+            if (right < size && higher(scores[lowest], heap[lowest], scores[right], heap[right], candidates)) {
+                lowest = right;
+            }
+            if (lowest == i) {
+                return;
+            }
+            swap(heap, scores, i, lowest);
+            i = lowest;
+        }
+    }
+
+    private static void swap(int[] heap, double[] scores, int a, int b) {
+        int index = heap[a];
+        heap[a] = heap[b];
+        heap[b] = index;
+        double score = scores[a];
+        scores[a] = scores[b];
+        scores[b] = score;
+    }
+
+    private static List<String> normalize(List<String> keywords) {
+        if (keywords == null) {
+            return Collections.emptyList();
+        }
+        return keywords.stream()
+                .filter(keyword -> keyword != null && !keyword.isBlank())
+                .map(RestaurantKeywordIndex::normalize)
+                .distinct()
+                .toList();
+    }
+}
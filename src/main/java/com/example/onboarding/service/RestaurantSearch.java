@@ -0,0 +1,55 @@
+package com.example.onboarding.service;
+
+import com.example.onboarding.dto.RestaurantSummary;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 맛집 검색 백엔드 (SuggestionService의 후보 수집용)
+ * - index: 인메모리 키워드 역색인 (RestaurantKeywordIndex, 기본값)
+ * - postgres: restaurant_keywords 테이블 + pg_trgm 유사도 검색 (PostgresRestaurantSearch)
+ * - chat.search.mode로 선택 (RestaurantSearchConfig)
+ * - 결과는 순위 계산용 요약 (카드에 필요한 필드는 최종 선택된 맛집만 따로 조회)
+ */
+public interface RestaurantSearch {
+
+    /**
+     * 키워드가 일치하는 맛집 조회 (단어 단위 일치, 평점 순)
+     * - limit을 넘으면 평점 상위 맛집이 남음 (순위 엔진은 이 결과 안에서 상위 K개를 고름)
+     *
+     * @param keyword 키워드
+     * @param limit 최대 개수
+     * @return 맛집 요약 리스트
+     */
+    List<RestaurantSummary> findByKeyword(String keyword, int limit);
+
+    /**
+     * keyword가 일치하고 anyOf 중 하나 이상이 일치하는 맛집 조회 (limit을 넘으면 평점 상위 맛집이 남음)
+     *
+     * @param keyword 반드시 일치해야 하는 키워드 (예: 지역)
+     * @param anyOf 하나 이상 일치해야 하는 키워드 (예: 카테고리)
+     * @param limit 최대 개수
+     * @return 맛집 요약 리스트
+     */
+    List<RestaurantSummary> findByKeywordAndAnyOf(String keyword, Collection<String> anyOf, int limit);
+
+    /**
+     * 자유 텍스트 선호사항 검색 (예: "분위기 좋은", "가성비")
+     *
+     * @param keyword 반드시 일치해야 하는 키워드 (예: 지역), 없으면 null
+     * @param terms 선호사항
+     * @param limit 최대 개수
+     * @return 점수 높은 순 맛집 (같으면 평점 순, 점수 0.0 ~ 1.0)
+     */
+    List<ScoredRestaurant> findByText(String keyword, Collection<String> terms, int limit);
+
+    /**
+     * 텍스트 검색 결과
+     *
+     * @param restaurant 맛집 요약
+     * @param score 선호사항 일치 점수 (0.0 ~ 1.0)
+     */
+    record ScoredRestaurant(RestaurantSummary restaurant, double score) {
+    }
+}
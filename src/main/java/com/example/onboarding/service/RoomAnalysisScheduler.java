@@ -0,0 +1,212 @@
+package com.example.onboarding.service;
+
+import com.example.onboarding.entity.ChatMessage;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 채팅방별 LLM 분석 스케줄러 (debounce + coalesce)
+ * - 의도 사전 필터(IntentPreFilter)에서 맛집과 관련 없는 메시지로 판별되면 예약하지 않음
+ * - TALK 메시지마다 Claude를 호출하지 않고, 채팅방이 quiet-period 동안 조용해지면 마지막 메시지로 한 번만 분석
+ * - 메시지가 계속 이어져도 첫 메시지로부터 max-wait이 지나면 분석 실행
+ * - 새 메시지가 오면 대기 중인 분석은 취소되고 최신 메시지로 다시 예약됨
+ * - 채팅방당 동시에 하나의 분석만 실행하며, 실행 중 들어온 메시지는 분석이 끝난 뒤 최신 메시지로 분석
+ * - 묶인 메시지의 발신자를 모두 기록하여, 분석 결과 추천이 필요하면 발신자마다 추천 가능 알림 전송
+ *   (마지막 메시지 발신자만 알림을 받지 않도록, 앞선 메시지는 대화 컨텍스트로 분석에 포함됨)
+ * - 메트릭: chat.analysis.requests / runs / saved (절약된 호출 수), chat.analysis.decision.delay (추가 지연)
+ */
+@Slf4j
+@Component
+public class RoomAnalysisScheduler {
+
+    private final SuggestionService suggestionService;
+    private final IntentPreFilter intentPreFilter;
+
+    private final long quietPeriodNanos;
+    private final long maxWaitNanos;
+
+    /**
+     * Key: roomId
+     * Value: 채팅방 분석 상태 (모든 상태 변경은 compute 안에서 수행)
+     */
+    private final ConcurrentHashMap<Long, RoomState> rooms = new ConcurrentHashMap<>();
+
+    private final ScheduledThreadPoolExecutor debounceExecutor;
+
+    private final Counter requests;
+    private final Counter runs;
+    private final Counter saved;
+    private final Timer decisionDelay;
+
+    public RoomAnalysisScheduler(SuggestionService suggestionService,
+                                 IntentPreFilter intentPreFilter,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${chat.analysis.quiet-period:1500ms}") Duration quietPeriod,
+                                 @Value("${chat.analysis.max-wait:5s}") Duration maxWait) {
+        this.suggestionService = suggestionService;
+        this.intentPreFilter = intentPreFilter;
+        this.quietPeriodNanos = quietPeriod.toNanos();
+        this.maxWaitNanos = Math.max(maxWait.toNanos(), quietPeriodNanos);
+
+        this.debounceExecutor = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "analysis-debounce");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.debounceExecutor.setRemoveOnCancelPolicy(true);
+
+        this.requests = meterRegistry.counter("chat.analysis.requests");
+        this.runs = meterRegistry.counter("chat.analysis.runs");
+        this.saved = meterRegistry.counter("chat.analysis.saved");
+        this.decisionDelay = Timer.builder("chat.analysis.decision.delay")
+                .description("Delay between the analyzed message and the start of its analysis")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 분석 요청 (TALK 메시지 저장 후 호출)
+     *
+     * @param message 저장된 메시지
+     */
+    public void submit(ChatMessage message) {
+        // 맛집과 관련 없는 메시지는 분석 예약 생략
+        if (!intentPreFilter.shouldAnalyze(message.getRoomId(), message.getContent())) {
+            log.debug("Analysis skipped by intent pre-filter - messageId: {}", message.getId());
+            return;
+        }
+        requests.increment();
+        long now = System.nanoTime();
+
+        rooms.compute(message.getRoomId(), (roomId, state) -> {
+            if (state == null) {
+                state = new RoomState();
+            }
+            state.latest = message;
+            state.latestAt = now;
+            state.senders.add(message.getSenderId());
+            if (state.pendingCount++ == 0) {
+                state.firstPendingAt = now;
+            }
+            // 분석 실행 중이면 완료 후 예약됨
+            if (!state.inFlight) {
+                schedule(roomId, state, now);
+            }
+            return state;
+        });
+    }
+
+    /**
+     * 대기 중인 분석을 취소하고 다시 예약 (compute 안에서 호출)
+     */
+    private void schedule(Long roomId, RoomState state, long now) {
+        if (state.timer != null) {
+            state.timer.cancel(false);
+        }
+        long waited = now - state.firstPendingAt;
+        long delay = Math.max(0, Math.min(quietPeriodNanos, maxWaitNanos - waited));
+        state.timer = debounceExecutor.schedule(() -> fire(roomId), delay, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * 예약 시각 도달 - 최신 메시지로 분석 시작
+     */
+    private void fire(Long roomId) {
+        long now = System.nanoTime();
+        AtomicReference<Dispatch> dispatch = new AtomicReference<>();
+
+        rooms.computeIfPresent(roomId, (id, state) -> {
+            state.timer = null;
+            if (state.inFlight) {
+                return state;
+            }
+            if (state.pendingCount == 0) {
+                return null;
+            }
+            dispatch.set(new Dispatch(state.latest, state.senders, state.pendingCount - 1, now - state.latestAt));
+            state.latest = null;
+            state.senders = new LinkedHashSet<>();
+            state.pendingCount = 0;
+            state.inFlight = true;
+            return state;
+        });
+
+        Dispatch run = dispatch.get();
+        if (run == null) {
+            return;
+        }
+
+        runs.increment();
+        saved.increment(run.coalesced());
+        decisionDelay.record(run.delayNanos(), TimeUnit.NANOSECONDS);
+        log.debug("Analysis dispatched - roomId: {}, messageId: {}, coalesced: {}, senders: {}",
+                roomId, run.message().getId(), run.coalesced(), run.senders().size());
+
+        CompletableFuture<Void> analysis;
+        try {
+            analysis = suggestionService.analyzeMessage(run.message(), run.senders());
+        } catch (Exception e) {
+            analysis = CompletableFuture.failedFuture(e);
+        }
+        analysis.whenComplete((result, error) -> {
+            if (error != null) {
+                log.error("Analysis failed - roomId: {}", roomId, error);
+            }
+            complete(roomId);
+        });
+    }
+
+    /**
+     * 분석 완료 - 실행 중 들어온 메시지가 있으면 다시 예약, 없으면 상태 제거
+     */
+    private void complete(Long roomId) {
+        rooms.computeIfPresent(roomId, (id, state) -> {
+            state.inFlight = false;
+            if (state.pendingCount == 0) {
+                return null;
+            }
+            schedule(id, state, System.nanoTime());
+            return state;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        debounceExecutor.shutdownNow();
+    }
+
+    /**
+     * 채팅방 분석 상태
+     */
+    private static final class RoomState {
+        private ChatMessage latest;
+        private Set<UUID> senders = new LinkedHashSet<>();
+        private long latestAt;
+        private long firstPendingAt;
+        private int pendingCount;
+        private ScheduledFuture<?> timer;
+        private boolean inFlight;
+    }
+
+    /**
+     * 실행할 분석 정보
+     */
+    private record Dispatch(ChatMessage message, Set<UUID> senders, int coalesced, long delayNanos) {
+    }
+}
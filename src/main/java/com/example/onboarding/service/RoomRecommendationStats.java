@@ -0,0 +1,96 @@
+package com.example.onboarding.service;
+
+import com.example.onboarding.dto.RoomRecommendationTraffic;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 채팅방별 추천 트래픽 집계
+ * - 채팅방마다 추천 알림/카드/에러 전송 수와 카드 바이트를 누적 (트래픽이 많은 채팅방 확인용)
+ * - 채팅방 ID를 메트릭 태그로 쓰면 채팅방 수만큼 시계열이 늘어나므로, 채팅방별 값은 메모리에 두고 관리 API로 조회
+ * - 메트릭: chat.recommendation.messages{type=prompt|suggestion|error} (전체 합계)
+ */
+@Component
+public class RoomRecommendationStats {
+
+    /**
+     * Key: roomId
+     * Value: 채팅방 누적 카운터
+     */
+    private final ConcurrentHashMap<Long, RoomCounters> rooms = new ConcurrentHashMap<>();
+
+    private final Counter prompts;
+    private final Counter suggestions;
+    private final Counter errors;
+
+    public RoomRecommendationStats(MeterRegistry meterRegistry) {
+        this.prompts = meterRegistry.counter("chat.recommendation.messages", "type", "prompt");
+        this.suggestions = meterRegistry.counter("chat.recommendation.messages", "type", "suggestion");
+        this.errors = meterRegistry.counter("chat.recommendation.messages", "type", "error");
+    }
+
+    public void recordPrompt(Long roomId) {
+        prompts.increment();
+        counters(roomId).prompts.increment();
+    }
+
+    public void recordSuggestion(Long roomId, int bytes) {
+        suggestions.increment();
+        RoomCounters counters = counters(roomId);
+        counters.suggestions.increment();
+        counters.suggestionBytes.add(bytes);
+    }
+
+    public void recordError(Long roomId) {
+        errors.increment();
+        counters(roomId).errors.increment();
+    }
+
+    /**
+     * 전송 수가 많은 채팅방 순으로 조회
+     *
+     * @param limit 최대 채팅방 수
+     * @return 채팅방별 추천 트래픽
+     */
+    public List<RoomRecommendationTraffic> top(int limit) {
+        return rooms.entrySet().stream()
+                .map(entry -> entry.getValue().toTraffic(entry.getKey()))
+                .sorted(Comparator.comparingLong(RoomRecommendationTraffic::getTotal).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    private RoomCounters counters(Long roomId) {
+        return rooms.computeIfAbsent(roomId, id -> new RoomCounters());
+    }
+
+    /**
+     * 채팅방 누적 카운터
+     */
+    private static final class RoomCounters {
+        private final LongAdder prompts = new LongAdder();
+        private final LongAdder suggestions = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder suggestionBytes = new LongAdder();
+
+        RoomRecommendationTraffic toTraffic(Long roomId) {
+            long promptCount = prompts.sum();
+            long suggestionCount = suggestions.sum();
+            long errorCount = errors.sum();
+            return RoomRecommendationTraffic.builder()
+                    .roomId(roomId)
+                    .prompts(promptCount)
+                    .suggestions(suggestionCount)
+                    .errors(errorCount)
+                    .suggestionBytes(suggestionBytes.sum())
+                    .total(promptCount + suggestionCount + errorCount)
+                    .build();
+        }
+    }
+}
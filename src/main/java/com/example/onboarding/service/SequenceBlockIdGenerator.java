@@ -0,0 +1,52 @@
+package com.example.onboarding.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayDeque;
+import java.util.List;
+
+/**
+ * 시퀀스 블록 기반 ID 생성기
+ * - chat_messages_id_seq 시퀀스에서 ID를 블록 단위로 미리 받아와 메모리에서 발급
+ * - 단일 노드에서만 단조 증가가 보장됨 (여러 노드는 서로 다른 블록을 사용하므로 노드 간에는 최대 blockSize 만큼 순서가 어긋남)
+ */
+@Slf4j
+public class SequenceBlockIdGenerator implements ChatMessageIdGenerator {
+
+    private static final String CREATE_SEQUENCE_SQL = "CREATE SEQUENCE IF NOT EXISTS chat_messages_id_seq";
+    private static final String NEXT_BLOCK_SQL =
+            "SELECT nextval('chat_messages_id_seq') FROM generate_series(1, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int blockSize;
+
+    private final ArrayDeque<Long> reserved = new ArrayDeque<>();
+
+    public SequenceBlockIdGenerator(JdbcTemplate jdbcTemplate, int blockSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.blockSize = blockSize;
+    }
+
+    /**
+     * 시퀀스 생성 (기존 IDENTITY 컬럼의 시퀀스가 있으면 그대로 사용)
+     */
+    public void init() {
+        jdbcTemplate.execute(CREATE_SEQUENCE_SQL);
+        log.info("Chat message id sequence initialized - blockSize: {}", blockSize);
+    }
+
+    /**
+     * 다음 메시지 ID 발급
+     * - 미리 받아둔 ID가 없으면 시퀀스에서 blockSize 만큼 한 번에 가져옴
+     */
+    @Override
+    public synchronized long nextId() {
+        if (reserved.isEmpty()) {
+            List<Long> block = jdbcTemplate.queryForList(NEXT_BLOCK_SQL, Long.class, blockSize);
+            reserved.addAll(block);
+            log.debug("Reserved chat message id block - size: {}, first: {}", block.size(), block.get(0));
+        }
+        return reserved.poll();
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.onboarding.service;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Snowflake 방식 64비트 ID 생성기
+ * - [41비트 타임스탬프(ms, 2024-01-01 기준)][10비트 노드 ID][12비트 시퀀스]
+ * - DB 왕복 없이 ID를 발급하므로 여러 앱 노드가 조율 없이 저장 가능
+ * - 한 노드 안에서는 항상 단조 증가 (시계가 뒤로 가거나 1ms에 4096개를 넘으면 논리 시각을 앞당김)
+ * - 노드 간에는 단조 증가를 보장하지 않음: 시계가 앞선 노드가 먼저 발급한 ID가 뒤에 다른 노드가 발급한 ID보다 클 수 있어,
+ *   같은 방의 메시지라도 노드 간 시계 오차(NTP 동기화 범위) 안에서는 ID 순서가 저장 순서와 어긋날 수 있음
+ */
+public class SnowflakeIdGenerator implements ChatMessageIdGenerator {
+
+    private static final long EPOCH = 1704067200000L;  // 2024-01-01T00:00:00Z
+
+    private static final int NODE_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+
+    public static final int MAX_NODE_ID = (1 << NODE_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final int TIMESTAMP_SHIFT = NODE_BITS + SEQUENCE_BITS;
+
+    private final long nodeBits;
+
+    /**
+     * 마지막으로 발급한 (타임스탬프 << SEQUENCE_BITS | 시퀀스)
+     */
+    private final AtomicLong lastState = new AtomicLong();
+
+    public SnowflakeIdGenerator(int nodeId) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("nodeId must be between 0 and " + MAX_NODE_ID + ": " + nodeId);
+        }
+        this.nodeBits = (long) nodeId << SEQUENCE_BITS;
+    }
+
+    @Override
+    public long nextId() {
+        while (true) {
+            long prev = lastState.get();
+            long now = (System.currentTimeMillis() - EPOCH) << SEQUENCE_BITS;
+            // 같은 ms 안이거나 시계가 뒤로 간 경우 직전 상태 + 1 (시퀀스가 넘치면 타임스탬프로 올림)
+            long next = Math.max(now, prev + 1);
+
+            if (lastState.compareAndSet(prev, next)) {
+                long timestamp = next >>> SEQUENCE_BITS;
+                long sequence = next & SEQUENCE_MASK;
+                return (timestamp << TIMESTAMP_SHIFT) | nodeBits | sequence;
+            }
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.example.onboarding.service;
+
+import com.example.onboarding.dto.ClaudeAnalysisResult;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Claude 스트리밍 응답(text_delta)을 받는 대로 파싱하는 분석 결과 디코더
+ * - Jackson 논블로킹 파서에 조각을 이어 붙여 넣으며 최상위 필드를 하나씩 확정
+ * - shouldRecommend와 confidence가 모두 확정되면 그 시점까지의 결과를 한 번 반환 (reasoning 생성 전에 추천 알림 가능)
+ * - JSON 앞의 ```json 마크다운 등은 첫 '{' 전까지 건너뛰고, 최상위 객체가 닫힌 뒤의 텍스트는 무시
+ * - 스트림 단위로 생성하며 스레드 안전하지 않음
+ */
+final class StreamingAnalysisDecoder {
+
+    private final JsonParser parser;
+    private final ByteArrayFeeder feeder;
+
+    /**
+     * 지금까지 받은 전체 텍스트 (파싱 실패 시 fallback용)
+     */
+    private final StringBuilder text = new StringBuilder();
+
+    private boolean started;
+    private boolean finished;
+    private boolean failed;
+    private boolean decided;
+
+    private int depth;
+    private String field;
+    private List<String> array;
+
+    private Boolean shouldRecommend;
+    private Double confidence;
+    private String location;
+    private String mealType;
+    private List<String> categories;
+    private List<String> preferences;
+    private String reasoning;
+
+    StreamingAnalysisDecoder(ObjectMapper objectMapper) {
+        try {
+            this.parser = objectMapper.getFactory().createNonBlockingByteArrayParser();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        this.feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+    }
+
+    /**
+     * 응답 텍스트 조각 추가
+     *
+     * @param chunk text_delta 텍스트
+     * @return 추천 여부/신뢰도가 이번 조각에서 확정되었으면 그 시점의 분석 결과
+     */
+    Optional<ClaudeAnalysisResult> feed(String chunk) {
+        if (chunk == null || chunk.isEmpty()) {
+            return Optional.empty();
+        }
+        text.append(chunk);
+        if (finished || failed) {
+            return Optional.empty();
+        }
+
+        if (!started) {
+            int start = chunk.indexOf('{');
+            if (start < 0) {
+                return Optional.empty();
+            }
+            started = true;
+            chunk = chunk.substring(start);
+        }
+
+        try {
+            byte[] bytes = chunk.getBytes(StandardCharsets.UTF_8);
+            feeder.feedInput(bytes, 0, bytes.length);
+            JsonToken token;
+            while (!finished && (token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+                handle(token);
+            }
+        } catch (IOException e) {
+            failed = true;
+            return Optional.empty();
+        }
+
+        if (!decided && shouldRecommend != null && confidence != null) {
+            decided = true;
+            return Optional.of(snapshot());
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * 최종 분석 결과
+     *
+     * @return JSON 객체가 끝까지 파싱되었으면 결과, 아니면 empty
+     */
+    Optional<ClaudeAnalysisResult> result() {
+        return finished && !failed ? Optional.of(snapshot()) : Optional.empty();
+    }
+
+    /**
+     * 지금까지 받은 전체 텍스트
+     */
+    String text() {
+        return text.toString();
+    }
+
+    private void handle(JsonToken token) throws IOException {
+        switch (token) {
+            case START_OBJECT -> depth++;
+            case START_ARRAY -> {
+                depth++;
+                if (depth == 2 && ("categories".equals(field) || "preferences".equals(field))) {
+                    array = new ArrayList<>();
+                }
+            }
+            case END_ARRAY -> {
+                depth--;
+                if (depth == 1 && array != null) {
+                    if ("categories".equals(field)) {
+                        categories = array;
+                    } else {
+                        preferences = array;
+                    }
+                    array = null;
+                }
+            }
+            case END_OBJECT -> {
+                depth--;
+                if (depth == 0) {
+                    finished = true;
+                }
+            }
+            case FIELD_NAME -> {
+                if (depth == 1) {
+                    field = parser.currentName();
+                }
+            }
+            default -> {
+                if (depth == 1) {
+                    assign(token);
+                } else if (depth == 2 && array != null && token == JsonToken.VALUE_STRING) {
+                    array.add(parser.getText());
+                }
+            }
+        }
+    }
+
+    private void assign(JsonToken token) throws IOException {
+        if (field == null) {
+            return;
+        }
+        switch (field) {
+            case "shouldRecommend" -> shouldRecommend = token == JsonToken.VALUE_TRUE;
+            case "confidence" -> confidence = token.isNumeric() ? parser.getDoubleValue() : 0.0;
+            case "location" -> location = stringValue(token);
+            case "mealType" -> mealType = stringValue(token);
+            case "reasoning" -> reasoning = stringValue(token);
+            default -> {
+            }
+        }
+    }
+
+    private String stringValue(JsonToken token) throws IOException {
+        return token == JsonToken.VALUE_STRING ? parser.getText() : null;
+    }
+
+    private ClaudeAnalysisResult snapshot() {
+        return ClaudeAnalysisResult.builder()
+                .shouldRecommend(Boolean.TRUE.equals(shouldRecommend))
+                .confidence(confidence != null ? confidence : 0.0)
+                .location(location)
+                .mealType(mealType)
+                .categories(categories != null ? List.copyOf(categories) : Collections.emptyList())
+                .preferences(preferences != null ? List.copyOf(preferences) : Collections.emptyList())
+                .reasoning(reasoning)
+                .build();
+    }
+}
@@ -1,26 +1,35 @@
 package com.example.onboarding.service;
 
+import com.example.onboarding.config.RecommendationRankingProperties;
 import com.example.onboarding.dto.ClaudeAnalysisResult;
 import com.example.onboarding.dto.RecommendationPromptDto;
 import com.example.onboarding.dto.RestaurantDto;
+import com.example.onboarding.dto.RestaurantSummary;
 import com.example.onboarding.dto.SuggestionDto;
 import com.example.onboarding.entity.ChatMessage;
 import com.example.onboarding.entity.Restaurant;
-import com.example.onboarding.repository.ChatMessageRepository;
 import com.example.onboarding.repository.RestaurantRepository;
-import com.example.onboarding.websocket.UserSessionChannelInterceptor;
+import com.example.onboarding.websocket.OutboundFlowControl;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.messaging.simp.user.SimpUserRegistry;
+import org.springframework.messaging.support.MessageBuilder;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.util.MimeTypeUtils;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 
 /**
@@ -34,16 +43,40 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class SuggestionService {
 
+    private final RestaurantSearch restaurantSearch;
+    private final RestaurantGeoIndex restaurantGeoIndex;
+    private final RestaurantRanker restaurantRanker;
+    private final FallbackRecommendations fallbackRecommendations;
     private final RestaurantRepository restaurantRepository;
+    private final RecommendationCache recommendationCache;
+    private final RestaurantCardCache restaurantCardCache;
+    private final RecommendationRankingProperties rankingProperties;
+    private final Gazetteer gazetteer;
     private final SimpMessagingTemplate messagingTemplate;
-    private final UserSessionChannelInterceptor sessionInterceptor;
+    private final SimpUserRegistry simpUserRegistry;
+    private final RoomRecommendationStats roomRecommendationStats;
     private final ClaudeService claudeService;
-    private final ChatMessageRepository chatMessageRepository;
+    private final RecentMessageBuffer recentMessageBuffer;
+    private final AnalysisExecutor analysisExecutor;
 
     private static final int CONTEXT_MESSAGE_LIMIT = 10;
     private static final double CONFIDENCE_THRESHOLD = 0.6;
     private static final int ANALYSIS_CACHE_EXPIRE_MINUTES = 5;
-    private static final Long DEFAULT_ROOM_ID = 1L;  // 기본 채팅방 ID
+    private static final Long DEFAULT_ROOM_ID = 1L;  // 채팅방을 알 수 없는 요청(만료된 analysisId 등)의 기본 채팅방 ID
+    private static final int RECOMMENDATION_LIMIT = 5;
+    private static final double WALKING_METERS_PER_MINUTE = 67.0;   // 약 4km/h
+    private static final int MAX_WALKING_MINUTES = 30;
+
+    @Value("${chat.geo.search-radius-meters:1500}")
+    private double searchRadiusMeters;
+
+    /**
+     * 추천 알림/카드/에러 전송 방식
+     * - user: 요청한 사용자의 세션에만 전송 (/user/sub/{채널} 구독)
+     * - room: 분석한 메시지의 채팅방에 브로드캐스트 (클라이언트가 userId로 필터링, 이전 클라이언트 호환용)
+     */
+    @Value("${chat.recommendation.delivery:user}")
+    private String deliveryMode;
 
     /**
      * 분석 결과 임시 저장소 (인메모리 캐시)
@@ -57,69 +90,115 @@ public class SuggestionService {
      * - Claude AI로 메시지를 분석하여 맛집 추천 필요 여부 판단
      * - shouldRecommend=true이면 분석 결과를 캐시에 저장하고 프롬프트 전송
      * - 실제 맛집 검색은 하지 않음 (사용자 요청 대기)
+     * - 분석 executor에서 실행되며 (동시 실행 수 제한), Claude 응답을 기다리는 동안 스레드를 점유하지 않음
+     * - 여러 메시지를 묶어 한 번만 분석하는 경우 (RoomAnalysisScheduler), 묶인 메시지의 발신자 모두에게 각자의 프롬프트 전송
      *
-     * @param message 분석할 메시지
+     * @param message 분석할 메시지 (묶인 메시지 중 마지막 메시지, 앞선 메시지는 대화 컨텍스트에 포함됨)
+     * @param senders 프롬프트를 받을 발신자 (묶인 메시지의 발신자들)
+     * @return 분석 완료 시점을 알리는 Future
      */
-    @Async
-    public void analyzeMessage(ChatMessage message) {
-        try {
-            log.info("Starting Claude analysis for message: {}", message.getId());
+    public CompletableFuture<Void> analyzeMessage(ChatMessage message, Collection<UUID> senders) {
+        return analysisExecutor.submit(message.getRoomId(), () -> analyze(message, senders))
+                .exceptionally(e -> {
+                    log.warn("Analysis dropped for message: {} - {}", message.getId(), e.getMessage());
+                    return null;
+                });
+    }
 
-            // 1. 대화 컨텍스트 가져오기 (최근 10개 메시지)
-            List<String> conversationContext = fetchConversationContext(
-                    message.getRoomId(),
-                    message.getId()
-            );
+    /**
+     * 분석 실행 (분석 executor 스레드에서 호출)
+     */
+    private CompletableFuture<Void> analyze(ChatMessage message, Collection<UUID> senders) {
+        // 1. 대화 컨텍스트 가져오기 (최근 10개 메시지)
+        List<String> conversationContext = fetchConversationContext(
+                message.getRoomId(),
+                message.getId()
+        );
+
+        log.info("Starting Claude analysis for message: {}", message.getId());
+
+        // 2. Claude API로 대화 분석
+        //    스트리밍 모드에서는 추천 여부가 확정된 첫 결과로 바로 알림을 보내고, 캐시 항목의 분석 결과는 최종 결과로 완료
+        //    (스트림이 중간에 실패하면 ClaudeService가 대체 결과 없이 끝내므로 마지막으로 받은 실제 결과로 완료)
+        //    응답은 WebClient 이벤트 루프 스레드에서 도착하므로, 이후 처리는 blocking 작업용 스케줄러로 넘김
+        //    (분석 결과를 기다리던 추천 요청이 이 완료 시점에 JPA 조회/맛집 검색을 실행함)
+        AtomicReference<List<AnalysisCacheEntry>> prompted = new AtomicReference<>();
+        AtomicReference<ClaudeAnalysisResult> last = new AtomicReference<>();
+        return claudeService.analyzeConversation(conversationContext, message.getContent())
+                .publishOn(Schedulers.boundedElastic())
+                .doOnNext(analysis -> {
+                    last.set(analysis);
+                    if (prompted.get() == null) {
+                        prompted.set(handleAnalysisResult(message, senders, analysis));
+                    }
+                })
+                .onErrorResume(e -> {
+                    log.error("Failed to analyze message", e);
+                    return Mono.empty();
+                })
+                .then()
+                .toFuture()
+                .whenComplete((result, error) -> {
+                    List<AnalysisCacheEntry> entries = prompted.get();
+                    if (entries != null) {
+                        entries.forEach(entry -> entry.getAnalysis().complete(last.get()));
+                    }
+                });
+    }
 
-            // 2. Claude API로 대화 분석
-            ClaudeAnalysisResult analysis = claudeService.analyzeConversation(
-                    conversationContext,
-                    message.getContent()
-            );
+    /**
+     * 분석 결과 처리
+     * - 추천이 필요하고 신뢰도가 충분하면 발신자마다 캐시에 저장 후 추천 가능 알림 전송
+     *
+     * @return 저장한 캐시 항목 (분석이 끝나면 최종 결과로 완료해야 함, 추천하지 않으면 빈 목록)
+     */
+    private List<AnalysisCacheEntry> handleAnalysisResult(ChatMessage message, Collection<UUID> senders,
+                                                          ClaudeAnalysisResult analysis) {
+        log.info("Claude analysis result - shouldRecommend: {}, confidence: {}, location: {}",
+                analysis.isShouldRecommend(),
+                analysis.getConfidence(),
+                analysis.getLocation());
+
+        // 3. 추천 필요 여부 확인
+        if (!analysis.isShouldRecommend()) {
+            log.info("No recommendation needed for message: {}", message.getId());
+            return List.of();
+        }
 
-            log.info("Claude analysis result - shouldRecommend: {}, confidence: {}, location: {}",
-                    analysis.isShouldRecommend(),
+        if (analysis.getConfidence() < CONFIDENCE_THRESHOLD) {
+            log.info("Confidence too low ({}) for message: {}",
                     analysis.getConfidence(),
-                    analysis.getLocation());
-
-            // 3. 추천 필요 여부 확인
-            if (!analysis.isShouldRecommend()) {
-                log.info("No recommendation needed for message: {}", message.getId());
-                return;
-            }
-
-            if (analysis.getConfidence() < CONFIDENCE_THRESHOLD) {
-                log.info("Confidence too low ({}) for message: {}",
-                        analysis.getConfidence(),
-                        message.getId());
-                return;
-            }
+                    message.getId());
+            return List.of();
+        }
 
-            // 4. 분석 결과를 캐시에 저장
+        // 4. 발신자별로 분석 결과를 캐시에 저장 후 추천 가능 알림 전송 (추천 요청은 발신자 본인만 가능)
+        List<AnalysisCacheEntry> entries = new ArrayList<>(senders.size());
+        for (UUID senderId : senders) {
             String analysisId = UUID.randomUUID().toString();
             AnalysisCacheEntry cacheEntry = new AnalysisCacheEntry();
-            cacheEntry.setAnalysis(analysis);
-            cacheEntry.setUserId(message.getSenderId().toString());
+            cacheEntry.setUserId(senderId.toString());
+            cacheEntry.setRoomId(message.getRoomId());
             cacheEntry.setCreatedAt(LocalDateTime.now());
             cacheEntry.setMessageId(message.getId());
             cacheEntry.setProcessed(false);
 
             analysisCache.put(analysisId, cacheEntry);
+            entries.add(cacheEntry);
 
-            log.info("Analysis cached - analysisId: {}, userId: {}", analysisId, message.getSenderId());
+            log.info("Analysis cached - analysisId: {}, userId: {}", analysisId, senderId);
 
             // 5. 사용자에게 추천 가능 알림 전송
             sendRecommendationPrompt(
-                    message.getSenderId().toString(),
+                    senderId.toString(),
+                    message.getRoomId(),
                     analysisId,
                     analysis
             );
 
-            log.info("Recommendation prompt sent to user: {}", message.getSenderId());
-
-        } catch (Exception e) {
-            log.error("Failed to analyze message", e);
+            log.info("Recommendation prompt sent to user: {}", senderId);
         }
+        return entries;
     }
 
     /**
@@ -128,8 +207,10 @@ public class SuggestionService {
      *
      * @param analysisId 분석 결과 식별자
      * @param userId 요청 사용자 ID
+     * @param requestRoomId 요청한 채팅방 ID (분석 결과가 만료되어 채팅방을 알 수 없을 때 사용, 없으면 null)
      */
-    public void provideRecommendation(String analysisId, String userId) {
+    public void provideRecommendation(String analysisId, String userId, Long requestRoomId) {
+        Long roomId = requestRoomId != null ? requestRoomId : DEFAULT_ROOM_ID;
         try {
             log.info("Recommendation requested - analysisId: {}, userId: {}", analysisId, userId);
 
@@ -138,68 +219,82 @@ public class SuggestionService {
 
             if (cacheEntry == null) {
                 log.warn("Analysis not found in cache - analysisId: {}", analysisId);
-                sendErrorMessage(userId, "추천 요청이 만료되었습니다. 다시 시도해주세요.");
+                sendErrorMessage(userId, roomId, "추천 요청이 만료되었습니다. 다시 시도해주세요.");
                 return;
             }
+            // 이후 응답은 분석한 메시지의 채팅방으로
+            roomId = cacheEntry.getRoomId();
 
             // 2. 이미 처리된 요청인지 확인
             if (cacheEntry.isProcessed()) {
                 log.warn("Analysis already processed - analysisId: {}", analysisId);
-                sendErrorMessage(userId, "이미 처리된 요청입니다.");
+                sendErrorMessage(userId, roomId, "이미 처리된 요청입니다.");
                 return;
             }
 
             // 3. 사용자 ID 검증
             if (!cacheEntry.getUserId().equals(userId)) {
                 log.warn("User ID mismatch - expected: {}, actual: {}", cacheEntry.getUserId(), userId);
-                sendErrorMessage(userId, "잘못된 요청입니다.");
+                sendErrorMessage(userId, roomId, "잘못된 요청입니다.");
                 return;
             }
 
             // 4. 처리 완료 표시
             cacheEntry.setProcessed(true);
 
-            // 5. 맛집 검색
-            ClaudeAnalysisResult analysis = cacheEntry.getAnalysis();
-            RestaurantSearchResult searchResult = searchRestaurants(analysis, userId);
+            // 5. 최종 분석 결과로 추천 (스트리밍 분석이 아직 끝나지 않았으면 끝난 뒤 추천)
+            Long analyzedRoomId = roomId;
+            cacheEntry.getAnalysis().thenAccept(analysis -> recommend(analysisId, userId, analyzedRoomId, analysis));
+
+        } catch (Exception e) {
+            log.error("Failed to provide recommendation", e);
+            sendErrorMessage(userId, roomId, "추천 처리 중 오류가 발생했습니다.");
+        }
+    }
 
-            if (searchResult.isEmpty()) {
+    /**
+     * 최종 분석 결과로 맛집 검색 후 추천 전송
+     */
+    private void recommend(String analysisId, String userId, Long roomId, ClaudeAnalysisResult analysis) {
+        try {
+            // 맛집 검색 (같은 조건의 추천 결과는 추천 캐시에서 반환)
+            // 카드 조각 캐시의 변경 횟수는 DTO를 만들기 전에 읽음 (그 사이 맛집이 변경되면 조각을 캐시하지 않음)
+            long cardGeneration = restaurantCardCache.generation();
+            List<RestaurantDto> restaurants = recommendationCache.get(analysis, () -> {
+                RestaurantSearchResult searchResult = searchRestaurants(analysis, userId);
+                return convertToDto(searchResult.getAiRecommendedRestaurants(), searchResult.getDistances());
+            });
+
+            if (restaurants.isEmpty()) {
                 log.info("No restaurants found for analysis: {}", analysis);
-                sendErrorMessage(userId, "추천 가능한 맛집을 찾지 못했습니다.");
+                sendErrorMessage(userId, roomId, "추천 가능한 맛집을 찾지 못했습니다.");
                 // 캐시에서 제거
                 analysisCache.remove(analysisId);
                 return;
             }
 
-            // 6. 사용자에게 추천 전송
-            sendSuggestionToUser(userId, searchResult, analysis);
+            // 사용자에게 추천 전송
+            sendSuggestionToUser(userId, roomId, restaurants, analysis, cardGeneration);
 
-            log.info("Recommendation provided - analysisId: {}, userId: {}, count: {}",
-                    analysisId, userId, searchResult.getTotalCount());
+            log.info("Recommendation provided - analysisId: {}, userId: {}, roomId: {}, count: {}",
+                    analysisId, userId, roomId, restaurants.size());
 
-            // 7. 캐시에서 제거 (사용 완료)
+            // 캐시에서 제거 (사용 완료)
             analysisCache.remove(analysisId);
 
         } catch (Exception e) {
             log.error("Failed to provide recommendation", e);
-            sendErrorMessage(userId, "추천 처리 중 오류가 발생했습니다.");
+            sendErrorMessage(userId, roomId, "추천 처리 중 오류가 발생했습니다.");
         }
     }
 
     /**
      * 대화 컨텍스트 가져오기
+     * - 채팅방 최근 메시지 버퍼에서 조회 (버퍼가 없을 때와 릴레이 모드에서는 DB 조회)
      */
     private List<String> fetchConversationContext(Long roomId, Long currentMessageId) {
         try {
-            List<ChatMessage> recentMessages = chatMessageRepository
-                    .findTop10ByRoomIdAndIdLessThanOrderByIdDesc(
-                            roomId,
-                            currentMessageId
-                    );
-
-            return recentMessages.stream()
-                    .map(msg -> msg.getSenderNickname() + ": " + msg.getContent())
-                    .collect(Collectors.toList());
+            return recentMessageBuffer.getContext(roomId, currentMessageId, CONTEXT_MESSAGE_LIMIT);
 
         } catch (Exception e) {
             log.error("Failed to fetch conversation context", e);
@@ -210,7 +305,10 @@ public class SuggestionService {
     /**
      * 맛집 검색 (수정된 전략)
      * 전략 1: 지역 기반 즐겨찾기 및 상황 기반
-     * 전략 2: 지역 및 상황 기반 랜덤 인기 맛집
+     * 전략 2: 후보 수집 후 점수 기반 상위 K개 선택
+     *   - 후보: 지역 좌표 주변 맛집 + 지역 키워드 맛집 (없으면 카테고리 키워드 맛집)
+     *   - 순위: 지역/카테고리/선호사항/식사 종류 일치, 평점, 거리 (RestaurantRanker)
+     *   - 후보 수집과 순위는 색인의 맛집 요약으로 처리하고, 카드에 쓸 엔티티는 최종 선택된 맛집만 DB에서 조회
      */
     private RestaurantSearchResult searchRestaurants(ClaudeAnalysisResult analysis, String userId) {
         String location = analysis.getLocation();
@@ -218,63 +316,107 @@ public class SuggestionService {
 
         // 전략 1: 즐겨찾기 맛집 (현재는 나중에 구현 예정이므로 빈 리스트)
         List<Restaurant> favoriteRestaurants = Collections.emptyList();
-        // TODO: 즐겨찾기 기능 구현 시
+        // TODO: 즐겨찾기 기능 구현 시 (사용자별 결과이므로 추천 캐시 밖에서 조회)
         // favoriteRestaurants = favoriteRepository.findByUserIdAndLocationAndCategories(userId, location, categories);
 
-        // 전략 2: 지역 및 상황 기반 랜덤 인기 맛집
-        List<Restaurant> aiRecommendedRestaurants = searchByLocationAndCategories(location, categories);
+        // 전략 2: 후보 수집 → 순위
+        Map<Long, Double> distances = new HashMap<>();
+        Map<Long, Double> textScores = new HashMap<>();
+        Map<Long, RestaurantSummary> candidates = new LinkedHashMap<>();
+        collectCandidates(location, categories, analysis.getPreferences(), candidates, distances, textScores);
+
+        List<RestaurantSummary> ranked;
+        if (candidates.isEmpty()) {
+            // Last resort: 미리 계산된 평점 상위 맛집
+            ranked = fallbackRecommendations.find(location, categories, RECOMMENDATION_LIMIT);
+        } else {
+            List<RestaurantSummary> candidateList = new ArrayList<>(candidates.values());
+            double[] candidateDistances = new double[candidateList.size()];
+            double[] candidateTextScores = new double[candidateList.size()];
+            for (int i = 0; i < candidateList.size(); i++) {
+                Long id = candidateList.get(i).id();
+                candidateDistances[i] = distances.getOrDefault(id, Double.NaN);
+                candidateTextScores[i] = textScores.getOrDefault(id, Double.NaN);
+            }
+            ranked = restaurantRanker.topK(candidateList, candidateDistances, candidateTextScores,
+                    searchRadiusMeters, analysis, RECOMMENDATION_LIMIT);
+        }
 
-        return new RestaurantSearchResult(favoriteRestaurants, aiRecommendedRestaurants);
+        return new RestaurantSearchResult(favoriteRestaurants, loadRestaurants(ranked), distances);
     }
 
     /**
-     * 지역 및 카테고리 기반 검색
+     * 선택된 맛집의 엔티티 조회 (순위 유지, 그 사이 삭제된 맛집은 제외)
      */
-    private List<Restaurant> searchByLocationAndCategories(String location, List<String> categories) {
-        List<Restaurant> restaurants;
+    private List<Restaurant> loadRestaurants(List<RestaurantSummary> ranked) {
+        if (ranked.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Map<Long, Restaurant> loaded = new HashMap<>();
+        for (Restaurant restaurant : restaurantRepository.findAllById(ranked.stream().map(RestaurantSummary::id).toList())) {
+            loaded.put(restaurant.getId(), restaurant);
+        }
+        List<Restaurant> result = new ArrayList<>(ranked.size());
+        for (RestaurantSummary summary : ranked) {
+            Restaurant restaurant = loaded.get(summary.id());
+            if (restaurant != null) {
+                result.add(restaurant);
+            }
+        }
+        return result;
+    }
 
-        // 지역 기반 검색
-        if (location != null && !location.isEmpty()) {
-            restaurants = restaurantRepository.findByKeywordsContaining(location);
+    /**
+     * 순위를 매길 후보 수집 (경로별 최대 candidate-limit개, 넘으면 검색 백엔드가 평점 상위만 남김)
+     * 1. 지역 좌표 주변 맛집 (거리 포함)
+     * 2. 지역 키워드 + 카테고리 중 하나, 지역 키워드만 일치하는 맛집
+     * 3. 1, 2에서 후보가 없으면 카테고리 키워드 맛집
+     * 4. 선호사항 텍스트 검색 맛집 (지역이 있으면 지역 키워드 일치 맛집 중에서, 점수 포함)
+     *
+     * @param candidates 수집된 후보 (Key: 맛집 ID)
+     * @param distances 좌표 검색된 맛집의 거리(미터)
+     * @param textScores 선호사항 텍스트 검색 점수
+     */
+    private void collectCandidates(String location, List<String> categories, List<String> preferences,
+                                   Map<Long, RestaurantSummary> candidates, Map<Long, Double> distances,
+                                   Map<Long, Double> textScores) {
+        int candidateLimit = rankingProperties.getCandidateLimit();
+        boolean hasCategories = categories != null && !categories.isEmpty();
 
-            // 카테고리로 필터링
-            if (categories != null && !categories.isEmpty()) {
-                restaurants = filterByCategories(restaurants, categories);
-            }
+        if (location != null && !location.isEmpty()) {
+            gazetteer.resolve(location).ifPresent(point -> {
+                for (RestaurantGeoIndex.NearbyRestaurant nearby : restaurantGeoIndex.findNearest(
+                        point.latitude(), point.longitude(), searchRadiusMeters, Collections.emptyList(), candidateLimit)) {
+                    candidates.putIfAbsent(nearby.restaurant().id(), nearby.restaurant());
+                    distances.put(nearby.restaurant().id(), nearby.distanceMeters());
+                }
+            });
 
-            if (!restaurants.isEmpty()) {
-                return restaurants.stream()
-                        .limit(5)
-                        .collect(Collectors.toList());
+            if (hasCategories) {
+                addCandidates(candidates, restaurantSearch.findByKeywordAndAnyOf(location, categories, candidateLimit));
             }
+            addCandidates(candidates, restaurantSearch.findByKeyword(location, candidateLimit));
         }
 
-        // Fallback: 카테고리만으로 검색
-        if (categories != null && !categories.isEmpty()) {
+        if (candidates.isEmpty() && hasCategories) {
             for (String category : categories) {
-                restaurants = restaurantRepository.findByKeywordsContaining(category);
-                if (!restaurants.isEmpty()) {
-                    return restaurants.stream()
-                            .limit(5)
-                            .collect(Collectors.toList());
-                }
+                addCandidates(candidates, restaurantSearch.findByKeyword(category, candidateLimit));
             }
         }
 
-        // Last resort: 랜덤 인기 맛집
-        return restaurantRepository.findAll().stream()
-                .limit(5)
-                .collect(Collectors.toList());
+        if (preferences != null && !preferences.isEmpty()) {
+            String required = location != null && !location.isEmpty() ? location : null;
+            for (RestaurantSearch.ScoredRestaurant scored : restaurantSearch.findByText(required, preferences, candidateLimit)) {
+                candidates.putIfAbsent(scored.restaurant().id(), scored.restaurant());
+                textScores.put(scored.restaurant().id(), scored.score());
+            }
+        }
     }
 
-    /**
-     * 카테고리로 맛집 필터링
-     */
-    private List<Restaurant> filterByCategories(List<Restaurant> restaurants, List<String> categories) {
-        return restaurants.stream()
-                .filter(r -> categories.stream()
-                        .anyMatch(cat -> r.getKeywords() != null && r.getKeywords().contains(cat)))
-                .collect(Collectors.toList());
+    private void addCandidates(Map<Long, RestaurantSummary> candidates, List<RestaurantSummary> restaurants) {
+        for (RestaurantSummary restaurant : restaurants) {
+            candidates.putIfAbsent(restaurant.id(), restaurant);
+        }
     }
 
     /**
@@ -282,19 +424,15 @@ public class SuggestionService {
      */
     private void sendSuggestionToUser(
             String userId,
-            RestaurantSearchResult searchResult,
-            ClaudeAnalysisResult analysis) {
+            Long roomId,
+            List<RestaurantDto> aiRecommendedDtos,
+            ClaudeAnalysisResult analysis,
+            long cardGeneration) {
         try {
             // 카드 제목 생성
             String cardTitle = buildCardTitle(analysis);
             String cardImage = "/images/restaurant-map.jpg";  // 기본 지도 이미지
 
-            // 즐겨찾기 맛집 DTO 변환
-            List<RestaurantDto> favoriteDtos = convertToDto(searchResult.getFavoriteRestaurants());
-
-            // AI 추천 맛집 DTO 변환
-            List<RestaurantDto> aiRecommendedDtos = convertToDto(searchResult.getAiRecommendedRestaurants());
-
             // 카드 데이터 생성 (현재는 AI 추천만 표시, 즐겨찾기는 추후 추가)
             SuggestionDto.CardData cardData = SuggestionDto.CardData.builder()
                     .title(cardTitle)
@@ -312,21 +450,68 @@ public class SuggestionService {
                             DateTimeFormatter.ofPattern("a h:mm", Locale.KOREAN)))
                     .build();
 
-            // /sub/room/1로 브로드캐스트
-            String destination = "/sub/room/" + DEFAULT_ROOM_ID;
-            messagingTemplate.convertAndSend(destination, suggestionDto);
+            // 요청한 사용자에게 전송 (맛집 카드는 미리 직렬화된 JSON 조각을 이어 붙여 전송)
+            String destination = destinationFor(userId, roomId, "suggestion");
+            if (destination == null) {
+                return;
+            }
+            byte[] json = restaurantCardCache.toJson(suggestionDto, cardGeneration);
+            sendJson(destination, json, userId, "suggestion");
+            roomRecommendationStats.recordSuggestion(roomId, json.length);
 
-            log.info("Suggestion broadcast - userId: {}, destination: {}", userId, destination);
+            log.info("Suggestion sent - userId: {}, destination: {}", userId, destination);
 
         } catch (Exception e) {
             log.error("Failed to send suggestion to user: {}", userId, e);
         }
     }
 
+    /**
+     * 개인 메시지 목적지
+     * - user: /user/{userId}/sub/{channel} → 사용자의 세션별 목적지로 변환되어 해당 세션에만 전달
+     * - room: /sub/room/{roomId} (분석한 메시지의 채팅방 구독자에게만 브로드캐스트)
+     *
+     * @return 목적지, 사용자가 접속 중이 아니면 null (전송 생략)
+     */
+    private String destinationFor(String userId, Long roomId, String channel) {
+        if ("room".equals(deliveryMode)) {
+            return "/sub/room/" + roomId;
+        }
+        // relay 모드에서는 다른 인스턴스에 접속한 사용자도 포함
+        if (simpUserRegistry.getUser(userId) == null) {
+            log.debug("User not connected - skipping {} for userId: {}", channel, userId);
+            return null;
+        }
+        return messagingTemplate.getUserDestinationPrefix() + userId + "/sub/" + channel;
+    }
+
+    /**
+     * 추천 이벤트 STOMP 헤더
+     * - 흐름 제어가 채팅 메시지와 구분하는 데 사용 (room 전송 모드에서는 채팅과 같은 채팅방 목적지로 전송되므로)
+     *
+     * @param channel 이벤트 종류 (suggestion, recommendation-prompt, error)
+     */
+    private static Map<String, Object> eventHeaders(String userId, String channel) {
+        return Map.of(OutboundFlowControl.EVENT_TYPE_HEADER, channel, OutboundFlowControl.EVENT_TARGET_HEADER, userId);
+    }
+
+    /**
+     * 이미 직렬화된 JSON 전송 (메시지 컨버터를 거치지 않음)
+     */
+    private void sendJson(String destination, byte[] json, String userId, String channel) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create();
+        accessor.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        eventHeaders(userId, channel).forEach((name, value) -> accessor.setNativeHeader(name, (String) value));
+        accessor.setLeaveMutable(true);
+        messagingTemplate.send(destination, MessageBuilder.createMessage(json, accessor.getMessageHeaders()));
+    }
+
     /**
      * Restaurant 엔티티를 DTO로 변환
+     *
+     * @param distances 맛집별 실제 거리(미터), 없으면 저장된 거리 텍스트 사용
      */
-    private List<RestaurantDto> convertToDto(List<Restaurant> restaurants) {
+    private List<RestaurantDto> convertToDto(List<Restaurant> restaurants, Map<Long, Double> distances) {
         return restaurants.stream()
                 .map(r -> RestaurantDto.builder()
                         .id(r.getId())
@@ -337,11 +522,24 @@ public class SuggestionService {
                         .description(r.getDescription())
                         .rating(r.getRating() != null ? r.getRating() : 4.5)
                         .image(r.getImageUrl() != null ? r.getImageUrl() : "/images/placeholder-restaurant.jpg")
-                        .distance(r.getDistanceText() != null ? r.getDistanceText() : "거리 정보 없음")
+                        .distance(distances.containsKey(r.getId())
+                                ? formatDistance(distances.get(r.getId()))
+                                : r.getDistanceText() != null ? r.getDistanceText() : "거리 정보 없음")
                         .build())
                 .collect(Collectors.toList());
     }
 
+    /**
+     * 거리 텍스트 생성 (도보 30분 이내는 "도보 N분", 그 이상은 "N.Nkm")
+     */
+    private String formatDistance(double meters) {
+        int minutes = (int) Math.max(1, Math.ceil(meters / WALKING_METERS_PER_MINUTE));
+        if (minutes <= MAX_WALKING_MINUTES) {
+            return "도보 " + minutes + "분";
+        }
+        return String.format(Locale.ROOT, "%.1fkm", meters / 1000);
+    }
+
     /**
      * 카드 제목 생성
      */
@@ -364,12 +562,13 @@ public class SuggestionService {
     /**
      * 추천 가능 알림 전송
      */
-    private void sendRecommendationPrompt(String userId, String analysisId, ClaudeAnalysisResult analysis) {
+    private void sendRecommendationPrompt(String userId, Long roomId, String analysisId, ClaudeAnalysisResult analysis) {
         try {
             RecommendationPromptDto promptDto = RecommendationPromptDto.builder()
                     .type("recommendation-prompt")
                     .message("맛집 추천이 가능합니다")
                     .analysisId(analysisId)
+                    .roomId(roomId)
                     .location(analysis.getLocation())
                     .mealType(analysis.getMealType())
                     .confidence(analysis.getConfidence())
@@ -377,9 +576,13 @@ public class SuggestionService {
                             DateTimeFormatter.ofPattern("a h:mm", Locale.KOREAN)))
                     .build();
 
-            // /sub/room/1로 브로드캐스트 (채팅 메시지와 동일한 경로)
-            String destination = "/sub/room/" + DEFAULT_ROOM_ID;
-            messagingTemplate.convertAndSend(destination, promptDto);
+            // 메시지를 보낸 사용자에게만 전송
+            String destination = destinationFor(userId, roomId, "recommendation-prompt");
+            if (destination == null) {
+                return;
+            }
+            messagingTemplate.convertAndSend(destination, promptDto, eventHeaders(userId, "recommendation-prompt"));
+            roomRecommendationStats.recordPrompt(roomId);
 
             log.info("Recommendation prompt sent - userId: {}, analysisId: {}", userId, analysisId);
 
@@ -391,7 +594,7 @@ public class SuggestionService {
     /**
      * 에러 메시지 전송
      */
-    private void sendErrorMessage(String userId, String errorMessage) {
+    private void sendErrorMessage(String userId, Long roomId, String errorMessage) {
         try {
             Map<String, String> error = Map.of(
                     "type", "error",
@@ -401,11 +604,14 @@ public class SuggestionService {
                             DateTimeFormatter.ofPattern("a h:mm", Locale.KOREAN))
             );
 
-            // /sub/room/1로 브로드캐스트
-            String destination = "/sub/room/" + DEFAULT_ROOM_ID;
-            messagingTemplate.convertAndSend(destination, error);
+            String destination = destinationFor(userId, roomId, "error");
+            if (destination == null) {
+                return;
+            }
+            messagingTemplate.convertAndSend(destination, error, eventHeaders(userId, "error"));
+            roomRecommendationStats.recordError(roomId);
 
-            log.info("Error message broadcast - userId: {}, message: {}", userId, errorMessage);
+            log.info("Error message sent - userId: {}, message: {}", userId, errorMessage);
 
         } catch (Exception e) {
             log.error("Failed to send error message to user: {}", userId, e);
@@ -446,8 +652,12 @@ public class SuggestionService {
      */
     @Data
     private static class AnalysisCacheEntry {
-        private ClaudeAnalysisResult analysis;
+        /**
+         * 최종 분석 결과 (스트리밍 모드에서는 중간 결과로 알림을 보낸 뒤 스트림이 끝나면 완료)
+         */
+        private final CompletableFuture<ClaudeAnalysisResult> analysis = new CompletableFuture<>();
         private String userId;
+        private Long roomId;
         private LocalDateTime createdAt;
         private Long messageId;
         private boolean processed;
@@ -460,19 +670,14 @@ public class SuggestionService {
     private static class RestaurantSearchResult {
         private final List<Restaurant> favoriteRestaurants;
         private final List<Restaurant> aiRecommendedRestaurants;
+        private final Map<Long, Double> distances;
 
         public RestaurantSearchResult(List<Restaurant> favoriteRestaurants,
-                                     List<Restaurant> aiRecommendedRestaurants) {
+                                     List<Restaurant> aiRecommendedRestaurants,
+                                     Map<Long, Double> distances) {
             this.favoriteRestaurants = favoriteRestaurants != null ? favoriteRestaurants : Collections.emptyList();
             this.aiRecommendedRestaurants = aiRecommendedRestaurants != null ? aiRecommendedRestaurants : Collections.emptyList();
-        }
-
-        public boolean isEmpty() {
-            return favoriteRestaurants.isEmpty() && aiRecommendedRestaurants.isEmpty();
-        }
-
-        public int getTotalCount() {
-            return favoriteRestaurants.size() + aiRecommendedRestaurants.size();
+            this.distances = distances != null ? distances : Collections.emptyMap();
         }
     }
 }
@@ -0,0 +1,307 @@
+package com.example.onboarding.websocket;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.converter.MessageConverter;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeType;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 압축 바이너리 전송 형식 (CBOR)
+ * - 기본값은 꺼짐 (chat.websocket.compact.enabled=true로 켜야 함)
+ *   - 변환 CPU가 메시지당 JSON 직렬화의 약 5~6배 (JSON 파싱 + 세션별 쓰기), 대역폭이 CPU보다 비쌀 때만 켬
+ * - STOMP CONNECT 헤더 X-Wire-Format: cbor 로 요청한 세션에만 적용, 나머지 세션은 기존 JSON 그대로 전송
+ * - 브로커는 JSON 페이로드 하나를 구독자 모두에게 보내므로, 아웃바운드 채널에서 세션별로 CBOR로 변환
+ *   (같은 페이로드를 받는 세션들은 JSON 파싱 결과를 공유)
+ * - 변환 규칙 (클라이언트는 content-type: application/cbor 로 구분)
+ *   - 필드 이름: FIELD_CODES에 있으면 목록 위치(정수) 키, 없으면 원래 이름
+ *   - senderId / senderNickname 값: 세션 사전 참조
+ *     (처음 나온 값은 [번호, 문자열]로 정의, 이후에는 번호만 전송, 사전이 가득 차면 문자열 그대로)
+ *   - createdAt: 서버 시간대(chat.websocket.compact.time-zone, 비어 있으면 JVM 기본 시간대)의 LocalDateTime을 epoch 밀리초로 변환
+ * - 세션 사전이 메시지 순서에 의존하므로 사용 시 아웃바운드 전송 순서를 보장함 (WebSocketConfig)
+ * - 클라이언트가 보내는 CBOR 메시지(content-type: application/cbor)는 일반 필드 이름으로 역직렬화
+ * - 메트릭: chat.websocket.compact.bytes{format=json|cbor} (변환한 메시지의 원래/변환 후 크기),
+ *   chat.websocket.compact.encode{stage=parse|write} (변환 CPU 시간), chat.websocket.compact.sessions
+ */
+@Slf4j
+@Component
+public class CompactWireFormat implements ChannelInterceptor {
+
+    public static final String WIRE_FORMAT_HEADER = "X-Wire-Format";
+    public static final MimeType APPLICATION_CBOR = new MimeType("application", "cbor");
+
+    /**
+     * 정수 키로 보내는 필드 이름 (목록 위치 = 키, 클라이언트와 공유하므로 뒤에만 추가)
+     */
+    private static final List<String> FIELD_CODES = List.of(
+            "type", "id", "roomId", "senderId", "senderNickname", "content", "createdAt",
+            "message", "analysisId", "location", "mealType", "confidence", "time",
+            "cardData", "title", "image", "restaurants", "name", "category", "locationText",
+            "description", "rating", "address", "distance", "userId");
+
+    private static final Map<String, Integer> FIELD_KEYS = indexOf(FIELD_CODES);
+    /**
+     * 사전으로 보내는 필드 (채팅 메시지에만 있는 필드로 한정: 흐름 제어가 보류 후 재전송하는 추천/에러 이벤트는
+     * 전송 순서 보장 밖에서 나가므로 사전 정의가 참조보다 늦게 도착할 수 있음)
+     */
+    private static final Set<String> DICTIONARY_FIELDS = Set.of("senderId", "senderNickname");
+    private static final Set<String> TIMESTAMP_FIELDS = Set.of("createdAt");
+
+    private final ObjectMapper objectMapper;
+    private final CBORMapper cborMapper = CBORMapper.builder().findAndAddModules().build();
+    private final CBORFactory cborFactory = cborMapper.getFactory();
+    private final boolean enabled;
+    private final int dictionarySize;
+    /**
+     * createdAt(LocalDateTime)을 만든 서버 시간대
+     */
+    private final ZoneId zone;
+
+    /**
+     * Key: JSON 페이로드 (동일 객체 기준, 브로커가 구독자들에게 같은 배열을 전달)
+     * Value: 파싱 결과
+     */
+    private final Cache<byte[], JsonNode> parsed = Caffeine.newBuilder()
+            .weakKeys()
+            .maximumSize(1024)
+            .build();
+
+    /**
+     * Key: CBOR을 요청한 세션 ID
+     * Value: 세션 사전
+     */
+    private final ConcurrentHashMap<String, SessionDictionary> sessions = new ConcurrentHashMap<>();
+
+    private final DistributionSummary jsonBytes;
+    private final DistributionSummary cborBytes;
+    private final Timer parseTimer;
+    private final Timer writeTimer;
+
+    public CompactWireFormat(ObjectMapper objectMapper,
+                             MeterRegistry meterRegistry,
+                             @Value("${chat.websocket.compact.enabled:false}") boolean enabled,
+                             @Value("${chat.websocket.compact.dictionary-size:1024}") int dictionarySize,
+                             @Value("${chat.websocket.compact.time-zone:}") String timeZone) {
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.dictionarySize = dictionarySize;
+        this.zone = timeZone.isBlank() ? ZoneId.systemDefault() : ZoneId.of(timeZone);
+
+        this.jsonBytes = DistributionSummary.builder("chat.websocket.compact.bytes")
+                .tag("format", "json")
+                .description("Payload size before compact encoding")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        this.cborBytes = DistributionSummary.builder("chat.websocket.compact.bytes")
+                .tag("format", "cbor")
+                .description("Payload size after compact encoding")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        this.parseTimer = Timer.builder("chat.websocket.compact.encode")
+                .tag("stage", "parse")
+                .description("JSON payload parsing for compact encoding (once per broadcast)")
+                .register(meterRegistry);
+        this.writeTimer = Timer.builder("chat.websocket.compact.encode")
+                .tag("stage", "write")
+                .description("CBOR writing per session")
+                .register(meterRegistry);
+        Gauge.builder("chat.websocket.compact.sessions", sessions, ConcurrentHashMap::size)
+                .description("Sessions receiving the compact wire format")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * STOMP CONNECT 시 세션의 전송 형식 등록
+     *
+     * @param sessionId STOMP 세션 ID
+     * @param wireFormat X-Wire-Format 헤더 값 (cbor 외에는 JSON 유지)
+     */
+    public void register(String sessionId, String wireFormat) {
+        if (!enabled || sessionId == null || !"cbor".equalsIgnoreCase(wireFormat)) {
+            return;
+        }
+        sessions.put(sessionId, new SessionDictionary());
+        log.debug("Compact wire format enabled - sessionId: {}", sessionId);
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        sessions.remove(event.getSessionId());
+    }
+
+    /**
+     * 클라이언트가 보낸 CBOR 메시지용 변환기 (content-type이 application/cbor인 메시지에만 사용)
+     */
+    public MessageConverter inboundConverter() {
+        MappingJackson2MessageConverter converter = new MappingJackson2MessageConverter(APPLICATION_CBOR);
+        converter.setObjectMapper(cborMapper);
+        converter.setStrictContentTypeMatch(true);
+        return converter;
+    }
+
+    /**
+     * CBOR을 요청한 세션으로 가는 JSON 메시지를 변환 (변환 실패 시 JSON 그대로 전송)
+     */
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        if (sessions.isEmpty()) {
+            return message;
+        }
+        MessageHeaders headers = message.getHeaders();
+        if (SimpMessageHeaderAccessor.getMessageType(headers) != SimpMessageType.MESSAGE
+                || !(message.getPayload() instanceof byte[] json)) {
+            return message;
+        }
+        SessionDictionary dictionary = sessions.get(SimpMessageHeaderAccessor.getSessionId(headers));
+        MimeType contentType = headers.get(MessageHeaders.CONTENT_TYPE, MimeType.class);
+        if (dictionary == null || contentType == null || !MimeTypeUtils.APPLICATION_JSON.isCompatibleWith(contentType)) {
+            return message;
+        }
+
+        try {
+            JsonNode tree = parsed.getIfPresent(json);
+            if (tree == null) {
+                long start = System.nanoTime();
+                tree = objectMapper.readTree(json);
+                parseTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                parsed.put(json, tree);
+            }
+
+            long start = System.nanoTime();
+            byte[] cbor = encode(tree, dictionary);
+            writeTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            jsonBytes.record(json.length);
+            cborBytes.record(cbor.length);
+
+            return MessageBuilder.withPayload(cbor)
+                    .copyHeaders(headers)
+                    .setHeader(MessageHeaders.CONTENT_TYPE, APPLICATION_CBOR)
+                    .build();
+        } catch (IOException e) {
+            log.warn("Compact encoding failed - sending JSON, sessionId: {}",
+                    SimpMessageHeaderAccessor.getSessionId(headers), e);
+            return message;
+        }
+    }
+
+    private byte[] encode(JsonNode tree, SessionDictionary dictionary) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(256);
+        try (JsonGenerator generator = cborFactory.createGenerator(out)) {
+            // 세션 사전은 전송 순서대로 갱신되어야 하므로 세션 단위로 직렬화
+            synchronized (dictionary) {
+                write(generator, null, tree, dictionary);
+            }
+        }
+        return out.toByteArray();
+    }
+
+    private void write(JsonGenerator generator, String field, JsonNode node, SessionDictionary dictionary) throws IOException {
+        if (node.isObject()) {
+            generator.writeStartObject();
+            Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> entry = fields.next();
+                Integer key = FIELD_KEYS.get(entry.getKey());
+                if (key != null) {
+                    generator.writeFieldId(key);
+                } else {
+                    generator.writeFieldName(entry.getKey());
+                }
+                write(generator, entry.getKey(), entry.getValue(), dictionary);
+            }
+            generator.writeEndObject();
+        } else if (node.isArray()) {
+            generator.writeStartArray();
+            for (JsonNode element : node) {
+                write(generator, null, element, dictionary);
+            }
+            generator.writeEndArray();
+        } else if (node.isTextual() && field != null && DICTIONARY_FIELDS.contains(field)) {
+            dictionary.write(generator, node.textValue(), dictionarySize);
+        } else if (node.isTextual() && field != null && TIMESTAMP_FIELDS.contains(field)) {
+            writeTimestamp(generator, node.textValue());
+        } else {
+            generator.writeTree(node);
+        }
+    }
+
+    private void writeTimestamp(JsonGenerator generator, String text) throws IOException {
+        try {
+            generator.writeNumber(LocalDateTime.parse(text).atZone(zone).toInstant().toEpochMilli());
+        } catch (DateTimeParseException e) {
+            generator.writeString(text);
+        }
+    }
+
+    private static Map<String, Integer> indexOf(List<String> names) {
+        Map<String, Integer> index = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            index.put(names.get(i), i);
+        }
+        return Map.copyOf(index);
+    }
+
+    /**
+     * 세션 사전 (발신자 ID/닉네임 → 번호, 인스턴스 락으로 보호)
+     */
+    private static final class SessionDictionary {
+        private final Map<String, Integer> codes = new HashMap<>();
+
+        void write(JsonGenerator generator, String value, int maxSize) throws IOException {
+            Integer code = codes.get(value);
+            if (code != null) {
+                generator.writeNumber(code);
+                return;
+            }
+            if (codes.size() >= maxSize) {
+                generator.writeString(value);
+                return;
+            }
+            code = codes.size();
+            codes.put(value, code);
+            generator.writeStartArray();
+            generator.writeNumber(code);
+            generator.writeString(value);
+            generator.writeEndArray();
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.onboarding.websocket;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.stomp.StompReactorNettyCodec;
+import org.springframework.messaging.tcp.ReconnectStrategy;
+import org.springframework.messaging.tcp.TcpConnection;
+import org.springframework.messaging.tcp.TcpConnectionHandler;
+import org.springframework.messaging.tcp.TcpOperations;
+import org.springframework.messaging.tcp.reactor.ReactorNettyTcpClient;
+
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 브로커 주소 목록 장애 조치 TCP 클라이언트 (relay 모드)
+ * - 모든 연결(시스템 세션, 클라이언트 세션별 연결)은 현재 주소로 연결하고, 연결에 실패하면 현재 주소를 다음 주소로 넘김
+ * - 연결된 주소는 실패할 때까지 계속 사용 (돌아가며 연결하지 않음, 죽은 주소로 클라이언트 세션이 연결되지 않도록)
+ * - 시스템 세션은 릴레이가 5초마다 재연결하므로, 브로커가 죽으면 재연결 실패마다 다음 주소를 시도
+ */
+@Slf4j
+public class FailoverTcpClient implements TcpOperations<byte[]> {
+
+    private final List<InetSocketAddress> addresses;
+    private final ReactorNettyTcpClient<byte[]> delegate;
+
+    /**
+     * 현재 주소 인덱스 (addresses 크기로 나눈 나머지)
+     */
+    private final AtomicInteger current = new AtomicInteger();
+
+    /**
+     * 마지막으로 연결을 시도한 인덱스 (실패한 주소가 아직 현재 주소일 때만 넘기도록)
+     */
+    private final AtomicInteger attempted = new AtomicInteger();
+
+    public FailoverTcpClient(List<InetSocketAddress> addresses) {
+        if (addresses.isEmpty()) {
+            throw new IllegalArgumentException("Broker relay addresses must not be empty");
+        }
+        this.addresses = List.copyOf(addresses);
+        this.delegate = new ReactorNettyTcpClient<>(client -> client.remoteAddress(this::nextAddress),
+                new StompReactorNettyCodec());
+    }
+
+    /**
+     * 현재 연결 대상 주소
+     */
+    public InetSocketAddress currentAddress() {
+        return addresses.get(Math.floorMod(current.get(), addresses.size()));
+    }
+
+    @Override
+    public CompletableFuture<Void> connectAsync(TcpConnectionHandler<byte[]> connectionHandler) {
+        return delegate.connectAsync(new FailoverHandler(connectionHandler));
+    }
+
+    @Override
+    public CompletableFuture<Void> connectAsync(TcpConnectionHandler<byte[]> connectionHandler,
+                                                ReconnectStrategy reconnectStrategy) {
+        return delegate.connectAsync(new FailoverHandler(connectionHandler), reconnectStrategy);
+    }
+
+    @Override
+    public CompletableFuture<Void> shutdownAsync() {
+        return delegate.shutdownAsync();
+    }
+
+    /**
+     * 연결할 때마다 호출 (재연결 포함)
+     */
+    private InetSocketAddress nextAddress() {
+        int index = current.get();
+        attempted.set(index);
+        return addresses.get(Math.floorMod(index, addresses.size()));
+    }
+
+    private void failedOver(Throwable cause) {
+        int failed = attempted.get();
+        if (addresses.size() > 1 && current.compareAndSet(failed, failed + 1)) {
+            log.warn("Broker relay connection to {} failed ({}) - next: {}",
+                    addresses.get(Math.floorMod(failed, addresses.size())), cause.getMessage(), currentAddress());
+        }
+    }
+
+    /**
+     * 연결 실패만 가로채 주소를 넘기고 나머지는 그대로 위임
+     */
+    private class FailoverHandler implements TcpConnectionHandler<byte[]> {
+
+        private final TcpConnectionHandler<byte[]> handler;
+
+        FailoverHandler(TcpConnectionHandler<byte[]> handler) {
+            this.handler = handler;
+        }
+
+        @Override
+        public void afterConnected(TcpConnection<byte[]> connection) {
+            handler.afterConnected(connection);
+        }
+
+        @Override
+        public void afterConnectFailure(Throwable ex) {
+            failedOver(ex);
+            handler.afterConnectFailure(ex);
+        }
+
+        @Override
+        public void handleMessage(Message<byte[]> message) {
+            handler.handleMessage(message);
+        }
+
+        @Override
+        public void handleFailure(Throwable ex) {
+            handler.handleFailure(ex);
+        }
+
+        @Override
+        public void afterConnectionClosed() {
+            handler.afterConnectionClosed();
+        }
+    }
+}
@@ -0,0 +1,404 @@
+package com.example.onboarding.websocket;
+
+import com.example.onboarding.config.WebSocketTransportProperties;
+import com.example.onboarding.dto.SessionOutboundStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+import org.springframework.web.socket.handler.WebSocketHandlerDecoratorFactory;
+import org.springframework.web.socket.handler.WebSocketSessionDecorator;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 세션별 전송 흐름 제어 (느린 클라이언트 보호)
+ * - 아웃바운드 채널에서 통과시킨 MESSAGE 수와 실제 소켓에 쓴 MESSAGE 프레임 수의 차이로 세션별 전송 대기 수를 추적
+ *   (아웃바운드 스레드 풀 대기 + Spring 세션 전송 버퍼를 모두 포함)
+ *   - 양쪽 모두 MESSAGE만 셈: ERROR/하트비트 등 프로토콜 핸들러가 채널을 거치지 않고 직접 쓰는 프레임은
+ *     어느 쪽에도 집계되지 않음 (제어 프레임은 정책과 무관하게 항상 전송되므로 대기 수에서 제외)
+ * - 전송 대기 수가 소프트 제한(max-pending-messages)을 넘으면 overflow-policy 적용
+ *   - drop-oldest / coalesce: 채팅 메시지는 그대로 보내고, 채팅 외 이벤트(추천 알림/카드 등)는 보류했다가
+ *     대기 수가 절반 아래로 줄면 다시 전송
+ *   - 채팅 외 이벤트 판별: EVENT_TYPE_HEADER가 있거나 목적지가 채팅 목적지(chat-destination-prefixes)가 아닌 메시지
+ *     (room 전송 모드의 추천 이벤트는 채팅방 목적지로 가므로 헤더로 구분)
+ *   - coalesce 키: 목적지 + 이벤트 종류 + 대상 사용자 (같은 채팅방 목적지로 가는 다른 사용자의 이벤트는 합치지 않음)
+ *   - disconnect: 연결 종료
+ * - 하드 제한(전송 시간/버퍼 크기)은 Spring 세션 데코레이터가 처리 (WebSocketConfig 참고)
+ * - 메시지를 보내지 못하고 버린 경우(종료 중인 세션 등)는 대기 수에 남을 수 있으나, 세션 종료 시 함께 정리됨
+ *   (대기 수를 0으로 보정하지 않으므로 집계가 어긋나면 음수로 드러남)
+ * - 메트릭: chat.websocket.outbound.pending / held (전체 합계),
+ *   chat.websocket.outbound.dropped{reason=overflow|coalesced}, chat.websocket.outbound.disconnected
+ */
+@Slf4j
+@Component
+public class OutboundFlowControl implements ChannelInterceptor, WebSocketHandlerDecoratorFactory {
+
+    private enum OverflowPolicy { DROP_OLDEST, COALESCE, DISCONNECT }
+
+    private static final String MESSAGE_COMMAND = "MESSAGE";
+
+    /**
+     * 채팅 외 이벤트의 종류 (STOMP 헤더, 예: suggestion, recommendation-prompt, error)
+     */
+    public static final String EVENT_TYPE_HEADER = "X-Event-Type";
+
+    /**
+     * 채팅 외 이벤트의 대상 사용자 ID (STOMP 헤더)
+     */
+    public static final String EVENT_TARGET_HEADER = "X-Event-Target";
+
+    private final UserSessionRegistry userSessionRegistry;
+    private final OverflowPolicy policy;
+    private final int maxPending;
+    private final int maxHeld;
+    private final List<String> chatDestinationPrefixes;
+
+    private final Counter dropped;
+    private final Counter coalesced;
+    private final Counter disconnected;
+
+    /**
+     * Key: WebSocket 세션 ID (= STOMP 세션 ID)
+     * Value: 세션 전송 상태
+     */
+    private final ConcurrentHashMap<String, SessionFlow> sessions = new ConcurrentHashMap<>();
+
+    public OutboundFlowControl(UserSessionRegistry userSessionRegistry,
+                               WebSocketTransportProperties properties,
+                               MeterRegistry meterRegistry) {
+        this.userSessionRegistry = userSessionRegistry;
+        this.policy = switch (properties.getOverflowPolicy()) {
+            case "drop-oldest" -> OverflowPolicy.DROP_OLDEST;
+            case "coalesce" -> OverflowPolicy.COALESCE;
+            case "disconnect" -> OverflowPolicy.DISCONNECT;
+            default -> throw new IllegalArgumentException(
+                    "Unknown chat.websocket.transport.overflow-policy: " + properties.getOverflowPolicy());
+        };
+        this.maxPending = Math.max(1, properties.getMaxPendingMessages());
+        this.maxHeld = Math.max(1, properties.getMaxHeldMessages());
+        this.chatDestinationPrefixes = List.copyOf(properties.getChatDestinationPrefixes());
+
+        this.dropped = meterRegistry.counter("chat.websocket.outbound.dropped", "reason", "overflow");
+        this.coalesced = meterRegistry.counter("chat.websocket.outbound.dropped", "reason", "coalesced");
+        this.disconnected = meterRegistry.counter("chat.websocket.outbound.disconnected");
+        Gauge.builder("chat.websocket.outbound.pending", sessions,
+                        map -> map.values().stream().mapToLong(SessionFlow::pending).sum())
+                .description("Outbound messages not yet written to WebSocket sessions")
+                .register(meterRegistry);
+        Gauge.builder("chat.websocket.outbound.held", sessions,
+                        map -> map.values().stream().mapToInt(SessionFlow::heldCount).sum())
+                .description("Non-chat events held back for slow WebSocket sessions")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 세션을 감싸 실제 전송 수를 기록하도록 WebSocket 핸들러 장식
+     */
+    @Override
+    public WebSocketHandler decorate(WebSocketHandler handler) {
+        return new WebSocketHandlerDecorator(handler) {
+            @Override
+            public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+                SessionFlow flow = new SessionFlow(session);
+                sessions.put(session.getId(), flow);
+                super.afterConnectionEstablished(new FlowTrackingSession(session, flow));
+            }
+
+            @Override
+            public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+                sessions.remove(session.getId());
+                super.afterConnectionClosed(session, closeStatus);
+            }
+        };
+    }
+
+    /**
+     * 아웃바운드 메시지마다 세션 전송 대기 수 확인 후 정책 적용
+     *
+     * @return 보낼 메시지, 보류/버림이면 null
+     */
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        MessageHeaders headers = message.getHeaders();
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(headers);
+        SessionFlow flow = sessionId != null ? sessions.get(sessionId) : null;
+        if (flow == null) {
+            return message;
+        }
+
+        // CONNECTED/RECEIPT/ERROR/하트비트 등 제어 프레임은 대기 수에 넣지 않고 항상 전송
+        if (SimpMessageHeaderAccessor.getMessageType(headers) != SimpMessageType.MESSAGE) {
+            return message;
+        }
+        if (flow.pending() < maxPending) {
+            flow.queued.incrementAndGet();
+            return message;
+        }
+
+        if (policy == OverflowPolicy.DISCONNECT) {
+            disconnect(flow);
+            return null;
+        }
+
+        String destination = SimpMessageHeaderAccessor.getDestination(headers);
+        String eventType = SimpMessageHeaderAccessor.getFirstNativeHeader(EVENT_TYPE_HEADER, headers);
+        if (eventType == null && isChat(destination)) {
+            flow.queued.incrementAndGet();
+            return message;
+        }
+        hold(flow, coalesceKey(destination, eventType, headers), message, channel);
+        return null;
+    }
+
+    /**
+     * 전송 대기 수가 많은 세션 순으로 조회
+     *
+     * @param limit 최대 세션 수
+     * @return 세션별 전송 상태
+     */
+    public List<SessionOutboundStatus> top(int limit) {
+        return sessions.entrySet().stream()
+                .map(entry -> entry.getValue().toStatus(entry.getKey(), userSessionRegistry.getUserId(entry.getKey())))
+                .sorted(Comparator.comparingLong(SessionOutboundStatus::getPending).reversed()
+                        .thenComparing(Comparator.comparingInt(SessionOutboundStatus::getHeld).reversed()))
+                .limit(limit)
+                .toList();
+    }
+
+    /**
+     * 채팅 외 이벤트 보류
+     * - drop-oldest: 도착 순으로 보류, 가득 차면 가장 오래된 이벤트를 버림
+     * - coalesce: 목적지 + 이벤트 종류 + 대상 사용자별로 최신 이벤트 하나만 보류
+     */
+    private void hold(SessionFlow flow, String coalesceKey, Message<?> message, MessageChannel channel) {
+        message = withoutHandledCallback(message);
+        synchronized (flow) {
+            flow.channel = channel;
+            Object key = policy == OverflowPolicy.COALESCE && coalesceKey != null
+                    ? coalesceKey
+                    : flow.nextSequence++;
+            if (flow.held.remove(key) != null) {
+                flow.coalesced++;
+                coalesced.increment();
+            }
+            flow.held.put(key, message);
+
+            if (flow.held.size() > maxHeld) {
+                Iterator<Message<?>> oldest = flow.held.values().iterator();
+                oldest.next();
+                oldest.remove();
+                flow.dropped++;
+                dropped.increment();
+            }
+        }
+    }
+
+    /**
+     * 소켓에 MESSAGE 프레임을 쓴 후 호출, 대기 수가 절반 아래로 줄었으면 보류 이벤트 재전송
+     * - 재전송 메시지도 preSend를 다시 거치므로 그 사이 다시 밀리면 다시 보류됨
+     */
+    private void onSent(SessionFlow flow) {
+        flow.sent.incrementAndGet();
+        if (flow.pending() > maxPending / 2) {
+            return;
+        }
+
+        List<Message<?>> released;
+        MessageChannel channel;
+        synchronized (flow) {
+            if (flow.held.isEmpty()) {
+                return;
+            }
+            released = new ArrayList<>(flow.held.values());
+            flow.held.clear();
+            channel = flow.channel;
+        }
+        for (Message<?> message : released) {
+            channel.send(message);
+        }
+    }
+
+    /**
+     * 전송 순서 보장(preservePublishOrder)이 헤더에 넣은 "다음 메시지 전송" 콜백 제거
+     * - 보류 메시지는 순서 보장 흐름 밖에서 재전송되므로, 처리 후 콜백이 다시 실행되면 같은 세션에 전송이 동시에 진행됨
+     */
+    private static Message<?> withoutHandledCallback(Message<?> message) {
+        List<String> callbacks = message.getHeaders().entrySet().stream()
+                .filter(header -> header.getValue() instanceof Runnable)
+                .map(Map.Entry::getKey)
+                .toList();
+        if (callbacks.isEmpty()) {
+            return message;
+        }
+        MessageHeaderAccessor accessor = MessageHeaderAccessor.getMutableAccessor(message);
+        callbacks.forEach(accessor::removeHeader);
+        return MessageBuilder.createMessage(message.getPayload(), accessor.getMessageHeaders());
+    }
+
+    private void disconnect(SessionFlow flow) {
+        if (!flow.closing.compareAndSet(false, true)) {
+            return;
+        }
+        disconnected.increment();
+        log.warn("Closing slow WebSocket session - sessionId: {}, pending: {}", flow.session.getId(), flow.pending());
+        try {
+            flow.session.close(CloseStatus.SESSION_NOT_RELIABLE);
+        } catch (IOException e) {
+            log.debug("Failed to close slow WebSocket session - sessionId: {}", flow.session.getId(), e);
+        }
+    }
+
+    /**
+     * coalesce 키 (목적지가 없으면 null)
+     */
+    private static String coalesceKey(String destination, String eventType, MessageHeaders headers) {
+        if (destination == null) {
+            return null;
+        }
+        if (eventType == null) {
+            return destination;
+        }
+        String target = SimpMessageHeaderAccessor.getFirstNativeHeader(EVENT_TARGET_HEADER, headers);
+        return destination + '|' + eventType + '|' + (target != null ? target : "");
+    }
+
+    private boolean isChat(String destination) {
+        if (destination == null) {
+            return false;
+        }
+        for (String prefix : chatDestinationPrefixes) {
+            if (destination.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 세션 전송 상태
+     * - queued/sent: 원자 카운터, 보류 목록과 보류 관련 카운터: 인스턴스 락으로 보호
+     */
+    private static final class SessionFlow {
+        private final WebSocketSession session;
+        private final AtomicLong queued = new AtomicLong();
+        private final AtomicLong sent = new AtomicLong();
+        private final AtomicBoolean closing = new AtomicBoolean();
+
+        /**
+         * Key: 목적지 (coalesce) 또는 도착 순번 (drop-oldest)
+         * Value: 보류 메시지 (삽입 순서 = 오래된 순)
+         */
+        private final LinkedHashMap<Object, Message<?>> held = new LinkedHashMap<>();
+        private MessageChannel channel;
+        private long nextSequence;
+        private long dropped;
+        private long coalesced;
+
+        SessionFlow(WebSocketSession session) {
+            this.session = session;
+        }
+
+        long pending() {
+            return queued.get() - sent.get();
+        }
+
+        synchronized int heldCount() {
+            return held.size();
+        }
+
+        synchronized SessionOutboundStatus toStatus(String sessionId, String userId) {
+            return SessionOutboundStatus.builder()
+                    .sessionId(sessionId)
+                    .userId(userId)
+                    .pending(pending())
+                    .held(held.size())
+                    .sent(sent.get())
+                    .dropped(dropped)
+                    .coalesced(coalesced)
+                    .build();
+        }
+    }
+
+    /**
+     * STOMP MESSAGE 프레임 여부 (명령 줄이 MESSAGE)
+     */
+    static boolean isMessageFrame(WebSocketMessage<?> message) {
+        if (message instanceof TextMessage text) {
+            String payload = text.getPayload();
+            return payload.length() > MESSAGE_COMMAND.length()
+                    && payload.startsWith(MESSAGE_COMMAND)
+                    && isEndOfLine(payload.charAt(MESSAGE_COMMAND.length()));
+        }
+        if (message instanceof BinaryMessage binary) {
+            ByteBuffer payload = binary.getPayload();
+            if (payload.remaining() <= MESSAGE_COMMAND.length()) {
+                return false;
+            }
+            int start = payload.position();
+            for (int i = 0; i < MESSAGE_COMMAND.length(); i++) {
+                if (payload.get(start + i) != MESSAGE_COMMAND.charAt(i)) {
+                    return false;
+                }
+            }
+            return isEndOfLine(payload.get(start + MESSAGE_COMMAND.length()));
+        }
+        return false;
+    }
+
+    private static boolean isEndOfLine(int c) {
+        return c == '\n' || c == '\r';
+    }
+
+    /**
+     * 실제 소켓 전송을 기록하는 세션 (Spring 세션 데코레이터 안쪽에서 호출되므로 전송은 한 번에 하나씩)
+     * - MESSAGE 프레임만 전송 수에 반영 (preSend의 대기 수 집계 대상과 같음)
+     */
+    private final class FlowTrackingSession extends WebSocketSessionDecorator {
+
+        private final SessionFlow flow;
+
+        FlowTrackingSession(WebSocketSession session, SessionFlow flow) {
+            super(session);
+            this.flow = flow;
+        }
+
+        @Override
+        public void sendMessage(WebSocketMessage<?> message) throws IOException {
+            boolean counted = isMessageFrame(message);
+            try {
+                super.sendMessage(message);
+            } finally {
+                if (counted) {
+                    onSent(flow);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.onboarding.websocket;
+
+import com.example.onboarding.config.BrokerProperties;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.stereotype.Component;
+
+import java.util.function.UnaryOperator;
+
+/**
+ * 외부 브로커 중계(relay) 모드의 목적지 변환
+ * - 클라이언트와 서버 코드는 /sub/... 목적지를 그대로 사용하고, 브로커로 나가는 목적지만 브로커가 받는 형식으로 변환
+ *   (/sub/room/1 → /topic/room.1, /sub/suggestion-user{sessionId} → /topic/suggestion-user{sessionId})
+ * - RabbitMQ STOMP는 /topic, /queue, /exchange 등으로 시작하는 목적지만 받고 /topic/ 뒤에 '/'를 허용하지 않음
+ * - 브로커에서 받은 메시지는 클라이언트에 보내기 전에 /sub/... 로 되돌림 (흐름 제어의 채팅 목적지 판별도 /sub 기준)
+ * - /sub/ 로 시작하지 않는 목적지(사용자 레지스트리 브로드캐스트 등)는 브로커 형식 그대로 사용
+ * - /sub 아래 목적지 이름에는 구분자(relay-path-separator)를 쓰지 않아야 되돌릴 때 같은 목적지가 됨
+ */
+@Component
+public class RelayDestinationMapper {
+
+    /**
+     * 클라이언트/서버 코드가 사용하는 브로드캐스트 목적지 prefix
+     */
+    public static final String CLIENT_PREFIX = "/sub/";
+
+    private final boolean enabled;
+    private final String brokerPrefix;
+    private final String separator;
+
+    public RelayDestinationMapper(BrokerProperties brokerProperties) {
+        this.enabled = brokerProperties.isRelay();
+        String prefix = brokerProperties.getRelayDestinationPrefix();
+        this.brokerPrefix = prefix.endsWith("/") ? prefix : prefix + "/";
+        this.separator = brokerProperties.getRelayPathSeparator();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 중계 대상 목적지 prefix (enableStompBrokerRelay에 등록)
+     */
+    public String brokerPrefix() {
+        return brokerPrefix;
+    }
+
+    /**
+     * /sub/a/b → {brokerPrefix}a{separator}b, 그 외 목적지는 그대로
+     */
+    public String toBroker(String destination) {
+        if (destination == null || !destination.startsWith(CLIENT_PREFIX)) {
+            return destination;
+        }
+        return brokerPrefix + destination.substring(CLIENT_PREFIX.length()).replace("/", separator);
+    }
+
+    /**
+     * {brokerPrefix}a{separator}b → /sub/a/b, 그 외 목적지는 그대로
+     */
+    public String toClient(String destination) {
+        if (destination == null || !destination.startsWith(brokerPrefix)) {
+            return destination;
+        }
+        return CLIENT_PREFIX + destination.substring(brokerPrefix.length()).replace(separator, "/");
+    }
+
+    /**
+     * 클라이언트 인바운드/브로커 채널용 (클라이언트 SUBSCRIBE/SEND, 서버 전송, 사용자 목적지 변환 결과)
+     */
+    public ChannelInterceptor toBrokerInterceptor() {
+        return new DestinationInterceptor(this::toBroker);
+    }
+
+    /**
+     * 클라이언트 아웃바운드 채널용 (브로커에서 받은 MESSAGE)
+     */
+    public ChannelInterceptor toClientInterceptor() {
+        return new DestinationInterceptor(this::toClient);
+    }
+
+    private record DestinationInterceptor(UnaryOperator<String> mapping) implements ChannelInterceptor {
+
+        @Override
+        public Message<?> preSend(Message<?> message, MessageChannel channel) {
+            String destination = SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+            String mapped = mapping.apply(destination);
+            if (mapped == null || mapped.equals(destination)) {
+                return message;
+            }
+            // 원래 메시지의 헤더는 그대로 두고 (구독 이벤트 등이 참조) 목적지만 바꾼 복사본 전달
+            MessageHeaderAccessor original = MessageHeaderAccessor.getAccessor(message, MessageHeaderAccessor.class);
+            SimpMessageHeaderAccessor accessor = original instanceof StompHeaderAccessor
+                    ? StompHeaderAccessor.wrap(message)
+                    : SimpMessageHeaderAccessor.wrap(message);
+            accessor.setDestination(mapped);
+            if (accessor instanceof StompHeaderAccessor stompAccessor) {
+                stompAccessor.setNativeHeader(StompHeaderAccessor.STOMP_DESTINATION_HEADER, mapped);
+            }
+            accessor.setLeaveMutable(original != null && original.isMutable());
+            return MessageBuilder.createMessage(message.getPayload(), accessor.getMessageHeaders());
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.onboarding.websocket;
+
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.server.support.DefaultHandshakeHandler;
+
+import java.security.Principal;
+import java.util.Map;
+
+/**
+ * WebSocket Handshake 핸들러
+ * - 연결의 Principal을 핸드셰이크에서 정한 사용자 ID로 고정 (UserHandshakeInterceptor가 세션 속성에 저장한 값)
+ * - 인증된 HTTP Principal이 있으면 그대로 사용
+ * - SockJS HTTP 전송(xhr-streaming 등)에는 적용되지 않으므로, 그 경우 UserSessionChannelInterceptor가 CONNECT 시 같은 값으로 Principal 설정
+ */
+@Component
+public class UserHandshakeHandler extends DefaultHandshakeHandler {
+
+    @Override
+    protected Principal determineUser(ServerHttpRequest request, WebSocketHandler wsHandler,
+                                      Map<String, Object> attributes) {
+        Principal principal = super.determineUser(request, wsHandler, attributes);
+        if (principal != null) {
+            return principal;
+        }
+        Object userId = attributes.get(UserHandshakeInterceptor.USER_ID_ATTRIBUTE);
+        return userId != null ? new StompPrincipal(userId.toString()) : null;
+    }
+
+    /**
+     * 사용자 ID를 이름으로 쓰는 Principal (/user 목적지가 사용자의 모든 세션으로 전달됨)
+     */
+    record StompPrincipal(String name) implements Principal {
+
+        @Override
+        public String getName() {
+            return name;
+        }
+    }
+}
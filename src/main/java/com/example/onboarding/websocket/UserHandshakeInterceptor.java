@@ -1,33 +1,59 @@
 package com.example.onboarding.websocket;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.server.ServerHttpRequest;
 import org.springframework.http.server.ServerHttpResponse;
 import org.springframework.stereotype.Component;
 import org.springframework.web.socket.WebSocketHandler;
 import org.springframework.web.socket.server.HandshakeInterceptor;
+import org.springframework.web.util.UriComponentsBuilder;
 
+import java.security.Principal;
 import java.util.Map;
+import java.util.UUID;
 
 /**
  * WebSocket Handshake 인터셉터
- * - WebSocket 연결 시 기본 핸드셰이크 처리
- * - 사용자 정보는 STOMP CONNECT 시 헤더에서 추출됨
+ * - 연결의 사용자 ID를 핸드셰이크에서 한 번 정하고 세션 속성에 저장 (UserHandshakeHandler가 Principal로 사용)
+ * - HTTP 요청에 인증된 Principal이 있으면 그 이름을 사용 (앞단 인증이 있는 배포)
+ * - 없으면 연결 URL의 userId 쿼리 파라미터 (/ws-chat?userId={UUID}), 없거나 UUID가 아니면 400으로 거절
+ *
+ * 신뢰 전제
+ * - 이 서비스에는 자체 인증이 없어, 쿼리 파라미터의 userId는 클라이언트가 만든 값을 그대로 믿음
+ * - 연결 이후에는 STOMP 헤더(X-User-Id)로 사용자를 바꿀 수 없음 (한 연결 = 한 사용자)
+ * - userId는 채팅 메시지의 senderId로 다른 사용자에게도 보이므로, 이 값만으로는 개인 목적지(/user/...)를 보호하지 못함
+ * - 운영에서 개인 메시지를 보호하려면 /ws-chat 앞에 인증(Spring Security, 게이트웨이 등)을 두어 Principal을 채워야 함
  */
 @Slf4j
 @Component
 public class UserHandshakeInterceptor implements HandshakeInterceptor {
 
+    /**
+     * 핸드셰이크에서 정한 사용자 ID를 담는 세션 속성
+     */
+    public static final String USER_ID_ATTRIBUTE = "handshakeUserId";
+
+    private static final String USER_ID_PARAM = "userId";
+    private static final int UUID_LENGTH = 36;
+
     /**
      * Handshake 전 실행
-     * - WebSocket 연결 허용 (사용자 정보는 STOMP CONNECT 시 검증)
+     * - 사용자 ID를 정할 수 없으면 연결 거절
      */
     @Override
     public boolean beforeHandshake(ServerHttpRequest request, ServerHttpResponse response,
                                    WebSocketHandler wsHandler, Map<String, Object> attributes) {
+        String userId = resolveUserId(request);
+        if (userId == null) {
+            log.warn("WebSocket Handshake rejected - missing or invalid userId: {}", request.getURI().getPath());
+            response.setStatusCode(HttpStatus.BAD_REQUEST);
+            return false;
+        }
 
-        log.info("WebSocket Handshake - Connection allowed");
-        return true;  // 모든 연결 허용 (STOMP CONNECT 시 사용자 정보 검증)
+        attributes.put(USER_ID_ATTRIBUTE, userId);
+        log.info("WebSocket Handshake - userId: {}", userId);
+        return true;
     }
 
     @Override
@@ -35,4 +61,25 @@ public class UserHandshakeInterceptor implements HandshakeInterceptor {
                               WebSocketHandler wsHandler, Exception exception) {
         // Handshake 후 처리 (필요 시 구현)
     }
+
+    /**
+     * 인증된 Principal 이름, 없으면 userId 쿼리 파라미터 (36자 UUID 형식만 허용, 클라이언트가 보낸 값 그대로 사용)
+     */
+    private static String resolveUserId(ServerHttpRequest request) {
+        Principal principal = request.getPrincipal();
+        if (principal != null) {
+            return principal.getName();
+        }
+
+        String userId = UriComponentsBuilder.fromUri(request.getURI()).build().getQueryParams().getFirst(USER_ID_PARAM);
+        if (userId == null || userId.length() != UUID_LENGTH) {
+            return null;
+        }
+        try {
+            UUID.fromString(userId);
+            return userId;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
 }
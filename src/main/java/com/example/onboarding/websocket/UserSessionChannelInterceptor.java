@@ -1,8 +1,11 @@
 package com.example.onboarding.websocket;
 
+import com.example.onboarding.service.ChatUserRegistry;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.messaging.Message;
 import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageDeliveryException;
 import org.springframework.messaging.simp.stomp.StompCommand;
 import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
 import org.springframework.messaging.support.ChannelInterceptor;
@@ -11,24 +14,30 @@ import org.springframework.stereotype.Component;
 
 import java.security.Principal;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.UUID;
 
 /**
  * STOMP 채널 인터셉터
  * - STOMP 메시지 처리 시 사용자 세션 정보를 관리
- * - CONNECT 시 세션에 사용자 정보 저장
+ * - CONNECT 시 세션에 사용자 정보 저장 및 사용자/세션 레지스트리 등록
+ * - 사용자 ID는 핸드셰이크에서 정한 값만 사용 (UserHandshakeInterceptor 참고, 신뢰 전제도 그곳에 정리)
+ *   - X-User-Id 헤더는 선택이며, 보내면 핸드셰이크 사용자와 같아야 함 (다르면 CONNECT 거절)
+ * - CONNECT 헤더 X-Wire-Format으로 세션 전송 형식(JSON/CBOR) 선택
  * - DISCONNECT 시 세션 정보 제거
+ * - Principal 이름은 userId (/user 목적지가 사용자의 모든 세션으로 전달됨)
  */
 @Slf4j
 @Component
+@RequiredArgsConstructor
 public class UserSessionChannelInterceptor implements ChannelInterceptor {
 
-    // sessionId -> userId 매핑 (Private 메시지 전송 시 사용)
-    private final Map<String, String> sessionUserMap = new ConcurrentHashMap<>();
+    private final ChatUserRegistry chatUserRegistry;
+    private final UserSessionRegistry userSessionRegistry;
+    private final CompactWireFormat compactWireFormat;
 
     /**
      * 메시지 전송 전 실행
-     * - CONNECT: 세션에 사용자 정보 저장
+     * - CONNECT: 세션에 사용자 정보 저장 (사용자를 정할 수 없으면 MessageDeliveryException으로 ERROR 프레임 전송 후 종료)
      * - DISCONNECT: 세션 정보 제거
      */
     @Override
@@ -40,39 +49,16 @@ public class UserSessionChannelInterceptor implements ChannelInterceptor {
 
             // CONNECT 명령 처리
             if (StompCommand.CONNECT.equals(command)) {
-                // STOMP CONNECT 헤더에서 사용자 정보 추출
-                String userId = accessor.getFirstNativeHeader("X-User-Id");
-                String nickname = accessor.getFirstNativeHeader("X-Nickname");
-
-                if (userId != null && nickname != null) {
-                    String sessionId = accessor.getSessionId();
-
-                    // 세션 속성에 사용자 정보 저장
-                    Map<String, Object> sessionAttributes = accessor.getSessionAttributes();
-                    if (sessionAttributes != null) {
-                        sessionAttributes.put("userId", userId);
-                        sessionAttributes.put("nickname", nickname);
-                    }
-
-                    // Principal 설정 (sessionId를 principal name으로 사용)
-                    // 이를 통해 Spring STOMP의 User Destination 메커니즘이 정상 작동함
-                    Principal principal = () -> sessionId;
-                    accessor.setUser(principal);
-
-                    // 세션-사용자 매핑 저장
-                    sessionUserMap.put(sessionId, userId);
-
-                    log.info("STOMP CONNECT - sessionId: {}, userId: {}, nickname: {}, principal: {}",
-                            sessionId, userId, nickname, principal.getName());
-                    log.info("SessionUserMap updated - size: {}, entries: {}", sessionUserMap.size(), sessionUserMap);
-                } else {
-                    log.warn("STOMP CONNECT failed - Missing X-User-Id or X-Nickname in STOMP headers");
-                }
+                connect(accessor);
+
+                // 전송 형식 선택 (cbor를 요청하지 않은 세션은 JSON 유지)
+                compactWireFormat.register(accessor.getSessionId(),
+                        accessor.getFirstNativeHeader(CompactWireFormat.WIRE_FORMAT_HEADER));
             }
             // SUBSCRIBE 명령 처리
             else if (StompCommand.SUBSCRIBE.equals(command)) {
                 String sessionId = accessor.getSessionId();
-                String userId = sessionUserMap.get(sessionId);
+                String userId = userSessionRegistry.getUserId(sessionId);
                 String destination = accessor.getDestination();
                 String subscriptionId = accessor.getSubscriptionId();
 
@@ -87,7 +73,7 @@ public class UserSessionChannelInterceptor implements ChannelInterceptor {
             // DISCONNECT 명령 처리
             else if (StompCommand.DISCONNECT.equals(command)) {
                 String sessionId = accessor.getSessionId();
-                String userId = sessionUserMap.remove(sessionId);
+                String userId = userSessionRegistry.unregister(sessionId);
 
                 log.info("STOMP DISCONNECT - sessionId: {}, userId: {}", sessionId, userId);
             }
@@ -97,20 +83,66 @@ public class UserSessionChannelInterceptor implements ChannelInterceptor {
     }
 
     /**
-     * sessionId로 userId 조회
+     * CONNECT 처리
+     * - Principal: 웹소켓 전송은 핸드셰이크에서 이미 설정됨, SockJS HTTP 전송은 핸드셰이크 세션 속성으로 여기서 설정
+     * - 닉네임(X-Nickname)이 없으면 연결은 유지하되 채팅 발신과 사용자 레지스트리 등록은 하지 않음
      */
-    public String getUserIdBySessionId(String sessionId) {
-        return sessionUserMap.get(sessionId);
+    private void connect(StompHeaderAccessor accessor) {
+        String sessionId = accessor.getSessionId();
+        Map<String, Object> sessionAttributes = accessor.getSessionAttributes();
+        String userId = handshakeUserId(accessor.getUser(), sessionAttributes);
+        if (userId == null) {
+            log.warn("STOMP CONNECT rejected - no handshake user, sessionId: {}", sessionId);
+            throw new MessageDeliveryException("No user bound to the WebSocket handshake");
+        }
+
+        String claimedUserId = accessor.getFirstNativeHeader("X-User-Id");
+        if (claimedUserId != null && !claimedUserId.equals(userId)) {
+            log.warn("STOMP CONNECT rejected - X-User-Id {} does not match handshake user {}, sessionId: {}",
+                    claimedUserId, userId, sessionId);
+            throw new MessageDeliveryException("X-User-Id does not match the WebSocket handshake user");
+        }
+
+        // Principal 설정 (userId를 principal name으로 사용)
+        // /user/{userId}/... 로 보낸 개인 메시지가 이 사용자의 모든 세션으로 전달됨
+        if (accessor.getUser() == null) {
+            accessor.setUser(new UserHandshakeHandler.StompPrincipal(userId));
+        }
+
+        // 세션-사용자 매핑 저장
+        userSessionRegistry.register(sessionId, userId);
+
+        String nickname = accessor.getFirstNativeHeader("X-Nickname");
+        if (nickname == null) {
+            log.warn("STOMP CONNECT - missing X-Nickname, sessionId: {}, userId: {}", sessionId, userId);
+            return;
+        }
+
+        // 세션 속성에 사용자 정보 저장
+        if (sessionAttributes != null) {
+            sessionAttributes.put("userId", userId);
+            sessionAttributes.put("nickname", nickname);
+        }
+
+        // 사용자 레지스트리 등록 (새 사용자/닉네임 변경 시 비동기 저장, 인증된 Principal 이름이 UUID가 아니면 생략)
+        try {
+            chatUserRegistry.register(UUID.fromString(userId), nickname);
+        } catch (IllegalArgumentException e) {
+            log.warn("STOMP CONNECT - userId is not a UUID, skipping user registry: {}", userId);
+        }
+
+        log.info("STOMP CONNECT - sessionId: {}, userId: {}, nickname: {}", sessionId, userId, nickname);
+        log.debug("User session registry updated - sessions: {}", userSessionRegistry.sessionCount());
     }
 
     /**
-     * userId로 sessionId 조회
+     * 핸드셰이크에서 정한 사용자 ID (Principal 우선, 없으면 핸드셰이크 세션 속성)
      */
-    public String getSessionIdByUserId(String userId) {
-        return sessionUserMap.entrySet().stream()
-                .filter(entry -> entry.getValue().equals(userId))
-                .map(Map.Entry::getKey)
-                .findFirst()
-                .orElse(null);
+    private static String handshakeUserId(Principal principal, Map<String, Object> sessionAttributes) {
+        if (principal != null) {
+            return principal.getName();
+        }
+        Object userId = sessionAttributes != null ? sessionAttributes.get(UserHandshakeInterceptor.USER_ID_ATTRIBUTE) : null;
+        return userId != null ? userId.toString() : null;
     }
 }
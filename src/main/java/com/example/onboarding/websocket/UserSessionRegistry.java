@@ -0,0 +1,103 @@
+package com.example.onboarding.websocket;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 사용자 ↔ STOMP 세션 양방향 레지스트리
+ * - sessionId → userId 조회 O(1) (흐름 제어 현황, SUBSCRIBE 로그)
+ * - userId → sessionId 집합은 접속 사용자 수 집계용 (사용자 전달 여부는 SimpUserRegistry로 판단, relay 모드에서 다른 인스턴스 포함)
+ * - 한 사용자가 여러 세션(탭/기기)으로 접속할 수 있음
+ * - CONNECT 시 등록, DISCONNECT(정상 종료/연결 끊김 모두) 시 제거
+ * - 메트릭: chat.sessions.active (세션 수), chat.sessions.users (접속 사용자 수)
+ */
+@Slf4j
+@Component
+public class UserSessionRegistry {
+
+    /**
+     * Key: sessionId
+     * Value: userId
+     */
+    private final ConcurrentHashMap<String, String> userBySession = new ConcurrentHashMap<>();
+
+    /**
+     * Key: userId
+     * Value: 사용자의 sessionId 집합 (compute 안에서만 변경)
+     */
+    private final ConcurrentHashMap<String, Set<String>> sessionsByUser = new ConcurrentHashMap<>();
+
+    public UserSessionRegistry(MeterRegistry meterRegistry) {
+        Gauge.builder("chat.sessions.active", userBySession, ConcurrentHashMap::size)
+                .description("Connected STOMP sessions")
+                .register(meterRegistry);
+        Gauge.builder("chat.sessions.users", sessionsByUser, ConcurrentHashMap::size)
+                .description("Users with at least one connected STOMP session")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 세션 등록 (같은 세션이 다른 사용자로 다시 등록되면 이전 사용자에서 제거)
+     *
+     * @param sessionId STOMP 세션 ID
+     * @param userId 사용자 ID
+     */
+    public void register(String sessionId, String userId) {
+        String previous = userBySession.put(sessionId, userId);
+        if (previous != null && !previous.equals(userId)) {
+            removeSession(previous, sessionId);
+        }
+        sessionsByUser.compute(userId, (id, sessions) -> {
+            Set<String> updated = sessions != null ? sessions : ConcurrentHashMap.newKeySet();
+            updated.add(sessionId);
+            return updated;
+        });
+    }
+
+    /**
+     * 세션 제거
+     *
+     * @param sessionId STOMP 세션 ID
+     * @return 세션의 사용자 ID, 등록되지 않은 세션이면 null
+     */
+    public String unregister(String sessionId) {
+        String userId = userBySession.remove(sessionId);
+        if (userId != null) {
+            removeSession(userId, sessionId);
+        }
+        return userId;
+    }
+
+    /**
+     * 연결 종료 시 제거 (DISCONNECT 프레임 없이 연결이 끊긴 경우 포함, 중복 호출 무해)
+     */
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        unregister(event.getSessionId());
+    }
+
+    /**
+     * 세션의 사용자 ID
+     */
+    public String getUserId(String sessionId) {
+        return userBySession.get(sessionId);
+    }
+
+    public int sessionCount() {
+        return userBySession.size();
+    }
+
+    private void removeSession(String userId, String sessionId) {
+        sessionsByUser.computeIfPresent(userId, (id, sessions) -> {
+            sessions.remove(sessionId);
+            return sessions.isEmpty() ? null : sessions;
+        });
+    }
+}
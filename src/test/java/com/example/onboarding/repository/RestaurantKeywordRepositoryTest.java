@@ -0,0 +1,157 @@
+package com.example.onboarding.repository;
+
+import com.example.onboarding.dto.RestaurantKeywordScore;
+import com.example.onboarding.entity.Restaurant;
+import com.example.onboarding.entity.RestaurantEntityListener;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@Import(RestaurantEntityListener.class)
+class RestaurantKeywordRepositoryTest {
+
+    @Container
+    @ServiceConnection
+    static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private RestaurantRepository restaurantRepository;
+
+    @Autowired
+    private RestaurantKeywordRepository restaurantKeywordRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void ordersByMatchesThenRatingWithNullRatingsLast() {
+        Long both = save("판교, 한식", 3.5);
+        Long unrated = save("판교", null);
+        Long higher = save("판교", 4.8);
+        Long lower = save("한식", 4.1);
+        save("강남,양식", 5.0);
+
+        List<RestaurantKeywordScore> scores = restaurantKeywordRepository.findScores(List.of("판교", "한식"), PageRequest.of(0, 10));
+
+        assertThat(scores).extracting(RestaurantKeywordScore::getRestaurantId).containsExactly(both, higher, lower, unrated);
+        assertThat(scores).extracting(RestaurantKeywordScore::getScore).containsExactly(2L, 1L, 1L, 1L);
+        assertThat(restaurantKeywordRepository.findScores(List.of("판교", "한식"), PageRequest.of(0, 2)))
+                .extracting(RestaurantKeywordScore::getRestaurantId).containsExactly(both, higher);
+    }
+
+    @Test
+    void requiresTheKeywordAndAMinimumScore() {
+        Long pangyoKorean = save("판교,한식", 3.5);
+        Long pangyoChinese = save("판교,중식", 4.5);
+        save("판교,양식", 4.9);
+        save("강남,한식,중식", 5.0);
+
+        List<RestaurantKeywordScore> scores = restaurantKeywordRepository.findScoresRequiring(
+                "판교", List.of("판교", "한식", "중식"), 2, PageRequest.of(0, 10));
+
+        assertThat(scores).extracting(RestaurantKeywordScore::getRestaurantId).containsExactly(pangyoChinese, pangyoKorean);
+    }
+
+    @Test
+    void copiesTheRatingIntoKeywordRowsAndBackfillsMissingOnes() {
+        Long first = save("판교", 4.0);
+        Long second = save("판교", 4.5);
+
+        // 평점이 바뀐 맛집은 키워드 행 재구성으로 순서가 바뀜
+        Restaurant restaurant = restaurantRepository.findById(first).orElseThrow();
+        restaurant.setRating(4.9);
+        restaurantRepository.saveAndFlush(restaurant);
+        restaurantKeywordRepository.deleteByRestaurantIds(List.of(first));
+        restaurantKeywordRepository.insertFromRestaurants(List.of(first));
+        assertThat(ids(restaurantKeywordRepository.findScores(List.of("판교"), PageRequest.of(0, 10))))
+                .containsExactly(first, second);
+
+        // rating 컬럼 추가 전에 만들어진 행
+        jdbcTemplate.update("UPDATE restaurant_keywords SET rating = NULL");
+        assertThat(restaurantKeywordRepository.backfillRatings()).isEqualTo(2);
+        assertThat(jdbcTemplate.queryForList("SELECT rating FROM restaurant_keywords ORDER BY rating", Double.class))
+                .containsExactly(4.5, 4.9);
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void answersScoreQueriesFromTheKeywordRatingIndexAlone() {
+        try {
+            jdbcTemplate.update("INSERT INTO restaurants (name, keywords, rating) " +
+                    "SELECT '맛집 ' || i, '지역' || (i % 20) || ',메뉴' || (i % 100) || ',태그' || (i % 7), (i % 50) / 10.0 " +
+                    "FROM generate_series(1, 5000) AS i");
+            jdbcTemplate.update(RestaurantKeywordRepository.INSERT_KEYWORD_ROWS + "ON CONFLICT DO NOTHING");
+            // 방금 넣은 행도 heap을 읽지 않도록 visibility map 갱신 (트랜잭션 밖에서만 실행 가능)
+            jdbcTemplate.execute("VACUUM ANALYZE restaurant_keywords");
+
+            String plan = explain(RestaurantKeywordRepository.SCORES_SQL + RestaurantKeywordRepository.SCORES_ORDER,
+                    Map.of("keywords", List.of("지역3", "메뉴3")));
+            String requiringPlan = explain(RestaurantKeywordRepository.SCORES_SQL +
+                            "HAVING count(*) FILTER (WHERE k.keyword = :required) > 0 AND count(*) >= 2 " +
+                            RestaurantKeywordRepository.SCORES_ORDER,
+                    Map.of("required", "지역3", "keywords", List.of("지역3", "메뉴3", "태그3")));
+
+            for (String explained : List.of(plan, requiringPlan)) {
+                assertThat(explained)
+                        .contains("Index Only Scan using idx_restaurant_keywords_keyword_rating on restaurant_keywords")
+                        .contains("Heap Fetches: 0")
+                        .doesNotContain("restaurants r")
+                        .doesNotContain("Join");
+            }
+        } finally {
+            jdbcTemplate.execute("TRUNCATE restaurant_keywords, restaurants");
+        }
+    }
+
+    /**
+     * 실제 조회와 같은 SQL의 실행 계획 (LIMIT 포함)
+     * - 행 수가 적어도 계획이 흔들리지 않도록 순차/비트맵 스캔을 끔 (인덱스 중 무엇을 쓰는지만 확인)
+     */
+    private String explain(String sql, Map<String, ?> params) {
+        NamedParameterJdbcTemplate named = new NamedParameterJdbcTemplate(jdbcTemplate);
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+            jdbcTemplate.execute("SET LOCAL enable_bitmapscan = off");
+            return String.join("\n", named.queryForList("EXPLAIN (ANALYZE, COSTS OFF) " + sql + " LIMIT 10",
+                    params, String.class));
+        });
+    }
+
+    private Long save(String keywords, Double rating) {
+        Restaurant restaurant = restaurantRepository.saveAndFlush(Restaurant.builder()
+                .name("맛집")
+                .keywords(keywords)
+                .rating(rating)
+                .build());
+        restaurantKeywordRepository.insertFromRestaurants(List.of(restaurant.getId()));
+        return restaurant.getId();
+    }
+
+    private static List<Long> ids(List<RestaurantKeywordScore> scores) {
+        return scores.stream().map(RestaurantKeywordScore::getRestaurantId).toList();
+    }
+}
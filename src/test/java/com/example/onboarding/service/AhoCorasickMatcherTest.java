@@ -0,0 +1,51 @@
+package com.example.onboarding.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AhoCorasickMatcherTest {
+
+    private static final int MEAL = 1;
+    private static final int FOOD = 1 << 2;
+    private static final int LOCATION = 1 << 3;
+
+    @Test
+    void returnsUnionOfMatchedCategories() {
+        AhoCorasickMatcher matcher = AhoCorasickMatcher.compile(Map.of("점심", MEAL, "국밥", FOOD, "판교", LOCATION));
+
+        assertThat(matcher.match("판교에서 점심")).isEqualTo(MEAL | LOCATION);
+        assertThat(matcher.match("국밥")).isEqualTo(FOOD);
+        assertThat(matcher.match("회의 시작합니다")).isZero();
+        assertThat(matcher.match(null)).isZero();
+    }
+
+    @Test
+    void findsOverlappingAndNestedPatternsThroughFailureLinks() {
+        // "김치찌개" 안의 "찌개", "삼겹살" 진행 중 실패 후 "겹살"로 이어지는 경우
+        AhoCorasickMatcher matcher = AhoCorasickMatcher.compile(Map.of("김치찌개", MEAL, "찌개", FOOD, "겹살집", LOCATION, "삼겹", MEAL));
+
+        assertThat(matcher.match("김치찌개")).isEqualTo(MEAL | FOOD);
+        assertThat(matcher.match("된장찌개")).isEqualTo(FOOD);
+        assertThat(matcher.match("삼겹살집")).isEqualTo(MEAL | LOCATION);
+    }
+
+    @Test
+    void ignoresWhitespaceAndCase() {
+        AhoCorasickMatcher matcher = AhoCorasickMatcher.compile(Map.of("뭐 먹", MEAL, "BBQ", FOOD));
+
+        assertThat(matcher.match("뭐먹지")).isEqualTo(MEAL);
+        assertThat(matcher.match("뭐   먹\n지")).isEqualTo(MEAL);
+        assertThat(matcher.match("bbq 갈래")).isEqualTo(FOOD);
+    }
+
+    @Test
+    void mergesMasksOfDuplicatePatternsAfterNormalization() {
+        AhoCorasickMatcher matcher = AhoCorasickMatcher.compile(Map.of("점 심", MEAL, "점심", FOOD, "", LOCATION));
+
+        assertThat(matcher.match("점심")).isEqualTo(MEAL | FOOD);
+        assertThat(matcher.stateCount()).isEqualTo(3);
+    }
+}
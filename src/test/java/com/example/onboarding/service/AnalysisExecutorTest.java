@@ -0,0 +1,50 @@
+package com.example.onboarding.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AnalysisExecutorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void dropsOldestQueuedAnalysisAcrossRoomsWhenFull() throws Exception {
+        AnalysisExecutor executor = new AnalysisExecutor(1, 2, false, meterRegistry);
+        CompletableFuture<String> claude = new CompletableFuture<>();
+
+        CompletableFuture<String> running = executor.submit(1L, () -> claude);
+        CompletableFuture<String> oldest = executor.submit(2L, () -> CompletableFuture.completedFuture("room 2"));
+        CompletableFuture<String> second = executor.submit(3L, () -> CompletableFuture.completedFuture("room 3"));
+        CompletableFuture<String> newest = executor.submit(4L, () -> CompletableFuture.completedFuture("room 4"));
+
+        assertThat(oldest).failsWithin(1, TimeUnit.SECONDS)
+                .withThrowableOfType(Exception.class)
+                .withCauseInstanceOf(RejectedExecutionException.class);
+        assertThat(meterRegistry.get("chat.analysis.executor.rejected").functionCounter().count()).isEqualTo(1.0);
+
+        claude.complete("room 1");
+        assertThat(running).succeedsWithin(1, TimeUnit.SECONDS).isEqualTo("room 1");
+        assertThat(second).succeedsWithin(1, TimeUnit.SECONDS).isEqualTo("room 3");
+        assertThat(newest).succeedsWithin(1, TimeUnit.SECONDS).isEqualTo("room 4");
+
+        executor.shutdown();
+    }
+
+    @Test
+    void failsQueuedAnalysesOnShutdown() throws Exception {
+        AnalysisExecutor executor = new AnalysisExecutor(1, 10, false, meterRegistry);
+        executor.submit(1L, CompletableFuture::new);
+        CompletableFuture<String> queued = executor.submit(2L, () -> CompletableFuture.completedFuture("room 2"));
+
+        executor.shutdown();
+
+        assertThat(queued).isCompletedExceptionally();
+        assertThat(executor.submit(3L, () -> CompletableFuture.completedFuture("room 3"))).isCompletedExceptionally();
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.onboarding.service;
+
+import com.example.onboarding.dto.ClaudeAnalysisResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AnalysisResultCacheTest {
+
+    private final AnalysisResultCache cache = new AnalysisResultCache(new SimpleMeterRegistry(), Duration.ofMinutes(10), 100);
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @Test
+    void cachesParsedResultUnderNormalizedKey() {
+        ClaudeAnalysisResult first = analyze("점심 뭐 먹지???", result(false)).blockLast();
+        ClaudeAnalysisResult second = analyze("점심뭐먹지", result(false)).blockLast();
+
+        assertThat(second).isSameAs(first);
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    void doesNotCacheFallbackResult() {
+        ClaudeAnalysisResult fallback = analyze("점심 뭐 먹지", result(true)).blockLast();
+        ClaudeAnalysisResult retried = analyze("점심 뭐 먹지", result(false)).blockLast();
+
+        assertThat(fallback.isFallback()).isTrue();
+        assertThat(retried.isFallback()).isFalse();
+        assertThat(calls).hasValue(2);
+    }
+
+    @Test
+    void cachesFinalStreamingResult() {
+        ClaudeAnalysisResult partial = ClaudeAnalysisResult.builder().shouldRecommend(true).confidence(0.9).build();
+        ClaudeAnalysisResult last = result(false);
+
+        List<ClaudeAnalysisResult> streamed = cache.get(List.of("민수: 배고프다"), "강남 점심", () -> {
+            calls.incrementAndGet();
+            return Flux.just(partial, last);
+        }).collectList().block();
+
+        assertThat(streamed).containsExactly(partial, last);
+        assertThat(analyze("강남 점심", result(false)).collectList().block()).containsExactly(last);
+    }
+
+    private Flux<ClaudeAnalysisResult> analyze(String message, ClaudeAnalysisResult result) {
+        return cache.get(List.of("민수: 배고프다"), message, () -> {
+            calls.incrementAndGet();
+            return Flux.just(result);
+        });
+    }
+
+    private static ClaudeAnalysisResult result(boolean fallback) {
+        return ClaudeAnalysisResult.builder()
+                .shouldRecommend(true)
+                .confidence(fallback ? 0.5 : 0.9)
+                .reasoning(fallback ? "Fallback keyword detection (JSON parsing failed)" : "점심 장소 논의")
+                .fallback(fallback)
+                .build();
+    }
+}
@@ -0,0 +1,174 @@
+package com.example.onboarding.service;
+
+import com.example.onboarding.dto.CatalogImportStatus;
+import com.example.onboarding.entity.RestaurantEntityListener;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.verify;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@Import({RestaurantKeywordService.class, RestaurantEntityListener.class})
+class CatalogImportServiceTest {
+
+    @Container
+    @ServiceConnection
+    static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static final String HEADER = "name,category,location_text,keywords,rating,latitude,longitude\n";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private RestaurantKeywordService restaurantKeywordService;
+
+    private final RestaurantKeywordIndex restaurantKeywordIndex = mock(RestaurantKeywordIndex.class);
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("DELETE FROM restaurant_keywords");
+        jdbcTemplate.execute("DELETE FROM restaurants");
+    }
+
+    @Test
+    void writesOnlyNewOrChangedRowsAndSkipsAnIdenticalFile() {
+        CatalogImportService service = service(500);
+
+        CatalogImportStatus first = service.importNow(csv(HEADER + """
+                판교 국밥,한식,판교역,"판교,국밥",4.5,37.39,127.11
+                강남 파스타,양식,강남역,"강남,파스타",4.0,,
+                역삼 초밥,일식,역삼역,"역삼,초밥",4.2,,
+                """), "catalog.csv");
+
+        assertThat(first.getState()).isEqualTo("COMPLETED");
+        assertThat(first.getRowsWritten()).isEqualTo(3);
+        assertThat(first.getRowsUnchanged()).isZero();
+        verify(restaurantKeywordIndex).rebuild();
+
+        // 평점만 바뀐 파일 → 바뀐 행만 갱신 (reWriteBatchedInserts에서도 RETURNING으로 구분)
+        reset(restaurantKeywordIndex);
+        String changed = HEADER + """
+                판교 국밥,한식,판교역,"판교,국밥",4.5,37.39,127.11
+                강남 파스타,양식,강남역,"강남,파스타",4.4,,
+                역삼 초밥,일식,역삼역,"역삼,초밥",4.2,,
+                """;
+        CatalogImportStatus second = service.importNow(csv(changed), "catalog.csv");
+
+        assertThat(second.getRowsWritten()).isEqualTo(1);
+        assertThat(second.getRowsUnchanged()).isEqualTo(2);
+        assertThat(jdbcTemplate.queryForObject("SELECT rating FROM restaurants WHERE name = '강남 파스타'", Double.class))
+                .isEqualTo(4.4);
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM restaurants", Long.class)).isEqualTo(3);
+        verify(restaurantKeywordIndex).rebuild();
+
+        // 같은 파일 → 건너뜀
+        reset(restaurantKeywordIndex);
+        CatalogImportStatus third = service.importNow(csv(changed), "catalog.csv");
+
+        assertThat(third.getState()).isEqualTo("SKIPPED");
+        assertThat(third.getRowsRead()).isZero();
+        verify(restaurantKeywordIndex, never()).rebuild();
+    }
+
+    @Test
+    void doesNotRebuildTheIndexWhenNothingChanged() {
+        CatalogImportService service = service(500);
+        String rows = "판교 국밥,한식,판교역,판교,4.5,,\n";
+        service.importNow(csv(HEADER + rows), "catalog.csv");
+        reset(restaurantKeywordIndex);
+
+        // 파일은 다르지만 (빈 줄 추가) 행 내용은 같음
+        CatalogImportStatus status = service.importNow(csv(HEADER + rows + "\n"), "catalog.csv");
+
+        assertThat(status.getState()).isEqualTo("COMPLETED");
+        assertThat(status.getRowsWritten()).isZero();
+        assertThat(status.getRowsUnchanged()).isEqualTo(1);
+        verify(restaurantKeywordIndex, never()).rebuild();
+    }
+
+    @Test
+    void rejectsInvalidRowsWithTheirLineNumbers() {
+        CatalogImportStatus status = service(500).importNow(csv(HEADER + """
+                판교 국밥,한식,판교역,판교,4.5,,
+                ,한식,판교역,판교,4.0,,
+                강남 파스타,양식,강남역,강남,6.0,,
+                역삼 초밥,일식,역삼역,역삼,4.2,37.5,
+                선릉 카레,일식,선릉역,선릉
+                """), "catalog.csv");
+
+        assertThat(status.getState()).isEqualTo("COMPLETED");
+        assertThat(status.getRowsWritten()).isEqualTo(1);
+        assertThat(status.getRowsRejected()).isEqualTo(4);
+        assertThat(status.getErrors()).containsExactly(
+                "line 3: name is required",
+                "line 4: rating out of range [0.0, 5.0]: 6.0",
+                "line 5: latitude and longitude must be given together",
+                "line 6: expected 7 columns but found 4");
+    }
+
+    @Test
+    void syncsKeywordRowsOfWrittenRestaurants() {
+        CatalogImportService service = service(500);
+        service.importNow(csv(HEADER + "판교 국밥,한식,판교역,\" 판교 , 국밥,판교 \",4.5,,\n"), "catalog.csv");
+
+        assertThat(keywords("판교 국밥")).containsExactly("국밥", "판교");
+
+        service.importNow(csv(HEADER + "판교 국밥,한식,판교역,\"판교,순대국\",4.5,,\n"), "catalog.csv");
+
+        assertThat(keywords("판교 국밥")).containsExactly("순대국", "판교");
+    }
+
+    @Test
+    void splitsBatchesLargerThanTheBindParameterLimit() {
+        // 12열 × 6000행 = 72000개 > 65535개 → 한 배치를 두 문장으로 나눠 저장
+        StringBuilder content = new StringBuilder(HEADER);
+        for (int i = 0; i < 6000; i++) {
+            content.append("맛집 ").append(i).append(",한식,판교역,판교,4.0,,\n");
+        }
+        CatalogImportService service = service(6000);
+
+        CatalogImportStatus first = service.importNow(csv(content.toString()), "catalog.csv");
+
+        assertThat(first.getRowsWritten()).isEqualTo(6000);
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM restaurants", Long.class)).isEqualTo(6000);
+
+        content.append("맛집 6000,한식,판교역,판교,4.0,,\n");
+        CatalogImportStatus second = service.importNow(csv(content.toString()), "catalog.csv");
+
+        assertThat(second.getRowsWritten()).isEqualTo(1);
+        assertThat(second.getRowsUnchanged()).isEqualTo(6000);
+    }
+
+    private CatalogImportService service(int batchSize) {
+        return new CatalogImportService(jdbcTemplate, restaurantKeywordIndex, restaurantKeywordService, batchSize);
+    }
+
+    private List<String> keywords(String name) {
+        return jdbcTemplate.queryForList("SELECT k.keyword FROM restaurant_keywords k " +
+                "JOIN restaurants r ON r.id = k.restaurant_id WHERE r.name = ? ORDER BY k.keyword", String.class, name);
+    }
+
+    private static ByteArrayResource csv(String content) {
+        return new ByteArrayResource(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
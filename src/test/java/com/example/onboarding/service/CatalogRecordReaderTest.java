@@ -0,0 +1,138 @@
+package com.example.onboarding.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CatalogRecordReaderTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void picksTheFormatFromTheExtension() {
+        assertThat(CatalogRecordReader.open(InputStream.nullInputStream(), "catalog.CSV", objectMapper)).isNotNull();
+        assertThat(CatalogRecordReader.open(InputStream.nullInputStream(), "catalog.ndjson", objectMapper)).isNotNull();
+        assertThat(CatalogRecordReader.open(InputStream.nullInputStream(), "catalog.jsonl", objectMapper)).isNotNull();
+        assertThatThrownBy(() -> CatalogRecordReader.open(InputStream.nullInputStream(), "catalog.xlsx", objectMapper))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("catalog.xlsx");
+        assertThatThrownBy(() -> CatalogRecordReader.open(InputStream.nullInputStream(), null, objectMapper))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void normalizesHeaderNames() throws IOException {
+        CatalogRecordReader reader = csv("\uFEFFName,Location_Text,image-url,Distance Text\n판교 맛집,판교역,/a.jpg,도보 5분\n");
+
+        assertThat(reader.next()).containsOnly(
+                Map.entry("name", "판교 맛집"),
+                Map.entry("locationtext", "판교역"),
+                Map.entry("imageurl", "/a.jpg"),
+                Map.entry("distancetext", "도보 5분"));
+        assertThat(reader.next()).isNull();
+    }
+
+    @Test
+    void readsQuotedCsvFieldsWithCommasQuotesAndNewlines() throws IOException {
+        CatalogRecordReader reader = csv("""
+                name,keywords,description
+                "판교 ""명가""\","판교,삼겹살,회식","첫 줄
+                둘째 줄"
+                 강남 파스타 , ,설명
+                """);
+
+        Map<String, String> first = reader.next();
+        assertThat(first).containsEntry("name", "판교 \"명가\"")
+                .containsEntry("keywords", "판교,삼겹살,회식")
+                .containsEntry("description", "첫 줄\n둘째 줄");
+        assertThat(reader.lineNumber()).isEqualTo(2);
+
+        // 앞뒤 공백 제거, 빈 값은 null
+        Map<String, String> second = reader.next();
+        assertThat(second).containsEntry("name", "강남 파스타").containsEntry("keywords", null);
+        assertThat(reader.lineNumber()).isEqualTo(4);
+        assertThat(reader.next()).isNull();
+    }
+
+    @Test
+    void rejectsBadCsvRowsAndContinuesWithTheNext() throws IOException {
+        CatalogRecordReader reader = csv("""
+                name,rating
+                판교 맛집,4.5,extra
+
+                강남 맛집,4.0
+                "닫히지 않은,3.0
+                """);
+
+        assertThatThrownBy(reader::next).isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("expected 2 columns but found 3");
+        assertThat(reader.lineNumber()).isEqualTo(2);
+
+        // 빈 줄은 건너뜀
+        assertThat(reader.next()).containsEntry("name", "강남 맛집").containsEntry("rating", "4.0");
+        assertThat(reader.lineNumber()).isEqualTo(4);
+
+        assertThatThrownBy(reader::next).isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("unterminated quoted field");
+        assertThat(reader.lineNumber()).isEqualTo(5);
+        assertThat(reader.next()).isNull();
+    }
+
+    @Test
+    void readsNdjsonObjectsAndJoinsArrays() throws IOException {
+        CatalogRecordReader reader = ndjson("""
+                {"name": "판교 맛집", "location_text": "판교역", "keywords": ["판교", "한식"], "rating": 4.5, "image_url": null}
+
+                {"Name": " 강남 맛집 ", "description": ""}
+                """);
+
+        assertThat(reader.next()).containsEntry("name", "판교 맛집")
+                .containsEntry("locationtext", "판교역")
+                .containsEntry("keywords", "판교,한식")
+                .containsEntry("rating", "4.5")
+                .containsEntry("imageurl", null);
+        assertThat(reader.next()).containsEntry("name", "강남 맛집").containsEntry("description", null);
+        assertThat(reader.lineNumber()).isEqualTo(3);
+        assertThat(reader.next()).isNull();
+    }
+
+    @Test
+    void rejectsInvalidNdjsonLinesAndContinuesWithTheNext() throws IOException {
+        CatalogRecordReader reader = ndjson("""
+                {"name": "판교 맛집"
+                ["not", "an", "object"]
+                "text"
+                {"name": "강남 맛집"}
+                """);
+
+        assertThatThrownBy(reader::next).isInstanceOf(IllegalArgumentException.class)
+                .hasMessageStartingWith("invalid JSON - ");
+        assertThat(reader.lineNumber()).isEqualTo(1);
+        assertThatThrownBy(reader::next).isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("expected a JSON object");
+        assertThatThrownBy(reader::next).isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("expected a JSON object");
+        assertThat(reader.next()).containsEntry("name", "강남 맛집");
+        assertThat(reader.lineNumber()).isEqualTo(4);
+    }
+
+    private CatalogRecordReader csv(String content) {
+        return CatalogRecordReader.open(stream(content), "catalog.csv", objectMapper);
+    }
+
+    private CatalogRecordReader ndjson(String content) {
+        return CatalogRecordReader.open(stream(content), "catalog.ndjson", objectMapper);
+    }
+
+    private static InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,176 @@
+package com.example.onboarding.service;
+
+import com.example.onboarding.config.BrokerProperties;
+import com.example.onboarding.config.RecentMessageBufferProperties;
+import com.example.onboarding.dto.ChatHistoryDto;
+import com.example.onboarding.dto.ChatMessageDto;
+import com.example.onboarding.dto.ChatMessageSummary;
+import com.example.onboarding.entity.ChatMessage;
+import com.example.onboarding.entity.MessageType;
+import com.example.onboarding.repository.ChatMessageRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ChatHistoryServiceTest {
+
+    private static final Long ROOM_ID = 1L;
+
+    private final ChatMessageRepository repository = mock(ChatMessageRepository.class);
+    private final ChatMessageWriteBehindQueue writeBehindQueue = mock(ChatMessageWriteBehindQueue.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void servesLatestPageFromTailWhenBeforeIsNull() {
+        // 버퍼 적재 시 DB 조회 (전체 히스토리 1~5가 버퍼에 들어감)
+        List<ChatMessageSummary> stored = summaries(5, 4, 3, 2, 1);
+        when(repository.findSummariesBefore(eq(ROOM_ID), eq(Long.MAX_VALUE), any()))
+                .thenReturn(stored);
+        RecentMessageBuffer buffer = buffer("simple", 10);
+        buffer.getContext(ROOM_ID, Long.MAX_VALUE, 1);
+        ChatHistoryService service = service(buffer);
+
+        ChatHistoryDto page = service.getMessages(ROOM_ID, null, 2);
+
+        assertThat(page.getMessages()).extracting(ChatMessageDto::getId).containsExactly(5L, 4L);
+        assertThat(page.isHasMore()).isTrue();
+        assertThat(page.getNextBefore()).isEqualTo(4L);
+        assertThat(pages("tail")).isEqualTo(1);
+        assertThat(pages("db")).isZero();
+    }
+
+    @Test
+    void reportsNoMoreOnExactPageBoundary() {
+        List<ChatMessageSummary> stored = summaries(4, 3, 2, 1);
+        when(repository.findSummariesBefore(eq(ROOM_ID), eq(Long.MAX_VALUE), any()))
+                .thenReturn(stored);
+        RecentMessageBuffer buffer = buffer("simple", 10);
+        buffer.getContext(ROOM_ID, Long.MAX_VALUE, 1);
+        ChatHistoryService service = service(buffer);
+
+        ChatHistoryDto first = service.getMessages(ROOM_ID, null, 2);
+        ChatHistoryDto last = service.getMessages(ROOM_ID, first.getNextBefore(), 2);
+
+        assertThat(first.isHasMore()).isTrue();
+        assertThat(last.getMessages()).extracting(ChatMessageDto::getId).containsExactly(2L, 1L);
+        assertThat(last.isHasMore()).isFalse();
+        assertThat(last.getNextBefore()).isNull();
+    }
+
+    @Test
+    void fallsBackToDatabaseWhenTailCannotFillThePage() {
+        // 버퍼에는 최근 3개(8, 9, 10)만 있음
+        List<ChatMessageSummary> tail = summaries(10, 9, 8);
+        when(repository.findSummariesBefore(eq(ROOM_ID), eq(Long.MAX_VALUE), any()))
+                .thenReturn(tail);
+        List<ChatMessageSummary> older = summaries(8, 7, 6, 5);
+        when(repository.findSummariesBefore(ROOM_ID, 9L, PageRequest.of(0, 4)))
+                .thenReturn(older);
+        RecentMessageBuffer buffer = buffer("simple", 3);
+        buffer.getContext(ROOM_ID, Long.MAX_VALUE, 1);
+        ChatHistoryService service = service(buffer);
+
+        ChatHistoryDto page = service.getMessages(ROOM_ID, 9L, 3);
+
+        assertThat(page.getMessages()).extracting(ChatMessageDto::getId).containsExactly(8L, 7L, 6L);
+        assertThat(page.getNextBefore()).isEqualTo(6L);
+        assertThat(pages("db")).isEqualTo(1);
+    }
+
+    @Test
+    void mergesUnflushedMessagesWhenReadingFromDatabase() {
+        // 릴레이 모드: DB에는 1~3, 4와 5는 아직 저장 큐에 있고 6은 before 이후
+        when(writeBehindQueue.getPending(ROOM_ID))
+                .thenReturn(List.of(message(3), message(4), message(5), message(6)));
+        List<ChatMessageSummary> stored = summaries(3, 2, 1);
+        when(repository.findSummariesBefore(ROOM_ID, 6L, PageRequest.of(0, 4)))
+                .thenReturn(stored);
+        ChatHistoryService service = service(buffer("relay", 10));
+
+        ChatHistoryDto page = service.getMessages(ROOM_ID, 6L, 3);
+
+        // 조회 도중 저장된 3은 한 번만
+        assertThat(page.getMessages()).extracting(ChatMessageDto::getId).containsExactly(5L, 4L, 3L);
+        assertThat(page.getMessages().get(0).getContent()).isEqualTo("message 5");
+        assertThat(page.isHasMore()).isTrue();
+        assertThat(page.getNextBefore()).isEqualTo(3L);
+        assertThat(pages("tail")).isZero();
+    }
+
+    @Test
+    void readsLatestPageFromDatabaseInRelayModeWithoutPendingMessages() {
+        when(writeBehindQueue.getPending(ROOM_ID)).thenReturn(List.of());
+        List<ChatMessageSummary> stored = summaries(2, 1);
+        when(repository.findSummariesBefore(ROOM_ID, Long.MAX_VALUE, PageRequest.of(0, 3)))
+                .thenReturn(stored);
+        RecentMessageBuffer buffer = buffer("relay", 10);
+        ChatHistoryService service = service(buffer);
+
+        ChatHistoryDto page = service.getMessages(ROOM_ID, null, 2);
+
+        assertThat(page.getMessages()).extracting(ChatMessageDto::getId).containsExactly(2L, 1L);
+        assertThat(page.isHasMore()).isFalse();
+        assertThat(page.getNextBefore()).isNull();
+        verify(repository, never()).findSummariesBefore(eq(ROOM_ID), anyLong(), eq(PageRequest.of(0, 10)));
+    }
+
+    private ChatHistoryService service(RecentMessageBuffer buffer) {
+        return new ChatHistoryService(repository, buffer, writeBehindQueue, meterRegistry);
+    }
+
+    private RecentMessageBuffer buffer(String brokerMode, int capacity) {
+        BrokerProperties brokerProperties = new BrokerProperties();
+        brokerProperties.setMode(brokerMode);
+        RecentMessageBufferProperties properties = new RecentMessageBufferProperties();
+        properties.setDefaultCapacity(capacity);
+        RecentMessageBuffer buffer = new RecentMessageBuffer(
+                repository, properties, new SimpleMeterRegistry(), brokerProperties, writeBehindQueue);
+        buffer.init();
+        return buffer;
+    }
+
+    private double pages(String source) {
+        return meterRegistry.counter("chat.history.pages", "source", source).count();
+    }
+
+    private static ChatMessage message(long id) {
+        return ChatMessage.builder()
+                .id(id)
+                .roomId(ROOM_ID)
+                .senderId(UUID.randomUUID())
+                .senderNickname("tester")
+                .content("message " + id)
+                .type(MessageType.TALK)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    private static List<ChatMessageSummary> summaries(long... ids) {
+        return Arrays.stream(ids).mapToObj(ChatHistoryServiceTest::summary).toList();
+    }
+
+    private static ChatMessageSummary summary(long id) {
+        ChatMessageSummary summary = mock(ChatMessageSummary.class);
+        when(summary.getId()).thenReturn(id);
+        when(summary.getRoomId()).thenReturn(ROOM_ID);
+        when(summary.getSenderId()).thenReturn(UUID.randomUUID());
+        when(summary.getSenderNickname()).thenReturn("tester");
+        when(summary.getContent()).thenReturn("stored " + id);
+        when(summary.getType()).thenReturn(MessageType.TALK);
+        return summary;
+    }
+}
@@ -0,0 +1,207 @@
+package com.example.onboarding.service;
+
+import com.example.onboarding.entity.ChatMessage;
+import com.example.onboarding.entity.MessageType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ChatMessageWriteBehindQueueTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final List<Long> saved = Collections.synchronizedList(new ArrayList<>());
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private Path deadLetterFile;
+    private ChatMessageWriteBehindQueue queue;
+
+    @BeforeEach
+    void setUp() {
+        AtomicLong ids = new AtomicLong();
+        queue = new ChatMessageWriteBehindQueue(jdbcTemplate, ids::incrementAndGet, new ObjectMapper(), meterRegistry);
+        deadLetterFile = tempDir.resolve("dead-letter.jsonl");
+        ReflectionTestUtils.setField(queue, "enabled", true);
+        ReflectionTestUtils.setField(queue, "queueCapacity", 100);
+        ReflectionTestUtils.setField(queue, "batchSize", 10);
+        ReflectionTestUtils.setField(queue, "flushIntervalMs", 20L);
+        ReflectionTestUtils.setField(queue, "offerTimeoutMs", 100L);
+        ReflectionTestUtils.setField(queue, "maxFlushAttempts", 3);
+        ReflectionTestUtils.setField(queue, "retryInitialBackoffMs", 5L);
+        ReflectionTestUtils.setField(queue, "retryMaxBackoffMs", 10L);
+        ReflectionTestUtils.setField(queue, "shutdownTimeoutMs", 1_000L);
+        ReflectionTestUtils.setField(queue, "deadLetterFile", deadLetterFile.toString());
+    }
+
+    @Test
+    void retriesTransientFailuresWithoutLosingMessages() {
+        AtomicInteger calls = new AtomicInteger();
+        whenBatchUpdate(batch -> {
+            if (calls.incrementAndGet() <= 2) {
+                throw new DataAccessResourceFailureException("database unavailable");
+            }
+            batch.forEach(message -> saved.add(message.getId()));
+        });
+
+        queue.start();
+        for (int i = 0; i < 5; i++) {
+            queue.enqueue(message("hello " + i));
+        }
+        queue.shutdown();
+
+        assertThat(saved).containsExactly(1L, 2L, 3L, 4L, 5L);
+        assertThat(deadLetterFile).doesNotExist();
+    }
+
+    @Test
+    void writesBatchToDeadLetterFileWhenRetriesAreExhausted() throws Exception {
+        whenBatchUpdate(batch -> {
+            throw new DataAccessResourceFailureException("database unavailable");
+        });
+
+        queue.start();
+        for (int i = 0; i < 3; i++) {
+            queue.enqueue(message("hello " + i));
+        }
+        queue.shutdown();
+
+        List<String> lines = Files.readAllLines(deadLetterFile);
+        assertThat(lines).hasSize(3);
+        assertThat(lines.get(0)).contains("\"id\":1").contains("\"content\":\"hello 0\"");
+        assertThat(meterRegistry.counter("chat.persistence.write-behind.dead-lettered").count()).isEqualTo(3.0);
+    }
+
+    @Test
+    void deadLettersOnlyTheRowsThatViolateConstraints() throws Exception {
+        whenBatchUpdate(batch -> {
+            if (batch.stream().anyMatch(message -> "poison".equals(message.getContent()))) {
+                throw new DataIntegrityViolationException("value too long");
+            }
+            batch.forEach(message -> saved.add(message.getId()));
+        });
+
+        queue.start();
+        queue.enqueue(message("ok"));
+        queue.enqueue(message("poison"));
+        queue.enqueue(message("ok"));
+        queue.shutdown();
+
+        assertThat(saved).containsExactlyInAnyOrder(1L, 3L);
+        assertThat(Files.readAllLines(deadLetterFile)).singleElement().asString().contains("\"id\":2");
+    }
+
+    @Test
+    void reportsMessagesAsPendingUntilTheirBatchIsSaved() throws Exception {
+        CountDownLatch flushing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        whenBatchUpdate(batch -> {
+            flushing.countDown();
+            try {
+                release.await(1, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            batch.forEach(message -> saved.add(message.getId()));
+        });
+
+        queue.start();
+        queue.enqueue(message("in flight"));
+        assertThat(flushing.await(1, TimeUnit.SECONDS)).isTrue();
+        queue.enqueue(message("queued"));
+
+        // 저장 중인 배치와 큐에 대기 중인 메시지 모두 포함
+        assertThat(queue.getPending(1L)).extracting(ChatMessage::getId).containsExactly(1L, 2L);
+        assertThat(queue.getPending(2L)).isEmpty();
+
+        release.countDown();
+        queue.shutdown();
+        assertThat(saved).containsExactly(1L, 2L);
+        assertThat(queue.getPending(1L)).isEmpty();
+    }
+
+    @Test
+    void neverWritesConcurrentlyWithAFlusherThatIgnoresInterrupts() throws Exception {
+        ReflectionTestUtils.setField(queue, "shutdownTimeoutMs", 50L);
+        CountDownLatch flushing = new CountDownLatch(1);
+        AtomicBoolean release = new AtomicBoolean();
+        AtomicInteger writers = new AtomicInteger();
+        AtomicInteger maxWriters = new AtomicInteger();
+        whenBatchUpdate(batch -> {
+            maxWriters.accumulateAndGet(writers.incrementAndGet(), Math::max);
+            flushing.countDown();
+            // JDBC 호출처럼 interrupt에 반응하지 않고 계속 대기
+            while (!release.get()) {
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(5));
+            }
+            batch.forEach(message -> saved.add(message.getId()));
+            writers.decrementAndGet();
+        });
+
+        queue.start();
+        queue.enqueue(message("in flight"));
+        assertThat(flushing.await(1, TimeUnit.SECONDS)).isTrue();
+        queue.enqueue(message("queued 1"));
+        queue.enqueue(message("queued 2"));
+        queue.shutdown();
+        release.set(true);
+
+        // 큐에 남은 메시지는 DB에 동시에 쓰지 않고 dead-letter 파일로 보냄
+        assertThat(maxWriters.get()).isEqualTo(1);
+        assertThat(Files.readAllLines(deadLetterFile)).hasSize(2)
+                .anySatisfy(line -> assertThat(line).contains("\"id\":2"))
+                .anySatisfy(line -> assertThat(line).contains("\"id\":3"));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void whenBatchUpdate(BatchHandler handler) {
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenAnswer(invocation -> {
+                    handler.handle(new ArrayList<>((Collection<ChatMessage>) invocation.getArgument(1)));
+                    return new int[0][];
+                });
+    }
+
+    private static ChatMessage message(String content) {
+        return ChatMessage.builder()
+                .roomId(1L)
+                .senderId(UUID.randomUUID())
+                .senderNickname("tester")
+                .content(content)
+                .type(MessageType.TALK)
+                .build();
+    }
+
+    private interface BatchHandler {
+        void handle(List<ChatMessage> batch);
+    }
+}
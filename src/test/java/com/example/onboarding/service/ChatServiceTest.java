@@ -0,0 +1,73 @@
+package com.example.onboarding.service;
+
+import com.example.onboarding.dto.ChatMessageDto;
+import com.example.onboarding.entity.ChatMessage;
+import com.example.onboarding.entity.MessageType;
+import com.example.onboarding.repository.ChatMessageRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ChatServiceTest {
+
+    private final ChatMessageRepository repository = mock(ChatMessageRepository.class);
+    private final RecentMessageBuffer recentMessageBuffer = mock(RecentMessageBuffer.class);
+    private final ChatService chatService = new ChatService(repository, mock(ChatUserRegistry.class),
+            mock(SimpMessagingTemplate.class), mock(RoomAnalysisScheduler.class),
+            mock(ChatMessageWriteBehindQueue.class), recentMessageBuffer);
+
+    @BeforeEach
+    void setUp() {
+        when(repository.save(any())).thenAnswer(invocation -> {
+            ChatMessage message = invocation.getArgument(0);
+            message.setId(1L);
+            return message;
+        });
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    void appendsToRecentBufferOnlyAfterCommit() {
+        chatService.handleChatMessage(talk("점심 뭐 먹지"), UUID.randomUUID().toString(), "tester");
+        verify(recentMessageBuffer, never()).append(any());
+
+        TransactionSynchronizationUtils.triggerAfterCommit();
+
+        verify(recentMessageBuffer).append(any(ChatMessage.class));
+    }
+
+    @Test
+    void leavesRecentBufferUntouchedOnRollback() {
+        chatService.handleChatMessage(talk("점심 뭐 먹지"), UUID.randomUUID().toString(), "tester");
+
+        TransactionSynchronizationUtils.invokeAfterCompletion(
+                TransactionSynchronizationManager.getSynchronizations(), TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        verify(recentMessageBuffer, never()).append(any());
+    }
+
+    private static ChatMessageDto talk(String content) {
+        return ChatMessageDto.builder()
+                .roomId(1L)
+                .content(content)
+                .type(MessageType.TALK)
+                .build();
+    }
+}
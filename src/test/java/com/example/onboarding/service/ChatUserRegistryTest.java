@@ -0,0 +1,175 @@
+package com.example.onboarding.service;
+
+import com.example.onboarding.repository.ChatUserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+class ChatUserRegistryTest {
+
+    private final ChatUserRepository repository = mock(ChatUserRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ChatUserRegistry registry;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        registry.shutdown();
+    }
+
+    @Test
+    void hotPathNeverReadsTheUserTable() {
+        registry = registry(100);
+        UUID userId = UUID.randomUUID();
+
+        registry.register(userId, "tester");
+        for (int i = 0; i < 100; i++) {
+            registry.touch(userId, "tester");
+        }
+
+        // CONNECT 시 저장 한 번뿐, 메시지 처리 중에는 chat_users 조회/저장 없음
+        verify(repository, timeout(1000)).upsert(userId, "tester");
+        verifyNoMoreInteractions(repository);
+        assertThat(gets("hit")).isEqualTo(100.0);
+        assertThat(gets("miss")).isZero();
+    }
+
+    @Test
+    void countsMissesForUsersThatWereNeverRegistered() {
+        registry = registry(100);
+        UUID userId = UUID.randomUUID();
+
+        registry.touch(userId, "tester");
+        registry.touch(userId, "tester");
+
+        verify(repository, timeout(1000)).upsert(userId, "tester");
+        assertThat(gets("miss")).isEqualTo(1.0);
+        assertThat(gets("hit")).isEqualTo(1.0);
+    }
+
+    @Test
+    void persistsAgainWhenTheNicknameChanges() {
+        registry = registry(100);
+        UUID userId = UUID.randomUUID();
+
+        registry.register(userId, "before");
+        registry.touch(userId, "after");
+        registry.touch(userId, "after");
+
+        verify(repository, timeout(1000)).upsert(userId, "before");
+        verify(repository, timeout(1000)).upsert(userId, "after");
+        verifyNoMoreInteractions(repository);
+    }
+
+    @Test
+    void persistsAgainAfterAFailedSave() {
+        registry = registry(100);
+        UUID userId = UUID.randomUUID();
+        doThrow(new IllegalStateException("database unavailable")).doNothing()
+                .when(repository).upsert(userId, "tester");
+
+        registry.register(userId, "tester");
+        verify(repository, timeout(1000)).upsert(userId, "tester");
+        awaitPersisted();
+        registry.touch(userId, "tester");
+
+        verify(repository, timeout(1000).times(2)).upsert(userId, "tester");
+    }
+
+    @Test
+    void reRegistersEvictedUsersOnTheirNextMessage() {
+        registry = registry(2);
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        UUID third = UUID.randomUUID();
+
+        Stream.of(first, second, third).forEach(userId -> registry.register(userId, "tester"));
+        Cache<UUID, String> users = users();
+        users.cleanUp();
+        assertThat(registry.size()).isEqualTo(2);
+
+        UUID evicted = Stream.of(first, second, third)
+                .filter(userId -> !users.asMap().containsKey(userId))
+                .findFirst().orElseThrow();
+        registry.touch(evicted, "tester");
+
+        verify(repository, timeout(1000).times(2)).upsert(evicted, "tester");
+    }
+
+    @Test
+    void persistsOnTheCallerThreadWhenThePersistQueueIsFull() throws InterruptedException {
+        registry = registry(100_000);
+        CountDownLatch release = new CountDownLatch(1);
+        Map<UUID, String> persistedOn = new ConcurrentHashMap<>();
+        UUID blocking = UUID.randomUUID();
+        doAnswer(invocation -> {
+            UUID userId = invocation.getArgument(0);
+            if (userId.equals(blocking)) {
+                release.await(5, TimeUnit.SECONDS);
+            }
+            persistedOn.put(userId, Thread.currentThread().getName());
+            return null;
+        }).when(repository).upsert(any(), any());
+
+        // 저장 스레드가 멈춘 동안 큐(10000개)를 가득 채움
+        registry.register(blocking, "blocking");
+        for (int i = 0; i < 10_000; i++) {
+            registry.register(UUID.randomUUID(), "queued");
+        }
+        UUID overflow = UUID.randomUUID();
+        registry.register(overflow, "overflow");
+
+        assertThat(persistedOn).containsEntry(overflow, Thread.currentThread().getName());
+        release.countDown();
+        verify(repository, timeout(5000).times(10_002)).upsert(any(), any());
+        assertThat(persistedOn).containsEntry(blocking, "chat-user-persist");
+    }
+
+    private ChatUserRegistry registry(long maxSize) {
+        ChatUserRegistry registry = new ChatUserRegistry(repository, meterRegistry);
+        ReflectionTestUtils.setField(registry, "maxSize", maxSize);
+        registry.init();
+        return registry;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Cache<UUID, String> users() {
+        return (Cache<UUID, String>) ReflectionTestUtils.getField(registry, "users");
+    }
+
+    /**
+     * 실패한 저장이 캐시에서 사용자를 제거할 때까지 대기 (저장 스레드는 하나이므로 빈 작업이 끝나면 앞 작업도 끝남)
+     */
+    private void awaitPersisted() {
+        CountDownLatch done = new CountDownLatch(1);
+        ((Executor) ReflectionTestUtils.getField(registry, "persistExecutor")).execute(done::countDown);
+        try {
+            assertThat(done.await(1, TimeUnit.SECONDS)).isTrue();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private double gets(String result) {
+        return meterRegistry.get("cache.gets").tag("cache", "chat.users").tag("result", result)
+                .functionCounter().count();
+    }
+}
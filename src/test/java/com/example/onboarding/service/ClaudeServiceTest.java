@@ -0,0 +1,318 @@
+package com.example.onboarding.service;
+
+import com.example.onboarding.dto.ClaudeAnalysisResult;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Publisher;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.http.server.HttpServerRequest;
+import reactor.netty.http.server.HttpServerResponse;
+import reactor.util.function.Tuple2;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.SocketAddress;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 로컬 Claude API 스텁 서버(Reactor Netty)로 타임아웃/오류 대체/커넥션 재사용 확인
+ * - 스트리밍(SSE)과 버퍼 응답의 추천 여부 판단 시점 비교
+ */
+class ClaudeServiceTest {
+
+    private static final String ANALYSIS = """
+            {"shouldRecommend": true, "location": "판교", "mealType": "점심", "categories": ["한식"], \
+            "preferences": [], "confidence": 0.9, "reasoning": "점심 장소 논의"}""";
+
+    /**
+     * 스트리밍 응답의 판단 필드 (reasoning 문자열 시작까지)
+     */
+    private static final String DECISION_HEAD = """
+            ```json
+            {"shouldRecommend": true, "confidence": 0.9, "location": "판교", "mealType": "점심", \
+            "categories": ["한식"], "preferences": [], "reasoning": \"""";
+
+    /**
+     * reasoning 생성 시간 흉내 (조각 수 x 간격)
+     */
+    private static final int REASONING_CHUNKS = 10;
+    private static final Duration CHUNK_INTERVAL = Duration.ofMillis(100);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    /**
+     * 요청을 받은 클라이언트 주소 (같은 주소 = 같은 커넥션)
+     */
+    private final Queue<SocketAddress> clients = new ConcurrentLinkedQueue<>();
+    private final Queue<String> apiKeys = new ConcurrentLinkedQueue<>();
+
+    private volatile BiFunction<HttpServerRequest, HttpServerResponse, Publisher<Void>> handler;
+    private DisposableServer server;
+
+    @BeforeEach
+    void setUp() {
+        server = HttpServer.create()
+                .host("127.0.0.1")
+                .port(0)
+                .route(routes -> routes.post("/v1/messages", (request, response) -> {
+                    clients.add(request.remoteAddress());
+                    apiKeys.add(request.requestHeaders().get("x-api-key"));
+                    return request.receive().aggregate().asString()
+                            .then(Mono.defer(() -> Mono.from(handler.apply(request, response))));
+                }))
+                .bindNow();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.disposeNow();
+    }
+
+    @Test
+    void parsesResponseAndReusesThePooledConnection() {
+        handler = (request, response) -> respond(response, ANALYSIS);
+        ClaudeService claudeService = claudeService(baseUrl(), Duration.ofSeconds(5));
+
+        for (int i = 0; i < 3; i++) {
+            ClaudeAnalysisResult result = analyze(claudeService, "판교 점심 뭐 먹지 " + i);
+            assertThat(result.isShouldRecommend()).isTrue();
+            assertThat(result.getLocation()).isEqualTo("판교");
+            assertThat(result.getCategories()).containsExactly("한식");
+        }
+
+        // 공유 HttpClient의 keep-alive 커넥션 하나로 모든 호출 처리
+        assertThat(clients).hasSize(3);
+        assertThat(clients.stream().distinct()).hasSize(1);
+        assertThat(apiKeys).containsOnly("test-key");
+    }
+
+    @Test
+    void keepsIdlePooledConnectionOpenPastTheResponseTimeout() throws Exception {
+        handler = (request, response) -> respond(response, ANALYSIS);
+        ClaudeService claudeService = claudeService(baseUrl(), Duration.ofMillis(200));
+
+        analyze(claudeService, "첫 번째 호출");
+        TimeUnit.MILLISECONDS.sleep(600);
+        analyze(claudeService, "두 번째 호출");
+
+        // 응답 타임아웃은 응답을 읽는 동안에만 적용 (풀에서 쉬는 커넥션은 max-idle-time까지 유지)
+        assertThat(clients.stream().distinct()).hasSize(1);
+    }
+
+    @Test
+    void fallsBackWhenTheResponseTimesOut() {
+        handler = (request, response) -> Mono.delay(Duration.ofSeconds(3)).then(respond(response, ANALYSIS));
+        ClaudeService claudeService = claudeService(baseUrl(), Duration.ofMillis(300));
+
+        long start = System.nanoTime();
+        ClaudeAnalysisResult result = analyze(claudeService, "판교 점심 뭐 먹지");
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertFallback(result);
+        assertThat(elapsedMillis).isLessThan(2_000);
+    }
+
+    @Test
+    void fallsBackOnServerError() {
+        handler = (request, response) -> response.status(529)
+                .header("content-type", "application/json")
+                .sendString(Mono.just("{\"type\":\"error\",\"error\":{\"type\":\"overloaded_error\"}}"));
+        ClaudeService claudeService = claudeService(baseUrl(), Duration.ofSeconds(5));
+
+        ClaudeAnalysisResult result = analyze(claudeService, "판교 점심 뭐 먹지");
+
+        assertFallback(result);
+        assertThat(result.getReasoning()).contains("overloaded_error");
+    }
+
+    @Test
+    void fallsBackWhenTheConnectionIsRefused() throws Exception {
+        ClaudeService claudeService = claudeService("http://127.0.0.1:" + closedPort(), Duration.ofSeconds(5));
+
+        assertFallback(analyze(claudeService, "판교 점심 뭐 먹지"));
+    }
+
+    @Test
+    void doesNotCacheErrorFallback() {
+        handler = (request, response) -> response.status(500).sendString(Mono.just("boom"));
+        ClaudeService claudeService = claudeService(baseUrl(), Duration.ofSeconds(5));
+        assertFallback(analyze(claudeService, "판교 점심 뭐 먹지"));
+
+        handler = (request, response) -> respond(response, ANALYSIS);
+        assertThat(analyze(claudeService, "판교 점심 뭐 먹지").isShouldRecommend()).isTrue();
+        assertThat(clients).hasSize(2);
+    }
+
+    /**
+     * 추천 여부 판단까지 걸리는 시간 비교: 버퍼 응답은 reasoning까지 생성된 뒤 도착, 스트리밍은 판단 필드가 먼저 도착
+     */
+    @Test
+    void streamingDecidesBeforeTheBufferedResponseArrives() {
+        Duration generation = CHUNK_INTERVAL.multipliedBy(REASONING_CHUNKS);
+        handler = (request, response) -> Mono.delay(generation).then(respond(response, ANALYSIS));
+        List<Tuple2<Long, ClaudeAnalysisResult>> buffered = analyzeTimed(
+                claudeService(baseUrl(), Duration.ofSeconds(5), false), "판교 점심 뭐 먹지");
+
+        handler = (request, response) -> sse(response, Flux.concat(
+                Flux.just(event("message_start", "{\"type\":\"message_start\"}"), delta(DECISION_HEAD)),
+                reasoning(),
+                Flux.just(delta("\"}\n```"), event("message_stop", "{\"type\":\"message_stop\"}"))));
+        List<Tuple2<Long, ClaudeAnalysisResult>> streamed = analyzeTimed(
+                claudeService(baseUrl(), Duration.ofSeconds(5), true), "판교 점심 뭐 먹지");
+
+        long bufferedDecisionMillis = buffered.get(0).getT1();
+        long streamedDecisionMillis = streamed.get(0).getT1();
+        assertThat(bufferedDecisionMillis).isGreaterThanOrEqualTo(generation.toMillis());
+        assertThat(streamedDecisionMillis).isLessThan(bufferedDecisionMillis / 2);
+
+        // 중간 결과는 판단 필드만, 최종 결과는 버퍼 응답과 같은 내용
+        ClaudeAnalysisResult partial = streamed.get(0).getT2();
+        ClaudeAnalysisResult complete = streamed.get(streamed.size() - 1).getT2();
+        assertThat(streamed).hasSize(2);
+        assertThat(partial.isShouldRecommend()).isTrue();
+        assertThat(partial.getReasoning()).isNull();
+        assertThat(complete.getLocation()).isEqualTo(buffered.get(0).getT2().getLocation());
+        assertThat(complete.getReasoning()).startsWith("조각0 ").endsWith("조각" + (REASONING_CHUNKS - 1) + " ");
+        assertThat(meterRegistry.get("claude.analysis.decision.latency").tag("mode", "streaming").timer().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void keepsThePartialResultWhenTheStreamFailsAfterIt() {
+        handler = (request, response) -> sse(response, Flux.concat(
+                Flux.just(delta(DECISION_HEAD)),
+                reasoning().take(2),
+                Flux.just(event("error", "{\"type\":\"error\",\"error\":{\"type\":\"overloaded_error\"}}"))));
+        ClaudeService claudeService = claudeService(baseUrl(), Duration.ofSeconds(5), true);
+
+        List<ClaudeAnalysisResult> results = claudeService.analyzeConversation(List.of(), "판교 점심 뭐 먹지")
+                .collectList()
+                .block(Duration.ofSeconds(10));
+
+        // 오류 대체 결과(shouldRecommend=false)를 덧붙이지 않음
+        assertThat(results).hasSize(1);
+        assertThat(results.get(0).isShouldRecommend()).isTrue();
+        assertThat(results.get(0).getConfidence()).isEqualTo(0.9);
+    }
+
+    @Test
+    void fallsBackWhenTheStreamFailsBeforeAnyResult() {
+        handler = (request, response) -> sse(response, Flux.just(delta("```json\n{\"shouldRec"),
+                event("error", "{\"type\":\"error\",\"error\":{\"type\":\"overloaded_error\"}}")));
+        ClaudeService claudeService = claudeService(baseUrl(), Duration.ofSeconds(5), true);
+
+        assertFallback(analyze(claudeService, "판교 점심 뭐 먹지"));
+    }
+
+    private ClaudeService claudeService(String baseUrl, Duration responseTimeout) {
+        return claudeService(baseUrl, responseTimeout, false);
+    }
+
+    private ClaudeService claudeService(String baseUrl, Duration responseTimeout, boolean streaming) {
+        ClaudeService claudeService = new ClaudeService(
+                new AnalysisResultCache(meterRegistry, Duration.ofMinutes(10), 100), meterRegistry);
+        ReflectionTestUtils.setField(claudeService, "apiKey", "test-key");
+        ReflectionTestUtils.setField(claudeService, "model", "claude-test");
+        ReflectionTestUtils.setField(claudeService, "maxTokens", 1024);
+        ReflectionTestUtils.setField(claudeService, "temperature", 0.7);
+        ReflectionTestUtils.setField(claudeService, "baseUrl", baseUrl);
+        ReflectionTestUtils.setField(claudeService, "connectTimeout", Duration.ofSeconds(1));
+        ReflectionTestUtils.setField(claudeService, "responseTimeout", responseTimeout);
+        ReflectionTestUtils.setField(claudeService, "requestTimeout", Duration.ofSeconds(10));
+        ReflectionTestUtils.setField(claudeService, "maxConnections", 4);
+        ReflectionTestUtils.setField(claudeService, "maxIdleTime", Duration.ofSeconds(60));
+        ReflectionTestUtils.setField(claudeService, "streaming", streaming);
+        claudeService.init();
+        return claudeService;
+    }
+
+    private static ClaudeAnalysisResult analyze(ClaudeService claudeService, String message) {
+        return claudeService.analyzeConversation(List.of(), message).blockLast(Duration.ofSeconds(10));
+    }
+
+    /**
+     * 결과마다 구독 시점부터 걸린 시간(ms)
+     */
+    private static List<Tuple2<Long, ClaudeAnalysisResult>> analyzeTimed(ClaudeService claudeService, String message) {
+        return claudeService.analyzeConversation(List.of(), message)
+                .elapsed()
+                .collectList()
+                .block(Duration.ofSeconds(10));
+    }
+
+    private static void assertFallback(ClaudeAnalysisResult result) {
+        assertThat(result.isShouldRecommend()).isFalse();
+        assertThat(result.getConfidence()).isZero();
+        assertThat(result.getReasoning()).startsWith("Error occurred during analysis");
+    }
+
+    /**
+     * Messages API 응답 본문 (분석 JSON을 text 블록에 담음)
+     */
+    private static Mono<Void> respond(HttpServerResponse response, String analysis) {
+        String text = analysis.replace("\\", "\\\\").replace("\"", "\\\"");
+        return response.header("content-type", "application/json")
+                .sendString(Mono.just("{\"content\":[{\"type\":\"text\",\"text\":\"" + text + "\"}]}"))
+                .then();
+    }
+
+    private static Mono<Void> sse(HttpServerResponse response, Flux<String> events) {
+        return response.header("content-type", "text/event-stream").sendString(events).then();
+    }
+
+    /**
+     * reasoning 조각 (CHUNK_INTERVAL 간격)
+     */
+    private Flux<String> reasoning() {
+        return Flux.range(0, REASONING_CHUNKS)
+                .delayElements(CHUNK_INTERVAL)
+                .map(i -> delta("조각" + i + " "));
+    }
+
+    private String delta(String text) {
+        try {
+            return event("content_block_delta", objectMapper.writeValueAsString(Map.of(
+                    "type", "content_block_delta",
+                    "index", 0,
+                    "delta", Map.of("type", "text_delta", "text", text))));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String event(String name, String data) {
+        return "event: " + name + "\ndata: " + data + "\n\n";
+    }
+
+    private String baseUrl() {
+        return "http://127.0.0.1:" + server.port();
+    }
+
+    /**
+     * 열었다 닫은 포트 (연결 거부)
+     */
+    private static int closedPort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            return socket.getLocalPort();
+        }
+    }
+}
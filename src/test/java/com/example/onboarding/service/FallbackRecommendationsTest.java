@@ -0,0 +1,141 @@
+package com.example.onboarding.service;
+
+import com.example.onboarding.dto.RestaurantSummary;
+import com.example.onboarding.entity.Restaurant;
+import com.example.onboarding.repository.RestaurantRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class FallbackRecommendationsTest {
+
+    private final RestaurantRepository restaurantRepository = mock(RestaurantRepository.class);
+    private final Gazetteer gazetteer = mock(Gazetteer.class);
+    private FallbackRecommendations fallback;
+
+    @BeforeEach
+    void setUp() {
+        for (String region : List.of("판교", "강남")) {
+            when(gazetteer.resolve(region)).thenReturn(Optional.of(new Gazetteer.GeoPoint(37.4, 127.1)));
+        }
+        fallback = new FallbackRecommendations(restaurantRepository, gazetteer);
+    }
+
+    @Test
+    void readsTopRatedFromDatabaseUntilTheCatalogIsLoaded() {
+        when(restaurantRepository.findAll(any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(restaurant(1L, "판교,한식", "한식", 4.5))));
+
+        assertThat(ids(fallback.find("판교", List.of("한식"), 5))).containsExactly(1L);
+        verify(restaurantRepository).findAll(any(Pageable.class));
+    }
+
+    @Test
+    void fallsBackFromRegionCategoryToRegionToCategoryToGlobal() {
+        load(summary(1L, "판교,한식", "한식", 4.5),
+                summary(2L, "판교", "중식 • 짜장면", 4.0),
+                summary(3L, "강남,한식", "한식", 4.8));
+
+        assertThat(ids(fallback.find(" 판교 ", List.of("양식", "한식"), 5))).containsExactly(1L);
+        assertThat(ids(fallback.find("판교", List.of("중식"), 5))).containsExactly(2L);
+        assertThat(ids(fallback.find("판교", List.of("양식"), 5))).containsExactly(1L, 2L);
+        assertThat(ids(fallback.find("부산", List.of("한식"), 5))).containsExactly(3L, 1L);
+        assertThat(ids(fallback.find(null, null, 2))).containsExactly(3L, 1L);
+        verifyNoInteractions(restaurantRepository);
+    }
+
+    @Test
+    void movesAChangedRestaurantToItsNewLists() {
+        load(summary(1L, "판교,한식", "한식", 4.5),
+                summary(2L, "판교,중식", "중식", 4.0),
+                summary(3L, "강남,한식", "한식", 4.8));
+
+        fallback.onRestaurantChanged(new RestaurantChangedEvent(restaurant(2L, "강남,중식", "중식", 4.9), false));
+
+        assertThat(ids(fallback.find("판교", List.of("중식"), 5))).containsExactly(1L);
+        assertThat(ids(fallback.find("강남", List.of("중식"), 5))).containsExactly(2L);
+        assertThat(ids(fallback.find("강남", List.of("양식"), 5))).containsExactly(2L, 3L);
+        assertThat(ids(fallback.find(null, List.of(), 5))).containsExactly(2L, 3L, 1L);
+    }
+
+    @Test
+    void removesADeletedRestaurantFromEveryList() {
+        load(summary(1L, "판교,한식", "한식", 4.5),
+                summary(2L, "판교,중식", "중식", 4.0),
+                summary(3L, "강남,한식", "한식", 4.8));
+
+        fallback.onRestaurantChanged(new RestaurantChangedEvent(restaurant(1L, "판교,한식", "한식", 4.5), true));
+
+        // 판교+한식 목록이 비어 판교 목록으로 넘어감
+        assertThat(ids(fallback.find("판교", List.of("한식"), 5))).containsExactly(2L);
+        assertThat(ids(fallback.find(null, List.of("한식"), 5))).containsExactly(3L);
+        assertThat(ids(fallback.find(null, List.of(), 5))).containsExactly(3L, 2L);
+    }
+
+    @Test
+    void keepsListsBoundedAndRefillsThemOnTheNextCatalogLoad() {
+        // 평점 5.0 ~ 4.0인 판교 한식 11곳 → 목록에는 상위 10곳만
+        List<RestaurantSummary> catalog = new ArrayList<>();
+        LongStream.rangeClosed(1, 11).forEach(id -> catalog.add(summary(id, "판교,한식", "한식", (51 - id) / 10.0)));
+        load(catalog.toArray(new RestaurantSummary[0]));
+        assertThat(ids(fallback.find("판교", List.of("한식"), 20))).containsExactlyElementsOf(range(1, 10));
+
+        // 목록 밖 맛집이 평점을 올리면 목록 끝의 맛집을 밀어냄
+        fallback.onRestaurantChanged(new RestaurantChangedEvent(restaurant(11L, "판교,한식", "한식", 5.0), false));
+        List<Long> expected = new ArrayList<>(List.of(1L, 11L));
+        expected.addAll(range(2, 9));
+        assertThat(ids(fallback.find("판교", List.of("한식"), 20))).containsExactlyElementsOf(expected);
+
+        // 밀려난 맛집의 변경은 (평점이 낮으면) 목록에 들어오지 않고, 삭제로 빠진 자리는 바로 채우지 않음
+        fallback.onRestaurantChanged(new RestaurantChangedEvent(restaurant(10L, "판교,한식", "한식", 4.1), false));
+        fallback.onRestaurantChanged(new RestaurantChangedEvent(restaurant(1L, "판교,한식", "한식", 5.0), true));
+        expected.remove(1L);
+        assertThat(ids(fallback.find("판교", List.of("한식"), 20))).containsExactlyElementsOf(expected);
+
+        // 다음 전체 로딩에서 다시 10곳으로 채워짐
+        List<RestaurantSummary> reloaded = new ArrayList<>();
+        reloaded.add(summary(11L, "판교,한식", "한식", 5.0));
+        LongStream.rangeClosed(2, 10).forEach(id -> reloaded.add(summary(id, "판교,한식", "한식", (51 - id) / 10.0)));
+        reloaded.add(summary(12L, "판교,한식", "한식", 3.0));
+        load(reloaded.toArray(new RestaurantSummary[0]));
+        List<Long> refilled = new ArrayList<>(List.of(11L));
+        refilled.addAll(range(2, 10));
+        assertThat(ids(fallback.find("판교", List.of("한식"), 20))).containsExactlyElementsOf(refilled);
+    }
+
+    private void load(RestaurantSummary... restaurants) {
+        RestaurantSummary[] ranked = restaurants.clone();
+        Arrays.sort(ranked, RestaurantSummary.BY_RATING);
+        fallback.onCatalogLoaded(new RestaurantCatalogLoadedEvent(ranked));
+    }
+
+    private static RestaurantSummary summary(Long id, String keywords, String category, double rating) {
+        return new RestaurantSummary(id, category, keywords, rating, null, null);
+    }
+
+    private static Restaurant restaurant(Long id, String keywords, String category, double rating) {
+        return Restaurant.builder().id(id).name("맛집" + id).keywords(keywords).category(category).rating(rating).build();
+    }
+
+    private static List<Long> range(long from, long to) {
+        return LongStream.rangeClosed(from, to).boxed().toList();
+    }
+
+    private static List<Long> ids(List<RestaurantSummary> restaurants) {
+        return restaurants.stream().map(RestaurantSummary::id).toList();
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.onboarding.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class IntentPreFilterTest {
+
+    private static final Logger log = LoggerFactory.getLogger(IntentPreFilterTest.class);
+
+    /**
+     * 놓치면 추천 기회를 잃으므로 재현율 기준을 더 높게 둠
+     */
+    private static final double MIN_RECALL = 0.95;
+    private static final double MIN_PRECISION = 0.9;
+
+    private static final Pattern QUOTED_KEYWORDS = Pattern.compile("\"([^\"]*)\"");
+
+    private final RestaurantKeywordService restaurantKeywordService = mock(RestaurantKeywordService.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private IntentPreFilter filter;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        when(restaurantKeywordService.findDistinctKeywords()).thenReturn(sampleCatalogKeywords());
+        filter = new IntentPreFilter(restaurantKeywordService, new DefaultResourceLoader(), meterRegistry,
+                true, "classpath:lexicon/intent-lexicon.txt", 3);
+        filter.reload();
+    }
+
+    @Test
+    void meetsPrecisionAndRecallOnLabeledCorpus() throws IOException {
+        int truePositives = 0;
+        int falsePositives = 0;
+        int falseNegatives = 0;
+        int trueNegatives = 0;
+        List<String> misclassified = new ArrayList<>();
+
+        List<String[]> corpus = corpus();
+        long roomId = 0;
+        for (String[] sample : corpus) {
+            boolean expected = "1".equals(sample[0]);
+            // 메시지마다 새 채팅방 (후속 메시지 규칙 제외하고 메시지 단독으로 평가)
+            boolean actual = filter.shouldAnalyze(++roomId, sample[1]);
+            if (expected && actual) {
+                truePositives++;
+            } else if (!expected && actual) {
+                falsePositives++;
+                misclassified.add("FP " + sample[1]);
+            } else if (expected) {
+                falseNegatives++;
+                misclassified.add("FN " + sample[1]);
+            } else {
+                trueNegatives++;
+            }
+        }
+
+        double precision = truePositives / (double) (truePositives + falsePositives);
+        double recall = truePositives / (double) (truePositives + falseNegatives);
+        log.info("Intent pre-filter corpus - samples: {}, precision: {}, recall: {}, rejected: {}%, misclassified: {}",
+                corpus.size(), String.format("%.3f", precision), String.format("%.3f", recall),
+                String.format("%.1f", 100.0 * (trueNegatives + falseNegatives) / corpus.size()), misclassified);
+
+        assertThat(recall).as("recall, misclassified: %s", misclassified).isGreaterThanOrEqualTo(MIN_RECALL);
+        assertThat(precision).as("precision, misclassified: %s", misclassified).isGreaterThanOrEqualTo(MIN_PRECISION);
+    }
+
+    @Test
+    void passesLocationFollowUpOnlyShortlyAfterFoodTalk() {
+        assertThat(filter.shouldAnalyze(1L, "판교는?")).isFalse();
+
+        assertThat(filter.shouldAnalyze(1L, "점심 뭐 먹지")).isTrue();
+        assertThat(filter.shouldAnalyze(1L, "판교는?")).isTrue();
+        assertThat(filter.shouldAnalyze(1L, "회의 언제예요")).isFalse();
+        assertThat(filter.shouldAnalyze(1L, "강남은?")).isTrue();
+        // 식사 관련 메시지 이후 follow-up-messages(3)개가 지나면 지역만으로는 통과하지 않음
+        assertThat(filter.shouldAnalyze(1L, "잠실은?")).isFalse();
+
+        // 다른 채팅방의 식사 대화는 영향 없음
+        assertThat(filter.shouldAnalyze(2L, "판교는?")).isFalse();
+    }
+
+    @Test
+    void ignoresNicknamesBecauseOnlyContentIsMatched() {
+        // 예전에는 "닉네임: 내용" 형식의 컨텍스트를 검사하여 닉네임의 음식 단어로 통과됨
+        assertThat(filter.shouldAnalyze(1L, "회의 시작할게요")).isFalse();
+        assertThat(meterRegistry.counter("chat.intent.filter", "result", "rejected").count()).isEqualTo(1.0);
+    }
+
+    private static List<String> sampleCatalogKeywords() throws IOException {
+        Set<String> keywords = new LinkedHashSet<>();
+        try (InputStream in = IntentPreFilterTest.class.getResourceAsStream("/catalog/sample-restaurants.csv")) {
+            Matcher matcher = QUOTED_KEYWORDS.matcher(new String(in.readAllBytes(), StandardCharsets.UTF_8));
+            while (matcher.find()) {
+                keywords.addAll(Arrays.asList(matcher.group(1).split(",")));
+            }
+        }
+        return new ArrayList<>(keywords);
+    }
+
+    private static List<String[]> corpus() throws IOException {
+        List<String[]> samples = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                IntentPreFilterTest.class.getResourceAsStream("/lexicon/intent-corpus.tsv"), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank() || line.startsWith("#")) {
+                    continue;
+                }
+                samples.add(line.split("\t", 2));
+            }
+        }
+        return samples;
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.onboarding.service;
+
+import com.example.onboarding.entity.Restaurant;
+import com.example.onboarding.entity.RestaurantEntityListener;
+import com.example.onboarding.repository.RestaurantKeywordRepository;
+import com.example.onboarding.repository.RestaurantRepository;
+import com.example.onboarding.service.RestaurantSearch.ScoredRestaurant;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@Import({RestaurantKeywordService.class, RestaurantEntityListener.class})
+class PostgresRestaurantSearchTest {
+
+    @Container
+    @ServiceConnection
+    static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private RestaurantRepository restaurantRepository;
+
+    @Autowired
+    private RestaurantKeywordRepository restaurantKeywordRepository;
+
+    @Autowired
+    private RestaurantKeywordService restaurantKeywordService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private PostgresRestaurantSearch search;
+
+    @BeforeEach
+    void setUp() {
+        search = new PostgresRestaurantSearch(jdbcTemplate, restaurantKeywordService);
+        search.init();
+    }
+
+    @Test
+    void matchesPreferencesBySimilarWordsInKoreanText() {
+        Long exact = save("판교,양식", "분위기 좋은 와인바", 4.0);
+        Long similar = save("판교,일식", "분위기가 좋은 이자카야", 4.5);
+        save("판교,한식", "빠르게 먹는 국밥", 4.8);
+
+        List<ScoredRestaurant> result = search.findByText(null, List.of("분위기 좋은"), 10);
+
+        // LIKE로는 찾을 수 없는 "분위기가 좋은"도 일치 (정확히 포함된 맛집이 점수가 더 높음)
+        assertThat(result).extracting(scored -> scored.restaurant().id()).containsExactly(exact, similar);
+        assertThat(result.get(0).score()).isEqualTo(1.0);
+        assertThat(result.get(1).score()).isGreaterThanOrEqualTo(0.6).isLessThan(1.0);
+    }
+
+    @Test
+    void averagesScoresOverTermsAndBreaksTiesByRating() {
+        Long both = save("판교,양식", "분위기 좋은 주차 가능 와인바", 3.9);
+        Long lower = save("판교,일식", "분위기 좋은 이자카야", 4.1);
+        Long higher = save("판교,한식", "분위기 좋은 한정식", 4.6);
+
+        List<ScoredRestaurant> result = search.findByText(null, List.of("분위기 좋은", "주차 가능"), 10);
+
+        assertThat(result).extracting(scored -> scored.restaurant().id()).containsExactly(both, higher, lower);
+        assertThat(result.get(0).score()).isEqualTo(1.0);
+        assertThat(result.get(1).score()).isLessThan(1.0);
+        assertThat(result.get(1).restaurant().rating()).isEqualTo(4.6);
+    }
+
+    @Test
+    void restrictsTextMatchesToTheKeyword() {
+        Long pangyo = save("판교,양식", "분위기 좋은 와인바", 4.0);
+        save("강남,양식", "분위기 좋은 와인바", 4.9);
+        save("판교역,양식", "분위기 좋은 와인바", 4.9);
+
+        List<ScoredRestaurant> result = search.findByText(" 판교 ", List.of("분위기 좋은"), 10);
+
+        assertThat(result).extracting(scored -> scored.restaurant().id()).containsExactly(pangyo);
+    }
+
+    @Test
+    void returnsNothingForBlankTermsOrZeroLimit() {
+        save("판교,양식", "분위기 좋은 와인바", 4.0);
+
+        assertThat(search.findByText(null, List.of(" ", ""), 10)).isEmpty();
+        assertThat(search.findByText(null, List.of("분위기 좋은"), 0)).isEmpty();
+    }
+
+    @Test
+    void findsKeywordsByWholeWordInRatingOrder() {
+        Long korean = save("판교,한식", "국밥", 4.2);
+        Long chinese = save("판교,중식", "짜장면", 4.6);
+        Long japanese = save("판교, 일식", "초밥", 4.9);
+        save("판교역,한식", "백반", 5.0);
+        save("강남,한식", "냉면", 4.8);
+
+        assertThat(search.findByKeyword(" 판교 ", 2)).extracting(restaurant -> restaurant.id())
+                .containsExactly(japanese, chinese);
+        assertThat(search.findByKeywordAndAnyOf("판교", List.of("한식", "중식"), 10))
+                .extracting(restaurant -> restaurant.id())
+                .containsExactly(chinese, korean);
+    }
+
+    private Long save(String keywords, String description, double rating) {
+        Restaurant restaurant = restaurantRepository.saveAndFlush(Restaurant.builder()
+                .name("맛집")
+                .category(keywords.substring(keywords.indexOf(',') + 1).trim())
+                .keywords(keywords)
+                .description(description)
+                .rating(rating)
+                .build());
+        // 커밋되지 않는 테스트 트랜잭션이므로 커밋 후 동기화 대신 직접 키워드 행을 추가
+        restaurantKeywordRepository.insertFromRestaurants(List.of(restaurant.getId()));
+        return restaurant.getId();
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.onboarding.service;
+
+import com.example.onboarding.config.BrokerProperties;
+import com.example.onboarding.config.RecentMessageBufferProperties;
+import com.example.onboarding.dto.ChatMessageDto;
+import com.example.onboarding.dto.ChatMessageSummary;
+import com.example.onboarding.entity.ChatMessage;
+import com.example.onboarding.entity.MessageType;
+import com.example.onboarding.repository.ChatMessageRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RecentMessageBufferTest {
+
+    private final ChatMessageRepository repository = mock(ChatMessageRepository.class);
+    private final ChatMessageWriteBehindQueue writeBehindQueue = mock(ChatMessageWriteBehindQueue.class);
+
+    @Test
+    void servesTailPagesFromBufferInSimpleMode() {
+        when(repository.findSummariesBefore(eq(1L), anyLong(), any())).thenReturn(List.of());
+        RecentMessageBuffer buffer = buffer("simple");
+
+        for (long id = 1; id <= 5; id++) {
+            buffer.append(message(id, "hello " + id));
+        }
+
+        assertThat(buffer.findBefore(1L, Long.MAX_VALUE, 3)).hasValueSatisfying(page ->
+                assertThat(page).extracting(ChatMessageDto::getId).containsExactly(5L, 4L, 3L));
+        assertThat(buffer.getContext(1L, 5L, 2)).containsExactly("tester: hello 4", "tester: hello 3");
+    }
+
+    @Test
+    void readsFromDatabaseInRelayMode() {
+        // 다른 노드에 저장된 메시지(id 2)는 이 노드의 append를 거치지 않음
+        List<ChatMessageSummary> stored = List.of(summary(3L, "local"), summary(2L, "from other node"));
+        when(repository.findSummariesBefore(1L, 4L, PageRequest.of(0, 10))).thenReturn(stored);
+        RecentMessageBuffer buffer = buffer("relay");
+
+        buffer.append(message(3L, "local"));
+
+        assertThat(buffer.findBefore(1L, Long.MAX_VALUE, 10)).isEmpty();
+        assertThat(buffer.getContext(1L, 4L, 10)).containsExactly("tester: local", "tester: from other node");
+        assertThat(buffer.messageCount()).isZero();
+    }
+
+    @Test
+    void mergesUnflushedWriteBehindMessagesOnColdLoad() {
+        // 버퍼 만료 후 첫 메시지: DB에는 1, 2만 저장되었고 3, 4는 아직 저장 큐에 있음
+        List<ChatMessageSummary> stored = List.of(summary(2L, "flushed 2"), summary(1L, "flushed 1"));
+        when(repository.findSummariesBefore(eq(1L), eq(Long.MAX_VALUE), any())).thenReturn(stored);
+        when(writeBehindQueue.getPending(1L)).thenReturn(List.of(message(3L, "pending 3"), message(4L, "pending 4")));
+        RecentMessageBuffer buffer = buffer("simple");
+
+        buffer.append(message(5L, "new 5"));
+
+        assertThat(buffer.findBefore(1L, Long.MAX_VALUE, 10)).hasValueSatisfying(page ->
+                assertThat(page).extracting(ChatMessageDto::getId).containsExactly(5L, 4L, 3L, 2L, 1L));
+        assertThat(buffer.getContext(1L, 5L, 3))
+                .containsExactly("tester: pending 4", "tester: pending 3", "tester: flushed 2");
+    }
+
+    @Test
+    void doesNotClaimCompleteHistoryWhenPendingMessagesOverflowTheRing() {
+        RecentMessageBufferProperties properties = new RecentMessageBufferProperties();
+        properties.setDefaultCapacity(3);
+        List<ChatMessageSummary> stored = List.of(summary(2L, "flushed 2"), summary(1L, "flushed 1"));
+        when(repository.findSummariesBefore(eq(1L), eq(Long.MAX_VALUE), any())).thenReturn(stored);
+        when(writeBehindQueue.getPending(1L)).thenReturn(List.of(message(3L, "pending 3"), message(4L, "pending 4")));
+        RecentMessageBuffer buffer = buffer("simple", properties);
+
+        buffer.getContext(1L, Long.MAX_VALUE, 1);
+
+        // 최근 3개(2, 3, 4)만 버퍼에 있으므로 더 이전 페이지는 DB에서 조회해야 함
+        assertThat(buffer.findBefore(1L, Long.MAX_VALUE, 3)).hasValueSatisfying(page ->
+                assertThat(page).extracting(ChatMessageDto::getId).containsExactly(4L, 3L, 2L));
+        assertThat(buffer.findBefore(1L, 3L, 2)).isEmpty();
+    }
+
+    private RecentMessageBuffer buffer(String brokerMode) {
+        return buffer(brokerMode, new RecentMessageBufferProperties());
+    }
+
+    private RecentMessageBuffer buffer(String brokerMode, RecentMessageBufferProperties properties) {
+        BrokerProperties brokerProperties = new BrokerProperties();
+        brokerProperties.setMode(brokerMode);
+        RecentMessageBuffer buffer = new RecentMessageBuffer(
+                repository, properties, new SimpleMeterRegistry(), brokerProperties, writeBehindQueue);
+        buffer.init();
+        return buffer;
+    }
+
+    private static ChatMessage message(long id, String content) {
+        return ChatMessage.builder()
+                .id(id)
+                .roomId(1L)
+                .senderId(UUID.randomUUID())
+                .senderNickname("tester")
+                .content(content)
+                .type(MessageType.TALK)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    private static ChatMessageSummary summary(long id, String content) {
+        ChatMessageSummary summary = mock(ChatMessageSummary.class);
+        when(summary.getId()).thenReturn(id);
+        when(summary.getSenderNickname()).thenReturn("tester");
+        when(summary.getContent()).thenReturn(content);
+        return summary;
+    }
+}
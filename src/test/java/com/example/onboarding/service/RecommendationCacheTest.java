@@ -0,0 +1,133 @@
+package com.example.onboarding.service;
+
+import com.example.onboarding.dto.ClaudeAnalysisResult;
+import com.example.onboarding.dto.RestaurantDto;
+import com.example.onboarding.dto.RestaurantSummary;
+import com.example.onboarding.entity.Restaurant;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RecommendationCacheTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RecommendationCache cache = new RecommendationCache(meterRegistry, Duration.ofMinutes(5), 100);
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void sharesResultsAcrossEquivalentSignatures() {
+        cache.get(analysis("판교", List.of("한식", "고기"), "점심"), () -> load(1L));
+
+        List<RestaurantDto> cached = cache.get(analysis(" 판교 ", List.of("고기", "한식 ", "한식"), "점심"), () -> load(2L));
+
+        assertThat(ids(cached)).containsExactly(1L);
+        assertThat(loads).hasValue(1);
+        assertThat(searches("location-category", "miss")).isEqualTo(1);
+        assertThat(searches("location-category", "hit")).isEqualTo(1);
+    }
+
+    @Test
+    void doesNotCacheEmptyResults() {
+        assertThat(cache.get(analysis("판교", List.of(), null), () -> {
+            loads.incrementAndGet();
+            return List.of();
+        })).isEmpty();
+
+        assertThat(ids(cache.get(analysis("판교", List.of(), null), () -> load(1L)))).containsExactly(1L);
+        assertThat(loads).hasValue(2);
+        assertThat(searches("location", "miss")).isEqualTo(2);
+    }
+
+    @Test
+    void invalidatesOnlyResultsContainingAChangedRestaurant() {
+        ClaudeAnalysisResult pangyo = analysis("판교", List.of("한식"), null);
+        ClaudeAnalysisResult gangnam = analysis("강남", List.of("한식"), null);
+        cache.get(pangyo, () -> load(1L, 2L));
+        cache.get(gangnam, () -> load(3L));
+
+        cache.onRestaurantChanged(changed(2L));
+
+        assertThat(ids(cache.get(pangyo, () -> load(1L, 4L)))).containsExactly(1L, 4L);
+        assertThat(ids(cache.get(gangnam, () -> load(5L)))).containsExactly(3L);
+        assertThat(loads).hasValue(3);
+
+        // 다시 읽은 결과의 맛집으로 다시 등록됨 (빠진 맛집 2의 변경은 영향 없고, 남아 있는 맛집 1의 변경은 무효화)
+        cache.onRestaurantChanged(changed(2L));
+        cache.get(pangyo, () -> load(6L));
+        assertThat(loads).hasValue(3);
+        cache.onRestaurantChanged(changed(1L));
+        assertThat(ids(cache.get(pangyo, () -> load(6L)))).containsExactly(6L);
+    }
+
+    @Test
+    void invalidatesEverythingWhenTheCatalogIsReloaded() {
+        ClaudeAnalysisResult pangyo = analysis("판교", List.of("한식"), null);
+        cache.get(pangyo, () -> load(1L));
+
+        cache.onCatalogLoaded(new RestaurantCatalogLoadedEvent(new RestaurantSummary[0]));
+
+        assertThat(ids(cache.get(pangyo, () -> load(2L)))).containsExactly(2L);
+    }
+
+    @Test
+    void doesNotKeepResultsLoadedWhileARestaurantChanged() throws Exception {
+        ClaudeAnalysisResult pangyo = analysis("판교", List.of("한식"), null);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch committed = new CountDownLatch(1);
+
+        // 검색 도중 (결과에 없는 맛집이라도) 변경이 커밋되면 검색 결과가 변경 전 데이터일 수 있음
+        CompletableFuture<List<RestaurantDto>> stale = CompletableFuture.supplyAsync(() -> cache.get(pangyo, () -> {
+            loading.countDown();
+            try {
+                committed.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return load(1L);
+        }));
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+        cache.onRestaurantChanged(changed(99L));
+        committed.countDown();
+
+        // 요청한 쪽은 결과를 받지만 캐시에는 남지 않음
+        assertThat(ids(stale.get(5, TimeUnit.SECONDS))).containsExactly(1L);
+        assertThat(ids(cache.get(pangyo, () -> load(2L)))).containsExactly(2L);
+        assertThat(ids(cache.get(pangyo, () -> load(3L)))).containsExactly(2L);
+        assertThat(loads).hasValue(2);
+    }
+
+    private List<RestaurantDto> load(Long... ids) {
+        loads.incrementAndGet();
+        return Arrays.stream(ids).map(id -> RestaurantDto.builder().id(id).name("맛집" + id).build()).toList();
+    }
+
+    private long searches(String keyClass, String result) {
+        return meterRegistry.get("chat.recommendation.search").tag("class", keyClass).tag("result", result)
+                .timer().count();
+    }
+
+    private static RestaurantChangedEvent changed(Long id) {
+        return new RestaurantChangedEvent(Restaurant.builder().id(id).name("맛집" + id).build(), false);
+    }
+
+    private static ClaudeAnalysisResult analysis(String location, List<String> categories, String mealType) {
+        ClaudeAnalysisResult analysis = new ClaudeAnalysisResult();
+        analysis.setLocation(location);
+        analysis.setCategories(categories);
+        analysis.setMealType(mealType);
+        return analysis;
+    }
+
+    private static List<Long> ids(List<RestaurantDto> restaurants) {
+        return restaurants.stream().map(RestaurantDto::getId).toList();
+    }
+}
@@ -0,0 +1,161 @@
+package com.example.onboarding.service;
+
+import com.example.onboarding.dto.RestaurantDto;
+import com.example.onboarding.dto.RestaurantSummary;
+import com.example.onboarding.dto.SuggestionDto;
+import com.example.onboarding.entity.Restaurant;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RestaurantCardCacheTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final RestaurantCardCache cache = new RestaurantCardCache(new SimpleMeterRegistry(), 100);
+
+    @Test
+    void writesTheSameBytesAsJackson() throws Exception {
+        RestaurantDto escaped = card(1L, "따옴표\" 역슬래시\\ 줄바꿈\n탭\t제어\u0001 이모지 🍜 / é", 4.5);
+        RestaurantDto nulls = RestaurantDto.builder().id(2L).name("맛집 2").build();
+        RestaurantDto noId = card(null, "ID 없는 맛집", 3.0);
+        SuggestionDto suggestion = suggestion(List.of(escaped, nulls, noId));
+        suggestion.setTime(null);
+
+        // 조각을 만들 때(미스)와 캐시된 조각을 쓸 때(히트) 모두 같아야 함
+        long generation = cache.generation();
+        assertThat(json(suggestion, generation)).isEqualTo(jackson(suggestion));
+        assertThat(json(suggestion, generation)).isEqualTo(jackson(suggestion));
+
+        SuggestionDto withoutCards = suggestion(null);
+        assertThat(json(withoutCards, generation)).isEqualTo(jackson(withoutCards));
+        withoutCards.setCardData(null);
+        assertThat(json(withoutCards, generation)).isEqualTo(jackson(withoutCards));
+    }
+
+    @Test
+    void reusesFragmentsUntilTheRestaurantChanges() {
+        long generation = cache.generation();
+        cache.toJson(suggestion(List.of(card(1L, "이전 이름", 4.0))), generation);
+
+        // 캐시된 조각 사용 (거리만 요청마다 새로 씀)
+        RestaurantDto renamed = card(1L, "새 이름", 4.0);
+        renamed.setDistance("도보 9분");
+        assertThat(json(suggestion(List.of(renamed)), generation)).contains("이전 이름").contains("도보 9분");
+
+        cache.onRestaurantChanged(changed(1L));
+
+        assertThat(json(suggestion(List.of(renamed)), cache.generation())).contains("새 이름");
+    }
+
+    @Test
+    void doesNotKeepFragmentsBuiltFromDtosOlderThanAChange() {
+        // DTO를 만든 뒤 (다른 맛집이라도) 변경이 커밋되면 그 DTO로 만든 조각은 캐시하지 않음
+        long generation = cache.generation();
+        RestaurantDto stale = card(1L, "이전 이름", 4.0);
+        cache.onRestaurantChanged(changed(1L));
+
+        // 요청한 쪽은 받은 DTO 그대로 전송
+        assertThat(json(suggestion(List.of(stale)), generation)).contains("이전 이름");
+        assertThat(json(suggestion(List.of(card(1L, "새 이름", 4.0))), cache.generation())).contains("새 이름");
+    }
+
+    @Test
+    void dropsEveryFragmentWhenTheCatalogIsReloaded() {
+        cache.toJson(suggestion(List.of(card(1L, "이전 이름", 4.0))), cache.generation());
+
+        cache.onCatalogLoaded(new RestaurantCatalogLoadedEvent(new RestaurantSummary[0]));
+
+        assertThat(json(suggestion(List.of(card(1L, "새 이름", 4.0))), cache.generation())).contains("새 이름");
+    }
+
+    @Test
+    void allocatesLittleMoreThanThePayloadOnAHit() throws Exception {
+        List<RestaurantDto> cards = new ArrayList<>();
+        for (long id = 1; id <= 5; id++) {
+            cards.add(card(id, "맛집 " + id, 4.5));
+        }
+        SuggestionDto suggestion = suggestion(cards);
+        long generation = cache.generation();
+        int payload = cache.toJson(suggestion, generation).length;
+        for (int i = 0; i < 10_000; i++) {
+            cache.toJson(suggestion, generation);
+            objectMapper.writeValueAsBytes(suggestion);
+        }
+
+        long fragments = allocatedBytes(() -> cache.toJson(suggestion, generation));
+        long jackson = allocatedBytes(() -> {
+            try {
+                objectMapper.writeValueAsBytes(suggestion);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        // 결과 배열 (+ 배열 헤더) 외에는 거의 할당하지 않음
+        assertThat(fragments).isLessThan(payload + 256L).isLessThan(jackson);
+    }
+
+    /**
+     * 메시지 컨버터(MappingJackson2MessageConverter)처럼 UTF-8 바이트로 직렬화한 결과
+     * - 문자열 출력과 달리 이모지 등 서로게이트 쌍을 유니코드 이스케이프로 씀
+     */
+    private String jackson(SuggestionDto suggestion) throws Exception {
+        return new String(objectMapper.writeValueAsBytes(suggestion), StandardCharsets.UTF_8);
+    }
+
+    private String json(SuggestionDto suggestion, long generation) {
+        return new String(cache.toJson(suggestion, generation), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 현재 스레드가 task 실행 중 할당한 바이트 (5회 중 최소값)
+     */
+    private static long allocatedBytes(Runnable task) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long min = Long.MAX_VALUE;
+        for (int i = 0; i < 5; i++) {
+            long before = threads.getCurrentThreadAllocatedBytes();
+            task.run();
+            min = Math.min(min, threads.getCurrentThreadAllocatedBytes() - before);
+        }
+        return min;
+    }
+
+    private static RestaurantDto card(Long id, String name, double rating) {
+        return RestaurantDto.builder()
+                .id(id)
+                .name(name)
+                .category("한식")
+                .locationText("판교역")
+                .address("판교역")
+                .description("분위기 좋은 한식 맛집")
+                .rating(rating)
+                .image("/images/placeholder-restaurant.jpg")
+                .distance("도보 5분")
+                .build();
+    }
+
+    private static SuggestionDto suggestion(List<RestaurantDto> restaurants) {
+        return SuggestionDto.builder()
+                .message("맛집을 추천해드릴게요!")
+                .cardData(SuggestionDto.CardData.builder()
+                        .title("판교 한식 맛집")
+                        .image("/images/restaurant-map.jpg")
+                        .restaurants(restaurants)
+                        .build())
+                .targetUserId("user-1")
+                .time("오후 12:30")
+                .build();
+    }
+
+    private static RestaurantChangedEvent changed(Long id) {
+        return new RestaurantChangedEvent(Restaurant.builder().id(id).name("맛집" + id).build(), false);
+    }
+}
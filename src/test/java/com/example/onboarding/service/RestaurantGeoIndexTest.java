@@ -0,0 +1,104 @@
+package com.example.onboarding.service;
+
+import com.example.onboarding.dto.RestaurantSummary;
+import com.example.onboarding.entity.Restaurant;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class RestaurantGeoIndexTest {
+
+    private static final double LAT = 37.40;
+    private static final double LON = 127.10;
+
+    private final RestaurantGeoIndex index = new RestaurantGeoIndex(new SimpleMeterRegistry());
+
+    @Test
+    void nearestMatchesBruteForce() {
+        Random random = new Random(7);
+        RestaurantSummary[] restaurants = new RestaurantSummary[3000];
+        for (int i = 0; i < restaurants.length; i++) {
+            restaurants[i] = new RestaurantSummary((long) i + 1, "한식", i % 3 == 0 ? "판교,삼겹살" : "판교,파스타", 4.0,
+                    LAT + (random.nextDouble() - 0.5) * 0.1, LON + (random.nextDouble() - 0.5) * 0.1);
+        }
+        index.onCatalogLoaded(new RestaurantCatalogLoadedEvent(restaurants));
+
+        for (int query = 0; query < 50; query++) {
+            double lat = LAT + (random.nextDouble() - 0.5) * 0.08;
+            double lon = LON + (random.nextDouble() - 0.5) * 0.08;
+            List<String> categories = query % 2 == 0 ? List.of() : List.of("삼겹살");
+
+            List<RestaurantGeoIndex.NearbyRestaurant> found = index.findNearest(lat, lon, 1500, categories, 10);
+            List<RestaurantGeoIndex.NearbyRestaurant> expected = bruteForce(restaurants, lat, lon, 1500, categories, 10);
+
+            assertThat(found).extracting(nearby -> nearby.restaurant().id())
+                    .containsExactlyElementsOf(expected.stream().map(nearby -> nearby.restaurant().id()).toList());
+            for (int i = 0; i < found.size(); i++) {
+                assertThat(found.get(i).distanceMeters()).isCloseTo(expected.get(i).distanceMeters(), within(1e-6));
+            }
+        }
+    }
+
+    @Test
+    void appliesRadiusAndCategoryFilter() {
+        index.onCatalogLoaded(new RestaurantCatalogLoadedEvent(new RestaurantSummary[]{
+                located(1L, "판교,삼겹살", 100), located(2L, "판교,파스타", 300), located(3L, "판교,삼겹살", 1000)}));
+
+        assertThat(ids(index.findNearest(LAT, LON, 500, List.of(), 10))).containsExactly(1L, 2L);
+        assertThat(ids(index.findNearest(LAT, LON, 2000, List.of(" 삼겹살 "), 10))).containsExactly(1L, 3L);
+        assertThat(ids(index.findNearest(LAT, LON, 2000, List.of(), 1))).containsExactly(1L);
+        assertThat(index.findNearest(LAT, LON, 2000, List.of(), 0)).isEmpty();
+    }
+
+    @Test
+    void appliesChangedAndRemovedRestaurants() {
+        index.onCatalogLoaded(new RestaurantCatalogLoadedEvent(new RestaurantSummary[]{
+                located(1L, "판교", 100), located(2L, "판교", 300), new RestaurantSummary(3L, "한식", "판교", 4.0, null, null)}));
+
+        // 좌표 이동, 좌표가 새로 생긴 맛집, 삭제
+        index.onRestaurantChanged(new RestaurantChangedEvent(restaurant(1L, 2000), false));
+        index.onRestaurantChanged(new RestaurantChangedEvent(restaurant(3L, 50), false));
+        index.onRestaurantChanged(new RestaurantChangedEvent(restaurant(2L, 300), true));
+
+        List<RestaurantGeoIndex.NearbyRestaurant> found = index.findNearest(LAT, LON, 5000, List.of(), 10);
+        assertThat(ids(found)).containsExactly(3L, 1L);
+        assertThat(found.get(1).distanceMeters()).isCloseTo(2000, within(1.0));
+    }
+
+    private static List<RestaurantGeoIndex.NearbyRestaurant> bruteForce(RestaurantSummary[] restaurants, double lat, double lon,
+                                                                        double radius, List<String> categories, int limit) {
+        List<RestaurantGeoIndex.NearbyRestaurant> all = new ArrayList<>();
+        for (RestaurantSummary restaurant : restaurants) {
+            double distance = RestaurantGeoIndex.distanceMeters(lat, lon, restaurant.latitude(), restaurant.longitude());
+            if (distance <= radius && (categories.isEmpty()
+                    || RestaurantKeywordIndex.hasAnyKeyword(restaurant.keywords(), categories))) {
+                all.add(new RestaurantGeoIndex.NearbyRestaurant(restaurant, distance));
+            }
+        }
+        all.sort(Comparator.comparingDouble(RestaurantGeoIndex.NearbyRestaurant::distanceMeters));
+        return all.subList(0, Math.min(limit, all.size()));
+    }
+
+    /**
+     * 기준점에서 북쪽으로 meters 떨어진 맛집
+     */
+    private static RestaurantSummary located(Long id, String keywords, double meters) {
+        return new RestaurantSummary(id, "한식", keywords, 4.0, LAT + Math.toDegrees(meters / 6_371_008.8), LON);
+    }
+
+    private static Restaurant restaurant(Long id, double meters) {
+        return Restaurant.builder().id(id).name("맛집 " + id).keywords("판교").rating(4.0)
+                .latitude(LAT + Math.toDegrees(meters / 6_371_008.8)).longitude(LON).build();
+    }
+
+    private static List<Long> ids(List<RestaurantGeoIndex.NearbyRestaurant> found) {
+        return found.stream().map(nearby -> nearby.restaurant().id()).toList();
+    }
+}
@@ -0,0 +1,165 @@
+package com.example.onboarding.service;
+
+import com.example.onboarding.dto.RestaurantSummary;
+import com.example.onboarding.entity.Restaurant;
+import com.example.onboarding.repository.RestaurantRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class RestaurantKeywordIndexTest {
+
+    private final RestaurantRepository restaurantRepository = mock(RestaurantRepository.class);
+    private final RestaurantKeywordService restaurantKeywordService = mock(RestaurantKeywordService.class);
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+    private RestaurantKeywordIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new RestaurantKeywordIndex(restaurantRepository, restaurantKeywordService, eventPublisher,
+                new SimpleMeterRegistry());
+    }
+
+    @Test
+    void intersectAnyMatchesNaiveIntersection() {
+        Random random = new Random(42);
+        for (int round = 0; round < 200; round++) {
+            int[] base = sortedSample(random, 1 + random.nextInt(300));
+            List<int[]> anyOf = new ArrayList<>();
+            for (int k = random.nextInt(4); k >= 0; k--) {
+                anyOf.add(sortedSample(random, random.nextInt(300)));
+            }
+            int limit = 1 + random.nextInt(50);
+
+            List<Integer> expected = new ArrayList<>();
+            for (int value : base) {
+                if (expected.size() < limit && anyOf.stream().anyMatch(list -> contains(list, value))) {
+                    expected.add(value);
+                }
+            }
+
+            assertThat(RestaurantKeywordIndex.intersectAny(base, anyOf, limit))
+                    .containsExactly(expected.stream().mapToInt(Integer::intValue).toArray());
+        }
+    }
+
+    @Test
+    void intersectAnyHandlesEmptyListsAndLimit() {
+        assertThat(RestaurantKeywordIndex.intersectAny(new int[0], List.of(new int[]{1, 2}), 5)).isEmpty();
+        assertThat(RestaurantKeywordIndex.intersectAny(new int[]{1, 2}, List.of(), 5)).isEmpty();
+        assertThat(RestaurantKeywordIndex.intersectAny(new int[]{1, 2}, List.of(new int[0]), 5)).isEmpty();
+        assertThat(RestaurantKeywordIndex.intersectAny(new int[]{1, 3, 5, 7}, List.of(new int[]{7}, new int[]{1, 5}), 2))
+                .containsExactly(1, 5);
+        assertThat(RestaurantKeywordIndex.intersectAny(new int[]{1, 3, 5}, List.of(new int[]{1, 3, 5}), 0)).isEmpty();
+    }
+
+    @Test
+    void searchesPostingListsAfterRebuild() {
+        loadCatalog(summary(1L, "판교,삼겹살", 4.1), summary(2L, "판교, 파스타", 4.5), summary(3L, "강남,삼겹살", 4.0));
+
+        assertThat(index.rebuild()).isEqualTo(3);
+
+        assertThat(ids(index.findByKeyword(" 판교 ", 10))).containsExactly(2L, 1L);
+        assertThat(ids(index.findByKeywordAndAnyOf("판교", List.of("삼겹살", "초밥"), 10))).containsExactly(1L);
+        assertThat(index.findByText(null, List.of("삼겹살", "파스타"), 10))
+                .extracting(scored -> scored.restaurant().id())
+                .containsExactly(2L, 1L, 3L);
+        verify(eventPublisher).publishEvent(any(RestaurantCatalogLoadedEvent.class));
+    }
+
+    @Test
+    void appliesChangedAndRemovedRestaurants() {
+        loadCatalog(summary(1L, "판교,삼겹살", 4.1), summary(3L, "판교,파스타", 4.5));
+        index.rebuild();
+
+        // 키워드 변경: 기존 posting list에서 빠지고 새 키워드로 검색됨
+        index.onRestaurantChanged(new RestaurantChangedEvent(restaurant(1L, "판교,초밥"), false));
+        // 새 맛집: 평점 순서 유지 (1번과 평점이 같으면 id 순)
+        index.onRestaurantChanged(new RestaurantChangedEvent(restaurant(2L, "판교,삼겹살"), false));
+        // 삭제
+        index.onRestaurantChanged(new RestaurantChangedEvent(restaurant(3L, "판교,파스타"), true));
+
+        assertThat(ids(index.findByKeyword("판교", 10))).containsExactly(1L, 2L);
+        assertThat(ids(index.findByKeyword("초밥", 10))).containsExactly(1L);
+        assertThat(ids(index.findByKeyword("삼겹살", 10))).containsExactly(2L);
+        assertThat(index.findByKeyword("파스타", 10)).isEmpty();
+    }
+
+    @Test
+    void keepsHighestRatedRestaurantsWhenTruncating() {
+        List<RestaurantSummary> catalog = new ArrayList<>();
+        for (long id = 1; id <= 500; id++) {
+            catalog.add(summary(id, id % 2 == 0 ? "판교,삼겹살" : "판교,파스타", (id * 37 % 500) / 100.0));
+        }
+        loadCatalog(catalog.toArray(new RestaurantSummary[0]));
+        index.rebuild();
+
+        List<RestaurantSummary> top = index.findByKeywordAndAnyOf("판교", List.of("삼겹살"), 20);
+
+        List<RestaurantSummary> expected = catalog.stream()
+                .filter(r -> r.keywords().contains("삼겹살"))
+                .sorted(RestaurantSummary.BY_RATING)
+                .limit(20)
+                .toList();
+        assertThat(top).containsExactlyElementsOf(expected);
+        assertThat(index.findByKeyword("판교", 1).get(0).rating()).isEqualTo(4.99);
+    }
+
+    @Test
+    void ignoresChangesBeforeIndexIsBuilt() {
+        index.onRestaurantChanged(new RestaurantChangedEvent(restaurant(1L, "판교"), false));
+
+        index.findByKeyword("판교", 10);
+
+        verify(restaurantKeywordService).findByKeyword(eq("판교"), eq(10));
+        verifyNoInteractions(restaurantRepository);
+    }
+
+    private void loadCatalog(RestaurantSummary... restaurants) {
+        when(restaurantRepository.findSummariesByIdGreaterThan(any(), any())).thenReturn(List.of(restaurants));
+    }
+
+    private static RestaurantSummary summary(Long id, String keywords, double rating) {
+        return new RestaurantSummary(id, "한식", keywords, rating, null, null);
+    }
+
+    private static Restaurant restaurant(Long id, String keywords) {
+        return Restaurant.builder().id(id).name("맛집 " + id).keywords(keywords).rating(4.0)
+                .description("색인에 보관하지 않는 긴 설명").build();
+    }
+
+    private static List<Long> ids(List<RestaurantSummary> restaurants) {
+        return restaurants.stream().map(RestaurantSummary::id).toList();
+    }
+
+    private static int[] sortedSample(Random random, int size) {
+        TreeSet<Integer> values = new TreeSet<>();
+        while (values.size() < size) {
+            values.add(random.nextInt(2000));
+        }
+        return values.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private static boolean contains(int[] values, int value) {
+        for (int v : values) {
+            if (v == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.onboarding.service;
+
+import com.example.onboarding.config.RecommendationRankingProperties;
+import com.example.onboarding.dto.ClaudeAnalysisResult;
+import com.example.onboarding.dto.RestaurantSummary;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RestaurantRankerTest {
+
+    private static final String[] KEYWORDS = {"판교", "강남", "삼겹살", "파스타", "회식", "데이트", "가성비", "분위기"};
+
+    private final RestaurantRanker ranker = new RestaurantRanker(new RecommendationRankingProperties());
+
+    @Test
+    void scoresMatchesBeforeRating() {
+        List<RestaurantSummary> candidates = List.of(
+                summary(1L, "판교,파스타", 5.0),
+                summary(2L, "판교,삼겹살", 3.0),
+                summary(3L, "강남,삼겹살", 4.0),
+                summary(4L, "판교,삼겹살,회식", 3.0));
+
+        List<RestaurantSummary> top = ranker.topK(candidates, null, null, 1500, analysis(), 3);
+
+        // 지역+카테고리+식사 종류 → 지역+카테고리 → 지역만 (평점 5.0이어도 카테고리 불일치)
+        assertThat(ids(top)).containsExactly(4L, 2L, 1L);
+    }
+
+    @Test
+    void breaksTiesByRatingThenId() {
+        List<RestaurantSummary> candidates = List.of(
+                summary(3L, "판교,삼겹살", 4.0),
+                summary(1L, "판교,삼겹살", 4.0),
+                summary(2L, "판교,삼겹살", 4.5));
+
+        assertThat(ids(ranker.topK(candidates, null, null, 1500, analysis(), 3))).containsExactly(2L, 1L, 3L);
+    }
+
+    @Test
+    void prefersNearbyCandidatesAndTextScores() {
+        List<RestaurantSummary> candidates = List.of(summary(1L, "삼겹살", 4.0), summary(2L, "삼겹살", 4.0));
+        double[] distances = {1400, 100};
+
+        assertThat(ids(ranker.topK(candidates, distances, null, 1500, analysis(), 2))).containsExactly(2L, 1L);
+
+        ClaudeAnalysisResult withPreference = analysis();
+        withPreference.setPreferences(List.of("분위기 좋은"));
+        double[] textScores = {0.9, Double.NaN};
+        assertThat(ids(ranker.topK(candidates, null, textScores, 1500, withPreference, 2))).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void heapSelectionMatchesFullOrdering() {
+        Random random = new Random(11);
+        for (int round = 0; round < 100; round++) {
+            List<RestaurantSummary> candidates = randomCandidates(random, 1 + random.nextInt(400));
+            double[] distances = randomDistances(random, candidates.size());
+
+            List<RestaurantSummary> all = ranker.topK(candidates, distances, null, 1500, analysis(), candidates.size());
+            assertThat(all).hasSize(candidates.size()).containsExactlyInAnyOrderElementsOf(candidates);
+
+            for (int k : new int[]{1, 5, 17, candidates.size() + 3}) {
+                assertThat(ranker.topK(candidates, distances, null, 1500, analysis(), k))
+                        .containsExactlyElementsOf(all.subList(0, Math.min(k, all.size())));
+            }
+        }
+    }
+
+    @Test
+    void allocatesNothingPerCandidate() {
+        Random random = new Random(5);
+        List<RestaurantSummary> small = randomCandidates(random, 1_000);
+        List<RestaurantSummary> large = randomCandidates(random, 100_000);
+        double[] smallDistances = randomDistances(random, small.size());
+        double[] largeDistances = randomDistances(random, large.size());
+        ClaudeAnalysisResult analysis = analysis();
+        analysis.setPreferences(List.of("가성비", "분위기"));
+
+        // JIT 컴파일 후 측정
+        for (int i = 0; i < 20; i++) {
+            ranker.topK(large, largeDistances, null, 1500, analysis, 5);
+        }
+        long smallBytes = allocatedBytes(() -> ranker.topK(small, smallDistances, null, 1500, analysis, 5));
+        long largeBytes = allocatedBytes(() -> ranker.topK(large, largeDistances, null, 1500, analysis, 5));
+
+        // 후보가 99,000개 늘어도 할당량은 같아야 함 (후보당 객체 하나만 만들어도 1MB 이상 차이)
+        assertThat(largeBytes - smallBytes).isLessThan(16 * 1024);
+    }
+
+    @Test
+    void returnsEmptyForNoCandidatesOrZeroK() {
+        assertThat(ranker.topK(List.of(), null, null, 1500, analysis(), 5)).isEmpty();
+        assertThat(ranker.topK(List.of(summary(1L, "판교", 4.0)), null, null, 1500, analysis(), 0)).isEmpty();
+    }
+
+    /**
+     * 현재 스레드가 task 실행 중 할당한 바이트 (5회 중 최소값)
+     */
+    private static long allocatedBytes(Runnable task) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long min = Long.MAX_VALUE;
+        for (int i = 0; i < 5; i++) {
+            long before = threads.getCurrentThreadAllocatedBytes();
+            task.run();
+            min = Math.min(min, threads.getCurrentThreadAllocatedBytes() - before);
+        }
+        return min;
+    }
+
+    static List<RestaurantSummary> randomCandidates(Random random, int size) {
+        List<RestaurantSummary> candidates = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            List<String> keywords = new ArrayList<>();
+            for (String keyword : KEYWORDS) {
+                if (random.nextInt(3) == 0) {
+                    keywords.add(keyword);
+                }
+            }
+            // 평점은 0.1 단위로 만들어 동점을 자주 발생시킴
+            candidates.add(summary((long) i + 1, String.join(",", keywords), random.nextInt(51) / 10.0));
+        }
+        return candidates;
+    }
+
+    static double[] randomDistances(Random random, int size) {
+        double[] distances = new double[size];
+        Arrays.fill(distances, Double.NaN);
+        for (int i = 0; i < size; i += 2) {
+            distances[i] = random.nextInt(3000);
+        }
+        return distances;
+    }
+
+    static ClaudeAnalysisResult analysis() {
+        ClaudeAnalysisResult analysis = new ClaudeAnalysisResult();
+        analysis.setLocation("판교");
+        analysis.setCategories(List.of("삼겹살"));
+        analysis.setMealType("회식");
+        return analysis;
+    }
+
+    private static RestaurantSummary summary(Long id, String keywords, double rating) {
+        return new RestaurantSummary(id, "한식", keywords, rating, null, null);
+    }
+
+    private static List<Long> ids(List<RestaurantSummary> restaurants) {
+        return restaurants.stream().map(RestaurantSummary::id).toList();
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.onboarding.service;
+
+import com.example.onboarding.entity.ChatMessage;
+import com.example.onboarding.entity.MessageType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class RoomAnalysisSchedulerTest {
+
+    private final SuggestionService suggestionService = mock(SuggestionService.class);
+    private final IntentPreFilter intentPreFilter = mock(IntentPreFilter.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RoomAnalysisScheduler scheduler = new RoomAnalysisScheduler(
+            suggestionService, intentPreFilter, meterRegistry, Duration.ofMillis(100), Duration.ofSeconds(1));
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdown();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void analyzesBurstOnceAndPromptsEverySender() {
+        when(intentPreFilter.shouldAnalyze(any(), any())).thenReturn(true);
+        when(suggestionService.analyzeMessage(any(), anyCollection())).thenReturn(CompletableFuture.completedFuture(null));
+        UUID alice = UUID.randomUUID();
+        UUID bob = UUID.randomUUID();
+
+        scheduler.submit(message(1L, alice));
+        scheduler.submit(message(2L, bob));
+        scheduler.submit(message(3L, alice));
+
+        ArgumentCaptor<ChatMessage> analyzed = ArgumentCaptor.forClass(ChatMessage.class);
+        ArgumentCaptor<Collection<UUID>> senders = ArgumentCaptor.forClass(Collection.class);
+        verify(suggestionService, timeout(2000)).analyzeMessage(analyzed.capture(), senders.capture());
+
+        assertThat(analyzed.getValue().getId()).isEqualTo(3L);
+        assertThat(senders.getValue()).containsExactly(alice, bob);
+        assertThat(meterRegistry.counter("chat.analysis.runs").count()).isEqualTo(1.0);
+        assertThat(meterRegistry.counter("chat.analysis.saved").count()).isEqualTo(2.0);
+    }
+
+    @Test
+    void doesNotScheduleMessagesRejectedByIntentFilter() throws InterruptedException {
+        when(intentPreFilter.shouldAnalyze(any(), any())).thenReturn(false);
+
+        scheduler.submit(message(1L, UUID.randomUUID()));
+        Thread.sleep(300);
+
+        verifyNoInteractions(suggestionService);
+        assertThat(meterRegistry.counter("chat.analysis.requests").count()).isZero();
+    }
+
+    private static ChatMessage message(long id, UUID senderId) {
+        return ChatMessage.builder()
+                .id(id)
+                .roomId(1L)
+                .senderId(senderId)
+                .senderNickname("tester")
+                .content("점심 뭐 먹지")
+                .type(MessageType.TALK)
+                .build();
+    }
+}
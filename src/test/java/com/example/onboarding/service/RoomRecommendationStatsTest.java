@@ -0,0 +1,76 @@
+package com.example.onboarding.service;
+
+import com.example.onboarding.dto.RoomRecommendationTraffic;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RoomRecommendationStatsTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RoomRecommendationStats stats = new RoomRecommendationStats(meterRegistry);
+
+    @Test
+    void countsMessagesPerRoomAndInTotal() {
+        stats.recordPrompt(1L);
+        stats.recordSuggestion(1L, 1200);
+        stats.recordSuggestion(1L, 800);
+        stats.recordError(2L);
+
+        List<RoomRecommendationTraffic> top = stats.top(10);
+
+        assertThat(top).extracting(RoomRecommendationTraffic::getRoomId).containsExactly(1L, 2L);
+        RoomRecommendationTraffic room = top.get(0);
+        assertThat(room.getPrompts()).isEqualTo(1);
+        assertThat(room.getSuggestions()).isEqualTo(2);
+        assertThat(room.getErrors()).isZero();
+        assertThat(room.getSuggestionBytes()).isEqualTo(2000);
+        assertThat(room.getTotal()).isEqualTo(3);
+        assertThat(top.get(1).getErrors()).isEqualTo(1);
+
+        // 채팅방 ID는 메트릭 태그에 넣지 않음 (type별 합계만)
+        assertThat(messages("prompt")).isEqualTo(1.0);
+        assertThat(messages("suggestion")).isEqualTo(2.0);
+        assertThat(messages("error")).isEqualTo(1.0);
+        assertThat(meterRegistry.get("chat.recommendation.messages").counters()).hasSize(3);
+    }
+
+    @Test
+    void returnsTheBusiestRoomsUpToTheLimit() {
+        for (long roomId = 1; roomId <= 5; roomId++) {
+            for (int i = 0; i < roomId; i++) {
+                stats.recordPrompt(roomId);
+            }
+        }
+
+        assertThat(stats.top(3)).extracting(RoomRecommendationTraffic::getRoomId).containsExactly(5L, 4L, 3L);
+        assertThat(stats.top(0)).isEmpty();
+    }
+
+    @Test
+    void countsConcurrentRecordsWithoutLoss() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 8_000; i++) {
+            long roomId = i % 4;
+            executor.execute(() -> stats.recordSuggestion(roomId, 10));
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(stats.top(10)).hasSize(4).allSatisfy(room -> {
+            assertThat(room.getSuggestions()).isEqualTo(2_000);
+            assertThat(room.getSuggestionBytes()).isEqualTo(20_000);
+        });
+        assertThat(messages("suggestion")).isEqualTo(8_000.0);
+    }
+
+    private double messages(String type) {
+        return meterRegistry.get("chat.recommendation.messages").tag("type", type).counter().count();
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.onboarding.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SequenceBlockIdGeneratorTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final AtomicLong sequence = new AtomicLong();
+
+    @Test
+    void createsSequenceOnlyOnInit() {
+        SequenceBlockIdGenerator generator = new SequenceBlockIdGenerator(jdbcTemplate, 3);
+        stubSequence();
+
+        generator.init();
+        generator.nextId();
+        generator.nextId();
+
+        verify(jdbcTemplate, times(1)).execute(anyString());
+    }
+
+    @Test
+    void fetchesOneBlockPerBlockSizeIds() {
+        SequenceBlockIdGenerator generator = new SequenceBlockIdGenerator(jdbcTemplate, 3);
+        stubSequence();
+
+        List<Long> ids = LongStream.range(0, 7).map(i -> generator.nextId()).boxed().toList();
+
+        assertThat(ids).containsExactly(1L, 2L, 3L, 4L, 5L, 6L, 7L);
+        verify(jdbcTemplate, times(3)).queryForList(anyString(), eq(Long.class), eq(3));
+        verify(jdbcTemplate, never()).execute(anyString());
+    }
+
+    private void stubSequence() {
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), eq(3)))
+                .thenAnswer(invocation -> LongStream.rangeClosed(1, 3).map(i -> sequence.incrementAndGet()).boxed().toList());
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.onboarding.service;
+
+import com.example.onboarding.dto.ChatHistoryDto;
+import com.example.onboarding.dto.ChatMessageDto;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SnowflakeIdGeneratorTest {
+
+    @Test
+    void issuesStrictlyIncreasingIdsWithinNode() {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(7);
+
+        long previous = generator.nextId();
+        // 1ms 안에 시퀀스(4096개)를 넘겨도 증가해야 함
+        for (int i = 0; i < 100_000; i++) {
+            long id = generator.nextId();
+            assertThat(id).isGreaterThan(previous);
+            previous = id;
+        }
+    }
+
+    @Test
+    void encodesNodeIdAndTimestamp() {
+        long before = System.currentTimeMillis();
+        long id = new SnowflakeIdGenerator(SnowflakeIdGenerator.MAX_NODE_ID).nextId();
+
+        assertThat((id >>> 12) & SnowflakeIdGenerator.MAX_NODE_ID).isEqualTo(SnowflakeIdGenerator.MAX_NODE_ID);
+        assertThat((id >>> 22) + 1704067200000L).isBetween(before, System.currentTimeMillis());
+    }
+
+    @Test
+    void sendsIdsAboveTwoToTheFiftyThreeAsJsonStrings() throws Exception {
+        long id = new SnowflakeIdGenerator(SnowflakeIdGenerator.MAX_NODE_ID).nextId();
+        assertThat(id).isGreaterThan(1L << 53);
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        ChatHistoryDto history = ChatHistoryDto.builder()
+                .messages(List.of(ChatMessageDto.builder().id(id).roomId(1L).content("hi").build()))
+                .nextBefore(id)
+                .hasMore(true)
+                .build();
+        JsonNode json = objectMapper.readTree(objectMapper.writeValueAsString(history));
+
+        // JavaScript number(배정밀도)로 반올림되지 않도록 문자열로 전송, 받은 값 그대로 되돌려도 같은 ID
+        assertThat(json.get("nextBefore").isTextual()).isTrue();
+        assertThat(json.get("messages").get(0).get("id").asText()).isEqualTo(Long.toString(id));
+        assertThat(objectMapper.treeToValue(json.get("messages").get(0), ChatMessageDto.class).getId()).isEqualTo(id);
+        assertThat(json.get("messages").get(0).get("roomId").isNumber()).isTrue();
+    }
+
+    @Test
+    void differentNodesNeverCollide() {
+        SnowflakeIdGenerator first = new SnowflakeIdGenerator(1);
+        SnowflakeIdGenerator second = new SnowflakeIdGenerator(2);
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+
+        for (int i = 0; i < 10_000; i++) {
+            ids.add(first.nextId());
+            ids.add(second.nextId());
+        }
+
+        assertThat(ids).hasSize(20_000);
+    }
+
+    @Test
+    void concurrentCallersGetUniqueIds() throws InterruptedException {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(3);
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        for (int t = 0; t < 8; t++) {
+            executor.submit(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    ids.add(generator.nextId());
+                }
+            });
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(ids).hasSize(80_000);
+    }
+
+    @Test
+    void rejectsNodeIdOutOfRange() {
+        assertThatThrownBy(() -> new SnowflakeIdGenerator(SnowflakeIdGenerator.MAX_NODE_ID + 1))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new SnowflakeIdGenerator(-1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
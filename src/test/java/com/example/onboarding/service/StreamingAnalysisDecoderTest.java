@@ -0,0 +1,113 @@
+package com.example.onboarding.service;
+
+import com.example.onboarding.dto.ClaudeAnalysisResult;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StreamingAnalysisDecoderTest {
+
+    private static final String ANALYSIS = """
+            {"shouldRecommend": true, "confidence": 0.85, "location": "판교", "mealType": "점심", \
+            "categories": ["한식", "일식"], "preferences": ["회식"], "reasoning": "판교에서 점심 장소를 찾는 중"}""";
+
+    private final StreamingAnalysisDecoder decoder = new StreamingAnalysisDecoder(new ObjectMapper());
+
+    @Test
+    void skipsMarkdownBeforeTheObjectAndIgnoresTextAfterIt() {
+        assertThat(decoder.feed("```json\n")).isEmpty();
+        assertThat(decoder.feed("")).isEmpty();
+        assertThat(decoder.feed(null)).isEmpty();
+        Optional<ClaudeAnalysisResult> decided = decoder.feed(ANALYSIS + "\n```\n참고: {\"shouldRecommend\": false}");
+
+        assertThat(decided).isPresent();
+        ClaudeAnalysisResult result = decoder.result().orElseThrow();
+        assertThat(result.isShouldRecommend()).isTrue();
+        assertThat(result.getConfidence()).isEqualTo(0.85);
+        assertThat(result.getLocation()).isEqualTo("판교");
+        assertThat(result.getMealType()).isEqualTo("점심");
+        assertThat(result.getCategories()).containsExactly("한식", "일식");
+        assertThat(result.getPreferences()).containsExactly("회식");
+        assertThat(result.getReasoning()).isEqualTo("판교에서 점심 장소를 찾는 중");
+        assertThat(decoder.text()).startsWith("```json\n{").endsWith("false}");
+    }
+
+    @Test
+    void emitsOnceWhenDecisionFieldsAreKnownEvenIfEveryTokenIsSplit() {
+        // 한 글자씩 도착 (필드 이름, 숫자, 문자열이 모두 조각 경계에 걸림)
+        List<Integer> emittedAt = new ArrayList<>();
+        ClaudeAnalysisResult partial = null;
+        for (int i = 0; i < ANALYSIS.length(); i++) {
+            Optional<ClaudeAnalysisResult> result = decoder.feed(String.valueOf(ANALYSIS.charAt(i)));
+            if (result.isPresent()) {
+                emittedAt.add(i);
+                partial = result.get();
+            }
+        }
+
+        // 숫자는 뒤따르는 구분자가 와야 끝나므로 confidence 다음 ','에서 확정, reasoning 생성 전
+        assertThat(emittedAt).containsExactly(ANALYSIS.indexOf(", \"location\""));
+        assertThat(partial.isShouldRecommend()).isTrue();
+        assertThat(partial.getConfidence()).isEqualTo(0.85);
+        assertThat(partial.getLocation()).isNull();
+        assertThat(partial.getReasoning()).isNull();
+        assertThat(partial.getCategories()).isEmpty();
+
+        assertThat(decoder.result()).hasValueSatisfying(result -> {
+            assertThat(result.getCategories()).containsExactly("한식", "일식");
+            assertThat(result.getReasoning()).isEqualTo("판교에서 점심 장소를 찾는 중");
+        });
+    }
+
+    @Test
+    void waitsForBothDecisionFieldsInAnyOrder() {
+        assertThat(decoder.feed("{\"confidence\": 0.3, \"location\": null, ")).isEmpty();
+        Optional<ClaudeAnalysisResult> decided = decoder.feed("\"shouldRecommend\": false, \"reasoning\": \"인사\"");
+
+        assertThat(decided).hasValueSatisfying(result -> {
+            assertThat(result.isShouldRecommend()).isFalse();
+            assertThat(result.getConfidence()).isEqualTo(0.3);
+        });
+        assertThat(decoder.feed("}")).isEmpty();
+        assertThat(decoder.result()).isPresent();
+    }
+
+    @Test
+    void decodesEscapedStringsAcrossChunks() {
+        decoder.feed("{\"shouldRecommend\": true, \"confidence\": 0.9, \"reasoning\": \"그가 \\");
+        decoder.feed("\"배고파\\\" 라고 했고\\n\\u");
+        decoder.feed("B9DB집 얘기 {괄호} 포함\", \"location\": \"강남\\/역삼\"}");
+
+        ClaudeAnalysisResult result = decoder.result().orElseThrow();
+        assertThat(result.getReasoning()).isEqualTo("그가 \"배고파\" 라고 했고\n" + (char) 0xB9DB + "집 얘기 {괄호} 포함");
+        assertThat(result.getLocation()).isEqualTo("강남/역삼");
+    }
+
+    @Test
+    void ignoresNestedFieldsWithTheSameNames() {
+        decoder.feed("{\"meta\": {\"shouldRecommend\": false, \"confidence\": 0.1, \"categories\": [\"x\"]}, ");
+        decoder.feed("\"tags\": [[\"y\"]], \"shouldRecommend\": true, \"confidence\": 0.7}");
+
+        ClaudeAnalysisResult result = decoder.result().orElseThrow();
+        assertThat(result.isShouldRecommend()).isTrue();
+        assertThat(result.getConfidence()).isEqualTo(0.7);
+        assertThat(result.getCategories()).isEmpty();
+    }
+
+    @Test
+    void leavesResultEmptyForIncompleteOrInvalidJson() {
+        decoder.feed("{\"shouldRecommend\": true, \"confidence\": 0.9, \"reasoning\": \"끊긴");
+        assertThat(decoder.result()).isEmpty();
+
+        StreamingAnalysisDecoder invalid = new StreamingAnalysisDecoder(new ObjectMapper());
+        assertThat(invalid.feed("{shouldRecommend: true, confidence: 0.9}")).isEmpty();
+        assertThat(invalid.feed("}")).isEmpty();
+        assertThat(invalid.result()).isEmpty();
+        assertThat(invalid.text()).isEqualTo("{shouldRecommend: true, confidence: 0.9}}");
+    }
+}
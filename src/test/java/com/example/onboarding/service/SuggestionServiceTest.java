@@ -0,0 +1,174 @@
+package com.example.onboarding.service;
+
+import com.example.onboarding.config.RecommendationRankingProperties;
+import com.example.onboarding.dto.ClaudeAnalysisResult;
+import com.example.onboarding.dto.RecommendationPromptDto;
+import com.example.onboarding.entity.ChatMessage;
+import com.example.onboarding.entity.MessageType;
+import com.example.onboarding.repository.RestaurantRepository;
+import com.example.onboarding.websocket.OutboundFlowControl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.user.SimpUserRegistry;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SuggestionServiceTest {
+
+    private final RecommendationCache recommendationCache = mock(RecommendationCache.class);
+    private final SimpMessagingTemplate messagingTemplate = mock(SimpMessagingTemplate.class);
+    private final ClaudeService claudeService = mock(ClaudeService.class);
+    private final RecentMessageBuffer recentMessageBuffer = mock(RecentMessageBuffer.class);
+    private final AnalysisExecutor analysisExecutor = new AnalysisExecutor(4, 10, false, new SimpleMeterRegistry());
+
+    private final UUID sender = UUID.randomUUID();
+    private SuggestionService suggestionService;
+
+    @BeforeEach
+    void setUp() {
+        suggestionService = new SuggestionService(
+                mock(RestaurantSearch.class), mock(RestaurantGeoIndex.class), mock(RestaurantRanker.class),
+                mock(FallbackRecommendations.class), mock(RestaurantRepository.class), recommendationCache, mock(RestaurantCardCache.class),
+                new RecommendationRankingProperties(), mock(Gazetteer.class), messagingTemplate,
+                mock(SimpUserRegistry.class), mock(RoomRecommendationStats.class), claudeService,
+                recentMessageBuffer, analysisExecutor);
+        ReflectionTestUtils.setField(suggestionService, "deliveryMode", "room");
+        when(recentMessageBuffer.getContext(anyLong(), anyLong(), anyInt())).thenReturn(List.of());
+        when(recommendationCache.get(any(), any())).thenReturn(List.of());
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        analysisExecutor.shutdown();
+    }
+
+    @Test
+    void recommendsWithFinalStreamingResultInsteadOfPartial() throws Exception {
+        ClaudeAnalysisResult partial = partial();
+        ClaudeAnalysisResult complete = complete();
+        when(claudeService.analyzeConversation(any(), anyString())).thenReturn(Flux.just(partial, complete));
+
+        suggestionService.analyzeMessage(message(), Set.of(sender)).get(1, TimeUnit.SECONDS);
+        suggestionService.provideRecommendation(promptedAnalysisId(), sender.toString(), null);
+
+        verify(recommendationCache).get(eq(complete), any());
+    }
+
+    @Test
+    void recommendsWithPartialResultWhenStreamFailsAfterPrompt() throws Exception {
+        ClaudeAnalysisResult partial = partial();
+        when(claudeService.analyzeConversation(any(), anyString()))
+                .thenReturn(Flux.concat(Flux.just(partial), Flux.error(new IllegalStateException("stream reset"))));
+
+        suggestionService.analyzeMessage(message(), Set.of(sender)).get(1, TimeUnit.SECONDS);
+        suggestionService.provideRecommendation(promptedAnalysisId(), sender.toString(), null);
+
+        // 알림을 보낸 실제 분석 결과로 추천 (빈 오류 대체 결과로 바뀌지 않음)
+        verify(recommendationCache).get(eq(partial), any());
+    }
+
+    @Test
+    void waitsForStreamToFinishWhenRequestedEarly() {
+        Sinks.Many<ClaudeAnalysisResult> stream = Sinks.many().unicast().onBackpressureBuffer();
+        when(claudeService.analyzeConversation(any(), anyString())).thenReturn(stream.asFlux());
+        ClaudeAnalysisResult complete = complete();
+
+        suggestionService.analyzeMessage(message(), Set.of(sender));
+        stream.tryEmitNext(partial());
+        suggestionService.provideRecommendation(promptedAnalysisId(), sender.toString(), null);
+        verify(recommendationCache, never()).get(any(), any());
+
+        stream.tryEmitNext(complete);
+        stream.tryEmitComplete();
+        verify(recommendationCache, timeout(1000)).get(eq(complete), any());
+    }
+
+    @Test
+    void recommendsOffTheThreadThatFinishesTheStream() throws Exception {
+        Sinks.Many<ClaudeAnalysisResult> stream = Sinks.many().unicast().onBackpressureBuffer();
+        when(claudeService.analyzeConversation(any(), anyString())).thenReturn(stream.asFlux());
+        AtomicReference<String> recommendedOn = new AtomicReference<>();
+        when(recommendationCache.get(any(), any())).thenAnswer(invocation -> {
+            recommendedOn.set(Thread.currentThread().getName());
+            return List.of();
+        });
+
+        suggestionService.analyzeMessage(message(), Set.of(sender));
+        stream.tryEmitNext(partial());
+        suggestionService.provideRecommendation(promptedAnalysisId(), sender.toString(), null);
+
+        // 스트림 끝은 WebClient(Reactor Netty) 이벤트 루프에서 도착
+        Thread eventLoop = new Thread(() -> {
+            stream.tryEmitNext(complete());
+            stream.tryEmitComplete();
+        }, "reactor-http-nio-1");
+        eventLoop.start();
+        eventLoop.join();
+
+        verify(recommendationCache, timeout(1000)).get(any(), any());
+        assertThat(recommendedOn.get()).isNotEqualTo("reactor-http-nio-1").startsWith("boundedElastic");
+    }
+
+    private String promptedAnalysisId() {
+        ArgumentCaptor<Object> prompt = ArgumentCaptor.forClass(Object.class);
+        // room 전송 모드: 채팅과 같은 목적지로 가므로 흐름 제어가 구분할 수 있도록 이벤트 헤더를 붙임
+        verify(messagingTemplate, timeout(1000)).convertAndSend(eq("/sub/room/1"), prompt.capture(),
+                ArgumentMatchers.<Map<String, Object>>argThat(headers ->
+                        "recommendation-prompt".equals(headers.get(OutboundFlowControl.EVENT_TYPE_HEADER))));
+        return ((RecommendationPromptDto) prompt.getValue()).getAnalysisId();
+    }
+
+    /**
+     * 추천 여부/신뢰도만 확정된 스트리밍 중간 결과
+     */
+    private static ClaudeAnalysisResult partial() {
+        return ClaudeAnalysisResult.builder().shouldRecommend(true).confidence(0.9).build();
+    }
+
+    private static ClaudeAnalysisResult complete() {
+        return ClaudeAnalysisResult.builder()
+                .shouldRecommend(true)
+                .confidence(0.9)
+                .location("판교")
+                .mealType("점심")
+                .categories(List.of("한식"))
+                .reasoning("판교 점심 장소 논의")
+                .build();
+    }
+
+    private ChatMessage message() {
+        return ChatMessage.builder()
+                .id(10L)
+                .roomId(1L)
+                .senderId(sender)
+                .senderNickname("tester")
+                .content("판교 점심 뭐 먹지")
+                .type(MessageType.TALK)
+                .build();
+    }
+}
@@ -0,0 +1,331 @@
+package com.example.onboarding.websocket;
+
+import com.example.onboarding.config.BrokerProperties;
+import com.example.onboarding.config.WebSocketConfig;
+import com.example.onboarding.config.WebSocketTransportProperties;
+import com.example.onboarding.service.ChatUserRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.context.PropertyPlaceholderAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.DispatcherServletAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.ServletWebServerFactoryAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.WebMvcAutoConfiguration;
+import org.springframework.boot.autoconfigure.websocket.servlet.WebSocketServletAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.messaging.converter.StringMessageConverter;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.stomp.StompBrokerRelayMessageHandler;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.messaging.simp.user.SimpUserRegistry;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+import org.springframework.web.socket.sockjs.client.SockJsClient;
+import org.springframework.web.socket.sockjs.client.WebSocketTransport;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.images.builder.Transferable;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.lang.reflect.Type;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * 외부 브로커 중계(relay) 모드 두 인스턴스 테스트 (RabbitMQ STOMP, Docker가 없으면 건너뜀)
+ * - 같은 JVM에서 WebSocket 설정만 올린 인스턴스 두 개를 띄우고, 한쪽에 접속한 클라이언트가 다른 쪽에서 보낸 메시지를 받는지 확인
+ * - 클라이언트는 /sub 목적지를 그대로 사용 (브로커에는 /topic/... 로 전달)
+ * - 인스턴스 1개/2개의 브로드캐스트 처리량 비교
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class BrokerRelayIntegrationTest {
+
+    private static final String LOGIN = "chat";
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+    private static final int CLIENTS = 8;
+    private static final int BROADCASTS = 2000;
+
+    @Container
+    static final GenericContainer<?> rabbit = new GenericContainer<>("rabbitmq:3.13-alpine")
+            .withCopyToContainer(Transferable.of("[rabbitmq_stomp]."), "/etc/rabbitmq/enabled_plugins")
+            // guest 계정은 localhost 접속만 허용하므로 별도 계정 사용
+            .withEnv("RABBITMQ_DEFAULT_USER", LOGIN)
+            .withEnv("RABBITMQ_DEFAULT_PASS", LOGIN)
+            .withExposedPorts(61613)
+            .waitingFor(Wait.forLogMessage(".*Server startup complete.*", 1).withStartupTimeout(Duration.ofMinutes(2)));
+
+    private final List<ConfigurableApplicationContext> nodes = new ArrayList<>();
+    private final List<StompSession> sessions = new ArrayList<>();
+    private final WebSocketStompClient stompClient = stompClient();
+
+    @AfterEach
+    void tearDown() {
+        sessions.stream().filter(StompSession::isConnected).forEach(StompSession::disconnect);
+        nodes.forEach(ConfigurableApplicationContext::close);
+        stompClient.stop();
+    }
+
+    @Test
+    void deliversBroadcastsAndUserDestinationsAcrossNodes() throws Exception {
+        ConfigurableApplicationContext nodeA = startNode(brokerAddress());
+        ConfigurableApplicationContext nodeB = startNode(brokerAddress());
+        awaitBrokerAvailable(nodeA, nodeB);
+
+        String userId = UUID.randomUUID().toString();
+        StompSession session = connect(nodeA, userId);
+        BlockingQueue<String> room = subscribe(session, "/sub/room/1");
+        BlockingQueue<String> suggestions = subscribe(session, "/user/sub/suggestion");
+
+        // 다른 인스턴스에서 보낸 채팅방 브로드캐스트
+        nodeB.getBean(SimpMessagingTemplate.class).convertAndSend("/sub/room/1", "hello from B");
+        assertThat(room.poll(TIMEOUT.toSeconds(), TimeUnit.SECONDS)).isEqualTo("hello from B");
+
+        // 다른 인스턴스에서 보낸 개인 메시지 (사용자 세션이 A에만 있음)
+        nodeB.getBean(SimpMessagingTemplate.class).convertAndSendToUser(userId, "/sub/suggestion", "card from B");
+        assertThat(suggestions.poll(TIMEOUT.toSeconds(), TimeUnit.SECONDS)).isEqualTo("card from B");
+
+        // SuggestionService가 전송 전에 확인하는 사용자 레지스트리에도 다른 인스턴스의 사용자가 보임
+        awaitTrue(() -> nodeB.getBean(SimpUserRegistry.class).getUser(userId) != null);
+
+        // 다른 사용자의 개인 메시지는 받지 않음
+        nodeB.getBean(SimpMessagingTemplate.class).convertAndSendToUser(UUID.randomUUID().toString(), "/sub/suggestion", "not mine");
+        nodeA.getBean(SimpMessagingTemplate.class).convertAndSendToUser(userId, "/sub/suggestion", "card from A");
+        assertThat(suggestions.poll(TIMEOUT.toSeconds(), TimeUnit.SECONDS)).isEqualTo("card from A");
+    }
+
+    @Test
+    void failsOverToTheNextRelayHostAndReconnectsAfterABrokerOutage() throws Exception {
+        // 첫 주소는 닫힌 포트: 연결 실패 후 다음 주소(브로커)로 재연결
+        ConfigurableApplicationContext nodeA = startNode("localhost:1," + brokerAddress());
+        ConfigurableApplicationContext nodeB = startNode(brokerAddress());
+        awaitBrokerAvailable(nodeA, nodeB);
+
+        StompSession before = connect(nodeA, UUID.randomUUID().toString());
+        BlockingQueue<String> beforeRoom = subscribe(before, "/sub/room/1");
+        nodeB.getBean(SimpMessagingTemplate.class).convertAndSend("/sub/room/1", "before outage");
+        assertThat(beforeRoom.poll(TIMEOUT.toSeconds(), TimeUnit.SECONDS)).isEqualTo("before outage");
+
+        // 브로커 정지: 하트비트가 끊겨 두 인스턴스 모두 브로커 연결을 잃음
+        var docker = DockerClientFactory.instance().client();
+        docker.pauseContainerCmd(rabbit.getContainerId()).exec();
+        try {
+            awaitTrue(() -> !relay(nodeA).isBrokerAvailable() && !relay(nodeB).isBrokerAvailable());
+        } finally {
+            docker.unpauseContainerCmd(rabbit.getContainerId()).exec();
+        }
+
+        // 재연결 후 새로 접속한 클라이언트는 다시 다른 인스턴스의 메시지를 받음
+        awaitBrokerAvailable(nodeA, nodeB);
+        StompSession after = connect(nodeA, UUID.randomUUID().toString());
+        BlockingQueue<String> afterRoom = subscribe(after, "/sub/room/1");
+        nodeB.getBean(SimpMessagingTemplate.class).convertAndSend("/sub/room/1", "after outage");
+        assertThat(afterRoom.poll(TIMEOUT.toSeconds(), TimeUnit.SECONDS)).isEqualTo("after outage");
+    }
+
+    /**
+     * 채팅방 브로드캐스트 처리량: 인스턴스 1개 vs 2개 (클라이언트와 전송을 인스턴스에 나눠 배치)
+     * - 모든 클라이언트가 모든 인스턴스에서 보낸 메시지를 빠짐없이 받는지 확인
+     * - 두 인스턴스와 브로커가 같은 호스트의 CPU를 나눠 쓰므로 선형 증가는 보장하지 않고,
+     *   인스턴스를 늘려도 중계 경로가 직렬화되어 처리량이 절반 아래로 떨어지지 않는지만 확인
+     */
+    @Test
+    void broadcastThroughputHoldsUpWhenClientsAndPublishersSpreadAcrossNodes() throws Exception {
+        ConfigurableApplicationContext nodeA = startNode(brokerAddress());
+        ConfigurableApplicationContext nodeB = startNode(brokerAddress());
+        awaitBrokerAvailable(nodeA, nodeB);
+
+        double single = broadcastRate(List.of(nodeA), "/sub/room/101");
+        double scaled = broadcastRate(List.of(nodeA, nodeB), "/sub/room/102");
+
+        assertThat(scaled).as("deliveries/s with 2 nodes vs %.0f with 1 node", single).isGreaterThan(single * 0.5);
+    }
+
+    /**
+     * 클라이언트 CLIENTS개를 인스턴스에 번갈아 접속시키고, 인스턴스마다 동시에 BROADCASTS / n개씩 전송
+     *
+     * @return 초당 클라이언트 전달 수
+     */
+    private double broadcastRate(List<ConfigurableApplicationContext> group, String destination) throws Exception {
+        int perNode = BROADCASTS / group.size();
+        CountDownLatch delivered = new CountDownLatch(CLIENTS * perNode * group.size());
+        for (int i = 0; i < CLIENTS; i++) {
+            StompSession session = connect(group.get(i % group.size()), UUID.randomUUID().toString());
+            subscribe(session, destination, payload -> delivered.countDown());
+        }
+
+        long start = System.nanoTime();
+        List<Thread> publishers = new ArrayList<>();
+        for (ConfigurableApplicationContext node : group) {
+            SimpMessagingTemplate template = node.getBean(SimpMessagingTemplate.class);
+            publishers.add(Thread.ofPlatform().start(() -> {
+                for (int j = 0; j < perNode; j++) {
+                    template.convertAndSend(destination, "broadcast " + j);
+                }
+            }));
+        }
+        for (Thread publisher : publishers) {
+            publisher.join();
+        }
+        assertThat(delivered.await(TIMEOUT.toSeconds(), TimeUnit.SECONDS))
+                .as("%d deliveries left on %d node(s)", delivered.getCount(), group.size())
+                .isTrue();
+        return CLIENTS * perNode * group.size() / ((System.nanoTime() - start) / 1e9);
+    }
+
+    private ConfigurableApplicationContext startNode(String relayHosts) {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(RelayNode.class)
+                .properties(
+                        "server.port=0",
+                        "server.address=127.0.0.1",
+                        "spring.main.banner-mode=off",
+                        "chat.websocket.broker.mode=relay",
+                        "chat.websocket.broker.relay-hosts=" + relayHosts,
+                        "chat.websocket.broker.client-login=" + LOGIN,
+                        "chat.websocket.broker.client-passcode=" + LOGIN,
+                        "chat.websocket.broker.system-login=" + LOGIN,
+                        "chat.websocket.broker.system-passcode=" + LOGIN,
+                        "chat.websocket.broker.system-heartbeat-send-interval=1s",
+                        "chat.websocket.broker.system-heartbeat-receive-interval=1s")
+                .run();
+        nodes.add(context);
+        return context;
+    }
+
+    private StompSession connect(ConfigurableApplicationContext node, String userId) throws Exception {
+        int port = ((ServletWebServerApplicationContext) node).getWebServer().getPort();
+        StompHeaders headers = new StompHeaders();
+        headers.add("X-Nickname", "tester");
+        StompSession session = stompClient.connectAsync("http://127.0.0.1:" + port + "/ws-chat?userId=" + userId,
+                        null, headers, new StompSessionHandlerAdapter() {
+                        })
+                .get(TIMEOUT.toSeconds(), TimeUnit.SECONDS);
+        session.setAutoReceipt(true);
+        sessions.add(session);
+        return session;
+    }
+
+    /**
+     * 구독 후 브로커의 RECEIPT까지 대기 (브로커에 구독이 등록된 뒤 전송하도록)
+     */
+    private static BlockingQueue<String> subscribe(StompSession session, String destination) throws InterruptedException {
+        BlockingQueue<String> received = new LinkedBlockingQueue<>();
+        subscribe(session, destination, received::add);
+        return received;
+    }
+
+    private static void subscribe(StompSession session, String destination, Consumer<String> handler)
+            throws InterruptedException {
+        CountDownLatch subscribed = new CountDownLatch(1);
+        session.subscribe(destination, new StompFrameHandler() {
+            @Override
+            public Type getPayloadType(StompHeaders headers) {
+                return String.class;
+            }
+
+            @Override
+            public void handleFrame(StompHeaders headers, Object payload) {
+                handler.accept((String) payload);
+            }
+        }).addReceiptTask(subscribed::countDown);
+        assertThat(subscribed.await(TIMEOUT.toSeconds(), TimeUnit.SECONDS)).as("receipt for " + destination).isTrue();
+    }
+
+    private static void awaitBrokerAvailable(ConfigurableApplicationContext... nodes) throws InterruptedException {
+        awaitTrue(() -> {
+            for (ConfigurableApplicationContext node : nodes) {
+                if (!relay(node).isBrokerAvailable()) {
+                    return false;
+                }
+            }
+            return true;
+        });
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TIMEOUT.toNanos();
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not met within " + TIMEOUT).isLessThan(deadline);
+            Thread.sleep(100);
+        }
+    }
+
+    private static StompBrokerRelayMessageHandler relay(ConfigurableApplicationContext node) {
+        return node.getBean(StompBrokerRelayMessageHandler.class);
+    }
+
+    private static String brokerAddress() {
+        return rabbit.getHost() + ":" + rabbit.getMappedPort(61613);
+    }
+
+    private static WebSocketStompClient stompClient() {
+        WebSocketStompClient client = new WebSocketStompClient(
+                new SockJsClient(List.of(new WebSocketTransport(new StandardWebSocketClient()))));
+        client.setMessageConverter(new StringMessageConverter());
+        // 클라이언트 하트비트 없음 (스케줄러 없이 실행, 브로커가 클라이언트 연결을 끊지 않도록)
+        client.setDefaultHeartbeat(new long[]{0, 0});
+        return client;
+    }
+
+    /**
+     * WebSocket/STOMP 설정만 올린 인스턴스 (DB, LLM 없이)
+     */
+    @SpringBootConfiguration
+    @ImportAutoConfiguration({
+            PropertyPlaceholderAutoConfiguration.class,
+            JacksonAutoConfiguration.class,
+            ServletWebServerFactoryAutoConfiguration.class,
+            DispatcherServletAutoConfiguration.class,
+            WebMvcAutoConfiguration.class,
+            WebSocketServletAutoConfiguration.class
+    })
+    @EnableConfigurationProperties
+    @Import({
+            WebSocketConfig.class,
+            BrokerProperties.class,
+            WebSocketTransportProperties.class,
+            RelayDestinationMapper.class,
+            UserHandshakeInterceptor.class,
+            UserHandshakeHandler.class,
+            UserSessionChannelInterceptor.class,
+            UserSessionRegistry.class,
+            OutboundFlowControl.class,
+            CompactWireFormat.class
+    })
+    static class RelayNode {
+
+        @Bean
+        ChatUserRegistry chatUserRegistry() {
+            return mock(ChatUserRegistry.class);
+        }
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.example.onboarding.websocket;
+
+import com.example.onboarding.dto.ChatMessageDto;
+import com.example.onboarding.dto.RestaurantDto;
+import com.example.onboarding.dto.SuggestionDto;
+import com.example.onboarding.entity.MessageType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.util.MimeTypeUtils;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class CompactWireFormatTest {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2026, 10, 16, 12, 30, 15, 250_000_000);
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private final CBORMapper cborMapper = new CBORMapper();
+    private final MessageChannel channel = mock(MessageChannel.class);
+
+    @Test
+    void leavesJsonUntouchedWhenDisabled() throws Exception {
+        CompactWireFormat format = format(false, "");
+        format.register("s1", "cbor");
+
+        Message<byte[]> message = message("s1", objectMapper.writeValueAsBytes(chat("alice", "hello", CREATED_AT)));
+
+        assertThat(format.preSend(message, channel)).isSameAs(message);
+    }
+
+    @Test
+    void convertsCreatedAtInServerTimeZone() throws Exception {
+        byte[] json = objectMapper.writeValueAsBytes(chat("alice", "hello", CREATED_AT));
+
+        assertThat(createdAt(format(true, "Asia/Seoul"), json))
+                .isEqualTo(CREATED_AT.atZone(ZoneId.of("Asia/Seoul")).toInstant().toEpochMilli());
+        assertThat(createdAt(format(true, ""), json))
+                .isEqualTo(CREATED_AT.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+    }
+
+    @Test
+    void referencesRepeatedSendersThroughSessionDictionary() throws Exception {
+        CompactWireFormat format = format(true, "");
+        format.register("s1", "cbor");
+        ChatMessageDto chat = chat("alice", "hello", CREATED_AT);
+
+        JsonNode first = decode(format.preSend(message("s1", objectMapper.writeValueAsBytes(chat)), channel));
+        JsonNode second = decode(format.preSend(message("s1", objectMapper.writeValueAsBytes(chat)), channel));
+
+        assertThat(first.get("4").isArray()).isTrue();
+        assertThat(first.get("4").get(1).asText()).isEqualTo("alice");
+        assertThat(second.get("4").isInt()).isTrue();
+        assertThat(second.get("4").asInt()).isEqualTo(first.get("4").get(0).asInt());
+        assertThat(second.get("5").asText()).isEqualTo("hello");
+    }
+
+    /**
+     * 채팅방 트래픽(발신자 20명, 한국어 메시지 2,000개)과 추천 카드를 JSON과 CBOR로 보낼 때 크기 비교
+     * - 채팅은 필드 이름/발신자 사전/epoch 시각으로 절반 이하, 카드도 JSON보다 작아야 함
+     */
+    @Test
+    void shrinksChatTrafficAndCardsComparedToJson() throws Exception {
+        Random random = new Random(5);
+        List<String> senders = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            senders.add("user" + i);
+        }
+        String[] phrases = {"오늘 점심 뭐 먹을까요?", "판교역 근처 삼겹살 어때요", "저는 파스타가 좋아요",
+                "회식 장소 추천해 주세요", "ㅋㅋㅋ 좋아요", "12시 반에 만나요", "가성비 좋은 곳으로 가요"};
+        CompactWireFormat format = format(true, "");
+        format.register("s1", "cbor");
+
+        long jsonBytes = 0;
+        long cborBytes = 0;
+        for (int i = 0; i < 2_000; i++) {
+            byte[] json = objectMapper.writeValueAsBytes(chat(senders.get(random.nextInt(senders.size())),
+                    phrases[random.nextInt(phrases.length)], CREATED_AT.plusSeconds(i)));
+            jsonBytes += json.length;
+            cborBytes += ((byte[]) format.preSend(message("s1", json), channel).getPayload()).length;
+        }
+        byte[] card = objectMapper.writeValueAsBytes(card());
+        byte[] cardCbor = (byte[]) format.preSend(message("s1", card), channel).getPayload();
+
+        assertThat(cborBytes).isLessThan(jsonBytes / 2);
+        assertThat(cardCbor.length).isLessThan(card.length);
+    }
+
+    private CompactWireFormat format(boolean enabled, String timeZone) {
+        return new CompactWireFormat(objectMapper, new SimpleMeterRegistry(), enabled, 1024, timeZone);
+    }
+
+    private long createdAt(CompactWireFormat format, byte[] json) throws Exception {
+        String sessionId = UUID.randomUUID().toString();
+        format.register(sessionId, "cbor");
+        return decode(format.preSend(message(sessionId, json), channel)).get("6").asLong();
+    }
+
+    private JsonNode decode(Message<?> message) throws Exception {
+        assertThat(message.getHeaders().get(MessageHeaders.CONTENT_TYPE)).isEqualTo(CompactWireFormat.APPLICATION_CBOR);
+        return cborMapper.readTree((byte[]) message.getPayload());
+    }
+
+    private static Message<byte[]> message(String sessionId, byte[] json) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setSessionId(sessionId);
+        accessor.setDestination("/sub/room/1");
+        accessor.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        return MessageBuilder.createMessage(json, accessor.getMessageHeaders());
+    }
+
+    private static ChatMessageDto chat(String sender, String content, LocalDateTime createdAt) {
+        return ChatMessageDto.builder()
+                .id(createdAt.getSecond() + 1_000_000L)
+                .roomId(1L)
+                .senderId(UUID.nameUUIDFromBytes(sender.getBytes()).toString())
+                .senderNickname(sender)
+                .content(content)
+                .type(MessageType.TALK)
+                .createdAt(createdAt)
+                .build();
+    }
+
+    private static SuggestionDto card() {
+        List<RestaurantDto> restaurants = new ArrayList<>();
+        for (long id = 1; id <= 5; id++) {
+            restaurants.add(RestaurantDto.builder()
+                    .id(id)
+                    .name("판교 맛집 " + id)
+                    .category("한식 • 고기")
+                    .locationText("경기 성남시 분당구 판교역로 " + id)
+                    .address("경기 성남시 분당구 판교역로 " + id)
+                    .description("숯불에 구운 삼겹살과 된장찌개가 유명한 곳")
+                    .rating(4.5)
+                    .image("/images/placeholder-restaurant.jpg")
+                    .distance("도보 " + id + "분")
+                    .build());
+        }
+        return SuggestionDto.builder()
+                .message("맛집을 추천해드릴게요!")
+                .cardData(SuggestionDto.CardData.builder()
+                        .title("판교 삼겹살 맛집")
+                        .image("/images/restaurant-map.jpg")
+                        .restaurants(restaurants)
+                        .build())
+                .targetUserId(UUID.randomUUID().toString())
+                .time("오후 12:30")
+                .build();
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.onboarding.websocket;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.tcp.TcpConnection;
+import org.springframework.messaging.tcp.TcpConnectionHandler;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FailoverTcpClientTest {
+
+    private FailoverTcpClient client;
+    private ServerSocket broker;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (client != null) {
+            client.shutdownAsync().get(5, TimeUnit.SECONDS);
+        }
+        if (broker != null) {
+            broker.close();
+        }
+    }
+
+    @Test
+    void movesToTheNextAddressOnlyAfterAConnectFailure() throws Exception {
+        // 연결을 받기만 하는 브로커 (TCP 연결 수립만 확인)
+        broker = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        InetSocketAddress live = loopback(broker.getLocalPort());
+        client = new FailoverTcpClient(List.of(loopback(closedPort()), live));
+
+        assertThat(connect()).isFalse();
+        assertThat(client.currentAddress()).isEqualTo(live);
+
+        // 연결된 주소는 계속 사용 (클라이언트 세션마다 주소를 돌지 않음)
+        assertThat(connect()).isTrue();
+        assertThat(connect()).isTrue();
+        assertThat(client.currentAddress()).isEqualTo(live);
+    }
+
+    @Test
+    void cyclesThroughEveryAddressWhileAllAreDown() throws Exception {
+        InetSocketAddress first = loopback(closedPort());
+        InetSocketAddress second = loopback(closedPort());
+        client = new FailoverTcpClient(List.of(first, second));
+
+        assertThat(connect()).isFalse();
+        assertThat(client.currentAddress()).isEqualTo(second);
+        assertThat(connect()).isFalse();
+        assertThat(client.currentAddress()).isEqualTo(first);
+    }
+
+    /**
+     * 연결 시도 결과 (연결되면 바로 닫음)
+     */
+    private boolean connect() throws Exception {
+        CompletableFuture<Boolean> result = new CompletableFuture<>();
+        client.connectAsync(new TcpConnectionHandler<>() {
+            @Override
+            public void afterConnected(TcpConnection<byte[]> connection) {
+                connection.close();
+                result.complete(true);
+            }
+
+            @Override
+            public void afterConnectFailure(Throwable ex) {
+                result.complete(false);
+            }
+
+            @Override
+            public void handleMessage(Message<byte[]> message) {
+            }
+
+            @Override
+            public void handleFailure(Throwable ex) {
+            }
+
+            @Override
+            public void afterConnectionClosed() {
+            }
+        });
+        return result.get(5, TimeUnit.SECONDS);
+    }
+
+    private static InetSocketAddress loopback(int port) {
+        return new InetSocketAddress(InetAddress.getLoopbackAddress(), port);
+    }
+
+    /**
+     * 열었다 닫은 포트 (연결 거부)
+     */
+    private static int closedPort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            return socket.getLocalPort();
+        }
+    }
+}
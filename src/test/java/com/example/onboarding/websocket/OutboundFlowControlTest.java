@@ -0,0 +1,289 @@
+package com.example.onboarding.websocket;
+
+import com.example.onboarding.config.WebSocketTransportProperties;
+import com.example.onboarding.dto.SessionOutboundStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ExecutorSubscribableChannel;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OutboundFlowControlTest {
+
+    private static final String SESSION_ID = "s1";
+    private static final String CHAT = "/sub/room/1";
+    private static final String SUGGESTION = "/user/s1/sub/suggestion";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final WebSocketSession session = mock(WebSocketSession.class);
+    private final MessageChannel channel = mock(MessageChannel.class);
+    private ExecutorService executor;
+
+    @AfterEach
+    void tearDown() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void holdsNonChatEventsForStalledClientAndReleasesNewestWhenItCatchesUp() throws Exception {
+        OutboundFlowControl flowControl = flowControl("drop-oldest");
+        WebSocketSession tracked = connect(flowControl);
+
+        // 클라이언트가 읽지 않는 동안: 대기 4개까지는 통과, 이후 채팅은 통과 / 추천 이벤트는 보류 (최대 3개)
+        List<Message<?>> passed = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            passed.add(flowControl.preSend(message(CHAT, "chat-" + i), channel));
+        }
+        for (int i = 0; i < 6; i++) {
+            assertThat(flowControl.preSend(message(SUGGESTION, "card-" + i), channel)).isNull();
+        }
+        passed.add(flowControl.preSend(message(CHAT, "chat-4"), channel));
+        assertThat(passed).doesNotContainNull();
+
+        SessionOutboundStatus stalled = flowControl.top(1).get(0);
+        assertThat(stalled.getPending()).isEqualTo(5);
+        assertThat(stalled.getHeld()).isEqualTo(3);
+        assertThat(stalled.getDropped()).isEqualTo(3);
+        assertThat(meterRegistry.counter("chat.websocket.outbound.dropped", "reason", "overflow").count()).isEqualTo(3);
+
+        // 클라이언트가 따라잡으면 대기 수가 절반(2) 이하로 줄 때 가장 최근 이벤트 3개를 도착 순으로 재전송
+        tracked.sendMessage(frame("chat-0"));
+        tracked.sendMessage(frame("chat-1"));
+        verify(channel, never()).send(any());
+        tracked.sendMessage(frame("chat-2"));
+
+        ArgumentCaptor<Message<?>> released = ArgumentCaptor.forClass(Message.class);
+        verify(channel, times(3)).send(released.capture());
+        assertThat(released.getAllValues()).extracting(OutboundFlowControlTest::payload)
+                .containsExactly("card-3", "card-4", "card-5");
+        assertThat(flowControl.top(1).get(0).getHeld()).isZero();
+    }
+
+    @Test
+    void coalescesHeldEventsPerDestination() throws Exception {
+        OutboundFlowControl flowControl = flowControl("coalesce");
+        connect(flowControl);
+
+        for (int i = 0; i < 4; i++) {
+            flowControl.preSend(message(CHAT, "chat-" + i), channel);
+        }
+        for (int i = 0; i < 5; i++) {
+            flowControl.preSend(message(SUGGESTION, "card-" + i), channel);
+        }
+        flowControl.preSend(message("/user/s1/sub/recommendation-prompt", "prompt"), channel);
+
+        SessionOutboundStatus status = flowControl.top(1).get(0);
+        assertThat(status.getHeld()).isEqualTo(2);
+        assertThat(status.getCoalesced()).isEqualTo(4);
+        assertThat(status.getDropped()).isZero();
+    }
+
+    @Test
+    void holdsRoomModeEventsByHeaderAndCoalescesPerTargetUser() throws Exception {
+        OutboundFlowControl flowControl = flowControl("coalesce");
+        connect(flowControl);
+
+        for (int i = 0; i < 4; i++) {
+            flowControl.preSend(message(CHAT, "chat-" + i), channel);
+        }
+
+        // room 전송 모드: 추천 이벤트도 채팅방 목적지로 가지만 이벤트 헤더로 구분해 보류
+        assertThat(flowControl.preSend(message(CHAT, "chat-4"), channel)).isNotNull();
+        assertThat(flowControl.preSend(event(CHAT, "suggestion", "u1", "card-u1-0"), channel)).isNull();
+        assertThat(flowControl.preSend(event(CHAT, "suggestion", "u1", "card-u1-1"), channel)).isNull();
+        assertThat(flowControl.preSend(event(CHAT, "suggestion", "u2", "card-u2"), channel)).isNull();
+        assertThat(flowControl.preSend(event(CHAT, "recommendation-prompt", "u1", "prompt-u1"), channel)).isNull();
+
+        // 같은 사용자 + 같은 종류만 합침 (u1 카드 2개 -> 1개)
+        SessionOutboundStatus status = flowControl.top(1).get(0);
+        assertThat(status.getPending()).isEqualTo(5);
+        assertThat(status.getHeld()).isEqualTo(3);
+        assertThat(status.getCoalesced()).isEqualTo(1);
+    }
+
+    @Test
+    void disconnectsStalledClientOnce() throws Exception {
+        OutboundFlowControl flowControl = flowControl("disconnect");
+        connect(flowControl);
+
+        for (int i = 0; i < 4; i++) {
+            flowControl.preSend(message(CHAT, "chat-" + i), channel);
+        }
+        assertThat(flowControl.preSend(message(CHAT, "chat-4"), channel)).isNull();
+        assertThat(flowControl.preSend(message(SUGGESTION, "card"), channel)).isNull();
+
+        verify(session, times(1)).close(CloseStatus.SESSION_NOT_RELIABLE);
+        assertThat(meterRegistry.counter("chat.websocket.outbound.disconnected").count()).isEqualTo(1);
+    }
+
+    @Test
+    void countsOnlyMessageFramesSoDirectWritesDoNotDrift() throws Exception {
+        OutboundFlowControl flowControl = flowControl("drop-oldest");
+        WebSocketSession tracked = connect(flowControl);
+
+        // 채널을 거치는 제어 프레임(CONNECTED)은 양쪽 모두 집계하지 않음
+        assertThat(flowControl.preSend(control(SimpMessageType.CONNECT_ACK), channel)).isNotNull();
+        tracked.sendMessage(new TextMessage("CONNECTED\nversion:1.2\n\n\u0000"));
+        for (int i = 0; i < 3; i++) {
+            flowControl.preSend(message(CHAT, "chat-" + i), channel);
+        }
+
+        // 프로토콜 핸들러가 채널을 거치지 않고 직접 쓰는 ERROR/하트비트 프레임은 전송 수에 반영하지 않음
+        tracked.sendMessage(new TextMessage("ERROR\nmessage:Invalid frame\n\n\u0000"));
+        tracked.sendMessage(new TextMessage("\n"));
+        tracked.sendMessage(new BinaryMessage("ERROR\r\n\r\n\u0000".getBytes(StandardCharsets.UTF_8)));
+        assertThat(flowControl.top(1).get(0).getPending()).isEqualTo(3);
+        assertThat(meterRegistry.get("chat.websocket.outbound.pending").gauge().value()).isEqualTo(3);
+
+        tracked.sendMessage(frame("chat-0"));
+        tracked.sendMessage(new BinaryMessage("MESSAGE\r\n\r\nchat-1\u0000".getBytes(StandardCharsets.UTF_8)));
+        tracked.sendMessage(frame("chat-2"));
+        SessionOutboundStatus status = flowControl.top(1).get(0);
+        assertThat(status.getPending()).isZero();
+        assertThat(status.getSent()).isEqualTo(3);
+    }
+
+    /**
+     * 실제 아웃바운드 채널 + 1ms씩 걸리는 느린 소켓으로 채팅 300개와 추천 이벤트 300개를 몰아서 전송
+     * - 채팅은 모두 순서대로 도착, 추천 이벤트는 도착하거나 버려진 것으로 정확히 한 번 집계, 마지막 이벤트는 도착
+     */
+    @Test
+    void throttledClientReceivesEveryChatMessageAndTheLatestEvent() throws Exception {
+        OutboundFlowControl flowControl = flowControl("drop-oldest");
+        List<String> delivered = Collections.synchronizedList(new ArrayList<>());
+        doAnswer(invocation -> {
+            TimeUnit.MILLISECONDS.sleep(1);
+            delivered.add(body(invocation.getArgument(0)));
+            return null;
+        }).when(session).sendMessage(any());
+        WebSocketSession tracked = connect(flowControl);
+
+        executor = Executors.newSingleThreadExecutor();
+        ExecutorSubscribableChannel outbound = new ExecutorSubscribableChannel(executor);
+        outbound.addInterceptor(flowControl);
+        outbound.subscribe(message -> {
+            try {
+                tracked.sendMessage(frame(payload(message)));
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        int maxHeld = 0;
+        for (int i = 0; i < 300; i++) {
+            outbound.send(message(CHAT, "chat-" + i));
+            outbound.send(message(SUGGESTION, "card-" + i));
+            maxHeld = Math.max(maxHeld, flowControl.top(1).get(0).getHeld());
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        SessionOutboundStatus status = flowControl.top(1).get(0);
+        while ((status.getPending() > 0 || status.getHeld() > 0) && System.nanoTime() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(10);
+            status = flowControl.top(1).get(0);
+        }
+
+        List<String> chats = delivered.stream().filter(payload -> payload.startsWith("chat-")).toList();
+        List<String> cards = delivered.stream().filter(payload -> payload.startsWith("card-")).toList();
+        assertThat(status.getPending()).isZero();
+        assertThat(status.getHeld()).isZero();
+        assertThat(chats).hasSize(300).startsWith("chat-0").endsWith("chat-299");
+        assertThat(chats).isSortedAccordingTo((a, b) -> Integer.compare(index(a), index(b)));
+        assertThat(cards).contains("card-299").doesNotHaveDuplicates();
+        assertThat(cards.size() + status.getDropped()).isEqualTo(300);
+        assertThat(status.getDropped()).isPositive();
+        assertThat(maxHeld).isLessThanOrEqualTo(3);
+    }
+
+    private OutboundFlowControl flowControl(String policy) {
+        WebSocketTransportProperties properties = new WebSocketTransportProperties();
+        properties.setOverflowPolicy(policy);
+        properties.setMaxPendingMessages(4);
+        properties.setMaxHeldMessages(3);
+        return new OutboundFlowControl(mock(UserSessionRegistry.class), properties, meterRegistry);
+    }
+
+    /**
+     * 장식된 핸들러로 세션 연결 후 흐름 제어가 감싼 세션 반환
+     */
+    private WebSocketSession connect(OutboundFlowControl flowControl) throws Exception {
+        when(session.getId()).thenReturn(SESSION_ID);
+        WebSocketHandler delegate = mock(WebSocketHandler.class);
+        flowControl.decorate(delegate).afterConnectionEstablished(session);
+
+        ArgumentCaptor<WebSocketSession> tracked = ArgumentCaptor.forClass(WebSocketSession.class);
+        verify(delegate).afterConnectionEstablished(tracked.capture());
+        return tracked.getValue();
+    }
+
+    private static Message<byte[]> message(String destination, String payload) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setSessionId(SESSION_ID);
+        accessor.setDestination(destination);
+        return MessageBuilder.createMessage(payload.getBytes(StandardCharsets.UTF_8), accessor.getMessageHeaders());
+    }
+
+    private static Message<byte[]> event(String destination, String eventType, String target, String payload) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setSessionId(SESSION_ID);
+        accessor.setDestination(destination);
+        accessor.setNativeHeader(OutboundFlowControl.EVENT_TYPE_HEADER, eventType);
+        accessor.setNativeHeader(OutboundFlowControl.EVENT_TARGET_HEADER, target);
+        return MessageBuilder.createMessage(payload.getBytes(StandardCharsets.UTF_8), accessor.getMessageHeaders());
+    }
+
+    private static Message<byte[]> control(SimpMessageType type) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(type);
+        accessor.setSessionId(SESSION_ID);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+
+    /**
+     * 프로토콜 핸들러가 소켓에 쓰는 STOMP MESSAGE 프레임
+     */
+    private static TextMessage frame(String body) {
+        return new TextMessage("MESSAGE\ndestination:" + CHAT + "\n\n" + body + "\u0000");
+    }
+
+    private static String body(TextMessage frame) {
+        String payload = frame.getPayload();
+        return payload.substring(payload.indexOf("\n\n") + 2, payload.length() - 1);
+    }
+
+    private static String payload(Message<?> message) {
+        return new String((byte[]) message.getPayload(), StandardCharsets.UTF_8);
+    }
+
+    private static int index(String payload) {
+        return Integer.parseInt(payload.substring(payload.indexOf('-') + 1));
+    }
+}
@@ -0,0 +1,221 @@
+package com.example.onboarding.websocket;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.broker.SimpleBrokerMessageHandler;
+import org.springframework.messaging.simp.user.DefaultUserDestinationResolver;
+import org.springframework.messaging.simp.user.SimpSession;
+import org.springframework.messaging.simp.user.SimpUser;
+import org.springframework.messaging.simp.user.SimpUserRegistry;
+import org.springframework.messaging.simp.user.UserDestinationMessageHandler;
+import org.springframework.messaging.support.ExecutorSubscribableChannel;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Principal;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 추천 트래픽 전송 방식별 채팅방 대역폭 (실제 SimpleBroker + 사용자 목적지 변환)
+ * - 채팅방 사용자 N명이 각자 추천 알림 + 맛집 카드를 여러 번 받는 상황에서 세션들이 받은 바이트 수 비교
+ * - room: 모든 추천 트래픽이 /sub/room/{roomId}로 브로드캐스트 → 세션마다 모든 사용자의 트래픽 수신
+ * - user: /user/{userId}/sub/... → 요청한 사용자의 세션에만 전달
+ */
+class RecommendationDeliveryLoadTest {
+
+    private static final String ROOM = "/sub/room/1";
+    private static final int ROUNDS = 5;
+    private static final int PROMPT_BYTES = 256;
+    private static final int CARD_BYTES = 2048;
+
+    /**
+     * 세션별 수신 바이트
+     */
+    private final Map<String, LongAdder> received = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> senders = new ConcurrentHashMap<>();
+    private final SimpUserRegistry userRegistry = mock(SimpUserRegistry.class);
+    private final ExecutorSubscribableChannel clientInbound = new ExecutorSubscribableChannel();
+    private final ExecutorSubscribableChannel brokerChannel = new ExecutorSubscribableChannel();
+    private SimpleBrokerMessageHandler broker;
+    private UserDestinationMessageHandler userDestinations;
+    private SimpMessagingTemplate template;
+
+    @AfterEach
+    void tearDown() {
+        if (userDestinations != null) {
+            userDestinations.stop();
+        }
+        if (broker != null) {
+            broker.stop();
+        }
+    }
+
+    @Test
+    void userDeliveryCutsPrivateBytesPerRoomByTheRoomSize() {
+        for (int users : new int[] {10, 100}) {
+            long room = privateBytesPerRoom("room", users);
+            long user = privateBytesPerRoom("user", users);
+
+            // 첫 번째 사용자는 탭 2개 (세션 users + 1개)
+            long perRecommendation = (long) ROUNDS * (PROMPT_BYTES + CARD_BYTES);
+            assertThat(room).isEqualTo(perRecommendation * users * (users + 1));
+            assertThat(user).isEqualTo(perRecommendation * (users + 1));
+            assertThat(room / user).isEqualTo(users);
+        }
+    }
+
+    @Test
+    void userDeliveryReachesEveryTabOfTheTargetAndNoOneElse() {
+        privateBytesPerRoom("user", 10);
+
+        assertThat(received).hasSize(11);
+        senders.forEach((sessionId, from) -> assertThat(from).containsExactly(userOf(sessionId)));
+        assertThat(received.get("user-0-tab-0").sum()).isEqualTo(received.get("user-0-tab-1").sum());
+    }
+
+    @Test
+    void roomDeliveryMakesEverySessionReceiveEveryonesTraffic() {
+        privateBytesPerRoom("room", 10);
+
+        assertThat(received).hasSize(11);
+        senders.values().forEach(from -> assertThat(from).hasSize(10));
+    }
+
+    /**
+     * 채팅방 사용자마다 추천 알림 + 카드를 ROUNDS번 보낸 뒤 채팅방 전체 세션이 받은 바이트 합계
+     */
+    private long privateBytesPerRoom(String delivery, int users) {
+        start();
+        for (int i = 0; i < users; i++) {
+            String userId = "user-" + i;
+            List<String> sessions = i == 0
+                    ? List.of(userId + "-tab-0", userId + "-tab-1")
+                    : List.of(userId + "-tab-0");
+            connect(userId, sessions);
+        }
+
+        for (int round = 0; round < ROUNDS; round++) {
+            for (int i = 0; i < users; i++) {
+                String userId = "user-" + i;
+                template.convertAndSend(destination(delivery, userId, "recommendation-prompt"), payload(userId, PROMPT_BYTES));
+                template.convertAndSend(destination(delivery, userId, "suggestion"), payload(userId, CARD_BYTES));
+            }
+        }
+        return received.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    /**
+     * SuggestionService.destinationFor와 같은 목적지
+     */
+    private String destination(String delivery, String userId, String channel) {
+        return "room".equals(delivery) ? ROOM : "/user/" + userId + "/sub/" + channel;
+    }
+
+    /**
+     * 새 브로커 시작 (WebSocketConfig의 simple 모드와 같은 prefix)
+     */
+    private void start() {
+        tearDown();
+        received.clear();
+        senders.clear();
+        MessageChannel clientOutbound = (message, timeout) -> {
+            deliver(message);
+            return true;
+        };
+        broker = new SimpleBrokerMessageHandler(clientInbound, clientOutbound, brokerChannel, List.of("/sub", "/user"));
+        broker.start();
+        userDestinations = new UserDestinationMessageHandler(
+                clientInbound, brokerChannel, new DefaultUserDestinationResolver(userRegistry));
+        userDestinations.start();
+        template = new SimpMessagingTemplate(brokerChannel);
+    }
+
+    /**
+     * 사용자의 세션 접속 + 채팅방/개인 목적지 구독
+     */
+    private void connect(String userId, List<String> sessionIds) {
+        Set<SimpSession> sessions = new HashSet<>();
+        for (String sessionId : sessionIds) {
+            SimpSession session = mock(SimpSession.class);
+            when(session.getId()).thenReturn(sessionId);
+            sessions.add(session);
+        }
+        SimpUser user = mock(SimpUser.class);
+        when(user.getSessions()).thenReturn(sessions);
+        when(userRegistry.getUser(userId)).thenReturn(user);
+
+        for (String sessionId : sessionIds) {
+            send(SimpMessageType.CONNECT, userId, sessionId, null);
+            subscribe(userId, sessionId, ROOM);
+            subscribe(userId, sessionId, "/user/sub/recommendation-prompt");
+            subscribe(userId, sessionId, "/user/sub/suggestion");
+        }
+    }
+
+    private void subscribe(String userId, String sessionId, String destination) {
+        send(SimpMessageType.SUBSCRIBE, userId, sessionId, destination);
+    }
+
+    private void send(SimpMessageType type, String userId, String sessionId, String destination) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(type);
+        accessor.setSessionId(sessionId);
+        accessor.setUser(principal(userId));
+        if (destination != null) {
+            accessor.setSubscriptionId(destination);
+            accessor.setDestination(destination);
+        }
+        clientInbound.send(MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders()));
+    }
+
+    /**
+     * 세션에 전달된 메시지 집계 (CONNECTED 등 제어 프레임 제외)
+     */
+    private void deliver(Message<?> message) {
+        if (SimpMessageHeaderAccessor.getMessageType(message.getHeaders()) != SimpMessageType.MESSAGE) {
+            return;
+        }
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+        byte[] payload = (byte[]) message.getPayload();
+        received.computeIfAbsent(sessionId, id -> new LongAdder()).add(payload.length);
+        senders.computeIfAbsent(sessionId, id -> ConcurrentHashMap.newKeySet()).add(senderOf(payload));
+    }
+
+    /**
+     * 크기가 고정된 추천 페이로드 (앞부분에 대상 사용자 ID)
+     */
+    private static byte[] payload(String userId, int size) {
+        byte[] payload = new byte[size];
+        Arrays.fill(payload, (byte) ' ');
+        byte[] prefix = (userId + ";").getBytes(StandardCharsets.UTF_8);
+        System.arraycopy(prefix, 0, payload, 0, prefix.length);
+        return payload;
+    }
+
+    private static String senderOf(byte[] payload) {
+        String text = new String(payload, StandardCharsets.UTF_8);
+        return text.substring(0, text.indexOf(';'));
+    }
+
+    private static String userOf(String sessionId) {
+        return sessionId.substring(0, sessionId.indexOf("-tab-"));
+    }
+
+    private static Principal principal(String userId) {
+        return () -> userId;
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.onboarding.websocket;
+
+import com.example.onboarding.config.BrokerProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class RelayDestinationMapperTest {
+
+    private final MessageChannel channel = mock(MessageChannel.class);
+    private final RelayDestinationMapper mapper = new RelayDestinationMapper(relayProperties());
+
+    @Test
+    void mapsSubDestinationsToBrokerTopicsAndBack() {
+        assertThat(mapper.brokerPrefix()).isEqualTo("/topic/");
+        assertThat(mapper.toBroker("/sub/room/1")).isEqualTo("/topic/room.1");
+        assertThat(mapper.toBroker("/sub/suggestion-user3f2a9c")).isEqualTo("/topic/suggestion-user3f2a9c");
+
+        assertThat(mapper.toClient("/topic/room.1")).isEqualTo("/sub/room/1");
+        assertThat(mapper.toClient("/topic/suggestion-user3f2a9c")).isEqualTo("/sub/suggestion-user3f2a9c");
+    }
+
+    @Test
+    void leavesOtherDestinationsAlone() {
+        // 사용자 목적지는 UserDestinationMessageHandler가 /sub/... 로 바꾼 뒤 변환됨, 브로드캐스트 목적지는 브로커 형식 그대로
+        assertThat(mapper.toBroker("/user/sub/suggestion")).isEqualTo("/user/sub/suggestion");
+        assertThat(mapper.toBroker("/pub/message")).isEqualTo("/pub/message");
+        assertThat(mapper.toBroker("/topic/registry.broadcast")).isEqualTo("/topic/registry.broadcast");
+        assertThat(mapper.toBroker(null)).isNull();
+        assertThat(mapper.toClient("/user/sub/suggestion")).isEqualTo("/user/sub/suggestion");
+    }
+
+    @Test
+    void rewritesClientFramesWithoutTouchingTheOriginalHeaders() {
+        StompHeaderAccessor subscribe = StompHeaderAccessor.create(StompCommand.SUBSCRIBE);
+        subscribe.setSessionId("s1");
+        subscribe.setSubscriptionId("sub-0");
+        subscribe.setDestination("/sub/room/1");
+        subscribe.setLeaveMutable(true);
+        Message<byte[]> original = MessageBuilder.createMessage(new byte[0], subscribe.getMessageHeaders());
+
+        Message<?> mapped = mapper.toBrokerInterceptor().preSend(original, channel);
+
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(mapped, StompHeaderAccessor.class);
+        assertThat(accessor.getDestination()).isEqualTo("/topic/room.1");
+        assertThat(accessor.getFirstNativeHeader(StompHeaderAccessor.STOMP_DESTINATION_HEADER)).isEqualTo("/topic/room.1");
+        assertThat(accessor.getSubscriptionId()).isEqualTo("sub-0");
+        assertThat(accessor.getSessionId()).isEqualTo("s1");
+        assertThat(accessor.isMutable()).isTrue();
+        assertThat(SimpMessageHeaderAccessor.getDestination(original.getHeaders())).isEqualTo("/sub/room/1");
+    }
+
+    @Test
+    void rewritesServerSendsAndBrokerMessages() {
+        // SimpMessagingTemplate 전송 (변경 불가 헤더)
+        Message<byte[]> send = MessageBuilder.withPayload("hi".getBytes())
+                .setHeader(SimpMessageHeaderAccessor.DESTINATION_HEADER, "/sub/room/7")
+                .build();
+        Message<?> toBroker = mapper.toBrokerInterceptor().preSend(send, channel);
+        assertThat(SimpMessageHeaderAccessor.getDestination(toBroker.getHeaders())).isEqualTo("/topic/room.7");
+        assertThat(toBroker.getPayload()).isSameAs(send.getPayload());
+
+        // 브로커에서 받은 MESSAGE 프레임
+        StompHeaderAccessor message = StompHeaderAccessor.create(StompCommand.MESSAGE);
+        message.setSessionId("s1");
+        message.setDestination("/topic/room.7");
+        Message<byte[]> fromBroker = MessageBuilder.createMessage(new byte[0], message.getMessageHeaders());
+        Message<?> toClient = mapper.toClientInterceptor().preSend(fromBroker, channel);
+
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(toClient, StompHeaderAccessor.class);
+        assertThat(accessor.getDestination()).isEqualTo("/sub/room/7");
+        assertThat(accessor.getFirstNativeHeader(StompHeaderAccessor.STOMP_DESTINATION_HEADER)).isEqualTo("/sub/room/7");
+    }
+
+    @Test
+    void returnsUnmappedMessagesAsIs() {
+        StompHeaderAccessor connect = StompHeaderAccessor.create(StompCommand.CONNECT);
+        Message<byte[]> message = MessageBuilder.createMessage(new byte[0], connect.getMessageHeaders());
+
+        assertThat(mapper.toBrokerInterceptor().preSend(message, channel)).isSameAs(message);
+        assertThat(mapper.toClientInterceptor().preSend(message, channel)).isSameAs(message);
+    }
+
+    @Test
+    void isDisabledOutsideRelayModeAndAcceptsAPrefixWithoutTrailingSlash() {
+        assertThat(new RelayDestinationMapper(new BrokerProperties()).isEnabled()).isFalse();
+
+        BrokerProperties properties = relayProperties();
+        properties.setRelayDestinationPrefix("/exchange/amq.topic");
+        RelayDestinationMapper exchange = new RelayDestinationMapper(properties);
+        assertThat(exchange.isEnabled()).isTrue();
+        assertThat(exchange.toBroker("/sub/room/1")).isEqualTo("/exchange/amq.topic/room.1");
+    }
+
+    private static BrokerProperties relayProperties() {
+        BrokerProperties properties = new BrokerProperties();
+        properties.setMode("relay");
+        return properties;
+    }
+}
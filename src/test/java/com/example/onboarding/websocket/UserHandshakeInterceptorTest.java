@@ -0,0 +1,71 @@
+package com.example.onboarding.websocket;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.socket.WebSocketHandler;
+
+import java.security.Principal;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class UserHandshakeInterceptorTest {
+
+    private static final String USER_ID = "8f14e45f-ceea-467f-a0e6-3a2b1c9d0e11";
+
+    private final UserHandshakeInterceptor interceptor = new UserHandshakeInterceptor();
+    private final UserHandshakeHandler handshakeHandler = new UserHandshakeHandler();
+    private final WebSocketHandler wsHandler = mock(WebSocketHandler.class);
+    private final MockHttpServletResponse servletResponse = new MockHttpServletResponse();
+    private final Map<String, Object> attributes = new HashMap<>();
+
+    @Test
+    void bindsTheQueryUserIdAsThePrincipal() {
+        ServletServerHttpRequest request = request("userId=" + USER_ID, null);
+
+        assertThat(handshake(request)).isTrue();
+        assertThat(attributes).containsEntry(UserHandshakeInterceptor.USER_ID_ATTRIBUTE, USER_ID);
+
+        Principal principal = handshakeHandler.determineUser(request, wsHandler, attributes);
+        assertThat(principal.getName()).isEqualTo(USER_ID);
+    }
+
+    @Test
+    void rejectsHandshakesWithoutAUuidUserId() {
+        for (String query : new String[]{null, "nickname=test", "userId=admin", "userId=1-1-1-1-1"}) {
+            attributes.clear();
+            servletResponse.setStatus(200);
+
+            assertThat(handshake(request(query, null))).as(query).isFalse();
+            assertThat(servletResponse.getStatus()).isEqualTo(HttpStatus.BAD_REQUEST.value());
+            assertThat(attributes).isEmpty();
+        }
+    }
+
+    @Test
+    void prefersTheAuthenticatedPrincipalOverTheQuery() {
+        Principal authenticated = () -> "authenticated-user";
+        ServletServerHttpRequest request = request("userId=" + USER_ID, authenticated);
+
+        assertThat(handshake(request)).isTrue();
+        assertThat(attributes).containsEntry(UserHandshakeInterceptor.USER_ID_ATTRIBUTE, "authenticated-user");
+        assertThat(handshakeHandler.determineUser(request, wsHandler, attributes)).isSameAs(authenticated);
+    }
+
+    private boolean handshake(ServletServerHttpRequest request) {
+        return interceptor.beforeHandshake(request, new ServletServerHttpResponse(servletResponse), wsHandler, attributes);
+    }
+
+    private static ServletServerHttpRequest request(String query, Principal principal) {
+        MockHttpServletRequest servletRequest = new MockHttpServletRequest("GET", "/ws-chat");
+        servletRequest.setQueryString(query);
+        servletRequest.setUserPrincipal(principal);
+        return new ServletServerHttpRequest(servletRequest);
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.onboarding.websocket;
+
+import com.example.onboarding.service.ChatUserRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+
+import java.security.Principal;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class UserSessionChannelInterceptorTest {
+
+    private static final String USER_ID = "8f14e45f-ceea-467f-a0e6-3a2b1c9d0e11";
+    private static final String OTHER_USER_ID = "0b7e5a2c-3d41-4f6e-9a8b-7c6d5e4f3a21";
+
+    private final ChatUserRegistry chatUserRegistry = mock(ChatUserRegistry.class);
+    private final UserSessionRegistry userSessionRegistry = new UserSessionRegistry(new SimpleMeterRegistry());
+    private final UserSessionChannelInterceptor interceptor = new UserSessionChannelInterceptor(
+            chatUserRegistry, userSessionRegistry, mock(CompactWireFormat.class));
+    private final MessageChannel channel = mock(MessageChannel.class);
+
+    @Test
+    void registersTheHandshakePrincipalWithoutAnXUserIdHeader() {
+        Map<String, Object> attributes = handshakeAttributes(USER_ID);
+
+        interceptor.preSend(connect("s1", new UserHandshakeHandler.StompPrincipal(USER_ID), attributes, null, "닉네임"), channel);
+
+        assertThat(userSessionRegistry.getUserId("s1")).isEqualTo(USER_ID);
+        assertThat(attributes).containsEntry("userId", USER_ID).containsEntry("nickname", "닉네임");
+        verify(chatUserRegistry).register(UUID.fromString(USER_ID), "닉네임");
+    }
+
+    @Test
+    void rejectsAnXUserIdHeaderThatDiffersFromTheHandshakeUser() {
+        Map<String, Object> attributes = handshakeAttributes(USER_ID);
+        Message<?> spoofed = connect("s1", new UserHandshakeHandler.StompPrincipal(USER_ID), attributes, OTHER_USER_ID, "닉네임");
+
+        assertThatThrownBy(() -> interceptor.preSend(spoofed, channel)).isInstanceOf(MessageDeliveryException.class);
+
+        assertThat(userSessionRegistry.getUserId("s1")).isNull();
+        assertThat(attributes).doesNotContainKeys("userId", "nickname");
+        verify(chatUserRegistry, never()).register(any(), anyString());
+    }
+
+    @Test
+    void bindsThePrincipalFromHandshakeAttributesForSockJsHttpTransports() {
+        // xhr-streaming 등은 핸드셰이크 핸들러를 거치지 않아 Principal 없이 CONNECT가 도착함
+        Message<?> message = interceptor.preSend(connect("s1", null, handshakeAttributes(USER_ID), USER_ID, "닉네임"), channel);
+
+        Principal principal = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class).getUser();
+        assertThat(principal.getName()).isEqualTo(USER_ID);
+        assertThat(userSessionRegistry.getUserId("s1")).isEqualTo(USER_ID);
+    }
+
+    @Test
+    void rejectsConnectWithoutAHandshakeUser() {
+        // 핸드셰이크 사용자 없이 헤더만으로는 접속할 수 없음
+        Message<?> headerOnly = connect("s1", null, new HashMap<>(), USER_ID, "닉네임");
+
+        assertThatThrownBy(() -> interceptor.preSend(headerOnly, channel)).isInstanceOf(MessageDeliveryException.class);
+        assertThat(userSessionRegistry.sessionCount()).isZero();
+    }
+
+    @Test
+    void keepsTheSessionButSkipsChatRegistrationWithoutANickname() {
+        Map<String, Object> attributes = handshakeAttributes(USER_ID);
+
+        interceptor.preSend(connect("s1", new UserHandshakeHandler.StompPrincipal(USER_ID), attributes, null, null), channel);
+
+        assertThat(userSessionRegistry.getUserId("s1")).isEqualTo(USER_ID);
+        assertThat(attributes).doesNotContainKeys("userId", "nickname");
+        verify(chatUserRegistry, never()).register(any(), anyString());
+    }
+
+    @Test
+    void unregistersOnDisconnect() {
+        interceptor.preSend(connect("s1", new UserHandshakeHandler.StompPrincipal(USER_ID), handshakeAttributes(USER_ID), null, "닉네임"), channel);
+
+        StompHeaderAccessor disconnect = StompHeaderAccessor.create(StompCommand.DISCONNECT);
+        disconnect.setSessionId("s1");
+        interceptor.preSend(MessageBuilder.createMessage(new byte[0], disconnect.getMessageHeaders()), channel);
+
+        assertThat(userSessionRegistry.getUserId("s1")).isNull();
+        assertThat(userSessionRegistry.sessionCount()).isZero();
+    }
+
+    private static Map<String, Object> handshakeAttributes(String userId) {
+        Map<String, Object> attributes = new HashMap<>();
+        attributes.put(UserHandshakeInterceptor.USER_ID_ATTRIBUTE, userId);
+        return attributes;
+    }
+
+    private static Message<?> connect(String sessionId, Principal user, Map<String, Object> attributes,
+                                      String userIdHeader, String nickname) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.CONNECT);
+        accessor.setSessionId(sessionId);
+        accessor.setSessionAttributes(attributes);
+        accessor.setUser(user);
+        if (userIdHeader != null) {
+            accessor.setNativeHeader("X-User-Id", userIdHeader);
+        }
+        if (nickname != null) {
+            accessor.setNativeHeader("X-Nickname", nickname);
+        }
+        accessor.setLeaveMutable(true);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.onboarding.websocket;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserSessionRegistryTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final UserSessionRegistry registry = new UserSessionRegistry(meterRegistry);
+
+    @Test
+    void tracksSeveralSessionsPerUser() {
+        registry.register("s1", "user-1");
+        registry.register("s2", "user-1");
+        registry.register("s3", "user-2");
+
+        assertThat(activeSessions()).isEqualTo(3);
+        assertThat(connectedUsers()).isEqualTo(2);
+
+        assertThat(registry.unregister("s1")).isEqualTo("user-1");
+        assertThat(connectedUsers()).isEqualTo(2);
+        assertThat(registry.unregister("s2")).isEqualTo("user-1");
+        assertThat(connectedUsers()).isEqualTo(1);
+        assertThat(registry.getUserId("s3")).isEqualTo("user-2");
+    }
+
+    @Test
+    void movesASessionRegisteredAgainForAnotherUser() {
+        registry.register("s1", "user-1");
+        registry.register("s1", "user-2");
+
+        assertThat(registry.getUserId("s1")).isEqualTo("user-2");
+        assertThat(activeSessions()).isEqualTo(1);
+        assertThat(connectedUsers()).isEqualTo(1);
+    }
+
+    @Test
+    void disconnectEventsAreIdempotent() {
+        registry.register("s1", "user-1");
+
+        registry.onDisconnect(disconnect("s1"));
+        registry.onDisconnect(disconnect("s1"));
+
+        assertThat(registry.unregister("s1")).isNull();
+        assertThat(activeSessions()).isZero();
+        assertThat(connectedUsers()).isZero();
+    }
+
+    @Test
+    void staysConsistentUnderConcurrentConnectDisconnectChurn() throws Exception {
+        // 부하 테스트: 8개 스레드가 적은 수의 사용자(여러 탭)로 접속/종료를 반복
+        int threads = 8;
+        int iterations = 20_000;
+        int users = 16;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Set<String>>> remaining = new ArrayList<>();
+        try {
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                remaining.add(executor.submit(() -> {
+                    start.await();
+                    Set<String> connected = new HashSet<>();
+                    for (int i = 0; i < iterations; i++) {
+                        String sessionId = "s" + thread + "-" + i;
+                        registry.register(sessionId, "user-" + (i % users));
+                        assertThat(registry.getUserId(sessionId)).isEqualTo("user-" + (i % users));
+                        // 매 10번째 세션만 남기고 종료 (남은 세션이 모든 사용자에 고르게 분포)
+                        if (i % 10 != 0) {
+                            registry.unregister(sessionId);
+                        } else {
+                            connected.add(sessionId);
+                        }
+                    }
+                    return connected;
+                }));
+            }
+            start.countDown();
+
+            int expectedSessions = 0;
+            for (Future<Set<String>> future : remaining) {
+                expectedSessions += future.get().size();
+            }
+            assertThat(activeSessions()).isEqualTo(expectedSessions);
+            assertThat(connectedUsers()).isEqualTo(users);
+
+            for (Future<Set<String>> future : remaining) {
+                future.get().forEach(registry::unregister);
+            }
+            assertThat(activeSessions()).isZero();
+            assertThat(connectedUsers()).isZero();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private double activeSessions() {
+        return meterRegistry.get("chat.sessions.active").gauge().value();
+    }
+
+    private double connectedUsers() {
+        return meterRegistry.get("chat.sessions.users").gauge().value();
+    }
+
+    private static SessionDisconnectEvent disconnect(String sessionId) {
+        Message<byte[]> message = MessageBuilder.withPayload(new byte[0]).build();
+        return new SessionDisconnectEvent(new Object(), message, sessionId, CloseStatus.NORMAL);
+    }
+}